@@ -0,0 +1,61 @@
+package org.jooby;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+public class DeadlineFeature extends ServerFeature {
+
+  {
+    get("/remaining", req -> req.deadline()
+        .map(deadline -> deadline.timeout().toMillis() + ":" + deadline.expired())
+        .orElse("none"))
+        .timeout(Duration.ofSeconds(30));
+
+    get("/none", req -> req.deadline().map(Deadline::toString).orElse("none"));
+
+    get("/slow", (req, rsp, chain) -> {
+      Thread.sleep(req.deadline().get().remaining(TimeUnit.MILLISECONDS) + 50);
+      chain.next(req, rsp);
+    }).timeout(Duration.ofMillis(100));
+
+    get("/slow", () -> "unreachable");
+
+    get("/deferred", () -> new CompletableFuture<String>())
+        .timeout(Duration.ofMillis(100));
+  }
+
+  @Test
+  public void remaining() throws Exception {
+    request()
+        .get("/remaining")
+        .expect("30000:false")
+        .expect(200);
+  }
+
+  @Test
+  public void none() throws Exception {
+    request()
+        .get("/none")
+        .expect("none")
+        .expect(200);
+  }
+
+  @Test
+  public void expiredBetweenRoutes() throws Exception {
+    request()
+        .get("/slow")
+        .expect(504);
+  }
+
+  @Test
+  public void deferred() throws Exception {
+    request()
+        .get("/deferred")
+        .expect(504);
+  }
+
+}
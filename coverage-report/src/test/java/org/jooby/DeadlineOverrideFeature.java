@@ -0,0 +1,44 @@
+package org.jooby;
+
+import java.time.Duration;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class DeadlineOverrideFeature extends ServerFeature {
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("server.http.Timeout", ConfigValueFactory.fromAnyRef("10s")));
+
+    get("/global", req -> req.deadline().get().timeout().toMillis());
+
+    get("/longer", req -> req.deadline().get().timeout().toMillis())
+        .timeout(Duration.ofSeconds(30));
+
+    get("/shorter", req -> req.deadline().get().timeout().toMillis())
+        .timeout(Duration.ofSeconds(1));
+  }
+
+  @Test
+  public void global() throws Exception {
+    request()
+        .get("/global")
+        .expect("10000");
+  }
+
+  @Test
+  public void routeOverridesGlobal() throws Exception {
+    request()
+        .get("/longer")
+        .expect("30000");
+
+    request()
+        .get("/shorter")
+        .expect("1000");
+  }
+
+}
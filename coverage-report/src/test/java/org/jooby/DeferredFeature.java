@@ -0,0 +1,76 @@
+package org.jooby;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jooby.test.ServerFeature;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class DeferredFeature extends ServerFeature {
+
+  private static ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  {
+    get("/deferred", () -> CompletableFuture.supplyAsync(() -> "deferred", executor));
+
+    get("/deferred/status", () -> CompletableFuture
+        .supplyAsync(() -> Results.with("created", Status.CREATED), executor));
+
+    get("/deferred/cookie", (req, rsp) -> {
+      rsp.cookie(new Cookie.Definition("X", "x").path("/deferred"));
+      rsp.send(CompletableFuture.supplyAsync(() -> "cookie", executor));
+    });
+
+    get("/deferred/err", () -> CompletableFuture.supplyAsync(() -> {
+      throw new IllegalArgumentException("intentional err");
+    }, executor));
+
+    get("/deferred/completed", () -> CompletableFuture.completedFuture("completed"));
+  }
+
+  @AfterClass
+  public static void shutdown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void deferred() throws Exception {
+    request()
+        .get("/deferred")
+        .expect("deferred")
+        .expect(200);
+  }
+
+  @Test
+  public void deferredWithStatus() throws Exception {
+    request()
+        .get("/deferred/status")
+        .expect("created")
+        .expect(201);
+  }
+
+  @Test
+  public void deferredKeepCookies() throws Exception {
+    request()
+        .get("/deferred/cookie")
+        .expect("cookie")
+        .header("Set-Cookie", "X=x;Version=1;Path=/deferred");
+  }
+
+  @Test
+  public void deferredErr() throws Exception {
+    request()
+        .get("/deferred/err")
+        .expect(400);
+  }
+
+  @Test
+  public void completed() throws Exception {
+    request()
+        .get("/deferred/completed")
+        .expect("completed");
+  }
+
+}
@@ -0,0 +1,45 @@
+package org.jooby;
+
+import static org.junit.Assert.assertTrue;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+public class MetricsFeature extends ServerFeature {
+
+  {
+    use(ConfigFactory.parseString("server.metrics.Enabled = true"));
+
+    get("/users/:id", req -> req.param("id").value());
+  }
+
+  @Test
+  public void metrics() throws Exception {
+    request()
+        .get("/users/1")
+        .expect("1")
+        .expect(200);
+
+    request()
+        .get("/users/2")
+        .expect("2")
+        .expect(200);
+
+    request()
+        .get("/metrics")
+        .expect(value -> {
+          assertTrue(value, value.contains(
+              "jooby_requests_total{method=\"GET\",route=\"/users/:id\",status=\"2xx\"} 2\n"));
+          assertTrue(value, value.contains(
+              "jooby_request_duration_seconds_count{method=\"GET\",route=\"/users/:id\"} 2\n"));
+          // the metrics request itself
+          assertTrue(value, value.contains(
+              "jooby_requests_inflight{method=\"GET\",route=\"/metrics\"} 1\n"));
+        })
+        .header("Content-Type", "text/plain;charset=UTF-8")
+        .expect(200);
+  }
+
+}
@@ -0,0 +1,66 @@
+package org.jooby;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+public class NonBlockingFeature extends ServerFeature {
+
+  {
+    get("/nonblocking", () -> "nonblocking")
+        .nonblocking(true);
+
+    get("/nonblocking/params", req -> req.param("q").value())
+        .nonblocking(true);
+
+    get("/mixed/*", (req, rsp) -> rsp.header("X-Filter", "blocking"));
+
+    get("/mixed/route", () -> "mixed")
+        .nonblocking(true);
+
+    post("/nonblocking/form", req -> req.param("p").value())
+        .nonblocking(true);
+
+    get("/nonblocking/session", req -> req.session().id())
+        .nonblocking(true);
+  }
+
+  @Test
+  public void nonblocking() throws Exception {
+    request()
+        .get("/nonblocking")
+        .expect("nonblocking")
+        .header("Content-Length", "11");
+  }
+
+  @Test
+  public void nonblockingWithQueryParams() throws Exception {
+    request()
+        .get("/nonblocking/params?q=v")
+        .expect("v");
+  }
+
+  @Test
+  public void blockingFilter() throws Exception {
+    request()
+        .get("/mixed/route")
+        .expect("mixed")
+        .header("X-Filter", "blocking");
+  }
+
+  @Test
+  public void bodyIsAlwaysBlocking() throws Exception {
+    request()
+        .post("/nonblocking/form")
+        .form()
+        .add("p", "form")
+        .expect("form");
+  }
+
+  @Test
+  public void noSession() throws Exception {
+    request()
+        .get("/nonblocking/session")
+        .expect(500);
+  }
+
+}
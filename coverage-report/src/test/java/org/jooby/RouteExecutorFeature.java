@@ -0,0 +1,74 @@
+package org.jooby;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.jooby.mvc.Dispatch;
+import org.jooby.mvc.GET;
+import org.jooby.mvc.Path;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+public class RouteExecutorFeature extends ServerFeature {
+
+  @Path("/mvc")
+  public static class Resource {
+
+    @GET
+    @Dispatch("reports")
+    public Object thread() {
+      return Thread.currentThread().getName();
+    }
+  }
+
+  {
+    use(ConfigFactory.parseString("executors { reports { threads = 2, queue = 10 } }"));
+
+    get("/thread", () -> Thread.currentThread().getName())
+        .executor("reports");
+
+    get("/deferred", () -> CompletableFuture.completedFuture("deferred"))
+        .executor("reports");
+
+    get("/err", () -> {
+      throw new IllegalArgumentException("intentional err");
+    }).executor("reports");
+
+    use(Resource.class);
+  }
+
+  @Test
+  public void thread() throws Exception {
+    request()
+        .get("/thread")
+        .expect(value -> assertTrue(value, value.startsWith("reports-")))
+        .expect(200);
+  }
+
+  @Test
+  public void mvc() throws Exception {
+    request()
+        .get("/mvc")
+        .expect(value -> assertTrue(value, value.startsWith("reports-")))
+        .expect(200);
+  }
+
+  @Test
+  public void deferred() throws Exception {
+    request()
+        .get("/deferred")
+        .expect("deferred")
+        .expect(200);
+  }
+
+  @Test
+  public void err() throws Exception {
+    request()
+        .get("/err")
+        .expect(400);
+  }
+
+}
@@ -0,0 +1,51 @@
+package org.jooby.sse;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+public class SseFeature extends ServerFeature {
+
+  {
+    sse("/sse", (req, sse) -> {
+      int lastId = sse.lastEventId().map(Integer::parseInt).orElse(0);
+      sse.event("first").id(lastId + 1).send();
+      sse.event("line 1\nline 2").name("multi").retry(3, TimeUnit.SECONDS).send()
+          .whenComplete((id, x) -> sse.close());
+    });
+  }
+
+  @Test
+  public void events() throws Exception {
+    request()
+        .get("/sse")
+        .header("Accept", "text/event-stream")
+        .expect("id:1\n"
+            + "data:first\n"
+            + "\n"
+            + "event:multi\n"
+            + "retry:3000\n"
+            + "data:line 1\n"
+            + "data:line 2\n"
+            + "\n")
+        .header("Content-Type", "text/event-stream; charset=utf-8");
+  }
+
+  @Test
+  public void lastEventId() throws Exception {
+    request()
+        .get("/sse")
+        .header("Accept", "text/event-stream")
+        .header("Last-Event-ID", "5")
+        .expect("id:6\n"
+            + "data:first\n"
+            + "\n"
+            + "event:multi\n"
+            + "retry:3000\n"
+            + "data:line 1\n"
+            + "data:line 2\n"
+            + "\n");
+  }
+
+}
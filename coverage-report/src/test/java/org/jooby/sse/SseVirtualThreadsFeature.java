@@ -0,0 +1,37 @@
+package org.jooby.sse;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class SseVirtualThreadsFeature extends ServerFeature {
+
+  {
+    // Java 21+, servlet servers start async before the handshake
+    use(ConfigFactory.empty()
+        .withValue("server.threads.Mode", ConfigValueFactory.fromAnyRef("virtual")));
+
+    sse("/sse", (req, sse) -> {
+      sse.event("first").id(1).send();
+      sse.event("second").id(2).send()
+          .whenComplete((id, x) -> sse.close());
+    });
+  }
+
+  @Test
+  public void events() throws Exception {
+    request()
+        .get("/sse")
+        .header("Accept", "text/event-stream")
+        .expect("id:1\n"
+            + "data:first\n"
+            + "\n"
+            + "id:2\n"
+            + "data:second\n"
+            + "\n")
+        .header("Content-Type", "text/event-stream; charset=utf-8");
+  }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import org.jooby.Env;
+import org.jooby.Jooby;
+import org.jooby.spi.Server;
+
+import com.google.inject.Binder;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Start an application without a web server, so benchmarks can call the
+ * {@link org.jooby.spi.HttpHandler} or any other service directly.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class BenchApp {
+
+  /**
+   * Bind a {@link Server} that does nothing.
+   */
+  public static class NoServer implements Jooby.Module {
+
+    @Override
+    public void configure(final Env env, final Config config, final Binder binder) {
+      binder.bind(Server.class).toInstance(new Server() {
+        @Override
+        public void start() throws Exception {
+        }
+
+        @Override
+        public void stop() throws Exception {
+        }
+
+        @Override
+        public void join() throws InterruptedException {
+        }
+      });
+    }
+
+  }
+
+  /**
+   * Start an application.
+   *
+   * @param app Application.
+   * @param config Application properties.
+   * @return The started application.
+   * @throws Exception If the application fails to start.
+   */
+  public static Jooby start(final Jooby app, final Config config) throws Exception {
+    app.use(config.withFallback(ConfigFactory.parseString("server.module = \""
+        + NoServer.class.getName() + "\", server.join = false, application.env = prod")));
+    app.start();
+    return app;
+  }
+
+  /**
+   * Start an application.
+   *
+   * @param app Application.
+   * @return The started application.
+   * @throws Exception If the application fails to start.
+   */
+  public static Jooby start(final Jooby app) throws Exception {
+    return start(app, ConfigFactory.empty());
+  }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks. It accepts the JMH command line options, but results are saved as JSON by
+ * default (<code>jmh-result.json</code>), so they can be compared across commits:
+ *
+ * <pre>
+ *   java -jar benchmarks.jar RouteMatch -rff before.json
+ * </pre>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class Benchmarks {
+
+  public static void main(final String[] args) throws Exception {
+    CommandLineOptions cli = new CommandLineOptions(args);
+    if (cli.shouldHelp()) {
+      cli.showHelp();
+      return;
+    }
+    if (cli.shouldList()) {
+      new Runner(cli).list();
+      return;
+    }
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(cli);
+    if (!cli.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!cli.getResult().hasValue()) {
+      options.result(new File("jmh-result.json").getAbsolutePath());
+    }
+    Options opts = options.build();
+    new Runner(opts).run();
+  }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.BodyFormatter;
+import org.jooby.Jooby;
+import org.jooby.MediaType;
+import org.jooby.internal.BodyConverterSelector;
+import org.jooby.json.Jackson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Selection of a {@link BodyFormatter} for a response, with the built-in formatters plus
+ * {@link Jackson}.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyConverterSelectorBenchmark {
+
+  private Jooby app;
+
+  private BodyConverterSelector selector;
+
+  private Map<String, Object> message = ImmutableMap.of("message", "Hello, World!");
+
+  private List<MediaType> json = ImmutableList.of(MediaType.json);
+
+  private List<MediaType> browser = MediaType.parse("text/html,application/xhtml+xml,"
+      + "application/xml;q=0.9,image/webp,*/*;q=0.8");
+
+  private List<MediaType> plain = ImmutableList.of(MediaType.plain);
+
+  @Setup
+  public void setup() throws Exception {
+    app = BenchApp.start(new Jooby() {
+      {
+        use(new Jackson());
+      }
+    });
+    selector = app.require(BodyConverterSelector.class);
+  }
+
+  @TearDown
+  public void stop() {
+    app.stop();
+  }
+
+  @Benchmark
+  public Optional<BodyFormatter> json() {
+    return selector.formatter(message, json);
+  }
+
+  @Benchmark
+  public Optional<BodyFormatter> browser() {
+    return selector.formatter("Hello, World!", browser);
+  }
+
+  /** text/plain is the last builtin formatter, so this one walks the whole list. */
+  @Benchmark
+  public Optional<BodyFormatter> text() {
+    return selector.formatter("Hello, World!", plain);
+  }
+
+  @Benchmark
+  public Optional<BodyFormatter> bytes() {
+    return selector.formatter(new byte[0], MediaType.ALL);
+  }
+
+}
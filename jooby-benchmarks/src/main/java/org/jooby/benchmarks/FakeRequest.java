@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+import org.jooby.Cookie;
+import org.jooby.spi.NativeRequest;
+import org.jooby.spi.NativeUpload;
+
+/**
+ * In-memory {@link NativeRequest}.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class FakeRequest implements NativeRequest {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final String method;
+
+  private final String path;
+
+  private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+  private final Map<String, List<String>> params = new LinkedHashMap<>();
+
+  private final List<Cookie> cookies = new ArrayList<>();
+
+  private byte[] body = EMPTY;
+
+  public FakeRequest(final String method, final String path) {
+    this.method = method;
+    this.path = path;
+  }
+
+  public FakeRequest header(final String name, final String value) {
+    headers.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+    return this;
+  }
+
+  public FakeRequest param(final String name, final String value) {
+    params.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+    return this;
+  }
+
+  public FakeRequest cookie(final Cookie cookie) {
+    cookies.add(cookie);
+    return this;
+  }
+
+  public FakeRequest body(final byte[] body) {
+    this.body = body;
+    return header("Content-Length", Integer.toString(body.length));
+  }
+
+  @Override
+  public String method() {
+    return method;
+  }
+
+  @Override
+  public String path() {
+    return path;
+  }
+
+  @Override
+  public List<String> paramNames() {
+    return new ArrayList<>(params.keySet());
+  }
+
+  @Override
+  public List<String> params(final String name) {
+    return params.getOrDefault(name, Collections.emptyList());
+  }
+
+  @Override
+  public List<String> headers(final String name) {
+    return headers.getOrDefault(name, Collections.emptyList());
+  }
+
+  @Override
+  public Optional<String> header(final String name) {
+    List<String> values = headers(name);
+    return values.isEmpty() ? Optional.empty() : Optional.of(values.get(0));
+  }
+
+  @Override
+  public List<String> headerNames() {
+    return new ArrayList<>(headers.keySet());
+  }
+
+  @Override
+  public List<Cookie> cookies() {
+    return cookies;
+  }
+
+  @Override
+  public List<NativeUpload> files(final String name) throws IOException {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public InputStream in() throws IOException {
+    return new ByteArrayInputStream(body);
+  }
+
+  @Override
+  public String ip() {
+    return "127.0.0.1";
+  }
+
+  @Override
+  public String hostname() {
+    return "localhost";
+  }
+
+  @Override
+  public String protocol() {
+    return "HTTP/1.1";
+  }
+
+  @Override
+  public boolean secure() {
+    return false;
+  }
+
+  @Override
+  public <T> T upgrade(final Class<T> type) throws Exception {
+    throw new UnsupportedOperationException("Not supported: " + type.getName());
+  }
+
+  @Override
+  public Executor startAsync() throws Exception {
+    return Runnable::run;
+  }
+
+  @Override
+  public String toString() {
+    return method + " " + path;
+  }
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.jooby.spi.NativeResponse;
+
+/**
+ * In-memory {@link NativeResponse}.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class FakeResponse implements NativeResponse {
+
+  private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+  private int status = 200;
+
+  private boolean committed;
+
+  @Override
+  public Optional<String> header(final String name) {
+    List<String> values = headers(name);
+    return values.isEmpty() ? Optional.empty() : Optional.of(values.get(0));
+  }
+
+  @Override
+  public List<String> headers(final String name) {
+    return headers.getOrDefault(name, Collections.emptyList());
+  }
+
+  @Override
+  public void header(final String name, final Iterable<String> values) {
+    List<String> list = new ArrayList<>();
+    values.forEach(list::add);
+    headers.put(name, list);
+  }
+
+  @Override
+  public void header(final String name, final String value) {
+    headers.put(name, Collections.singletonList(value));
+  }
+
+  @Override
+  public OutputStream out(final int bufferSize) throws IOException {
+    committed = true;
+    return out;
+  }
+
+  @Override
+  public int statusCode() {
+    return status;
+  }
+
+  @Override
+  public void statusCode(final int code) {
+    this.status = code;
+  }
+
+  @Override
+  public boolean committed() {
+    return committed;
+  }
+
+  @Override
+  public void end() {
+    committed = true;
+  }
+
+  @Override
+  public void reset() {
+    headers.clear();
+    out.reset();
+  }
+
+  /**
+   * @return Bytes written to the response.
+   */
+  public byte[] body() {
+    return out.toByteArray();
+  }
+
+  @Override
+  public String toString() {
+    return status + " " + headers;
+  }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Jooby;
+import org.jooby.json.Jackson;
+import org.jooby.spi.HttpHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * A whole request, from {@link HttpHandler#handle} to the response bytes, against in-memory
+ * {@link FakeRequest requests} and {@link FakeResponse responses}. No web server, no network.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpHandlerBenchmark {
+
+  /** Record route metrics (server.metrics.Enabled). */
+  @Param({"false", "true" })
+  public boolean metrics;
+
+  private Jooby app;
+
+  private HttpHandler handler;
+
+  @Setup
+  public void setup() throws Exception {
+    app = BenchApp.start(new Jooby() {
+      {
+        use(new Jackson());
+
+        get("/plaintext", () -> "Hello, World!");
+
+        get("/json", () -> ImmutableMap.of("message", "Hello, World!"));
+
+        get("/users/:id", req -> req.param("id").intValue());
+
+        use("/api/**", (req, rsp, chain) -> {
+          rsp.header("Cache-Control", "no-cache");
+          chain.next(req, rsp);
+        });
+
+        get("/api/users/:id", req -> req.param("id").intValue());
+      }
+    }, ConfigFactory.parseString("server.metrics.Enabled = " + metrics));
+    handler = app.require(HttpHandler.class);
+  }
+
+  @TearDown
+  public void stop() {
+    app.stop();
+  }
+
+  @Benchmark
+  public FakeResponse plaintext() throws Exception {
+    return handle(new FakeRequest("GET", "/plaintext").header("Accept", "text/plain"));
+  }
+
+  @Benchmark
+  public FakeResponse json() throws Exception {
+    return handle(new FakeRequest("GET", "/json").header("Accept", "application/json"));
+  }
+
+  @Benchmark
+  public FakeResponse pathVariable() throws Exception {
+    return handle(new FakeRequest("GET", "/users/123"));
+  }
+
+  @Benchmark
+  public FakeResponse filter() throws Exception {
+    return handle(new FakeRequest("GET", "/api/users/123"));
+  }
+
+  @Benchmark
+  public FakeResponse notFound() throws Exception {
+    return handle(new FakeRequest("GET", "/missing").header("Accept", "text/plain"));
+  }
+
+  private FakeResponse handle(final FakeRequest req) throws Exception {
+    FakeResponse rsp = new FakeResponse();
+    handler.handle(req, rsp);
+    return rsp;
+  }
+
+}
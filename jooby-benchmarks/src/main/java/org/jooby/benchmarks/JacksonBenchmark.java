@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.BodyFormatter;
+import org.jooby.Jooby;
+import org.jooby.MediaType;
+import org.jooby.internal.BodyConverterSelector;
+import org.jooby.internal.BodyFormatterContext;
+import org.jooby.json.Jackson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * JSON responses: {@link Jackson} writing through a {@link BodyFormatterContext}.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+  public static class User {
+
+    public int id;
+
+    public String name;
+
+    public String email;
+
+    public boolean active;
+
+    public User(final int id) {
+      this.id = id;
+      this.name = "user" + id;
+      this.email = "user" + id + "@jooby.org";
+      this.active = id % 2 == 0;
+    }
+  }
+
+  /** Number of users in the response. */
+  @Param({"1", "100" })
+  public int size;
+
+  private Jooby app;
+
+  private BodyFormatter formatter;
+
+  private List<User> users;
+
+  private ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+
+  private BodyFormatterContext ctx = new BodyFormatterContext(StandardCharsets.UTF_8,
+      () -> out, () -> new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+  @Setup
+  public void setup() throws Exception {
+    app = BenchApp.start(new Jooby() {
+      {
+        use(new Jackson());
+      }
+    });
+    users = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      users.add(new User(i));
+    }
+    formatter = app.require(BodyConverterSelector.class)
+        .formatter(users, ImmutableList.of(MediaType.json))
+        .get();
+  }
+
+  @TearDown
+  public void stop() {
+    app.stop();
+  }
+
+  @Benchmark
+  public int format() throws Exception {
+    out.reset();
+    formatter.format(users, ctx);
+    return out.size();
+  }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.MediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Parsing of <code>Accept</code> and <code>Content-Type</code> headers and content negotiation.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTypeBenchmark {
+
+  private static final String BROWSER = "text/html,application/xhtml+xml,"
+      + "application/xml;q=0.9,image/webp,*/*;q=0.8";
+
+  private List<MediaType> browser = MediaType.parse(BROWSER);
+
+  private List<MediaType> json = ImmutableList.of(MediaType.json);
+
+  private List<MediaType> produces = ImmutableList.of(MediaType.json, MediaType.html);
+
+  @Benchmark
+  public List<MediaType> parseAccept() {
+    return MediaType.parse(BROWSER);
+  }
+
+  @Benchmark
+  public MediaType contentType() {
+    return MediaType.valueOf("application/json; charset=UTF-8");
+  }
+
+  @Benchmark
+  public List<MediaType> filterBrowser() {
+    return MediaType.matcher(browser).filter(produces);
+  }
+
+  @Benchmark
+  public Optional<MediaType> firstJson() {
+    return MediaType.matcher(json).first(produces);
+  }
+
+  @Benchmark
+  public boolean matchesAll() {
+    return MediaType.matcher(MediaType.ALL).matches(MediaType.json);
+  }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Jooby;
+import org.jooby.Status;
+import org.jooby.internal.reqparam.ParserExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.TypeLiteral;
+
+/**
+ * Parameter conversions through the {@link ParserExecutor}, with the default parsers.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+  private static final TypeLiteral<Integer> INT = TypeLiteral.get(int.class);
+
+  private static final TypeLiteral<List<Integer>> INT_LIST = new TypeLiteral<List<Integer>>() {
+  };
+
+  private static final TypeLiteral<Optional<Integer>> INT_OPTIONAL =
+      new TypeLiteral<Optional<Integer>>() {
+      };
+
+  private static final TypeLiteral<Status> ENUM = TypeLiteral.get(Status.class);
+
+  private static final TypeLiteral<Date> DATE = TypeLiteral.get(Date.class);
+
+  private static final TypeLiteral<LocalDate> LOCAL_DATE = TypeLiteral.get(LocalDate.class);
+
+  private static final TypeLiteral<UUID> FROM_STRING = TypeLiteral.get(UUID.class);
+
+  private static final TypeLiteral<BigDecimal> CONSTRUCTOR = TypeLiteral.get(BigDecimal.class);
+
+  private Jooby app;
+
+  private ParserExecutor parser;
+
+  private Object number = ImmutableList.of("123");
+
+  private Object numbers = ImmutableList.of("1", "2", "3");
+
+  private Object status = ImmutableList.of("NOT_FOUND");
+
+  private Object date = ImmutableList.of("22-02-14");
+
+  private Object uuid = ImmutableList.of("c0a80121-7ac0-11d1-898c-00c04fd8d5cd");
+
+  private Object decimal = ImmutableList.of("3.1416");
+
+  @Setup
+  public void setup() throws Exception {
+    app = BenchApp.start(new Jooby());
+    parser = app.require(ParserExecutor.class);
+  }
+
+  @TearDown
+  public void stop() {
+    app.stop();
+  }
+
+  @Benchmark
+  public Object toInt() {
+    return parser.convert(INT, number);
+  }
+
+  @Benchmark
+  public Object toList() {
+    return parser.convert(INT_LIST, numbers);
+  }
+
+  @Benchmark
+  public Object toOptional() {
+    return parser.convert(INT_OPTIONAL, number);
+  }
+
+  @Benchmark
+  public Object toEnum() {
+    return parser.convert(ENUM, status);
+  }
+
+  @Benchmark
+  public Object toDate() {
+    return parser.convert(DATE, date);
+  }
+
+  @Benchmark
+  public Object toLocalDate() {
+    return parser.convert(LOCAL_DATE, date);
+  }
+
+  @Benchmark
+  public Object staticMethod() {
+    return parser.convert(FROM_STRING, uuid);
+  }
+
+  @Benchmark
+  public Object constructor() {
+    return parser.convert(CONSTRUCTOR, decimal);
+  }
+
+}
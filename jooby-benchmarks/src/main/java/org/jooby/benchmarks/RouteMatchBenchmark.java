@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.MediaType;
+import org.jooby.Route;
+import org.jooby.internal.RoutePattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Route matching, like it happens on each request: every route definition is tried against the
+ * request path.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteMatchBenchmark {
+
+  /** Number of route definitions. */
+  @Param({"10", "100", "500" })
+  public int routes;
+
+  private List<Route.Definition> definitions;
+
+  private List<MediaType> accept = MediaType.ALL;
+
+  private String first;
+
+  private String last;
+
+  private RoutePattern staticPattern = new RoutePattern("GET", "/api/users");
+
+  private RoutePattern varPattern = new RoutePattern("GET", "/api/users/:id");
+
+  private RoutePattern regexPattern = new RoutePattern("GET", "/api/users/{id:\\d+}");
+
+  private RoutePattern globPattern = new RoutePattern("GET", "/assets/**/*.js");
+
+  @Setup
+  public void setup() {
+    definitions = new ArrayList<>();
+    for (int i = 0; i < routes; i++) {
+      definitions.add(new Route.Definition("GET", "/api/resource" + i + "/:id",
+          (req, rsp) -> rsp.send("OK")));
+    }
+    first = "/api/resource0/1";
+    last = "/api/resource" + (routes - 1) + "/1";
+  }
+
+  @Benchmark
+  public List<Route> first() {
+    return match(first);
+  }
+
+  @Benchmark
+  public List<Route> last() {
+    return match(last);
+  }
+
+  @Benchmark
+  public List<Route> miss() {
+    return match("/missing");
+  }
+
+  @Benchmark
+  public boolean staticPattern() {
+    return staticPattern.matcher("GET/api/users").matches();
+  }
+
+  @Benchmark
+  public boolean varPattern() {
+    return varPattern.matcher("GET/api/users/123").matches();
+  }
+
+  @Benchmark
+  public boolean regexPattern() {
+    return regexPattern.matcher("GET/api/users/123").matches();
+  }
+
+  @Benchmark
+  public boolean globPattern() {
+    return globPattern.matcher("GET/assets/js/lib/app.js").matches();
+  }
+
+  private List<Route> match(final String path) {
+    List<Route> result = new ArrayList<>();
+    for (Route.Definition definition : definitions) {
+      Optional<Route> route = definition.matches("GET", path, MediaType.all, accept);
+      if (route.isPresent()) {
+        result.add(route.get());
+      }
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Cookie;
+import org.jooby.Jooby;
+import org.jooby.Session;
+import org.jooby.spi.HttpHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Requests that use a session: the {@link org.jooby.internal.SessionManager} with a
+ * {@link Session.Mem} store, with and without a signed session cookie.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+  /** Sign the session cookie. */
+  @Param({"false", "true" })
+  public boolean signed;
+
+  private Jooby app;
+
+  private HttpHandler handler;
+
+  private Cookie cookie;
+
+  @Setup
+  public void setup() throws Exception {
+    app = BenchApp.start(new Jooby() {
+      {
+        session(Session.Mem.class);
+
+        get("/session", req -> {
+          Session session = req.session();
+          int count = session.get("count").toOptional(Integer.class).orElse(0) + 1;
+          session.set("count", count);
+          return count;
+        });
+      }
+    }, signed
+        ? ConfigFactory.parseString("application.secret = fd2a1d5c-ad4f-4b6e-8f4d-3cdbb07fd6f1")
+        : ConfigFactory.empty());
+    handler = app.require(HttpHandler.class);
+
+    FakeResponse rsp = new FakeResponse();
+    handler.handle(new FakeRequest("GET", "/session"), rsp);
+    String setCookie = rsp.header("Set-Cookie").get();
+    String value = setCookie.substring(setCookie.indexOf('=') + 1, setCookie.indexOf(';'));
+    cookie = new Cookie.Definition("jooby.sid", value).toCookie();
+  }
+
+  @TearDown
+  public void stop() {
+    app.stop();
+  }
+
+  @Benchmark
+  public FakeResponse newSession() throws Exception {
+    FakeResponse rsp = new FakeResponse();
+    handler.handle(new FakeRequest("GET", "/session"), rsp);
+    return rsp;
+  }
+
+  @Benchmark
+  public FakeResponse existingSession() throws Exception {
+    FakeResponse rsp = new FakeResponse();
+    handler.handle(new FakeRequest("GET", "/session").cookie(cookie), rsp);
+    return rsp;
+  }
+
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jooby.Jooby;
+import org.jooby.mvc.GET;
+import org.jooby.mvc.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Application startup (and stop): every config property bound as <code>&#64;Named</code>
+ * (<code>eager</code>) vs just the injected properties (<code>lazy</code>), see
+ * <code>injector.namedConfig</code>.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(3)
+public class StartupBenchmark {
+
+  public static class Service {
+    @Inject
+    public Service(@Named("application.name") final String name,
+        @Named("session.timeout") final String timeout) {
+    }
+  }
+
+  @Path("/mvc")
+  public static class Controller {
+    @Inject
+    public Controller(final Service service, @Named("application.charset") final String charset) {
+    }
+
+    @GET
+    public String hello() {
+      return "mvc";
+    }
+  }
+
+  /** How config properties are bound. */
+  @Param({"eager", "lazy" })
+  public String namedConfig;
+
+  @Benchmark
+  public Jooby startAndStop() throws Exception {
+    Jooby app = BenchApp.start(new Jooby() {
+      {
+        get("/", req -> "hello");
+
+        use(Controller.class);
+      }
+    }, ConfigFactory.parseString("injector.namedConfig = " + namedConfig
+        + ", startup.report = false"));
+    app.stop();
+    return app;
+  }
+
+}
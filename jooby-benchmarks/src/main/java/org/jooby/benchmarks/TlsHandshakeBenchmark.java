@@ -0,0 +1,192 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.jooby.util.SslContexts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * TLS handshakes per second of the server {@link SSLContext} built by {@link SslContexts} (the
+ * JDK engine of the Netty, Undertow and Jetty secure listeners). Client and server engines talk
+ * through in-memory buffers, so there is no network involved. The certificate is a self-signed
+ * RSA one, generated by <code>keytool</code> at setup.
+ *
+ * <p>
+ * A <code>full</code> handshake creates a new session each time, a <code>resumed</code> one reuses
+ * the session of the previous handshake (abbreviated handshake, see
+ * <code>ssl.session.cacheSize</code>). TLS 1.2 only, TLS 1.3 sends session tickets after the
+ * handshake.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TlsHandshakeBenchmark {
+
+  private static final String PROTOCOL = "TLSv1.2";
+
+  private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+  /** Handshake kind. */
+  @Param({"full", "resumed" })
+  public String handshake;
+
+  private SSLContext server;
+
+  private SSLContext client;
+
+  @Setup
+  public void setup() throws Exception {
+    File dir = Files.createTempDirectory("tls-benchmark").toFile();
+    File keystore = new File(dir, "keystore.p12");
+    Process keytool = new ProcessBuilder(
+        new File(System.getProperty("java.home"), "bin/keytool").getPath(),
+        "-genkeypair", "-alias", "jooby", "-keyalg", "RSA", "-keysize", "2048",
+        "-dname", "CN=localhost", "-validity", "1", "-storetype", "PKCS12",
+        "-keystore", keystore.getPath(), "-storepass", "changeit", "-keypass", "changeit")
+            .inheritIO()
+            .start();
+    if (keytool.waitFor() != 0) {
+      throw new IllegalStateException("keytool failed: " + keytool.exitValue());
+    }
+    keystore.deleteOnExit();
+    dir.deleteOnExit();
+
+    Config config = ConfigFactory.parseString("ssl.keystore = \"" + keystore.getPath() + "\""
+        + ", ssl.password = changeit")
+        .withFallback(ConfigFactory.parseResources(SslContexts.class, "../jooby.conf"));
+    server = SslContexts.sslContext(config);
+
+    client = SSLContext.getInstance("TLS");
+    client.init(null, new TrustManager[]{new X509TrustManager() {
+      @Override
+      public void checkClientTrusted(final X509Certificate[] chain, final String authType) {
+      }
+
+      @Override
+      public void checkServerTrusted(final X509Certificate[] chain, final String authType) {
+      }
+
+      @Override
+      public X509Certificate[] getAcceptedIssuers() {
+        return new X509Certificate[0];
+      }
+    } }, null);
+  }
+
+  @Benchmark
+  public SSLEngine handshake() throws Exception {
+    // sessions are cached by peer host and port, an engine without them never resumes
+    SSLEngine clientEngine = "resumed".equals(handshake)
+        ? client.createSSLEngine("localhost", 443)
+        : client.createSSLEngine();
+    clientEngine.setUseClientMode(true);
+    clientEngine.setEnabledProtocols(new String[]{PROTOCOL });
+
+    SSLEngine serverEngine = server.createSSLEngine();
+    serverEngine.setUseClientMode(false);
+    serverEngine.setEnabledProtocols(new String[]{PROTOCOL });
+
+    handshake(clientEngine, serverEngine);
+    return serverEngine;
+  }
+
+  private static void handshake(final SSLEngine client, final SSLEngine server)
+      throws SSLException {
+    int packet = Math.max(client.getSession().getPacketBufferSize(),
+        server.getSession().getPacketBufferSize());
+    int app = Math.max(client.getSession().getApplicationBufferSize(),
+        server.getSession().getApplicationBufferSize());
+    ByteBuffer clientToServer = ByteBuffer.allocate(packet);
+    ByteBuffer serverToClient = ByteBuffer.allocate(packet);
+    ByteBuffer clientApp = ByteBuffer.allocate(app);
+    ByteBuffer serverApp = ByteBuffer.allocate(app);
+
+    client.beginHandshake();
+    server.beginHandshake();
+    boolean clientDone = false;
+    boolean serverDone = false;
+    while (!clientDone || !serverDone) {
+      clientDone = step(client, clientToServer, serverToClient, clientApp);
+      serverDone = step(server, serverToClient, clientToServer, serverApp);
+    }
+  }
+
+  /**
+   * Run one handshake step.
+   *
+   * @return True, once the engine is done with the handshake.
+   */
+  private static boolean step(final SSLEngine engine, final ByteBuffer out, final ByteBuffer in,
+      final ByteBuffer app) throws SSLException {
+    SSLEngineResult result;
+    switch (engine.getHandshakeStatus()) {
+      case NEED_TASK:
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+          task.run();
+        }
+        return false;
+      case NEED_WRAP:
+        result = engine.wrap(EMPTY, out);
+        return result.getHandshakeStatus() == HandshakeStatus.FINISHED;
+      case NEED_UNWRAP:
+        in.flip();
+        result = engine.unwrap(in, app);
+        in.compact();
+        return result.getHandshakeStatus() == HandshakeStatus.FINISHED;
+      default:
+        return true;
+    }
+  }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Jooby;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typesafe.config.ConfigFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpVersion;
+
+/**
+ * Round trip of a plain text request to a Netty server, over loopback TCP and over a unix domain
+ * socket (<code>application.unixSocket</code>). The client is a Netty epoll bootstrap with a
+ * single keep-alive connection, so the time is the latency of one request. Linux only.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnixSocketBenchmark {
+
+  private static final String HOST = "127.0.0.1";
+
+  /** Transport between client and server. */
+  @Param({"tcp", "uds" })
+  public String transport;
+
+  private Path dir;
+
+  private Jooby app;
+
+  private EpollEventLoopGroup group;
+
+  private Channel channel;
+
+  private final BlockingQueue<Integer> responses = new LinkedBlockingQueue<>();
+
+  @Setup
+  public void setup() throws Exception {
+    if (!Epoll.isAvailable()) {
+      throw new IllegalStateException("The epoll transport is required",
+          Epoll.unavailabilityCause());
+    }
+    dir = Files.createTempDirectory("jooby-uds");
+    Path socket = dir.resolve("app.sock");
+    int port;
+    try (ServerSocket server = new ServerSocket(0)) {
+      port = server.getLocalPort();
+    }
+
+    app = BenchApp.start(new Jooby() {
+      {
+        get("/plaintext", req -> "Hello, World!");
+      }
+    }, ConfigFactory.parseString("server.module = org.jooby.netty.Netty\n"
+        + "startup.report = false\n"
+        + "application.host = \"" + HOST + "\"\n"
+        + "application.port = " + port + "\n"
+        + "application.unixSocket = \"" + socket + "\"\n"));
+
+    boolean uds = "uds".equals(transport);
+    group = new EpollEventLoopGroup(1);
+    Bootstrap bootstrap = new Bootstrap()
+        .group(group)
+        .channel(uds ? EpollDomainSocketChannel.class : EpollSocketChannel.class)
+        .handler(new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(final Channel ch) {
+            ch.pipeline()
+                .addLast(new HttpClientCodec())
+                .addLast(new HttpObjectAggregator(64 * 1024))
+                .addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                  @Override
+                  protected void channelRead0(final ChannelHandlerContext ctx,
+                      final FullHttpResponse rsp) {
+                    responses.add(rsp.getStatus().code());
+                  }
+                });
+          }
+        });
+    if (!uds) {
+      bootstrap.option(ChannelOption.TCP_NODELAY, true);
+    }
+    SocketAddress address = uds
+        ? new DomainSocketAddress(socket.toFile())
+        : new InetSocketAddress(HOST, port);
+    channel = bootstrap.connect(address).sync().channel();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    channel.close().await();
+    group.shutdownGracefully().await();
+    app.stop();
+    Files.deleteIfExists(dir);
+  }
+
+  @Benchmark
+  public int plaintext() throws InterruptedException {
+    FullHttpRequest req = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+        "/plaintext");
+    req.headers().set(HttpHeaders.Names.HOST, HOST);
+    channel.writeAndFlush(req);
+    return responses.take();
+  }
+
+}
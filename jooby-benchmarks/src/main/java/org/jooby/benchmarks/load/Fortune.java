@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks.load;
+
+/**
+ * A row of the <code>Fortune</code> table.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class Fortune implements Comparable<Fortune> {
+
+  private final int id;
+
+  private final String message;
+
+  public Fortune(final int id, final String message) {
+    this.id = id;
+    this.message = message;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public int compareTo(final Fortune fortune) {
+    return message.compareTo(fortune.message);
+  }
+
+}
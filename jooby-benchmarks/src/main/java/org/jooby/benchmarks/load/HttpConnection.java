@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks.load;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * A minimal HTTP/1.1 client connection: it writes pre-encoded requests and reads responses
+ * (<code>Content-Length</code> or chunked bodies), keeping the status code and discarding the
+ * body. It supports pipelining, so {@link #read()} must be called once per request.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class HttpConnection implements Closeable {
+
+  private static final int CONNECT_TIMEOUT = 5000;
+
+  private final Socket socket;
+
+  private final InputStream in;
+
+  private final OutputStream out;
+
+  private final StringBuilder line = new StringBuilder(128);
+
+  private boolean open = true;
+
+  public HttpConnection(final String host, final int port, final int timeout)
+      throws IOException {
+    socket = new Socket();
+    socket.setTcpNoDelay(true);
+    socket.setSoTimeout(timeout);
+    socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT);
+    in = new BufferedInputStream(socket.getInputStream(), 16384);
+    out = socket.getOutputStream();
+  }
+
+  /**
+   * Send one or more (pipelined) requests.
+   *
+   * @param requests Encoded requests.
+   * @throws IOException If the write fails.
+   */
+  public void write(final byte[] requests) throws IOException {
+    out.write(requests);
+    out.flush();
+  }
+
+  /**
+   * Read a response.
+   *
+   * @return Status code.
+   * @throws IOException If the read fails or the response isn't valid.
+   */
+  public int read() throws IOException {
+    String status = readLine();
+    if (!status.startsWith("HTTP/1.")) {
+      throw new IOException("Bad status line: " + status);
+    }
+    int code = Integer.parseInt(status.substring(9, 12));
+
+    long length = -1;
+    boolean chunked = false;
+    String header = readLine();
+    while (header.length() > 0) {
+      int colon = header.indexOf(':');
+      String name = header.substring(0, colon).trim();
+      String value = header.substring(colon + 1).trim();
+      if (name.equalsIgnoreCase("Content-Length")) {
+        length = Long.parseLong(value);
+      } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+        chunked = value.equalsIgnoreCase("chunked");
+      } else if (name.equalsIgnoreCase("Connection")) {
+        open = !value.equalsIgnoreCase("close");
+      }
+      header = readLine();
+    }
+
+    if (chunked) {
+      long size = chunk();
+      while (size > 0) {
+        skip(size);
+        readLine();
+        size = chunk();
+      }
+      // trailers
+      while (readLine().length() > 0) {
+      }
+    } else if (length > 0) {
+      skip(length);
+    } else if (length < 0 && code >= 200 && code != 204 && code != 304) {
+      // no length: body ends with the connection
+      while (in.read() >= 0) {
+      }
+      open = false;
+    }
+    return code;
+  }
+
+  /**
+   * Read the status line and headers of a response, leaving the body (a stream) unread.
+   *
+   * @return Status code.
+   * @throws IOException If the read fails.
+   */
+  public int readHead() throws IOException {
+    String status = readLine();
+    while (readLine().length() > 0) {
+    }
+    return Integer.parseInt(status.substring(9, 12));
+  }
+
+  /**
+   * @return True, unless the server asked to close the connection.
+   */
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() throws IOException {
+    open = false;
+    socket.close();
+  }
+
+  private long chunk() throws IOException {
+    String size = readLine();
+    int ext = size.indexOf(';');
+    return Long.parseLong(ext > 0 ? size.substring(0, ext).trim() : size.trim(), 16);
+  }
+
+  private void skip(final long bytes) throws IOException {
+    long remaining = bytes;
+    while (remaining > 0) {
+      long skipped = in.skip(remaining);
+      if (skipped <= 0) {
+        if (in.read() < 0) {
+          throw new EOFException();
+        }
+        skipped = 1;
+      }
+      remaining -= skipped;
+    }
+  }
+
+  private String readLine() throws IOException {
+    line.setLength(0);
+    int ch = in.read();
+    while (ch != '\n') {
+      if (ch < 0) {
+        throw new EOFException();
+      }
+      if (ch != '\r') {
+        line.append((char) ch);
+      }
+      ch = in.read();
+    }
+    return line.toString();
+  }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks.load;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histogram (nanoseconds) with log-linear buckets: each power of two is split in
+ * {@link #SUB} buckets, so values are recorded with less than 1% of error. Values over ~18
+ * minutes are recorded as the max bucket.
+ *
+ * <p>
+ * Not thread-safe, each connection of a load generator has its own histogram and they are
+ * {@link #add(LatencyHistogram) merged} at the end.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BITS = 7;
+
+  /** Buckets per power of two. */
+  static final int SUB = 1 << SUB_BITS;
+
+  private static final int MAX_BITS = 40;
+
+  private static final long MAX = (1L << MAX_BITS) - 1;
+
+  private final long[] counts = new long[index(MAX) + 1];
+
+  private long total;
+
+  private long max;
+
+  private long sum;
+
+  /**
+   * Record a value.
+   *
+   * @param nanos Latency in nanoseconds.
+   */
+  public void record(final long nanos) {
+    long value = Math.max(0, nanos);
+    counts[index(Math.min(value, MAX))] += 1;
+    total += 1;
+    sum += value;
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Add all the values of the given histogram.
+   *
+   * @param histogram A histogram.
+   * @return This histogram.
+   */
+  public LatencyHistogram add(final LatencyHistogram histogram) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += histogram.counts[i];
+    }
+    total += histogram.total;
+    sum += histogram.sum;
+    max = Math.max(max, histogram.max);
+    return this;
+  }
+
+  /**
+   * @return Number of recorded values.
+   */
+  public long count() {
+    return total;
+  }
+
+  /**
+   * @return Max recorded value.
+   */
+  public long max() {
+    return max;
+  }
+
+  /**
+   * @return Mean of the recorded values.
+   */
+  public double mean() {
+    return total == 0 ? 0 : (double) sum / total;
+  }
+
+  /**
+   * Value at the given percentile: the highest value of the bucket where the percentile is.
+   *
+   * @param percentile A percentile, like <code>99.9</code>.
+   * @return Value at the given percentile.
+   */
+  public long percentile(final double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(highest(i), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * @param percentile A percentile, like <code>99.9</code>.
+   * @return Value at the given percentile in milliseconds.
+   */
+  public double millis(final double percentile) {
+    return percentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  static int index(final long value) {
+    if (value < SUB) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+    return SUB + shift * SUB + (int) ((value >>> shift) - SUB);
+  }
+
+  static long lowest(final int index) {
+    if (index < SUB) {
+      return index;
+    }
+    int shift = (index - SUB) / SUB;
+    return (long) (SUB + (index - SUB) % SUB) << shift;
+  }
+
+  static long highest(final int index) {
+    return lowest(index + 1) - 1;
+  }
+
+}
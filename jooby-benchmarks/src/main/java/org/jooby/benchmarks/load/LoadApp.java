@@ -0,0 +1,222 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks.load;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import org.jooby.Jooby;
+import org.jooby.MediaType;
+import org.jooby.Request;
+import org.jooby.Results;
+import org.jooby.ftl.Ftl;
+import org.jooby.hbs.Hbs;
+import org.jooby.jdbc.Jdbc;
+import org.jooby.json.Jackson;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Sample application of the load tests, with the TechEmpower scenarios: plaintext, json, single
+ * query, multiple queries and fortunes (handlebars and freemarker), plus a path variable route.
+ * Data lives in an in-memory H2 database (<code>db = mem</code>), see {@link #seed()}.
+ *
+ * <p>
+ * A single query with artificial latency (20ms, outside of the connection) compares the
+ * <code>platform</code> and <code>virtual</code> thread modes (<code>server.threads.Mode</code>):
+ * threads spend most of the time waiting, like a handler blocked on JDBC or a remote call.
+ * </p>
+ *
+ * <p>
+ * There is also an idle server-sent events route, used to measure the memory of open connections.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class LoadApp extends Jooby {
+
+  /** Number of rows of the World table. */
+  static final int WORLDS = 10000;
+
+  private static final String HELLO = "Hello, World!";
+
+  private static final String[] FORTUNES = {
+      "fortune: No such file or directory",
+      "A computer scientist is someone who fixes things that aren't broken.",
+      "After enough decimal places, nobody gives a damn.",
+      "A bad random number generator: 1, 1, 1, 1, 1, 4.33e+67, 1, 1, 1",
+      "A computer program does what you tell it to do, not what you want it to do.",
+      "Emacs is a nice operating system, but I prefer UNIX. \u2014 Tom Christaensen",
+      "Any program that runs right is obsolete.",
+      "A list is only as strong as its weakest link. \u2014 Donald Knuth",
+      "Feature: A bug with seniority.",
+      "Computers make very fast, very accurate mistakes.",
+      "<script>alert(\"This should not be displayed in a browser alert box.\");</script>",
+      "\u30d5\u30ec\u30fc\u30e0\u30ef\u30fc\u30af\u306e\u30d9\u30f3\u30c1\u30de\u30fc\u30af"
+  };
+
+  {
+    use(new Jackson());
+
+    use(new Jdbc());
+
+    use(new Hbs());
+
+    use(new Ftl());
+
+    get("/plaintext", () -> HELLO)
+        .produces(MediaType.plain);
+
+    get("/json", () -> ImmutableMap.of("message", HELLO))
+        .produces(MediaType.json);
+
+    // a GET that reads one path variable: cost of the request decoding
+    get("/users/:id", req -> req.param("id").value())
+        .produces(MediaType.plain);
+
+    get("/db", req -> {
+      try (Connection connection = req.require(DataSource.class).getConnection()) {
+        return world(connection, random());
+      }
+    }).produces(MediaType.json);
+
+    // a query plus artificial latency (like a remote call), the request thread just waits
+    get("/db/latency", req -> {
+      World world;
+      try (Connection connection = req.require(DataSource.class).getConnection()) {
+        world = world(connection, random());
+      }
+      Thread.sleep(req.param("ms").toOptional(Long.class).orElse(20L));
+      return world;
+    }).produces(MediaType.json);
+
+    get("/queries", req -> {
+      int queries = queries(req);
+      List<World> worlds = new ArrayList<>(queries);
+      try (Connection connection = req.require(DataSource.class).getConnection()) {
+        for (int i = 0; i < queries; i++) {
+          worlds.add(world(connection, random()));
+        }
+      }
+      return worlds;
+    }).produces(MediaType.json);
+
+    get("/fortunes/hbs", req -> Results.html("load/fortunes-hbs")
+        .put("fortunes", fortunes(req))
+        .engine("hbs"))
+        .produces(MediaType.html);
+
+    get("/fortunes/ftl", req -> Results.html("load/fortunes-ftl")
+        .put("fortunes", fortunes(req))
+        .engine("ftl"))
+        .produces(MediaType.html);
+
+    // connect and stay idle
+    sse("/sse", (req, sse) -> {
+    });
+  }
+
+  /**
+   * Creates and populates the World and Fortune tables.
+   *
+   * @throws Exception If something goes wrong.
+   */
+  public void seed() throws Exception {
+    try (Connection connection = require(DataSource.class).getConnection();
+        Statement stt = connection.createStatement()) {
+      stt.execute("create table World (id int primary key, randomNumber int not null)");
+      stt.execute("create table Fortune (id int primary key, message varchar(2048) not null)");
+
+      try (PreparedStatement insert = connection
+          .prepareStatement("insert into World (id, randomNumber) values (?, ?)")) {
+        for (int id = 1; id <= WORLDS; id++) {
+          insert.setInt(1, id);
+          insert.setInt(2, random());
+          insert.addBatch();
+        }
+        insert.executeBatch();
+      }
+
+      try (PreparedStatement insert = connection
+          .prepareStatement("insert into Fortune (id, message) values (?, ?)")) {
+        for (int i = 0; i < FORTUNES.length; i++) {
+          insert.setInt(1, i + 1);
+          insert.setString(2, FORTUNES[i]);
+          insert.addBatch();
+        }
+        insert.executeBatch();
+      }
+    }
+  }
+
+  private static World world(final Connection connection, final int id) throws Exception {
+    try (PreparedStatement stt = connection
+        .prepareStatement("select id, randomNumber from World where id = ?")) {
+      stt.setInt(1, id);
+      try (ResultSet rs = stt.executeQuery()) {
+        rs.next();
+        return new World(rs.getInt(1), rs.getInt(2));
+      }
+    }
+  }
+
+  private static List<Fortune> fortunes(final Request req) throws Exception {
+    List<Fortune> fortunes = new ArrayList<>();
+    try (Connection connection = req.require(DataSource.class).getConnection();
+        Statement stt = connection.createStatement();
+        ResultSet rs = stt.executeQuery("select id, message from Fortune")) {
+      while (rs.next()) {
+        fortunes.add(new Fortune(rs.getInt(1), rs.getString(2)));
+      }
+    }
+    fortunes.add(new Fortune(0, "Additional fortune added at request time."));
+    Collections.sort(fortunes);
+    return fortunes;
+  }
+
+  /**
+   * @param req Current request.
+   * @return Value of the <code>queries</code> parameter, between 1 and 500. Missing or bad values
+   *         are 1.
+   */
+  private static int queries(final Request req) throws Exception {
+    String value = req.param("queries").toOptional().orElse("1");
+    int queries;
+    try {
+      queries = Integer.parseInt(value);
+    } catch (NumberFormatException ex) {
+      queries = 1;
+    }
+    return Math.max(1, Math.min(500, queries));
+  }
+
+  private static int random() {
+    return ThreadLocalRandom.current().nextInt(WORLDS) + 1;
+  }
+
+}
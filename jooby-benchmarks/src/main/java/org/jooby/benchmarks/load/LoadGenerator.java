@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks.load;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator. Each connection sends requests at a fixed rate, on a schedule that
+ * doesn't depend on how fast the server responds. Latency is measured from the time a request
+ * was supposed to be sent, not from the time it was actually sent, so a server stall shows up in
+ * the latency of every request that should have gone out during the stall (no coordinated
+ * omission).
+ *
+ * <p>
+ * Connections are blocking HTTP/1.1 keep-alive connections, one thread each. When a server can't
+ * keep up, a connection falls behind its schedule and sends requests back-to-back until it
+ * catches up, so the target rate must be reachable with the given number of connections.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class LoadGenerator {
+
+  /**
+   * Outcome of a run.
+   */
+  public static class Result {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private long requests;
+
+    private long errors;
+
+    private long elapsed;
+
+    /**
+     * @return Number of completed requests (including errors).
+     */
+    public long requests() {
+      return requests;
+    }
+
+    /**
+     * @return Number of requests with a 4xx/5xx response or an IO error.
+     */
+    public long errors() {
+      return errors;
+    }
+
+    /**
+     * @return Latency of the completed requests.
+     */
+    public LatencyHistogram latency() {
+      return histogram;
+    }
+
+    /**
+     * @return Completed requests per second.
+     */
+    public double throughput() {
+      return elapsed == 0 ? 0 : requests * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    private Result add(final Result result) {
+      histogram.add(result.histogram);
+      requests += result.requests;
+      errors += result.errors;
+      return this;
+    }
+
+  }
+
+  private final String host;
+
+  private final int port;
+
+  private final int connections;
+
+  private final int rate;
+
+  private final int timeout;
+
+  /**
+   * Creates a new load generator.
+   *
+   * @param host Server host.
+   * @param port Server port.
+   * @param connections Number of connections.
+   * @param rate Target rate (requests per second) across all the connections.
+   * @param timeout Socket read timeout in millis.
+   */
+  public LoadGenerator(final String host, final int port, final int connections, final int rate,
+      final int timeout) {
+    this.host = host;
+    this.port = port;
+    this.connections = connections;
+    this.rate = rate;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Run a scenario.
+   *
+   * @param scenario Scenario to run.
+   * @param depth Pipelining depth, see {@link Scenario#depth(int)}.
+   * @param duration Duration of the run.
+   * @param unit Duration unit.
+   * @return Result.
+   * @throws InterruptedException If interrupted while waiting for the connections.
+   */
+  public Result run(final Scenario scenario, final int depth, final long duration,
+      final TimeUnit unit) throws InterruptedException {
+    byte[] request = scenario.request(depth);
+    int batch = scenario.depth(depth);
+    // time between two (batches of) requests of a connection
+    long interval = Math.max(1, TimeUnit.SECONDS.toNanos(1) * connections * batch / rate);
+
+    // give threads some time to start
+    long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+    long end = start + unit.toNanos(duration);
+
+    Result[] results = new Result[connections];
+    Thread[] threads = new Thread[connections];
+    for (int i = 0; i < connections; i++) {
+      Result result = new Result();
+      results[i] = result;
+      // spread connections over the interval
+      long first = start + interval * i / connections;
+      threads[i] = new Thread(() -> run(request, batch, first, interval, end, result),
+          "load-" + scenario.value() + "-" + i);
+      threads[i].start();
+    }
+
+    Result result = new Result();
+    for (int i = 0; i < connections; i++) {
+      threads[i].join();
+      result.add(results[i]);
+    }
+    result.elapsed = System.nanoTime() - start;
+    return result;
+  }
+
+  private void run(final byte[] request, final int batch, final long first, final long interval,
+      final long end, final Result result) {
+    HttpConnection connection = null;
+    long intended = first;
+    while (intended < end) {
+      long wait = intended - System.nanoTime();
+      while (wait > 0) {
+        LockSupport.parkNanos(wait);
+        wait = intended - System.nanoTime();
+      }
+      int done = 0;
+      try {
+        if (connection == null || !connection.isOpen()) {
+          close(connection);
+          connection = new HttpConnection(host, port, timeout);
+        }
+        connection.write(request);
+        while (done < batch) {
+          int status = connection.read();
+          result.histogram.record(System.nanoTime() - intended);
+          if (status >= 400) {
+            result.errors += 1;
+          }
+          done += 1;
+          result.requests += 1;
+        }
+      } catch (IOException | RuntimeException ex) {
+        result.errors += batch - done;
+        result.requests += batch - done;
+        close(connection);
+        connection = null;
+      }
+      intended += interval;
+    }
+    close(connection);
+  }
+
+  private static void close(final HttpConnection connection) {
+    if (connection != null) {
+      try {
+        connection.close();
+      } catch (IOException ex) {
+        // ignored
+      }
+    }
+  }
+
+}
@@ -0,0 +1,281 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Runs the {@link LoadApp} on each web server (in-process, one after the other) and drives it
+ * with the {@link LoadGenerator} over the loopback interface.
+ *
+ * <pre>
+ *   java -cp benchmarks.jar org.jooby.benchmarks.load.LoadTest [options]
+ * </pre>
+ *
+ * Options:
+ * <ul>
+ * <li><code>--servers</code>: netty,undertow,jetty</li>
+ * <li><code>--scenarios</code>: plaintext,json,pathvar,db,db-latency,queries,fortunes-hbs,
+ * fortunes-ftl,pipelined</li>
+ * <li><code>--modes</code>: thread modes (<code>server.threads.Mode</code>), platform,virtual.
+ * Each server runs once per mode. Default is platform</li>
+ * <li><code>--rate</code>: target requests per second, default is 10000</li>
+ * <li><code>--connections</code>: default is 64</li>
+ * <li><code>--duration</code>: of each scenario, default is 30s</li>
+ * <li><code>--warmup</code>: run before each scenario, default is 10s</li>
+ * <li><code>--pipeline</code>: depth of the pipelined scenario, default is 16</li>
+ * <li><code>--sse</code>: number of idle server-sent events connections, used to measure memory
+ * per connection. Default is 1000, 0 turns it off</li>
+ * <li><code>--timeout</code>: read timeout, default is 10s</li>
+ * <li><code>--out</code>: JSON results file, default is load-result.json</li>
+ * <li><code>--conf</code>: an application property (repeatable), like
+ * <code>--conf server.threads.Max=400</code></li>
+ * </ul>
+ *
+ * <p>
+ * Client and servers share the machine (and the JVM), so compare numbers of the same box only.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class LoadTest {
+
+  private static final String HOST = "127.0.0.1";
+
+  private static final Map<String, String> SERVERS = ImmutableMap.of(
+      "netty", "org.jooby.netty.Netty",
+      "undertow", "org.jooby.undertow.Undertow",
+      "jetty", "org.jooby.jetty.Jetty");
+
+  private static final Config DEFAULTS = ConfigFactory.parseString(
+      "servers = \"netty,undertow,jetty\"\n"
+          + "scenarios = \"plaintext,json,pathvar,db,db-latency,queries,fortunes-hbs,"
+          + "fortunes-ftl,pipelined\"\n"
+          + "modes = platform\n"
+          + "rate = 10000\n"
+          + "connections = 64\n"
+          + "duration = 30s\n"
+          + "warmup = 10s\n"
+          + "pipeline = 16\n"
+          + "sse = 1000\n"
+          + "timeout = 10s\n"
+          + "out = load-result.json\n");
+
+  private static final String FORMAT = "%-10s %-9s %-14s %12s %10s %10s %10s %10s %10s%n";
+
+  public static void main(final String[] args) throws Exception {
+    Map<String, Object> values = new HashMap<>();
+    List<String> conf = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if (!args[i].startsWith("--") || i + 1 == args.length) {
+        System.out.println(usage());
+        return;
+      }
+      String name = args[i].substring(2);
+      String value = args[++i];
+      if (name.equals("conf")) {
+        conf.add(value);
+      } else {
+        values.put(name, value);
+      }
+    }
+    Config options = ConfigFactory.parseMap(values).withFallback(DEFAULTS);
+    Config appconf = ConfigFactory.parseString(String.join("\n", conf));
+
+    List<String> servers = list(options.getString("servers"));
+    List<String> modes = list(options.getString("modes"));
+    List<Scenario> scenarios = new ArrayList<>();
+    list(options.getString("scenarios")).forEach(it -> scenarios.add(Scenario.of(it)));
+    int rate = options.getInt("rate");
+    int connections = options.getInt("connections");
+    long duration = options.getDuration("duration", TimeUnit.MILLISECONDS);
+    long warmup = options.getDuration("warmup", TimeUnit.MILLISECONDS);
+    int depth = options.getInt("pipeline");
+    int sse = options.getInt("sse");
+    int timeout = (int) options.getDuration("timeout", TimeUnit.MILLISECONDS);
+
+    List<Map<String, Object>> results = new ArrayList<>();
+    List<Map<String, Object>> memory = new ArrayList<>();
+
+    System.out.printf(FORMAT, "server", "mode", "scenario", "req/s", "errors", "p50 ms",
+        "p99 ms", "p999 ms", "max ms");
+    for (String server : servers) {
+      String module = SERVERS.get(server);
+      if (module == null) {
+        throw new IllegalArgumentException("Unknown server: " + server + ", expecting one of: "
+            + SERVERS.keySet());
+      }
+      for (String mode : modes) {
+        int port = freePort();
+        LoadApp app = new LoadApp();
+        app.use(ConfigFactory.parseString("server.threads.Mode = " + mode)
+            .withFallback(appconf)
+            .withFallback(ConfigFactory.parseString(
+                "server.module = " + module + "\n"
+                    + "server.join = false\n"
+                    + "application.env = prod\n"
+                    + "application.host = \"" + HOST + "\"\n"
+                    + "application.port = " + port + "\n"
+                    + "db = mem\n")));
+        app.start();
+        try {
+          app.seed();
+          LoadGenerator generator = new LoadGenerator(HOST, port, connections, rate, timeout);
+          for (Scenario scenario : scenarios) {
+            generator.run(scenario, depth, warmup, TimeUnit.MILLISECONDS);
+            LoadGenerator.Result result = generator.run(scenario, depth, duration,
+                TimeUnit.MILLISECONDS);
+            LatencyHistogram latency = result.latency();
+            System.out.printf(FORMAT, server, mode, scenario.value(),
+                String.format("%.0f", result.throughput()), result.errors(),
+                String.format("%.3f", latency.millis(50)),
+                String.format("%.3f", latency.millis(99)),
+                String.format("%.3f", latency.millis(99.9)),
+                String.format("%.3f", latency.millis(100)));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("server", server);
+            row.put("mode", mode);
+            row.put("scenario", scenario.value());
+            row.put("rate", rate);
+            row.put("connections", connections);
+            row.put("depth", scenario.depth(depth));
+            row.put("requests", result.requests());
+            row.put("errors", result.errors());
+            row.put("throughput", result.throughput());
+            row.put("p50", latency.millis(50));
+            row.put("p99", latency.millis(99));
+            row.put("p999", latency.millis(99.9));
+            row.put("max", latency.millis(100));
+            row.put("mean", latency.mean() / TimeUnit.MILLISECONDS.toNanos(1));
+            results.add(row);
+          }
+          if (sse > 0) {
+            long bytes = sseMemory(port, sse, timeout);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("server", server);
+            row.put("mode", mode);
+            row.put("connections", sse);
+            row.put("bytesPerConnection", bytes);
+            memory.add(row);
+            System.out.printf("%-10s %-9s %-14s %s%n", server, mode, "sse-idle",
+                bytes < 0 ? "not supported" : bytes + " bytes/connection");
+          }
+        } finally {
+          app.stop();
+        }
+      }
+    }
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty(
+        "java.version"));
+    report.put("processors", Runtime.getRuntime().availableProcessors());
+    report.put("conf", conf);
+    report.put("duration", duration);
+    report.put("warmup", warmup);
+    report.put("results", results);
+    report.put("sse", memory);
+    File out = new File(options.getString("out"));
+    new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(out, report);
+    System.out.println("results saved at: " + out.getAbsolutePath());
+  }
+
+  /**
+   * Open idle server-sent events connections and measure the heap used by them. Client sockets
+   * live in the same heap, so the number is a bit higher than what the server needs.
+   *
+   * @return Bytes per connection or <code>-1</code> when the server doesn't support server-sent
+   *         events.
+   */
+  private static long sseMemory(final int port, final int connections, final int timeout)
+      throws Exception {
+    byte[] request = ("GET /sse HTTP/1.1\r\n"
+        + "Host: localhost\r\n"
+        + "Accept: text/event-stream\r\n"
+        + "\r\n").getBytes(StandardCharsets.US_ASCII);
+    MemoryMXBean mem = ManagementFactory.getMemoryMXBean();
+    List<HttpConnection> open = new ArrayList<>(connections);
+    try {
+      long before = heap(mem);
+      for (int i = 0; i < connections; i++) {
+        HttpConnection connection = new HttpConnection(HOST, port, timeout);
+        open.add(connection);
+        connection.write(request);
+        if (connection.readHead() != 200) {
+          return -1;
+        }
+      }
+      long after = heap(mem);
+      return Math.max(0, after - before) / connections;
+    } finally {
+      for (HttpConnection connection : open) {
+        connection.close();
+      }
+    }
+  }
+
+  private static long heap(final MemoryMXBean mem) throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return mem.getHeapMemoryUsage().getUsed();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static List<String> list(final String value) {
+    return Splitter.on(',').trimResults().omitEmptyStrings().splitToList(value);
+  }
+
+  private static String usage() {
+    return "usage: LoadTest [--servers netty,undertow,jetty] [--scenarios "
+        + "plaintext,json,pathvar,db,db-latency,queries,fortunes-hbs,fortunes-ftl,pipelined] "
+        + "[--modes platform,virtual] [--rate 10000] "
+        + "[--connections 64] [--duration 30s] [--warmup 10s] [--pipeline 16] [--sse 1000] "
+        + "[--timeout 10s] [--out load-result.json] [--conf name=value]...";
+  }
+
+}
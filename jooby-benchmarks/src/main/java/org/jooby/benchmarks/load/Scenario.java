@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.benchmarks.load;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.base.Strings;
+
+/**
+ * Load test scenarios, see {@link LoadApp}.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public enum Scenario {
+
+  PLAINTEXT("/plaintext", "text/plain"),
+
+  JSON("/json", "application/json"),
+
+  /** A GET that reads one path variable. */
+  PATHVAR("/users/42", "text/plain"),
+
+  DB("/db", "application/json"),
+
+  /** A single query plus 20ms of latency. */
+  DB_LATENCY("/db/latency?ms=20", "application/json"),
+
+  QUERIES("/queries?queries=20", "application/json"),
+
+  FORTUNES_HBS("/fortunes/hbs", "text/html"),
+
+  FORTUNES_FTL("/fortunes/ftl", "text/html"),
+
+  /** Plaintext, with pipelined requests. */
+  PIPELINED("/plaintext", "text/plain");
+
+  private final String path;
+
+  private final String accept;
+
+  private Scenario(final String path, final String accept) {
+    this.path = path;
+    this.accept = accept;
+  }
+
+  /**
+   * @return Name of the scenario, like <code>fortunes-hbs</code>.
+   */
+  public String value() {
+    return name().toLowerCase().replace('_', '-');
+  }
+
+  /**
+   * Encoded requests of this scenario.
+   *
+   * @param depth Number of pipelined requests (ignored, unless this is {@link #PIPELINED}).
+   * @return Encoded requests.
+   */
+  public byte[] request(final int depth) {
+    String request = "GET " + path + " HTTP/1.1\r\n"
+        + "Host: localhost\r\n"
+        + "Accept: " + accept + "\r\n"
+        + "\r\n";
+    return Strings.repeat(request, depth(depth)).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * @param depth Number of pipelined requests.
+   * @return Number of requests sent at once.
+   */
+  public int depth(final int depth) {
+    return this == PIPELINED ? depth : 1;
+  }
+
+  /**
+   * Find a scenario by name.
+   *
+   * @param value A name, like <code>fortunes-hbs</code>.
+   * @return A scenario.
+   */
+  public static Scenario of(final String value) {
+    return valueOf(value.toUpperCase().replace('-', '_'));
+  }
+
+}
@@ -46,10 +46,11 @@ public class EmbeddedHandler implements Route.Handler {
   public void handle(final Request req, final Response rsp) throws Exception {
 
     EmbeddedHttpRequest restReq = new EmbeddedHttpRequest(path, req);
-    EmbeddedHttpChannel channel = new EmbeddedHttpChannel(restReq, rsp, detailedErrorsEnabled);
+    EmbeddedHttpChannel channel = new EmbeddedHttpChannel(restReq, detailedErrorsEnabled);
     controller.get().dispatchRequest(restReq, channel);
 
-    channel.done();
+    // don't block, the response is sent once elasticsearch is done
+    rsp.send(channel.result());
   }
 
 }
@@ -18,57 +18,47 @@
  */
 package org.jooby.internal.elasticsearch;
 
-import static java.util.Objects.requireNonNull;
-
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
 
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.http.HttpChannel;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestResponse;
-import org.jooby.Response;
+import org.jooby.Result;
+import org.jooby.Results;
 
 public class EmbeddedHttpChannel extends HttpChannel {
 
-  private Response rsp;
-
-  private final CountDownLatch latch = new CountDownLatch(1);
-
-  private Exception failure;
+  private final CompletableFuture<Result> result = new CompletableFuture<>();
 
-  public EmbeddedHttpChannel(final RestRequest request, final Response rsp,
-      final boolean detailedErrorsEnabled) {
+  public EmbeddedHttpChannel(final RestRequest request, final boolean detailedErrorsEnabled) {
     super(request, detailedErrorsEnabled);
-    this.rsp = requireNonNull(rsp, "Response is required.");
   }
 
   @Override
   public void sendResponse(final RestResponse response) {
     try {
+      BytesReference content = response.content();
+      Result rsp = Results.with(content, response.status().getStatus())
+          .type(response.contentType())
+          .header("Content-Length", content.length());
+
       String opaque = request.header("X-Opaque-Id");
       if (opaque != null) {
         rsp.header("X-Opaque-Id", opaque);
       }
 
-      BytesReference content = response.content();
-      rsp.status(response.status().getStatus())
-          .length(content.length())
-          .type(response.contentType())
-          .send(content);
+      result.complete(rsp);
     } catch (Exception ex) {
-      failure = ex;
-    } finally {
-      latch.countDown();
+      result.completeExceptionally(ex);
     }
-
   }
 
-  public void done() throws Exception {
-    latch.await();
-
-    if (failure != null) {
-      throw failure;
-    }
+  /**
+   * @return Completes once elasticsearch sent the response.
+   */
+  public CompletableFuture<Result> result() {
+    return result;
   }
 
 }
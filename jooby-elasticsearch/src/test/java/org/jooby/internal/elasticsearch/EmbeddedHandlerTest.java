@@ -2,6 +2,8 @@ package org.jooby.internal.elasticsearch;
 
 import static org.easymock.EasyMock.expect;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.elasticsearch.common.inject.Injector;
 import org.elasticsearch.node.NodeBuilder;
 import org.elasticsearch.node.internal.InternalNode;
@@ -10,6 +12,7 @@ import org.elasticsearch.rest.RestRequest;
 import org.jooby.MockUnit;
 import org.jooby.Request;
 import org.jooby.Response;
+import org.jooby.Result;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -27,9 +30,12 @@ public class EmbeddedHandlerTest {
               new Class[]{String.class, Request.class }, "/search", unit.get(Request.class));
 
           EmbeddedHttpChannel channel = unit.mockConstructor(EmbeddedHttpChannel.class,
-              new Class[]{RestRequest.class, Response.class, boolean.class }, req,
-              unit.get(Response.class), true);
-          channel.done();
+              new Class[]{RestRequest.class, boolean.class }, req, true);
+          CompletableFuture<Result> result = new CompletableFuture<>();
+          expect(channel.result()).andReturn(result);
+
+          Response rsp = unit.get(Response.class);
+          rsp.send(result);
 
           RestController controller = unit.mock(RestController.class);
           controller.dispatchRequest(req, channel);
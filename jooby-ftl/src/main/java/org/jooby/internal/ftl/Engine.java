@@ -25,6 +25,7 @@ import java.util.Map;
 
 import org.jooby.BodyFormatter;
 import org.jooby.View;
+import org.jooby.util.Jfr;
 
 import freemarker.template.Configuration;
 import freemarker.template.SimpleHash;
@@ -50,19 +51,24 @@ public class Engine implements View.Engine {
     // template
     String name = prefix + viewable.name() + suffix;
 
-    Template template = freemarker.getTemplate(name, writer.charset().name());
+    Jfr.Span span = Jfr.template(name(), name);
+    try {
+      Template template = freemarker.getTemplate(name, writer.charset().name());
 
-    Map<String, Object> hash = new HashMap<>();
+      Map<String, Object> hash = new HashMap<>();
 
-    // locals
-    hash.putAll(writer.locals());
+      // locals
+      hash.putAll(writer.locals());
 
-    // model
-    hash.putAll(viewable.model());
-    TemplateModel model = new SimpleHash(hash, new FtlWrapper(freemarker.getObjectWrapper()));
+      // model
+      hash.putAll(viewable.model());
+      TemplateModel model = new SimpleHash(hash, new FtlWrapper(freemarker.getObjectWrapper()));
 
-    // output
-    writer.text(w -> template.process(model, w));
+      // output
+      writer.text(w -> template.process(model, w));
+    } finally {
+      span.commit();
+    }
   }
 
   @Override
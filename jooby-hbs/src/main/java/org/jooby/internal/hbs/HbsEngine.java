@@ -22,6 +22,7 @@ import static java.util.Objects.requireNonNull;
 
 import org.jooby.BodyFormatter;
 import org.jooby.View;
+import org.jooby.util.Jfr;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
@@ -45,17 +46,22 @@ public class HbsEngine implements View.Engine {
 
   @Override
   public void render(final View view, final BodyFormatter.Context writer) throws Exception {
-    Template template = handlebars.compile(view.name());
+    Jfr.Span span = Jfr.template(name(), view.name());
+    try {
+      Template template = handlebars.compile(view.name());
 
-    com.github.jknack.handlebars.Context context = com.github.jknack.handlebars.Context
-        .newBuilder(view.model())
-        // merge request locals (req+sessions locals)
-        .combine(writer.locals())
-        .resolver(resolvers)
-        .build();
+      com.github.jknack.handlebars.Context context = com.github.jknack.handlebars.Context
+          .newBuilder(view.model())
+          // merge request locals (req+sessions locals)
+          .combine(writer.locals())
+          .resolver(resolvers)
+          .build();
 
-    // rendering it
-    writer.text(out -> template.apply(context, out));
+      // rendering it
+      writer.text(out -> template.apply(context, out));
+    } finally {
+      span.commit();
+    }
   }
 
   @Override
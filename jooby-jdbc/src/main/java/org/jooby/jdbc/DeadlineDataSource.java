@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.jooby.Deadline;
+
+/**
+ * Set a query timeout on statements created while a request with a {@link Deadline} is in
+ * progress: the time left before the deadline, rounded up to seconds (JDBC timeouts are in
+ * seconds) or the statement timeout (whatever is shorter).
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+final class DeadlineDataSource {
+
+  private DeadlineDataSource() {
+  }
+
+  public static DataSource wrap(final DataSource dataSource) {
+    return proxy(DataSource.class, dataSource, result -> {
+      if (result instanceof Connection) {
+        return proxy(Connection.class, (Connection) result, DeadlineDataSource::statement);
+      }
+      return result;
+    });
+  }
+
+  private static Object statement(final Object result) throws SQLException {
+    if (result instanceof Statement) {
+      Optional<Deadline> deadline = Deadline.current();
+      if (deadline.isPresent()) {
+        Statement stmt = (Statement) result;
+        try {
+          stmt.setQueryTimeout((int) deadline.get()
+              .min(stmt.getQueryTimeout(), TimeUnit.SECONDS));
+        } catch (RuntimeException ex) {
+          // deadline is over
+          stmt.close();
+          throw ex;
+        }
+      }
+    }
+    return result;
+  }
+
+  private interface Interceptor {
+    Object apply(Object result) throws SQLException;
+  }
+
+  private static <T> T proxy(final Class<T> type, final T target, final Interceptor interceptor) {
+    return Proxies.proxy(type, target,
+        (proxy, method, args) -> interceptor.apply(Proxies.invoke(target, method, args)));
+  }
+
+}
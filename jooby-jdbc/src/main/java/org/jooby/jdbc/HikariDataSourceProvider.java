@@ -18,12 +18,19 @@
  */
 package org.jooby.jdbc;
 
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 import javax.inject.Provider;
 import javax.sql.DataSource;
 
 import org.jooby.Managed;
+import org.jooby.Route;
+import org.jooby.util.Jfr;
 import org.slf4j.LoggerFactory;
 
+import com.google.inject.Inject;
+import com.typesafe.config.Config;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -31,8 +38,14 @@ class HikariDataSourceProvider implements Provider<DataSource>, Managed {
 
   private HikariDataSource dataSource;
 
+  /** Deadline and/or JFR proxy of the data source, or the data source itself. */
+  private DataSource proxy;
+
   private HikariConfig config;
 
+  /** True, when a request might have a deadline. */
+  private boolean deadlines;
+
   public HikariDataSourceProvider(final HikariConfig config) {
     this.config = config;
   }
@@ -41,10 +54,29 @@ class HikariDataSourceProvider implements Provider<DataSource>, Managed {
     return config;
   }
 
+  /**
+   * Requests have a deadline when <code>server.http.Timeout</code> is set or when a route has a
+   * timeout. Without them, statements don't need a query timeout and the data source isn't
+   * proxied.
+   *
+   * @param conf Application config.
+   * @param routes Application routes.
+   */
+  @Inject(optional = true)
+  public void deadlines(final Config conf, final Set<Route.Definition> routes) {
+    String timeout = "server.http.Timeout";
+    deadlines = (conf.hasPath(timeout) && conf.getDuration(timeout, TimeUnit.MILLISECONDS) > 0)
+        || routes.stream().anyMatch(route -> route.timeout().isPresent());
+  }
+
   @Override
   public void start() {
     if (dataSource == null) {
       dataSource = new HikariDataSource(config);
+      proxy = deadlines ? DeadlineDataSource.wrap(dataSource) : dataSource;
+      if (Jfr.enabled()) {
+        proxy = JfrDataSource.wrap(proxy, config.getPoolName());
+      }
       LoggerFactory.getLogger(HikariDataSource.class).info("  {}",
           config.getDataSourceProperties().getProperty("url"));
     }
@@ -53,7 +85,7 @@ class HikariDataSourceProvider implements Provider<DataSource>, Managed {
   @Override
   public DataSource get() {
     start();
-    return dataSource;
+    return proxy;
   }
 
   @Override
@@ -61,6 +93,7 @@ class HikariDataSourceProvider implements Provider<DataSource>, Managed {
     if (dataSource != null) {
       dataSource.shutdown();
       dataSource = null;
+      proxy = null;
     }
   }
 
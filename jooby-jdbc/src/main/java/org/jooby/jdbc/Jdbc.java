@@ -177,6 +177,14 @@ import com.zaxxer.hikari.HikariConfig;
  * <strong>Name</strong> annotation, like <code>@Name("db.audit")</code>
  * </p>
  *
+ * <h2>request deadline</h2>
+ * <p>
+ * Statements created while a request with a {@link org.jooby.Request#deadline()} is in progress
+ * get a query timeout of the time left before the deadline (rounded up to seconds). Once the
+ * deadline is over, creating a statement fails with <code>504</code>. The data source is proxied
+ * only when requests can have a deadline: <code>server.http.Timeout</code> or a route timeout.
+ * </p>
+ *
  *
  * That's all folks! Enjoy it!!!
  *
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import static org.jooby.jdbc.Proxies.invoke;
+
+import java.lang.reflect.Method;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.jooby.util.Jfr;
+
+/**
+ * JFR call events of a {@link DataSource}: <code>getConnection</code> (time waiting for the pool
+ * included) and statement executions, with their SQL. Only used when {@link Jfr#enabled()}.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+final class JfrDataSource {
+
+  private static final String BACKEND = "jdbc";
+
+  private JfrDataSource() {
+  }
+
+  public static DataSource wrap(final DataSource dataSource, final String name) {
+    return proxy(DataSource.class, dataSource, (method, args) -> {
+      if (method.getName().equals("getConnection")) {
+        Jfr.Span span = Jfr.call(BACKEND, "getConnection", name, null);
+        try {
+          return connection((Connection) invoke(dataSource, method, args), name);
+        } finally {
+          span.commit();
+        }
+      }
+      return invoke(dataSource, method, args);
+    });
+  }
+
+  private static Connection connection(final Connection connection, final String name) {
+    return proxy(Connection.class, connection, (method, args) -> {
+      Object result = invoke(connection, method, args);
+      if (result instanceof Statement) {
+        // prepareStatement(sql, ...) and prepareCall(sql, ...)
+        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+        return statement((Statement) result, name, sql);
+      }
+      return result;
+    });
+  }
+
+  private static Statement statement(final Statement stmt, final String name, final String sql) {
+    Class<? extends Statement> type = stmt instanceof CallableStatement
+        ? CallableStatement.class
+        : stmt instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+    return proxy(type, stmt, (method, args) -> {
+      String operation = method.getName();
+      if (operation.startsWith("execute")) {
+        // execute(sql, ...) of plain statements
+        String query = args != null && args.length > 0 && args[0] instanceof String
+            ? (String) args[0]
+            : sql;
+        Jfr.Span span = Jfr.call(BACKEND, operation, name, query);
+        try {
+          return invoke(stmt, method, args);
+        } finally {
+          span.commit();
+        }
+      }
+      return invoke(stmt, method, args);
+    });
+  }
+
+  private interface Handler {
+    Object apply(Method method, Object[] args) throws Throwable;
+  }
+
+  private static <T> T proxy(final Class<? extends T> type, final T target,
+      final Handler handler) {
+    return Proxies.proxy(type, target, (proxy, method, args) -> handler.apply(method, args));
+  }
+
+}
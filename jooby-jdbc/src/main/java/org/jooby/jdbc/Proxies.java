@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Wrapper;
+
+import com.google.common.reflect.TypeToken;
+
+/**
+ * JDK proxies of JDBC objects. A proxy implements all the public interfaces of its target (like
+ * {@link java.io.Closeable} of a pool), not only the JDBC one, and {@link Wrapper} calls go to the
+ * target untouched.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+final class Proxies {
+
+  private Proxies() {
+  }
+
+  /**
+   * @param type JDBC type of the target.
+   * @param target Target object.
+   * @param handler Handler for everything but {@link Wrapper} methods.
+   * @return A proxy.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T proxy(final Class<? extends T> type, final T target,
+      final InvocationHandler handler) {
+    Class<?>[] interfaces = TypeToken.of(target.getClass()).getTypes().interfaces().rawTypes()
+        .stream()
+        .filter(it -> Modifier.isPublic(it.getModifiers()))
+        .toArray(Class[]::new);
+    ClassLoader loader = target.getClass().getClassLoader();
+    return (T) Proxy.newProxyInstance(loader == null ? type.getClassLoader() : loader, interfaces,
+        (proxy, method, args) -> {
+          if (method.getDeclaringClass() == Wrapper.class) {
+            // unwrap and isWrapperFor
+            return invoke(target, method, args);
+          }
+          return handler.invoke(proxy, method, args);
+        });
+  }
+
+  /**
+   * Call a method of the target, with the exception it throws.
+   *
+   * @param target Target object.
+   * @param method Method to call.
+   * @param args Arguments.
+   * @return Method result.
+   * @throws Throwable If the method fails.
+   */
+  public static Object invoke(final Object target, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+}
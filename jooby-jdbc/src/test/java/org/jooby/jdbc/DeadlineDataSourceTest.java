@@ -0,0 +1,38 @@
+package org.jooby.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Closeable;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+public class DeadlineDataSourceTest {
+
+  public interface Pool extends DataSource, Closeable {
+  }
+
+  @Test
+  public void keepInterfacesOfTheDataSource() throws Exception {
+    Pool pool = createMock(Pool.class);
+    expect(pool.unwrap(Pool.class)).andReturn(pool);
+    expect(pool.isWrapperFor(Pool.class)).andReturn(true);
+    pool.close();
+    replay(pool);
+
+    DataSource dataSource = DeadlineDataSource.wrap(pool);
+    assertTrue(dataSource instanceof Pool);
+    assertSame(pool, dataSource.unwrap(Pool.class));
+    assertTrue(dataSource.isWrapperFor(Pool.class));
+    ((Closeable) dataSource).close();
+
+    verify(pool);
+  }
+
+}
@@ -27,11 +27,15 @@ import javax.inject.Named;
 import javax.inject.Provider;
 
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.jooby.Deadline;
 import org.jooby.Env;
 import org.jooby.Jooby;
+import org.jooby.util.Jfr;
 
+import redis.clients.jedis.Client;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Protocol;
 
 import com.google.inject.Binder;
 import com.google.inject.name.Names;
@@ -118,6 +122,13 @@ import com.typesafe.config.ConfigFactory;
  * jedis.db1.maxTotal = 10
  * </pre>
  *
+ * <h1>request deadline</h1>
+ * <p>
+ * A {@link Jedis} required while a request with a {@link org.jooby.Request#deadline()} is in
+ * progress gets a socket timeout of <code>jedis.timeout</code> or the time left before the
+ * deadline (whatever is shorter). Once the deadline is over it fails with <code>504</code>.
+ * </p>
+ *
  * <p>
  * For more information about <a href="https://github.com/xetorthio/jedis">Jedis</a> checkout the <a
  * href="https://github.com/xetorthio/jedis/wiki">wiki</a>
@@ -210,7 +221,19 @@ public class Redis implements Jooby.Module {
 
     Provider<JedisPool> managed = new RedisProvider(pool, uri, poolConfig);
 
-    Provider<Jedis> jedis = (Provider<Jedis>) () -> pool.getResource();
+    // host:port of JFR events, without credentials
+    String resource = uri.getHost() + ":"
+        + (uri.getPort() == -1 ? Protocol.DEFAULT_PORT : uri.getPort());
+    Provider<Jedis> jedis = (Provider<Jedis>) () -> {
+      // fail before borrowing a connection
+      int soTimeout = timeout(timeout);
+      Jfr.Span span = Jfr.call("redis", "getResource", resource, null);
+      try {
+        return timeout(pool.getResource(), soTimeout);
+      } finally {
+        span.commit();
+      }
+    };
 
     /**
      * Guice
@@ -228,6 +251,22 @@ public class Redis implements Jooby.Module {
     }
   }
 
+  private static int timeout(final int timeout) {
+    return Deadline.current()
+        .map(deadline -> (int) deadline.min(timeout, TimeUnit.MILLISECONDS))
+        .orElse(timeout);
+  }
+
+  private static Jedis timeout(final Jedis jedis, final int timeout) {
+    // pooled connections keep the timeout of the last borrower, so always set it
+    Client client = jedis.getClient();
+    client.setTimeout(timeout);
+    if (client.isConnected()) {
+      client.rollbackTimeout();
+    }
+    return jedis;
+  }
+
   private GenericObjectPoolConfig poolConfig(final Config config, final String name) {
     Config poolConfig = config.getConfig("jedis.pool");
     String override = "jedis." + name;
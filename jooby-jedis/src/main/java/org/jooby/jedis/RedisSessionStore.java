@@ -23,6 +23,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -30,6 +31,7 @@ import javax.inject.Singleton;
 
 import org.jooby.Session;
 import org.jooby.Session.Builder;
+import org.jooby.util.Jfr;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
@@ -134,18 +136,17 @@ public class RedisSessionStore implements Session.Store {
 
   @Override
   public Session get(final Builder builder) {
-    Jedis jedis = null;
+    Jedis jedis = resource();
     try {
-      jedis = pool.getResource();
       String key = key(builder.sessionId());
-      Map<String, String> attrs = jedis.hgetAll(key);
+      Map<String, String> attrs = call("hgetAll", () -> jedis.hgetAll(key));
       if (attrs == null || attrs.size() == 0) {
         // expired
         return null;
       }
       if (timeout > 0) {
         // touch session
-        jedis.expire(key, timeout);
+        call("expire", () -> jedis.expire(key, timeout));
       }
       return builder
           .accessedAt(Long.parseLong(attrs.remove("_accessedAt")))
@@ -154,30 +155,25 @@ public class RedisSessionStore implements Session.Store {
           .set(attrs)
           .build();
     } finally {
-      if (jedis != null) {
-        jedis.close();
-      }
+      jedis.close();
     }
   }
 
   @Override
   public void save(final Session session) {
-    Jedis jedis = null;
+    Jedis jedis = resource();
     try {
-      jedis = pool.getResource();
       String key = key(session);
       Map<String, String> attrs = new HashMap<>(session.attributes());
       attrs.put("_createdAt", Long.toString(session.createdAt()));
       attrs.put("_accessedAt", Long.toString(session.accessedAt()));
       attrs.put("_savedAt", Long.toString(session.savedAt()));
-      jedis.hmset(key, attrs);
+      call("hmset", () -> jedis.hmset(key, attrs));
       if (timeout > 0) {
-        jedis.expire(key, timeout);
+        call("expire", () -> jedis.expire(key, timeout));
       }
     } finally {
-      if (jedis != null) {
-        jedis.close();
-      }
+      jedis.close();
     }
   }
 
@@ -188,16 +184,25 @@ public class RedisSessionStore implements Session.Store {
 
   @Override
   public void delete(final String id) {
-    Jedis jedis = null;
+    Jedis jedis = resource();
     try {
-      jedis = pool.getResource();
-      jedis.del(key(id));
+      call("del", () -> jedis.del(key(id)));
     } finally {
-      if (jedis != null) {
-        jedis.close();
-      }
+      jedis.close();
     }
+  }
 
+  private Jedis resource() {
+    return call("getResource", pool::getResource);
+  }
+
+  private <T> T call(final String command, final Supplier<T> fn) {
+    Jfr.Span span = Jfr.call("redis", command, prefix, null);
+    try {
+      return fn.get();
+    } finally {
+      span.commit();
+    }
   }
 
   private String key(final String id) {
@@ -16,6 +16,7 @@ import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import redis.clients.jedis.Client;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 
@@ -88,7 +89,7 @@ public class RedisTest {
   public void shouldGetJedisInstance() throws Exception {
     Config config = jedisConfig()
         .withValue("db", ConfigValueFactory.fromAnyRef("redis://localhost:6780"));
-    new MockUnit(Env.class, Binder.class, Jedis.class)
+    new MockUnit(Env.class, Binder.class, Jedis.class, Client.class)
         .expect(
             unit -> {
               GenericObjectPoolConfig poolConfig = unit
@@ -118,6 +119,13 @@ public class RedisTest {
 
               expect(jedisPool.getResource()).andReturn(unit.get(Jedis.class));
 
+              Client client = unit.get(Client.class);
+              client.setTimeout(2000);
+              expect(client.isConnected()).andReturn(true);
+              client.rollbackTimeout();
+
+              expect(unit.get(Jedis.class).getClient()).andReturn(client);
+
               ScopedBindingBuilder jpSBB = unit.mock(ScopedBindingBuilder.class);
               jpSBB.asEagerSingleton();
 
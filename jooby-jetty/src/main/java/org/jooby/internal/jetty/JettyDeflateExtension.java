@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.jetty;
+
+import org.eclipse.jetty.websocket.api.extensions.ExtensionConfig;
+import org.eclipse.jetty.websocket.common.extensions.compress.PerMessageDeflateExtension;
+
+/**
+ * permessage-deflate without context takeover (<code>server.ws.Compression.ContextTakeover =
+ * false</code>): <code>server_no_context_takeover</code> and <code>client_no_context_takeover</code>
+ * are negotiated even if the client didn't ask for them, so both sides reset the compression
+ * context after each message.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class JettyDeflateExtension extends PerMessageDeflateExtension {
+
+  @Override
+  public void setConfig(final ExtensionConfig config) {
+    ExtensionConfig noContext = new ExtensionConfig(config);
+    noContext.setParameter("server_no_context_takeover");
+    noContext.setParameter("client_no_context_takeover");
+    super.setConfig(noContext);
+  }
+
+}
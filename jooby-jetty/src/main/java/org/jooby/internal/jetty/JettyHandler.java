@@ -19,7 +19,9 @@
 package org.jooby.internal.jetty;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.MultipartConfigElement;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -50,6 +52,16 @@ public class JettyHandler extends AbstractHandler {
 
   private MultipartConfigElement multiPartConfig;
 
+  /** Virtual threads executor or null (jetty thread pool). */
+  private Executor worker;
+
+  public JettyHandler(final HttpHandler dispatcher,
+      final WebSocketServerFactory webSocketServerFactory, final String tmpdir,
+      final Executor worker) {
+    this(dispatcher, webSocketServerFactory, tmpdir);
+    this.worker = worker;
+  }
+
   public JettyHandler(final HttpHandler dispatcher,
       final WebSocketServerFactory webSocketServerFactory, final String tmpdir) {
     this.dispatcher = dispatcher;
@@ -62,6 +74,37 @@ public class JettyHandler extends AbstractHandler {
   public void handle(final String target, final Request baseRequest,
       final HttpServletRequest request, final HttpServletResponse response) throws IOException,
       ServletException {
+    // web socket upgrades stay on the jetty thread
+    if (worker != null && request.getHeader("Upgrade") == null) {
+      baseRequest.setHandled(true);
+
+      AsyncContext ctx = request.startAsync();
+      ctx.setTimeout(0L);
+      worker.execute(() -> {
+        boolean async = false;
+        try {
+          async = dispatch(target, baseRequest, request, response);
+        } catch (Throwable ex) {
+          // already logged
+          response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } finally {
+          if (!async) {
+            ctx.complete();
+          }
+        }
+      });
+      return;
+    }
+
+    dispatch(target, baseRequest, request, response);
+  }
+
+  /**
+   * @return True, if the request went async and the response will be completed later.
+   */
+  private boolean dispatch(final String target, final Request baseRequest,
+      final HttpServletRequest request, final HttpServletResponse response) throws IOException,
+      ServletException {
     try {
 
       baseRequest.setHandled(true);
@@ -73,30 +116,31 @@ public class JettyHandler extends AbstractHandler {
         multipart = true;
       }
 
-      dispatcher.handle(
-          new ServletServletRequest(request, tmpdir, multipart)
-              .with(new ServletUpgrade() {
-
-                @SuppressWarnings("unchecked")
-                @Override
-                public <T> T upgrade(final Class<T> type) throws Exception {
-                  if (type == NativeWebSocket.class) {
-                    if (webSocketServerFactory.isUpgradeRequest(request, response)) {
-                      if (webSocketServerFactory.acceptWebSocket(request, response)) {
-                        String key = JettyWebSocket.class.getName();
-                        NativeWebSocket ws = (NativeWebSocket) request.getAttribute(key);
-                        if (ws != null) {
-                          request.removeAttribute(key);
-                          return (T) ws;
-                        }
-                      }
+      ServletServletRequest req = new ServletServletRequest(request, tmpdir, multipart)
+          .with(new ServletUpgrade() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T upgrade(final Class<T> type) throws Exception {
+              if (type == NativeWebSocket.class) {
+                if (webSocketServerFactory.isUpgradeRequest(request, response)) {
+                  if (webSocketServerFactory.acceptWebSocket(request, response)) {
+                    String key = JettyWebSocket.class.getName();
+                    NativeWebSocket ws = (NativeWebSocket) request.getAttribute(key);
+                    if (ws != null) {
+                      request.removeAttribute(key);
+                      return (T) ws;
                     }
                   }
-                  throw new UnsupportedOperationException("Not Supported: " + type);
                 }
-              }),
-          new ServletServletResponse(response)
-          );
+              }
+              throw new UnsupportedOperationException("Not Supported: " + type);
+            }
+          });
+
+      dispatcher.handle(req, new ServletServletResponse(response));
+
+      return req.async();
     } catch (IOException | ServletException | RuntimeException ex) {
       baseRequest.setHandled(false);
       log.error("execution of: " + target + " resulted in error", ex);
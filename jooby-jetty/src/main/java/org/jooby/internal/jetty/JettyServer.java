@@ -22,21 +22,30 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
+import javax.net.ssl.SSLContext;
 
+import org.eclipse.jetty.http.HttpVersion;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.websocket.api.WebSocketBehavior;
 import org.eclipse.jetty.websocket.api.WebSocketPolicy;
+import org.eclipse.jetty.websocket.api.extensions.ExtensionFactory;
 import org.eclipse.jetty.websocket.server.WebSocketServerFactory;
 import org.jooby.spi.HttpHandler;
+import org.jooby.util.SslContexts;
+import org.jooby.util.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,12 +60,20 @@ public class JettyServer implements org.jooby.spi.Server {
 
   private Server server;
 
+  private ExecutorService worker;
+
   @Inject
-  public JettyServer(final HttpHandler handler, final Config config) {
+  public JettyServer(final HttpHandler handler, final Config config) throws Exception {
     this.server = server(handler, config);
   }
 
-  private Server server(final HttpHandler handler, final Config config) {
+  private Server server(final HttpHandler handler, final Config config) throws Exception {
+    if (config.getBoolean("server.http2")) {
+      // jetty-http2 requires jetty 9.3+
+      throw new IllegalStateException("server.http2 = true isn't supported on Jetty "
+          + Server.getVersion() + ", use: false");
+    }
+
     System.setProperty("org.eclipse.jetty.util.UrlEncoded.charset",
         config.getString("jetty.url.charset"));
 
@@ -77,17 +94,48 @@ public class JettyServer implements org.jooby.spi.Server {
 
     server.addConnector(http);
 
+    if (SslContexts.enabled(config)) {
+      // HTTPS connector
+      ServerConnector https = https(server, config.getConfig("jetty.http"), "jetty.http",
+          SslContexts.sslContext(config));
+      https.setPort(config.getInt("application.securePort"));
+      https.setHost(config.getString("application.host"));
+
+      server.addConnector(https);
+    }
+
     WebSocketPolicy wsConfig = configure(new WebSocketPolicy(WebSocketBehavior.SERVER),
         config.getConfig("jetty.ws"), "jetty.ws");
     WebSocketServerFactory webSocketServerFactory = new WebSocketServerFactory(wsConfig);
+    // jetty registers the deflate extensions by default
+    ExtensionFactory extensions = webSocketServerFactory.getExtensionFactory();
+    Config compression = config.getConfig("server.ws.Compression");
+    // on, unless disabled: like before server.ws.Compression
+    if (!compression.hasPath("Enabled") || compression.getBoolean("Enabled")) {
+      if (!compression.getBoolean("ContextTakeover")) {
+        extensions.register("permessage-deflate", JettyDeflateExtension.class);
+        // frame extensions always keep the context
+        extensions.unregister("deflate-frame");
+        extensions.unregister("x-webkit-deflate-frame");
+      }
+    } else {
+      extensions.unregister("permessage-deflate");
+      extensions.unregister("deflate-frame");
+      extensions.unregister("x-webkit-deflate-frame");
+    }
     webSocketServerFactory.setCreator((req, rsp) -> {
       JettyWebSocket ws = new JettyWebSocket();
       req.getHttpServletRequest().setAttribute(JettyWebSocket.class.getName(), ws);
       return ws;
     });
 
+    if (VirtualThreads.enabled(config)) {
+      // the jetty pool does IO only, requests go async and run on virtual threads
+      worker = VirtualThreads.newExecutor("jetty");
+    }
+
     server.setHandler(new JettyHandler(handler, webSocketServerFactory, config
-        .getString("application.tmpdir")));
+        .getString("application.tmpdir"), worker));
 
     return server;
   }
@@ -99,6 +147,22 @@ public class JettyServer implements org.jooby.spi.Server {
         config.getConfig("connector"), path + ".connector");
   }
 
+  private ServerConnector https(final Server server, final Config config, final String path,
+      final SSLContext sslContext) {
+    HttpConfiguration httpConfig = configure(new HttpConfiguration(),
+        config.withoutPath("connector"), path);
+    // secure scheme, port and request attributes
+    httpConfig.addCustomizer(new SecureRequestCustomizer());
+
+    SslContextFactory sslContextFactory = new SslContextFactory();
+    sslContextFactory.setSslContext(sslContext);
+
+    return configure(new ServerConnector(server,
+        new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()),
+        new HttpConnectionFactory(httpConfig)),
+        config.getConfig("connector"), path + ".connector");
+  }
+
   @Override
   public void start() throws Exception {
     server.start();
@@ -112,6 +176,9 @@ public class JettyServer implements org.jooby.spi.Server {
   @Override
   public void stop() throws Exception {
     server.stop();
+    if (worker != null) {
+      worker.shutdown();
+    }
   }
 
   private void tryOption(final Object source, final Config config, final Method option) {
@@ -16,7 +16,65 @@ public class JettyServerTest {
 
   @Test
   public void server() throws Exception {
+    Config config = config();
 
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          Server server = new JettyServer(unit.get(HttpHandler.class), config);
+          try {
+            server.start();
+          } finally {
+            server.stop();
+          }
+        });
+  }
+
+  @Test
+  public void compressionWithoutContextTakeover() throws Exception {
+    Config config = config()
+        .withValue("server.ws.Compression.Enabled", ConfigValueFactory.fromAnyRef(true))
+        .withValue("server.ws.Compression.ContextTakeover", ConfigValueFactory.fromAnyRef(false));
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          Server server = new JettyServer(unit.get(HttpHandler.class), config);
+          try {
+            server.start();
+          } finally {
+            server.stop();
+          }
+        });
+  }
+
+  @Test
+  public void compressionByDefault() throws Exception {
+    Config config = config()
+        .withoutPath("server.ws.Compression.Enabled")
+        .withValue("server.ws.Compression.ContextTakeover", ConfigValueFactory.fromAnyRef(true));
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          Server server = new JettyServer(unit.get(HttpHandler.class), config);
+          try {
+            server.start();
+          } finally {
+            server.stop();
+          }
+        });
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void http2IsNotSupported() throws Exception {
+    Config config = config()
+        .withValue("server.http2", ConfigValueFactory.fromAnyRef(true));
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          new JettyServer(unit.get(HttpHandler.class), config);
+        });
+  }
+
+  private static Config config() {
     Map<String, Object> httpConfig = ImmutableMap.<String, Object> builder()
         .put("HeaderCacheSize", "8k")
         .put("RequestHeaderSize", "8k")
@@ -52,18 +110,12 @@ public class JettyServerTest {
         .withValue("jetty.http", ConfigValueFactory.fromAnyRef(httpConfig))
         .withValue("jetty.ws", ConfigValueFactory.fromAnyRef(ws))
         .withValue("server.http.MaxRequestSize", ConfigValueFactory.fromAnyRef("200k"))
+        .withValue("server.ws.Compression.Enabled", ConfigValueFactory.fromAnyRef(false))
+        .withValue("server.http2", ConfigValueFactory.fromAnyRef(false))
+        .withValue("server.threads.Mode", ConfigValueFactory.fromAnyRef("platform"))
         .withValue("application.port", ConfigValueFactory.fromAnyRef(6789))
         .withValue("application.host", ConfigValueFactory.fromAnyRef("0.0.0.0"))
         .withValue("application.tmpdir", ConfigValueFactory.fromAnyRef("target"));
-
-    new MockUnit(HttpHandler.class)
-        .run(unit -> {
-          Server server = new JettyServer(unit.get(HttpHandler.class), config);
-          try {
-            server.start();
-          } finally {
-            server.stop();
-          }
-        });
+    return config;
   }
 }
@@ -25,12 +25,14 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.jooby.Session;
 import org.jooby.Session.Builder;
+import org.jooby.util.Jfr;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +40,7 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
 import com.mongodb.MongoException;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -134,7 +137,8 @@ public class MongoSessionStore implements Session.Store {
   @SuppressWarnings({"unchecked", "rawtypes" })
   @Override
   public Session get(final Builder builder) {
-    return Optional.ofNullable(sessions.findOne(builder.sessionId())).map(dbobj -> {
+    DBObject found = call("findOne", () -> sessions.findOne(builder.sessionId()));
+    return Optional.ofNullable(found).map(dbobj -> {
       Map session = dbobj.toMap();
 
       Date accessedAt = (Date) session.remove("_accessedAt");
@@ -163,7 +167,7 @@ public class MongoSessionStore implements Session.Store {
     // dump attributes
     session.attributes().forEach((k, v) -> ob.add(k, v));
 
-    sessions.save(ob.get());
+    call("save", () -> sessions.save(ob.get()));
   }
 
   @Override
@@ -203,7 +207,16 @@ public class MongoSessionStore implements Session.Store {
 
   @Override
   public void delete(final String id) {
-    sessions.remove(new BasicDBObject("_id", id));
+    call("remove", () -> sessions.remove(new BasicDBObject("_id", id)));
+  }
+
+  private <T> T call(final String operation, final Supplier<T> fn) {
+    Jfr.Span span = Jfr.call("mongodb", operation, collection, null);
+    try {
+      return fn.get();
+    } finally {
+      span.commit();
+    }
   }
 
   private static int seconds(final String value) {
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.netty;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.util.AttributeKey;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Record the time a request was read on the event loop, before it waits for a thread of the
+ * executor group. Times are queued per channel, in the order requests came, and
+ * {@link NettyHandler} takes them from there.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@Sharable
+public class NettyArrivals extends ChannelInboundHandlerAdapter {
+
+  public static final NettyArrivals INSTANCE = new NettyArrivals();
+
+  public static final AttributeKey<Queue<Long>> KEY = AttributeKey
+      .newInstance(NettyArrivals.class.getName());
+
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+    ctx.channel().attr(KEY).set(new ConcurrentLinkedQueue<>());
+  }
+
+  @Override
+  public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+    if (msg instanceof FullHttpRequest) {
+      ctx.channel().attr(KEY).get().offer(System.nanoTime());
+    }
+    ctx.fireChannelRead(msg);
+  }
+
+  /**
+   * Take the arrival time of the next request of a channel.
+   *
+   * @param ctx Channel context.
+   * @return Arrival time or the current time when unknown, see {@link System#nanoTime()}.
+   */
+  public static long poll(final ChannelHandlerContext ctx) {
+    Queue<Long> arrivals = ctx.channel().attr(KEY).get();
+    Long arrival = arrivals == null ? null : arrivals.poll();
+    return arrival == null ? System.nanoTime() : arrival;
+  }
+
+}
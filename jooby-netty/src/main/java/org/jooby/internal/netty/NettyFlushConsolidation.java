@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.netty;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Consolidate flushes, so many small responses (pipelined or keep-alive requests) go out in a
+ * single write syscall:
+ * <ul>
+ * <li>while reading, flushes are delayed until the read loop completes.</li>
+ * <li>otherwise (responses from a worker thread), a flush is scheduled on the event loop. Flushes
+ * requested before it runs are merged into it.</li>
+ * </ul>
+ * Pending writes go out right away after <code>maxPending</code> flushes, when the channel is
+ * closed or isn't writable anymore.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class NettyFlushConsolidation extends ChannelDuplexHandler {
+
+  private final int maxPending;
+
+  private boolean reading;
+
+  private int pending;
+
+  private boolean scheduled;
+
+  private Runnable flushTask;
+
+  public NettyFlushConsolidation(final int maxPending) {
+    this.maxPending = maxPending;
+  }
+
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+    flushTask = () -> {
+      scheduled = false;
+      flushIfPending(ctx);
+    };
+  }
+
+  @Override
+  public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+    reading = true;
+    ctx.fireChannelRead(msg);
+  }
+
+  @Override
+  public void channelReadComplete(final ChannelHandlerContext ctx) throws Exception {
+    reading = false;
+    flushIfPending(ctx);
+    ctx.fireChannelReadComplete();
+  }
+
+  @Override
+  public void flush(final ChannelHandlerContext ctx) throws Exception {
+    if (++pending >= maxPending) {
+      flushNow(ctx);
+    } else if (!reading && !scheduled) {
+      // run after the writes already queued on the event loop
+      scheduled = true;
+      ctx.channel().eventLoop().execute(flushTask);
+    }
+  }
+
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+    if (!ctx.channel().isWritable()) {
+      // let the socket drain what we have
+      flushIfPending(ctx);
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
+  @Override
+  public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause)
+      throws Exception {
+    flushIfPending(ctx);
+    ctx.fireExceptionCaught(cause);
+  }
+
+  @Override
+  public void disconnect(final ChannelHandlerContext ctx, final ChannelPromise promise)
+      throws Exception {
+    flushIfPending(ctx);
+    ctx.disconnect(promise);
+  }
+
+  @Override
+  public void close(final ChannelHandlerContext ctx, final ChannelPromise promise)
+      throws Exception {
+    flushIfPending(ctx);
+    ctx.close(promise);
+  }
+
+  @Override
+  public void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+    flushIfPending(ctx);
+  }
+
+  private void flushIfPending(final ChannelHandlerContext ctx) {
+    if (pending > 0) {
+      flushNow(ctx);
+    }
+  }
+
+  private void flushNow(final ChannelHandlerContext ctx) {
+    pending = 0;
+    ctx.flush();
+  }
+
+}
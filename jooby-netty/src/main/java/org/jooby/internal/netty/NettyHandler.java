@@ -30,6 +30,11 @@ import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
 
 import org.jooby.spi.HttpHandler;
 import org.slf4j.Logger;
@@ -39,6 +44,44 @@ import com.typesafe.config.Config;
 
 public class NettyHandler extends SimpleChannelInboundHandler<Object> {
 
+  /**
+   * Run tasks one at a time and in order on a worker executor, so requests and frames from the same
+   * channel are processed as they arrive. See {@link Executor}.
+   */
+  private static class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private final Executor executor;
+
+    private Runnable active;
+
+    public SerialExecutor(final Executor executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public synchronized void execute(final Runnable task) {
+      tasks.add(() -> {
+        try {
+          task.run();
+        } finally {
+          next();
+        }
+      });
+      if (active == null) {
+        next();
+      }
+    }
+
+    private synchronized void next() {
+      active = tasks.poll();
+      if (active != null) {
+        executor.execute(active);
+      }
+    }
+  }
+
   /** The logging system. */
   private final Logger log = LoggerFactory.getLogger(getClass());
 
@@ -51,6 +94,22 @@ public class NettyHandler extends SimpleChannelInboundHandler<Object> {
 
   private int wsMaxMessageSize;
 
+  private Executor worker;
+
+  /**
+   * Pipelined requests that arrived while an async response was in progress. Responses must be
+   * sent in the order requests came.
+   */
+  private final Queue<Object> pipelined = new ArrayDeque<>();
+
+  /** True, while an async response is in progress. */
+  private boolean busy;
+
+  public NettyHandler(final HttpHandler handler, final Config config, final Executor worker) {
+    this(handler, config);
+    this.worker = new SerialExecutor(requireNonNull(worker, "A worker is required."));
+  }
+
   public NettyHandler(final HttpHandler handler, final Config config) {
     this.handler = requireNonNull(handler, "Application handler is required.");
     this.tmpdir = config.getString("application.tmpdir");
@@ -68,30 +127,117 @@ public class NettyHandler extends SimpleChannelInboundHandler<Object> {
 
   @Override
   public void channelRead0(final ChannelHandlerContext ctx, final Object msg) {
-    if (msg instanceof FullHttpRequest) {
-      FullHttpRequest req = (FullHttpRequest) msg;
-      ctx.attr(PATH).set(req.getMethod().name() + " " + req.getUri());
-
-      if (HttpHeaders.is100ContinueExpected(req)) {
-        ctx.write(new DefaultFullHttpResponse(HTTP_1_1, HttpResponseStatus.CONTINUE));
-      }
-
-      boolean keepAlive = HttpHeaders.isKeepAlive(req);
+    if (worker == null) {
+      handle(ctx, msg);
+    } else {
+      // SimpleChannelInboundHandler releases the message once channelRead0 returns
+      ReferenceCountUtil.retain(msg);
+      worker.execute(() -> {
+        try {
+          handle(ctx, msg);
+        } finally {
+          ReferenceCountUtil.release(msg);
+          // channelReadComplete was fired long time ago
+          ctx.flush();
+        }
+      });
+    }
+  }
 
-      try {
-        handler.handle(
-            new NettyRequest(ctx, req, tmpdir, wsMaxMessageSize),
-            new NettyResponse(ctx, keepAlive)
-            );
-      } catch (Throwable ex) {
-        exceptionCaught(ctx, ex);
+  private void handle(final ChannelHandlerContext ctx, final Object msg) {
+    if (msg instanceof FullHttpRequest) {
+      synchronized (pipelined) {
+        if (busy) {
+          // released once we are done with it, see resume
+          pipelined.add(ReferenceCountUtil.retain(msg));
+          return;
+        }
       }
+      request(ctx, (FullHttpRequest) msg);
     } else if (msg instanceof WebSocketFrame) {
       Attribute<NettyWebSocket> ws = ctx.attr(NettyWebSocket.KEY);
       ws.get().handle(msg);
     }
   }
 
+  /**
+   * Handle a HTTP request.
+   *
+   * @param ctx Channel context.
+   * @param req A request.
+   * @return False, when the response is async (it didn't end yet).
+   */
+  private boolean request(final ChannelHandlerContext ctx, final FullHttpRequest req) {
+    ctx.attr(PATH).set(req.getMethod().name() + " " + req.getUri());
+    long arrival = NettyArrivals.poll(ctx);
+
+    if (HttpHeaders.is100ContinueExpected(req)) {
+      ctx.write(new DefaultFullHttpResponse(HTTP_1_1, HttpResponseStatus.CONTINUE));
+    }
+
+    boolean keepAlive = HttpHeaders.isKeepAlive(req);
+
+    NettyResponse rsp = new NettyResponse(ctx, keepAlive);
+    try {
+      handler.handle(
+          worker == null
+              ? new NettyRequest(ctx, req, tmpdir, wsMaxMessageSize, arrival)
+              : new NettyRequest(ctx, req, tmpdir, wsMaxMessageSize, arrival, worker),
+          rsp
+          );
+    } catch (Throwable ex) {
+      exceptionCaught(ctx, ex);
+      return true;
+    }
+    synchronized (pipelined) {
+      if (rsp.onEnd(() -> resume(ctx))) {
+        // hold pipelined requests until the response is done
+        busy = true;
+        return false;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Async response is done, handle the pipelined requests that arrived meanwhile.
+   *
+   * @param ctx Channel context.
+   */
+  private void resume(final ChannelHandlerContext ctx) {
+    Executor executor = worker == null ? ctx.executor() : worker;
+    executor.execute(() -> {
+      while (true) {
+        Object msg;
+        synchronized (pipelined) {
+          msg = pipelined.poll();
+          if (msg == null) {
+            busy = false;
+            return;
+          }
+        }
+        try {
+          if (!request(ctx, (FullHttpRequest) msg)) {
+            // async again
+            return;
+          }
+        } finally {
+          ReferenceCountUtil.release(msg);
+          ctx.flush();
+        }
+      }
+    });
+  }
+
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+    synchronized (pipelined) {
+      pipelined.forEach(ReferenceCountUtil::release);
+      pipelined.clear();
+    }
+    super.channelInactive(ctx);
+  }
+
   @Override
   public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
     try {
@@ -18,20 +18,25 @@
  */
 package org.jooby.internal.netty;
 
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.EventExecutorGroup;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.jooby.spi.HttpHandler;
 
 import com.typesafe.config.Config;
 
-public class NettyInitializer extends ChannelInitializer<SocketChannel> {
+public class NettyInitializer extends ChannelInitializer<Channel> {
 
   private EventExecutorGroup executor;
 
@@ -49,6 +54,21 @@ public class NettyInitializer extends ChannelInitializer<SocketChannel> {
 
   private long idleTimeOut;
 
+  private int flushAfter;
+
+  private Function<ByteBufAllocator, SslHandler> ssl;
+
+  /** Virtual threads executor or null. */
+  private Executor worker;
+
+  public NettyInitializer(final EventExecutorGroup executor, final Executor worker,
+      final HttpHandler handler, final Config config,
+      final Function<ByteBufAllocator, SslHandler> ssl) {
+    this(executor, handler, config);
+    this.worker = worker;
+    this.ssl = ssl;
+  }
+
   public NettyInitializer(final EventExecutorGroup executor, final HttpHandler handler,
       final Config config) {
     this.executor = executor;
@@ -60,15 +80,29 @@ public class NettyInitializer extends ChannelInitializer<SocketChannel> {
     maxChunkSize = config.getBytes("netty.http.MaxChunkSize").intValue();
     maxContentLength = config.getBytes("netty.http.MaxContentLength").intValue();
     idleTimeOut = config.getDuration("netty.http.IdleTimeout", TimeUnit.MILLISECONDS);
+    flushAfter = config.getInt("netty.http.FlushAfter");
   }
 
   @Override
-  protected void initChannel(final SocketChannel ch) throws Exception {
-    ch.pipeline()
-        .addLast(new HttpServerCodec(maxInitialLineLength, maxHeaderSize, maxChunkSize))
+  protected void initChannel(final Channel ch) throws Exception {
+    ChannelPipeline pipeline = ch.pipeline();
+    if (ssl != null) {
+      pipeline.addLast(ssl.apply(ch.alloc()));
+    }
+    pipeline
+        .addLast(new HttpRequestDecoder(maxInitialLineLength, maxHeaderSize, maxChunkSize))
+        .addLast(new NettyResponseEncoder())
         .addLast(new HttpObjectAggregator(maxContentLength))
-        .addLast(new IdleStateHandler(0, 0, idleTimeOut, TimeUnit.MILLISECONDS))
-        .addLast(executor, new NettyHandler(handler, config));
+        .addLast(new IdleStateHandler(0, 0, idleTimeOut, TimeUnit.MILLISECONDS));
+    if (flushAfter > 0) {
+      pipeline.addLast(new NettyFlushConsolidation(flushAfter));
+    }
+    pipeline.addLast(NettyArrivals.INSTANCE);
+    if (worker == null) {
+      pipeline.addLast(executor, new NettyHandler(handler, config));
+    } else {
+      pipeline.addLast(new NettyHandler(handler, config, worker));
+    }
   }
 
 }
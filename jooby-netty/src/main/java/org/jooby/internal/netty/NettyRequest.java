@@ -35,27 +35,41 @@ import io.netty.handler.codec.http.multipart.HttpData;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.ReferenceCountUtil;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.URLDecoder;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import org.jooby.MediaType;
 import org.jooby.spi.NativeRequest;
+import org.jooby.spi.NativeSse;
 import org.jooby.spi.NativeUpload;
 import org.jooby.util.Collectors;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
 
 public class NettyRequest implements NativeRequest {
 
+  /** Address of unix domain socket peers. */
+  private static final String LOCAL_IP = "127.0.0.1";
+
+  private static final String LOCAL_HOST = "localhost";
+
   private HttpRequest req;
 
   private QueryStringDecoder query;
@@ -74,14 +88,27 @@ public class NettyRequest implements NativeRequest {
 
   private int wsMaxMessageSize;
 
+  /** Virtual threads executor or null. */
+  private Executor worker;
+
+  /** Time the event loop read the request, see {@link NettyArrivals}. */
+  private long arrival;
+
+  public NettyRequest(final ChannelHandlerContext ctx, final HttpRequest req, final String tmpdir,
+      final int wsMaxMessageSize, final long arrival, final Executor worker) throws IOException {
+    this(ctx, req, tmpdir, wsMaxMessageSize, arrival);
+    this.worker = worker;
+  }
+
   public NettyRequest(final ChannelHandlerContext ctx, final HttpRequest req, final String tmpdir,
-      final int wsMaxMessageSize) throws IOException {
+      final int wsMaxMessageSize, final long arrival) throws IOException {
     this.ctx = ctx;
     this.req = req;
     this.tmpdir = tmpdir;
     this.query = new QueryStringDecoder(req.getUri());
     this.path = URLDecoder.decode(query.path(), "UTF-8");
     this.wsMaxMessageSize = wsMaxMessageSize;
+    this.arrival = arrival;
   }
 
   @Override
@@ -96,12 +123,24 @@ public class NettyRequest implements NativeRequest {
 
   @Override
   public List<String> paramNames() throws IOException {
-    return ImmutableList.copyOf(decodeParams().keySet());
+    Set<String> names = new LinkedHashSet<>(query.parameters().keySet());
+    names.addAll(decodeParams().keySet());
+    return ImmutableList.copyOf(names);
   }
 
   @Override
   public List<String> params(final String name) throws Exception {
-    return (List<String>) decodeParams().get(name);
+    List<String> query = this.query.parameters().get(name);
+    Multimap<String, String> form = decodeParams();
+    if (form.isEmpty()) {
+      // usual case: no body, go straight to the query string
+      return query == null ? Collections.emptyList() : query;
+    }
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    if (query != null) {
+      builder.addAll(query);
+    }
+    return builder.addAll(form.get(name)).build();
   }
 
   @Override
@@ -154,14 +193,21 @@ public class NettyRequest implements NativeRequest {
 
   @Override
   public String ip() {
-    InetSocketAddress remoteAddress = (InetSocketAddress) ctx.channel().remoteAddress();
-    return remoteAddress.getAddress().getHostAddress();
+    SocketAddress remoteAddress = ctx.channel().remoteAddress();
+    if (remoteAddress instanceof InetSocketAddress) {
+      return ((InetSocketAddress) remoteAddress).getAddress().getHostAddress();
+    }
+    // unix domain socket, peer is on the same host
+    return LOCAL_IP;
   }
 
   @Override
   public String hostname() {
-    InetSocketAddress remoteAddress = (InetSocketAddress) ctx.channel().remoteAddress();
-    return remoteAddress.getAddress().getHostName();
+    SocketAddress remoteAddress = ctx.channel().remoteAddress();
+    if (remoteAddress instanceof InetSocketAddress) {
+      return ((InetSocketAddress) remoteAddress).getAddress().getHostName();
+    }
+    return LOCAL_HOST;
   }
 
   @Override
@@ -171,12 +217,17 @@ public class NettyRequest implements NativeRequest {
 
   @Override
   public boolean secure() {
-    return protocol().toLowerCase().startsWith("https");
+    return ctx.pipeline().get(SslHandler.class) != null;
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public <T> T upgrade(final Class<T> type) throws Exception {
+    if (type == NativeSse.class) {
+      NettySse sse = new NettySse(ctx);
+      ctx.attr(NettySse.KEY).set(sse);
+      return (T) sse;
+    }
     String protocol = secure() ? "wss" : "ws";
     String webSocketURL = protocol + "://" + req.headers().get(HttpHeaders.Names.HOST) + path;
 
@@ -193,6 +244,26 @@ public class NettyRequest implements NativeRequest {
     return (T) result;
   }
 
+  @Override
+  public Executor startAsync() {
+    // keep the request (and its content) around, it is released once the response is sent
+    ReferenceCountUtil.retain(req);
+    Executor executor = worker == null ? ctx.executor() : worker;
+    return task -> executor.execute(() -> {
+      try {
+        task.run();
+      } finally {
+        ReferenceCountUtil.release(req);
+        ctx.flush();
+      }
+    });
+  }
+
+  @Override
+  public long arrival() {
+    return arrival;
+  }
+
   private org.jooby.Cookie cookie(final Cookie c) {
     org.jooby.Cookie.Definition cookie = new org.jooby.Cookie.Definition(c.getName(), c.getValue());
     Optional.ofNullable(c.getComment()).ifPresent(cookie::comment);
@@ -202,38 +273,57 @@ public class NettyRequest implements NativeRequest {
     return cookie.toCookie();
   }
 
+  /**
+   * Decode the form body (urlencoded or multipart) on first access, query params are decoded
+   * independently by {@link QueryStringDecoder}.
+   *
+   * @return Form params.
+   * @throws IOException If body decoding fails.
+   */
   private Multimap<String, String> decodeParams() throws IOException {
     if (params == null) {
+      if (!hasForm()) {
+        params = ImmutableListMultimap.of();
+        files = ImmutableListMultimap.of();
+        return params;
+      }
       params = ArrayListMultimap.create();
       files = ArrayListMultimap.create();
 
-      query.parameters()
-          .forEach((name, values) -> values.forEach(value -> params.put(name, value)));
-
-      HttpMethod method = req.getMethod();
-      if (method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT)
-          || method.equals(HttpMethod.PATCH)) {
-        HttpPostRequestDecoder form = new HttpPostRequestDecoder(req);
-        Function<HttpPostRequestDecoder, Boolean> hasNext = it -> {
-          try {
-            return it.hasNext();
-          } catch (HttpPostRequestDecoder.EndOfDataDecoderException ex) {
-            return false;
-          }
-        };
-        while (hasNext.apply(form)) {
-          HttpData field = (HttpData) form.next();
-          String name = field.getName();
-          switch (field.getHttpDataType()) {
-            case FileUpload:
-              files.put(name, new NettyUpload((FileUpload) field, tmpdir));
-            default:
-              params.put(name, field.getString());
-              break;
-          }
+      HttpPostRequestDecoder form = new HttpPostRequestDecoder(req);
+      Function<HttpPostRequestDecoder, Boolean> hasNext = it -> {
+        try {
+          return it.hasNext();
+        } catch (HttpPostRequestDecoder.EndOfDataDecoderException ex) {
+          return false;
+        }
+      };
+      while (hasNext.apply(form)) {
+        HttpData field = (HttpData) form.next();
+        String name = field.getName();
+        switch (field.getHttpDataType()) {
+          case FileUpload:
+            files.put(name, new NettyUpload((FileUpload) field, tmpdir));
+          default:
+            params.put(name, field.getString());
+            break;
         }
       }
     }
     return params;
   }
+
+  private boolean hasForm() {
+    HttpMethod method = req.getMethod();
+    if (method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT)
+        || method.equals(HttpMethod.PATCH)) {
+      String type = req.headers().get(HttpHeaders.Names.CONTENT_TYPE);
+      if (type != null) {
+        String value = type.toLowerCase();
+        return value.startsWith(MediaType.form.name())
+            || value.startsWith(MediaType.multipart.name());
+      }
+    }
+    return false;
+  }
 }
@@ -50,6 +50,8 @@ public class NettyResponse implements NativeResponse {
 
   private NettyOutputStream out;
 
+  private Runnable onEnd;
+
   public NettyResponse(final ChannelHandlerContext ctx, final boolean keepAlive) {
     this.ctx = ctx;
     this.keepAlive = keepAlive;
@@ -119,7 +121,14 @@ public class NettyResponse implements NativeResponse {
       if (ws != null && ws.get() != null) {
         status = HttpResponseStatus.SWITCHING_PROTOCOLS;
         ws.get().hankshake();
-        ctx = null;
+        ended();
+        return;
+      }
+      Attribute<NettySse> sse = ctx.attr(NettySse.KEY);
+      if (sse != null && sse.get() != null) {
+        // response head was sent already, it is up to sse to close the connection
+        sse.remove();
+        ended();
         return;
       }
       if (out == null) {
@@ -135,7 +144,32 @@ public class NettyResponse implements NativeResponse {
           ctx.write(rsp).addListener(ChannelFutureListener.CLOSE);
         }
       }
+      ended();
+    }
+  }
+
+  /**
+   * Register a callback for the end of an async response.
+   *
+   * @param callback Callback.
+   * @return False, if the response is done already (callback isn't registered).
+   */
+  synchronized boolean onEnd(final Runnable callback) {
+    if (ctx == null) {
+      return false;
+    }
+    this.onEnd = callback;
+    return true;
+  }
+
+  private void ended() {
+    Runnable callback;
+    synchronized (this) {
       ctx = null;
+      callback = onEnd;
+    }
+    if (callback != null) {
+      callback.run();
     }
   }
 
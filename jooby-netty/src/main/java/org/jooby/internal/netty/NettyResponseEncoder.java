@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+
+import java.util.List;
+
+/**
+ * Response encoder that writes the buffers of a message (status line and headers, content, chunk
+ * delimiters) as a single composite buffer: one write per message, instead of one per buffer.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class NettyResponseEncoder extends HttpResponseEncoder {
+
+  @Override
+  protected void encode(final ChannelHandlerContext ctx, final Object msg, final List<Object> out)
+      throws Exception {
+    int from = out.size();
+    super.encode(ctx, msg, out);
+    int size = out.size() - from;
+    if (size < 2) {
+      return;
+    }
+    for (int i = from; i < out.size(); i++) {
+      if (!(out.get(i) instanceof ByteBuf)) {
+        // file regions, etc.
+        return;
+      }
+    }
+    CompositeByteBuf buffer = ctx.alloc().compositeBuffer(size);
+    int len = 0;
+    for (int i = from; i < out.size(); i++) {
+      ByteBuf component = (ByteBuf) out.get(i);
+      if (component.isReadable()) {
+        len += component.readableBytes();
+        buffer.addComponent(component);
+      } else {
+        component.release();
+      }
+    }
+    buffer.writerIndex(len);
+    out.subList(from, out.size()).clear();
+    out.add(buffer);
+  }
+
+}
@@ -19,26 +19,42 @@
 package org.jooby.internal.netty;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.OpenSslServerContext;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.util.Version;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
 import io.netty.util.concurrent.DefaultThreadFactory;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import javax.inject.Inject;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
 
 import org.jooby.spi.HttpHandler;
 import org.jooby.spi.Server;
+import org.jooby.util.SslContexts;
+import org.jooby.util.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +73,15 @@ public class NettyServer implements Server {
 
   private Channel ch;
 
+  /** Unix socket, linked to the epoll transport: don't load it unless it's configured. */
+  private NettyUnixSocket domain;
+
+  private Channel domainCh;
+
+  private DefaultEventExecutorGroup executor;
+
+  private ExecutorService worker;
+
   private Config config;
 
   private HttpHandler dispatcher;
@@ -65,6 +90,21 @@ public class NettyServer implements Server {
   public NettyServer(final HttpHandler dispatcher, final Config config) {
     this.dispatcher = dispatcher;
     this.config = config;
+    if (config.getBoolean("server.http2")) {
+      // netty-codec-http2 requires netty 4.1+
+      throw new IllegalStateException("server.http2 = true isn't supported on Netty "
+          + Version.identify().get("netty-common").artifactVersion() + ", use: false");
+    }
+    if (config.hasPath("server.ws.Compression.Enabled")
+        && config.getBoolean("server.ws.Compression.Enabled")) {
+      // websocketx.extensions (permessage-deflate) requires netty 4.1+
+      throw new IllegalStateException("server.ws.Compression.Enabled = true isn't supported on "
+          + "Netty " + Version.identify().get("netty-common").artifactVersion() + ", use: false");
+    }
+    if (config.hasPath("application.unixSocket") && !epoll()) {
+      throw new IllegalStateException("application.unixSocket requires the epoll transport, add: "
+          + "io.netty:netty-transport-native-epoll:linux-x86_64 to the classpath");
+    }
   }
 
   @Override
@@ -80,14 +120,19 @@ public class NettyServer implements Server {
 
     ServerBootstrap bootstrap = new ServerBootstrap();
 
-    DefaultEventExecutorGroup executor =
-        new DefaultEventExecutorGroup(config.getInt("netty.threads.Max"),
-            new DefaultThreadFactory(config.getString("netty.threads.Name")));
+    String name = config.getString("netty.threads.Name");
+    if (VirtualThreads.enabled(config)) {
+      // handler runs on the event loop and each request hops to a new virtual thread
+      worker = VirtualThreads.newExecutor(name);
+    } else {
+      executor = new DefaultEventExecutorGroup(config.getInt("netty.threads.Max"),
+          new DefaultThreadFactory(name));
+    }
 
     bootstrap.group(parentGroup)
         .channel(NioServerSocketChannel.class)
         .handler(new LoggingHandler(Server.class, LogLevel.DEBUG))
-        .childHandler(new NettyInitializer(executor, dispatcher, config));
+        .childHandler(new NettyInitializer(executor, worker, dispatcher, config, null));
 
     configure(config.getConfig("netty.options"), "netty.options", (option, value) ->
         bootstrap.option(option, value));
@@ -95,9 +140,61 @@ public class NettyServer implements Server {
     configure(config.getConfig("netty.child.options"), "netty.child.options", (option, value) ->
         bootstrap.childOption(option, value));
 
-    this.ch = bootstrap
-        .bind(config.getString("application.host"), config.getInt("application.port")).sync()
-        .channel();
+    boolean unixSocket = config.hasPath("application.unixSocket");
+    int port = config.getInt("application.port");
+    // a negative port turns TCP off, when listening on a unix socket
+    if (port >= 0 || !unixSocket) {
+      this.ch = bootstrap.bind(config.getString("application.host"), port).sync().channel();
+    }
+
+    if (unixSocket) {
+      int threads = config.hasPath("netty.threads.Child")
+          ? config.getInt("netty.threads.Child")
+          : parentThreads;
+      log.debug("netty.threads.epoll({})", threads);
+      this.domain = new NettyUnixSocket(Paths.get(config.getString("application.unixSocket")));
+      // TCP child options don't apply here
+      this.domainCh = domain.bind(threads,
+          new NettyInitializer(executor, worker, dispatcher, config, null),
+          uds -> configure(config.getConfig("netty.options"), "netty.options",
+              (option, value) -> uds.option(option, value)));
+    }
+
+    if (SslContexts.enabled(config)) {
+      ServerBootstrap secure = bootstrap.clone()
+          .childHandler(new NettyInitializer(executor, worker, dispatcher, config, ssl(config)));
+      // closed by the event loop groups on stop
+      secure.bind(config.getString("application.host"), config.getInt("application.securePort"))
+          .sync();
+    }
+  }
+
+  private Function<ByteBufAllocator, SslHandler> ssl(final Config config) throws Exception {
+    if (SslContexts.pem(config) && config.getBoolean("ssl.openssl") && OpenSsl.isAvailable()) {
+      log.debug("netty.ssl(OpenSSL)");
+      SslContext ctx = SslContext.newServerContext(SslProvider.OPENSSL,
+          new File(config.getString("ssl.cert")),
+          new File(config.getString("ssl.key")),
+          SslContexts.password(config),
+          null, null,
+          SslContexts.sessionCacheSize(config),
+          SslContexts.sessionTimeout(config));
+      if (config.hasPath("ssl.session.ticketKeys")) {
+        ((OpenSslServerContext) ctx).setTicketKeys(
+            Files.readAllBytes(Paths.get(config.getString("ssl.session.ticketKeys"))));
+      }
+      return ctx::newHandler;
+    }
+    log.debug("netty.ssl(JDK)");
+    if (config.hasPath("ssl.session.ticketKeys")) {
+      log.warn("ssl.session.ticketKeys requires OpenSSL and PEM keys, it is ignored");
+    }
+    SSLContext ctx = SslContexts.sslContext(config);
+    return alloc -> {
+      SSLEngine engine = ctx.createSSLEngine();
+      engine.setUseClientMode(false);
+      return new SslHandler(engine);
+    };
   }
 
   @Override
@@ -106,11 +203,20 @@ public class NettyServer implements Server {
     if (!childGroup.isShutdown()) {
       childGroup.shutdownGracefully();
     }
+    if (domain != null) {
+      domain.stop();
+    }
+    if (executor != null) {
+      executor.shutdownGracefully();
+    }
+    if (worker != null) {
+      worker.shutdown();
+    }
   }
 
   @Override
   public void join() throws InterruptedException {
-    ch.closeFuture().sync();
+    (ch == null ? domainCh : ch).closeFuture().sync();
   }
 
   @SuppressWarnings({"rawtypes", "unchecked" })
@@ -157,6 +263,18 @@ public class NettyServer implements Server {
     }
   }
 
+  /**
+   * @return True, when netty-transport-native-epoll is on the classpath (it is optional).
+   */
+  private static boolean epoll() {
+    try {
+      Class.forName("io.netty.channel.epoll.Epoll", false, NettyServer.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException ex) {
+      return false;
+    }
+  }
+
   private NioEventLoopGroup eventLoop(final int threads, final String name) {
     log.debug("netty.threads.{}({})", name, threads);
     NioEventLoopGroup group = new NioEventLoopGroup(threads,
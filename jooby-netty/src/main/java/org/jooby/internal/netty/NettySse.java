@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AttributeKey;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.jooby.spi.NativeSse;
+
+public class NettySse implements NativeSse {
+
+  public static final AttributeKey<NettySse> KEY =
+      AttributeKey.newInstance(NettySse.class.getName());
+
+  private ChannelHandlerContext ctx;
+
+  public NettySse(final ChannelHandlerContext ctx) {
+    this.ctx = ctx;
+  }
+
+  @Override
+  public void handshake() throws Exception {
+    DefaultHttpResponse rsp = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    HttpHeaders headers = rsp.headers();
+    headers.set(HttpHeaders.Names.CONTENT_TYPE, "text/event-stream; charset=utf-8");
+    headers.set(HttpHeaders.Names.CACHE_CONTROL, HttpHeaders.Values.NO_CACHE);
+    headers.set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+    headers.set(HttpHeaders.Names.TRANSFER_ENCODING, HttpHeaders.Values.CHUNKED);
+    ctx.writeAndFlush(rsp).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+  }
+
+  @Override
+  public CompletableFuture<Void> send(final byte[] data) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    ctx.writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer(data)))
+        .addListener(result -> {
+          if (result.isSuccess()) {
+            future.complete(null);
+          } else {
+            future.completeExceptionally(result.cause());
+          }
+        });
+    return future;
+  }
+
+  @Override
+  public void onClose(final Runnable callback) {
+    ctx.channel().closeFuture().addListener(future -> callback.run());
+  }
+
+  @Override
+  public boolean isOpen() {
+    return ctx.channel().isOpen();
+  }
+
+  @Override
+  public void close() {
+    if (isOpen()) {
+      ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT)
+          .addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.netty;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.logging.LogLevel;
+import io.netty.handler.logging.LoggingHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.jooby.spi.Server;
+
+/**
+ * Listen on a unix domain socket (<code>application.unixSocket</code>) with the epoll transport.
+ * This is the only class linked to <code>netty-transport-native-epoll</code>, an optional
+ * dependency: don't load it (not even a static method) unless a unix socket is configured and the
+ * transport is on the classpath.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+class NettyUnixSocket {
+
+  private final Path path;
+
+  private EpollEventLoopGroup group;
+
+  public NettyUnixSocket(final Path path) {
+    this.path = path;
+  }
+
+  /**
+   * Bind the socket file, a stale file of a previous run is deleted.
+   *
+   * @param threads Number of epoll threads.
+   * @param childHandler Channel initializer.
+   * @param options Set channel options.
+   * @return The server channel.
+   * @throws Exception If bind fails.
+   */
+  public Channel bind(final int threads, final ChannelHandler childHandler,
+      final Consumer<ServerBootstrap> options) throws Exception {
+    if (!Epoll.isAvailable()) {
+      throw new IllegalStateException("application.unixSocket requires the epoll transport: "
+          + "netty-transport-native-epoll on Linux", Epoll.unavailabilityCause());
+    }
+    Files.deleteIfExists(path);
+
+    group = new EpollEventLoopGroup(threads,
+        new DefaultThreadFactory("epoll", Thread.MAX_PRIORITY));
+
+    ServerBootstrap bootstrap = new ServerBootstrap()
+        .group(group)
+        .channel(EpollServerDomainSocketChannel.class)
+        .handler(new LoggingHandler(Server.class, LogLevel.DEBUG))
+        .childHandler(childHandler);
+    options.accept(bootstrap);
+
+    try {
+      return bootstrap.bind(new DomainSocketAddress(path.toFile())).sync().channel();
+    } catch (Exception ex) {
+      group.shutdownGracefully();
+      group = null;
+      throw ex;
+    }
+  }
+
+  /**
+   * Shutdown the epoll threads and delete the socket file.
+   *
+   * @throws Exception If shutdown fails.
+   */
+  public void stop() throws Exception {
+    if (group != null) {
+      group.shutdownGracefully().await();
+      Files.deleteIfExists(path);
+    }
+  }
+
+}
@@ -18,15 +18,18 @@
  */
 package org.jooby.internal.netty;
 
+import static com.google.common.base.Preconditions.checkState;
 import static io.netty.channel.ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE;
 import static java.util.Objects.requireNonNull;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshaker;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
@@ -35,6 +38,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -65,12 +69,17 @@ public class NettyWebSocket implements NativeWebSocket {
 
   private Consumer<ByteBuffer> onBinaryCallback;
 
+  /** Binary frame in progress, while the binary callback runs (event loop only). */
+  private BinaryWebSocketFrame binary;
+
   private BiConsumer<Integer, Optional<String>> onCloseCallback;
 
   private Consumer<Throwable> onErrorCallback;
 
   private final CountDownLatch ready = new CountDownLatch(1);
 
+  private final AtomicBoolean flushPending = new AtomicBoolean(false);
+
   public NettyWebSocket(final ChannelHandlerContext ctx,
       final WebSocketServerHandshaker handshaker, final Consumer<NettyWebSocket> handshake) {
     this.ctx = ctx;
@@ -106,6 +115,15 @@ public class NettyWebSocket implements NativeWebSocket {
     this.onTextCallback = requireNonNull(callback, "A callback is required.");
   }
 
+  @Override
+  public Runnable retain() {
+    BinaryWebSocketFrame frame = binary;
+    checkState(frame != null, "No binary message in progress");
+    // the handler releases the frame once the callback returns, keep it alive until released
+    frame.retain();
+    return frame::release;
+  }
+
   @Override
   public void onBinaryMessage(final Consumer<ByteBuffer> callback) {
     this.onBinaryCallback = requireNonNull(callback, "A callback is required.");
@@ -138,25 +156,38 @@ public class NettyWebSocket implements NativeWebSocket {
   @Override
   public void send(final ByteBuffer data, final SuccessCallback success, final ErrCallback err) {
     ByteBuf buffer = Unpooled.wrappedBuffer(data);
-    ctx.channel().writeAndFlush(new BinaryWebSocketFrame(buffer))
-        .addListener(f -> {
-          if (f.isSuccess()) {
-            success.invoke();
-          } else {
-            err.invoke(f.cause());
-          }
-        });
+    write(new BinaryWebSocketFrame(buffer), success, err);
   }
 
   @Override
   public void send(final String data, final SuccessCallback success, final ErrCallback err) {
-    ctx.channel().writeAndFlush(new TextWebSocketFrame(data)).addListener(future -> {
+    write(new TextWebSocketFrame(data), success, err);
+  }
+
+  /**
+   * Write a frame and schedule a flush. Frames written in the same event loop tick are flushed
+   * together.
+   *
+   * @param frame Frame to write.
+   * @param success Success callback.
+   * @param err Err callback.
+   */
+  private void write(final WebSocketFrame frame, final SuccessCallback success,
+      final ErrCallback err) {
+    Channel channel = ctx.channel();
+    channel.write(frame).addListener(future -> {
       if (future.isSuccess()) {
         success.invoke();
       } else {
         err.invoke(future.cause());
       }
     });
+    if (flushPending.compareAndSet(false, true)) {
+      channel.eventLoop().execute(() -> {
+        flushPending.set(false);
+        channel.flush();
+      });
+    }
   }
 
   @Override
@@ -178,7 +209,12 @@ public class NettyWebSocket implements NativeWebSocket {
     if (msg instanceof TextWebSocketFrame) {
       onTextCallback.accept(((TextWebSocketFrame) msg).text());
     } else if (msg instanceof BinaryWebSocketFrame) {
-      onBinaryCallback.accept(((BinaryWebSocketFrame) msg).content().nioBuffer());
+      binary = (BinaryWebSocketFrame) msg;
+      try {
+        onBinaryCallback.accept(binary.content().nioBuffer());
+      } finally {
+        binary = null;
+      }
     } else if (msg instanceof CloseWebSocketFrame) {
       CloseWebSocketFrame closeFrame = ((CloseWebSocketFrame) msg).retain();
       int statusCode = closeFrame.statusCode();
@@ -0,0 +1,67 @@
+package org.jooby.internal.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import org.junit.Test;
+
+public class NettyFlushConsolidationTest {
+
+  @Test
+  public void flushOnReadComplete() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyFlushConsolidation(256));
+    channel.pipeline().fireChannelRead("req1");
+    channel.writeAndFlush("rsp1");
+    channel.writeAndFlush("rsp2");
+
+    assertNull(channel.readOutbound());
+
+    channel.pipeline().fireChannelReadComplete();
+
+    assertEquals("rsp1", channel.readOutbound());
+    assertEquals("rsp2", channel.readOutbound());
+    channel.finish();
+  }
+
+  @Test
+  public void flushOnEventLoop() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyFlushConsolidation(256));
+    channel.writeAndFlush("rsp1");
+    channel.writeAndFlush("rsp2");
+
+    assertNull(channel.readOutbound());
+
+    channel.runPendingTasks();
+
+    assertEquals("rsp1", channel.readOutbound());
+    assertEquals("rsp2", channel.readOutbound());
+    channel.finish();
+  }
+
+  @Test
+  public void flushAfterMaxPending() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyFlushConsolidation(2));
+    channel.pipeline().fireChannelRead("req1");
+    channel.writeAndFlush("rsp1");
+
+    assertNull(channel.readOutbound());
+
+    channel.writeAndFlush("rsp2");
+
+    assertEquals("rsp1", channel.readOutbound());
+    assertEquals("rsp2", channel.readOutbound());
+    channel.finish();
+  }
+
+  @Test
+  public void flushOnClose() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyFlushConsolidation(256));
+    channel.pipeline().fireChannelRead("req1");
+    channel.writeAndFlush("rsp1");
+    channel.close();
+
+    assertEquals("rsp1", channel.readOutbound());
+  }
+
+}
@@ -2,6 +2,8 @@ package org.jooby.internal.netty;
 
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.isA;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -15,6 +17,10 @@ import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.Attribute;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
 import org.jooby.MockUnit;
 import org.jooby.spi.HttpHandler;
 import org.junit.Test;
@@ -75,6 +81,8 @@ public class NettyHandlerTest {
           attr.set("GET /");
 
           expect(ctx.attr(NettyHandler.PATH)).andReturn(attr);
+
+          expect(ctx.channel()).andReturn(arrivals(unit));
         })
         .expect(
             unit -> {
@@ -87,8 +95,8 @@ public class NettyHandlerTest {
 
               NettyRequest req = unit.mockConstructor(NettyRequest.class,
                   new Class[]{ChannelHandlerContext.class, HttpRequest.class, String.class,
-                      int.class },
-                  ctx, unit.get(FullHttpRequest.class), "target", 3000);
+                      int.class, long.class },
+                  ctx, unit.get(FullHttpRequest.class), "target", 3000, 1L);
 
               NettyResponse rsp = unit.mockConstructor(NettyResponse.class,
                   new Class[]{ChannelHandlerContext.class, boolean.class },
@@ -96,6 +104,8 @@ public class NettyHandlerTest {
 
               HttpHandler dispatcher = unit.get(HttpHandler.class);
               dispatcher.handle(req, rsp);
+
+              expect(rsp.onEnd(isA(Runnable.class))).andReturn(false);
             })
         .run(unit -> {
           new NettyHandler(unit.get(HttpHandler.class), unit.get(Config.class))
@@ -131,6 +141,8 @@ public class NettyHandlerTest {
           attr.set("GET /");
 
           expect(ctx.attr(NettyHandler.PATH)).andReturn(attr);
+
+          expect(ctx.channel()).andReturn(arrivals(unit));
         })
         .expect(unit -> {
           Config config = unit.get(Config.class);
@@ -142,13 +154,15 @@ public class NettyHandlerTest {
 
           NettyRequest req = unit.mockConstructor(NettyRequest.class,
               new Class[]{ChannelHandlerContext.class, HttpRequest.class, String.class,
-                  int.class },
-              ctx, unit.get(FullHttpRequest.class), "target", 3000);
+                  int.class, long.class },
+              ctx, unit.get(FullHttpRequest.class), "target", 3000, 1L);
           NettyResponse rsp = unit.mockConstructor(NettyResponse.class,
               new Class[]{ChannelHandlerContext.class, boolean.class }, ctx, true);
 
           HttpHandler dispatcher = unit.get(HttpHandler.class);
           dispatcher.handle(req, rsp);
+
+          expect(rsp.onEnd(isA(Runnable.class))).andReturn(false);
         })
         .run(unit -> {
           new NettyHandler(unit.get(HttpHandler.class), unit.get(Config.class))
@@ -210,6 +224,8 @@ public class NettyHandlerTest {
           expect(attr.get()).andReturn("GET /");
 
           expect(ctx.attr(NettyHandler.PATH)).andReturn(attr).times(2);
+
+          expect(ctx.channel()).andReturn(arrivals(unit));
         })
         .expect(unit -> {
           Config config = unit.get(Config.class);
@@ -221,8 +237,8 @@ public class NettyHandlerTest {
 
           NettyRequest req = unit.mockConstructor(NettyRequest.class,
               new Class[]{ChannelHandlerContext.class, HttpRequest.class, String.class,
-                  int.class },
-              ctx, unit.get(FullHttpRequest.class), "target", 3000);
+                  int.class, long.class },
+              ctx, unit.get(FullHttpRequest.class), "target", 3000, 1L);
           NettyResponse rsp = unit.mockConstructor(NettyResponse.class,
               new Class[]{ChannelHandlerContext.class, boolean.class }, ctx, true);
 
@@ -382,4 +398,14 @@ public class NettyHandlerTest {
               .userEventTriggered(unit.get(ChannelHandlerContext.class), evt);
         });
   }
+
+  @SuppressWarnings("unchecked")
+  private static Channel arrivals(final MockUnit unit) {
+    Channel channel = unit.mock(Channel.class);
+    Attribute<Queue<Long>> arrivals = unit.mock(Attribute.class);
+    expect(arrivals.get()).andReturn(new ArrayDeque<>(Arrays.asList(1L)));
+    expect(channel.attr(NettyArrivals.KEY)).andReturn(arrivals);
+    return channel;
+  }
+
 }
@@ -0,0 +1,55 @@
+package org.jooby.internal.netty;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class NettyResponseEncoderTest {
+
+  @Test
+  public void fullResponseInOneBuffer() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyResponseEncoder());
+    FullHttpResponse rsp = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+        HttpResponseStatus.OK, Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8));
+    rsp.headers().set(HttpHeaders.Names.CONTENT_LENGTH, 5);
+    channel.writeOutbound(rsp);
+
+    ByteBuf buffer = (ByteBuf) channel.readOutbound();
+    String http = buffer.toString(StandardCharsets.UTF_8);
+    assertTrue(http, http.startsWith("HTTP/1.1 200 OK\r\n"));
+    assertTrue(http, http.endsWith("\r\n\r\nhello"));
+    buffer.release();
+
+    assertNull(channel.readOutbound());
+    channel.finish();
+  }
+
+  @Test
+  public void emptyResponse() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyResponseEncoder());
+    FullHttpResponse rsp = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+        HttpResponseStatus.NO_CONTENT);
+    channel.writeOutbound(rsp);
+
+    ByteBuf buffer = (ByteBuf) channel.readOutbound();
+    String http = buffer.toString(StandardCharsets.UTF_8);
+    assertTrue(http, http.startsWith("HTTP/1.1 204 No Content\r\n"));
+    assertTrue(http, http.endsWith("\r\n\r\n"));
+    buffer.release();
+
+    assertNull(channel.readOutbound());
+    channel.finish();
+  }
+
+}
@@ -1,9 +1,18 @@
 package org.jooby.internal.netty;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+
 import org.jooby.MockUnit;
 import org.jooby.spi.HttpHandler;
+import org.jooby.spi.Server;
 import org.junit.Test;
 
+import com.google.common.io.ByteStreams;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValueFactory;
@@ -12,7 +21,124 @@ public class NettyServerTest {
 
   @Test
   public void server() throws Exception {
-    Config config = ConfigFactory.empty()
+    Config config = config();
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          NettyServer server = new NettyServer(unit.get(HttpHandler.class), config);
+          try {
+            server.start();
+          } finally {
+            server.stop();
+          }
+        });
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void compressionIsNotSupported() throws Exception {
+    Config config = config()
+        .withValue("server.ws.Compression.Enabled", ConfigValueFactory.fromAnyRef(true));
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          new NettyServer(unit.get(HttpHandler.class), config);
+        });
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void http2IsNotSupported() throws Exception {
+    Config config = config()
+        .withValue("server.http2", ConfigValueFactory.fromAnyRef(true));
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          new NettyServer(unit.get(HttpHandler.class), config);
+        });
+  }
+
+  @Test
+  public void serverWithoutEpoll() throws Exception {
+    Config config = config();
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          Server server = noEpoll(unit.get(HttpHandler.class), config);
+          try {
+            server.start();
+          } finally {
+            server.stop();
+          }
+        });
+  }
+
+  @Test
+  public void unixSocketWithoutEpoll() throws Exception {
+    Config config = config()
+        .withValue("application.unixSocket", ConfigValueFactory.fromAnyRef("target/app.sock"));
+
+    new MockUnit(HttpHandler.class)
+        .run(unit -> {
+          try {
+            noEpoll(unit.get(HttpHandler.class), config);
+            fail("expected failure");
+          } catch (IllegalStateException ex) {
+            assertEquals("application.unixSocket requires the epoll transport, add: "
+                + "io.netty:netty-transport-native-epoll:linux-x86_64 to the classpath",
+                ex.getMessage());
+          }
+        });
+  }
+
+  /**
+   * Creates a netty server from a class loader without netty-transport-native-epoll (an optional
+   * dependency).
+   */
+  private static Server noEpoll(final HttpHandler handler, final Config config)
+      throws Exception {
+    try {
+      return (Server) new NoEpoll().loadClass(NettyServer.class.getName())
+          .getConstructor(HttpHandler.class, Config.class)
+          .newInstance(handler, config);
+    } catch (InvocationTargetException ex) {
+      throw (Exception) ex.getCause();
+    }
+  }
+
+  /** Loads the classes of this package again, epoll and unix socket classes are missing. */
+  private static class NoEpoll extends ClassLoader {
+
+    public NoEpoll() {
+      super(NettyServerTest.class.getClassLoader());
+    }
+
+    @Override
+    protected Class<?> loadClass(final String name, final boolean resolve)
+        throws ClassNotFoundException {
+      if (name.startsWith("io.netty.channel.epoll.")
+          || name.startsWith("io.netty.channel.unix.")) {
+        throw new ClassNotFoundException(name);
+      }
+      if (!name.startsWith(NettyServer.class.getPackage().getName() + ".")) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> type = findLoadedClass(name);
+        if (type == null) {
+          String resource = name.replace('.', '/') + ".class";
+          try (InputStream in = getParent().getResourceAsStream(resource)) {
+            byte[] bytes = ByteStreams.toByteArray(in);
+            type = defineClass(name, bytes, 0, bytes.length);
+          } catch (IOException ex) {
+            throw new ClassNotFoundException(name, ex);
+          }
+        }
+        return type;
+      }
+    }
+  }
+
+  private static Config config() {
+    return ConfigFactory.empty()
         .withValue("netty.threads.Parent", ConfigValueFactory.fromAnyRef(1))
         .withValue("netty.threads.Child", ConfigValueFactory.fromAnyRef(2))
         .withValue("netty.threads.Max", ConfigValueFactory.fromAnyRef(2))
@@ -24,18 +150,12 @@ public class NettyServerTest {
         .withValue("netty.http.MaxHeaderSize", ConfigValueFactory.fromAnyRef("8k"))
         .withValue("netty.http.MaxChunkSize", ConfigValueFactory.fromAnyRef("8k"))
         .withValue("netty.http.IdleTimeout", ConfigValueFactory.fromAnyRef("30s"))
+        .withValue("netty.http.FlushAfter", ConfigValueFactory.fromAnyRef(256))
         .withValue("netty.channel.CONNECT_TIMEOUT_MILLIS", ConfigValueFactory.fromAnyRef("1s"))
+        .withValue("server.ws.Compression.Enabled", ConfigValueFactory.fromAnyRef(false))
+        .withValue("server.http2", ConfigValueFactory.fromAnyRef(false))
+        .withValue("server.threads.Mode", ConfigValueFactory.fromAnyRef("platform"))
         .withValue("application.port", ConfigValueFactory.fromAnyRef(6789))
         .withValue("application.host", ConfigValueFactory.fromAnyRef("0.0.0.0"));
-
-    new MockUnit(HttpHandler.class)
-        .run(unit -> {
-          NettyServer server = new NettyServer(unit.get(HttpHandler.class), config);
-          try {
-            server.start();
-          } finally {
-            server.stop();
-          }
-        });
   }
 }
@@ -11,6 +11,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
@@ -234,7 +235,10 @@ public class NettyWebSocketTest {
           BinaryWebSocketFrame frame = unit.mockConstructor(BinaryWebSocketFrame.class,
               new Class[]{ByteBuf.class }, byteBuf);
           Channel ch = unit.mock(Channel.class);
-          expect(ch.writeAndFlush(frame)).andReturn(future);
+          expect(ch.write(frame)).andReturn(future);
+          EventLoop loop = unit.mock(EventLoop.class);
+          loop.execute(isA(Runnable.class));
+          expect(ch.eventLoop()).andReturn(loop);
 
           ChannelHandlerContext ctx = unit.get(ChannelHandlerContext.class);
           expect(ctx.channel()).andReturn(ch);
@@ -276,7 +280,10 @@ public class NettyWebSocketTest {
           TextWebSocketFrame frame = unit.mockConstructor(TextWebSocketFrame.class,
               new Class[]{String.class }, data);
           Channel ch = unit.mock(Channel.class);
-          expect(ch.writeAndFlush(frame)).andReturn(future);
+          expect(ch.write(frame)).andReturn(future);
+          EventLoop loop = unit.mock(EventLoop.class);
+          loop.execute(isA(Runnable.class));
+          expect(ch.eventLoop()).andReturn(loop);
 
           ChannelHandlerContext ctx = unit.get(ChannelHandlerContext.class);
           expect(ctx.channel()).andReturn(ch);
@@ -322,7 +329,10 @@ public class NettyWebSocketTest {
           BinaryWebSocketFrame frame = unit.mockConstructor(BinaryWebSocketFrame.class,
               new Class[]{ByteBuf.class }, byteBuf);
           Channel ch = unit.mock(Channel.class);
-          expect(ch.writeAndFlush(frame)).andReturn(future);
+          expect(ch.write(frame)).andReturn(future);
+          EventLoop loop = unit.mock(EventLoop.class);
+          loop.execute(isA(Runnable.class));
+          expect(ch.eventLoop()).andReturn(loop);
 
           ChannelHandlerContext ctx = unit.get(ChannelHandlerContext.class);
           expect(ctx.channel()).andReturn(ch);
@@ -366,7 +376,10 @@ public class NettyWebSocketTest {
           TextWebSocketFrame frame = unit.mockConstructor(TextWebSocketFrame.class,
               new Class[]{String.class }, data);
           Channel ch = unit.mock(Channel.class);
-          expect(ch.writeAndFlush(frame)).andReturn(future);
+          expect(ch.write(frame)).andReturn(future);
+          EventLoop loop = unit.mock(EventLoop.class);
+          loop.execute(isA(Runnable.class));
+          expect(ch.eventLoop()).andReturn(loop);
 
           ChannelHandlerContext ctx = unit.get(ChannelHandlerContext.class);
           expect(ctx.channel()).andReturn(ch);
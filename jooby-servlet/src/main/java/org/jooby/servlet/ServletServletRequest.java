@@ -28,13 +28,16 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 
 import org.jooby.Cookie;
 import org.jooby.MediaType;
 import org.jooby.spi.NativeRequest;
+import org.jooby.spi.NativeSse;
 import org.jooby.spi.NativeUpload;
 import org.jooby.util.Collectors;
 
@@ -53,6 +56,10 @@ public class ServletServletRequest implements NativeRequest {
 
   private ServletUpgrade upgrade = noupgrade();
 
+  private List<Cookie> cookies;
+
+  private boolean async;
+
   public ServletServletRequest(final HttpServletRequest req, final String tmpdir,
       final boolean multipart) throws IOException {
     this.req = requireNonNull(req, "HTTP req is required.");
@@ -120,20 +127,24 @@ public class ServletServletRequest implements NativeRequest {
 
   @Override
   public List<Cookie> cookies() {
-    javax.servlet.http.Cookie[] cookies = req.getCookies();
-    if (cookies == null) {
-      return ImmutableList.of();
+    if (this.cookies == null) {
+      javax.servlet.http.Cookie[] cookies = req.getCookies();
+      if (cookies == null) {
+        this.cookies = ImmutableList.of();
+      } else {
+        this.cookies = Arrays.stream(cookies)
+            .map(c -> {
+              Cookie.Definition cookie = new Cookie.Definition(c.getName(), c.getValue());
+              Optional.ofNullable(c.getComment()).ifPresent(cookie::comment);
+              Optional.ofNullable(c.getDomain()).ifPresent(cookie::domain);
+              Optional.ofNullable(c.getPath()).ifPresent(cookie::path);
+
+              return cookie.toCookie();
+            })
+            .collect(Collectors.toList());
+      }
     }
-    return Arrays.stream(cookies)
-        .map(c -> {
-          Cookie.Definition cookie = new Cookie.Definition(c.getName(), c.getValue());
-          Optional.ofNullable(c.getComment()).ifPresent(cookie::comment);
-          Optional.ofNullable(c.getDomain()).ifPresent(cookie::domain);
-          Optional.ofNullable(c.getPath()).ifPresent(cookie::path);
-
-          return cookie.toCookie();
-        })
-        .collect(Collectors.toList());
+    return this.cookies;
   }
 
   @Override
@@ -177,10 +188,40 @@ public class ServletServletRequest implements NativeRequest {
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public <T> T upgrade(final Class<T> type) throws Exception {
+    if (type == NativeSse.class) {
+      // the response stays open, closed by the sse
+      async = true;
+      return (T) new ServletSse(req);
+    }
     return upgrade.upgrade(type);
   }
 
+  @Override
+  public Executor startAsync() {
+    // async already started when the server runs requests on its own executor
+    AsyncContext ctx = req.isAsyncStarted() ? req.getAsyncContext() : req.startAsync();
+    async = true;
+    // no timeout, the deferred result decides
+    ctx.setTimeout(0L);
+    return task -> ctx.start(() -> {
+      try {
+        task.run();
+      } finally {
+        ctx.complete();
+      }
+    });
+  }
+
+  /**
+   * @return True, if {@link #startAsync()} was called (or the request was upgraded to server-sent
+   *         events) and the response will be completed later.
+   */
+  public boolean async() {
+    return async;
+  }
+
   private static boolean multipart(final HttpServletRequest req) {
     String contentType = req.getContentType();
     return contentType != null && contentType.toLowerCase().startsWith(MediaType.multipart.name());
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.servlet;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.jooby.spi.NativeSse;
+
+/**
+ * Server-sent events on top of Servlet 3.1 async + non-blocking IO. The servlet must be
+ * registered with <code>async-supported=true</code>.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class ServletSse implements NativeSse, WriteListener, AsyncListener {
+
+  private static class Message {
+
+    private final byte[] data;
+
+    private final CompletableFuture<Void> future;
+
+    public Message(final byte[] data, final CompletableFuture<Void> future) {
+      this.data = data;
+      this.future = future;
+    }
+
+  }
+
+  private final HttpServletRequest req;
+
+  private AsyncContext async;
+
+  private ServletOutputStream out;
+
+  private final Deque<Message> queue = new ArrayDeque<>();
+
+  /** Written but not flushed yet. */
+  private final List<Message> flushing = new LinkedList<>();
+
+  private boolean writing;
+
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private Runnable onClose = () -> {
+  };
+
+  public ServletSse(final HttpServletRequest req) {
+    this.req = requireNonNull(req, "A request is required.");
+  }
+
+  @Override
+  public void handshake() throws Exception {
+    // async already started when the server runs requests on its own executor
+    async = req.isAsyncStarted() ? req.getAsyncContext() : req.startAsync();
+    // never timeout
+    async.setTimeout(0);
+    async.addListener(this);
+
+    HttpServletResponse rsp = (HttpServletResponse) async.getResponse();
+    rsp.setStatus(200);
+    rsp.setContentType("text/event-stream; charset=utf-8");
+    rsp.setHeader("Cache-Control", "no-cache");
+    rsp.setHeader("Connection", "keep-alive");
+    // commit the response head now, everything else is non-blocking
+    rsp.flushBuffer();
+
+    synchronized (this) {
+      // onWritePossible is called once the listener is set
+      writing = true;
+      out = rsp.getOutputStream();
+      out.setWriteListener(this);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> send(final byte[] data) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    synchronized (this) {
+      queue.addLast(new Message(data, future));
+      if (writing) {
+        // completed from onWritePossible
+        return future;
+      }
+      writing = true;
+    }
+    try {
+      onWritePossible();
+    } catch (IOException ex) {
+      onError(ex);
+    }
+    return future;
+  }
+
+  @Override
+  public void onWritePossible() throws IOException {
+    List<Message> done = new LinkedList<>();
+    try {
+      synchronized (this) {
+        while (out.isReady()) {
+          if (flushing.size() > 0) {
+            done.addAll(flushing);
+            flushing.clear();
+          }
+          Message message = queue.pollFirst();
+          if (message == null) {
+            writing = false;
+            return;
+          }
+          out.write(message.data);
+          flushing.add(message);
+          if (out.isReady()) {
+            out.flush();
+          }
+        }
+        // wait for the next onWritePossible call
+      }
+    } finally {
+      done.forEach(message -> message.future.complete(null));
+    }
+  }
+
+  @Override
+  public void onError(final Throwable cause) {
+    List<Message> failed = new LinkedList<>();
+    synchronized (this) {
+      failed.addAll(flushing);
+      failed.addAll(queue);
+      flushing.clear();
+      queue.clear();
+      writing = false;
+    }
+    failed.forEach(message -> message.future.completeExceptionally(cause));
+    close();
+  }
+
+  @Override
+  public void onClose(final Runnable callback) {
+    this.onClose = requireNonNull(callback, "A callback is required.");
+  }
+
+  @Override
+  public boolean isOpen() {
+    return !closed.get();
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      try {
+        async.complete();
+      } finally {
+        onClose.run();
+      }
+    }
+  }
+
+  @Override
+  public void onComplete(final AsyncEvent event) throws IOException {
+    if (closed.compareAndSet(false, true)) {
+      onClose.run();
+    }
+  }
+
+  @Override
+  public void onTimeout(final AsyncEvent event) throws IOException {
+    close();
+  }
+
+  @Override
+  public void onError(final AsyncEvent event) throws IOException {
+    onError(event.getThrowable());
+  }
+
+  @Override
+  public void onStartAsync(final AsyncEvent event) throws IOException {
+  }
+
+}
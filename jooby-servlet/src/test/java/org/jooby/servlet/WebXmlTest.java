@@ -32,6 +32,8 @@ public class WebXmlTest {
       "    <servlet-name>jooby</servlet-name>\n" +
       "    <servlet-class>%s</servlet-class>\n" +
       "    <load-on-startup>0</load-on-startup>\n" +
+      "    <!-- deferred results and server-sent events -->\n" +
+      "    <async-supported>true</async-supported>\n" +
       "    <!-- MultiPart setup -->\n" +
       "    <multipart-config>\n" +
       "      <file-size-threshold>0</file-size-threshold>\n" +
@@ -34,6 +34,11 @@ package org.jooby.internal.undertow;
 
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.websockets.extensions.ExtensionHandshake;
+import io.undertow.websockets.extensions.PerMessageDeflateHandshake;
+
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 import com.typesafe.config.Config;
 
@@ -43,21 +48,61 @@ public class UndertowHandler implements HttpHandler {
 
   private Config config;
 
+  private ExtensionHandshake wsCompression;
+
+  /** True, if the application has non-blocking routes. */
+  private boolean nonblocking;
+
+  /** Virtual threads executor or null (XNIO worker). */
+  private Executor worker;
+
+  public UndertowHandler(final org.jooby.spi.HttpHandler handler, final Config config,
+      final Executor worker) {
+    this(handler, config);
+    this.worker = worker;
+  }
+
   public UndertowHandler(final org.jooby.spi.HttpHandler handler, final Config config) {
     this.handler = handler;
     this.config = config;
+    this.nonblocking = handler.nonblocking();
+    // off, unless enabled
+    if (config.hasPath("server.ws.Compression.Enabled")
+        && config.getBoolean("server.ws.Compression.Enabled")) {
+      boolean contextTakeover = config.getBoolean("server.ws.Compression.ContextTakeover");
+      this.wsCompression = new PerMessageDeflateHandshake(false, Deflater.DEFAULT_COMPRESSION,
+          contextTakeover, contextTakeover);
+    }
   }
 
   @Override
   public void handleRequest(final HttpServerExchange exchange) throws Exception {
-    exchange.startBlocking();
-
     if (exchange.isInIoThread()) {
-      exchange.dispatch(this);
+      if (nonblocking) {
+        UndertowRequest req = new UndertowRequest(exchange, config);
+        if (handler.nonblocking(req)) {
+          // fast path: no thread hop, body is sent with the async response sender
+          handler.handle(req, new UndertowResponse(exchange, wsCompression, true));
+          return;
+        }
+      }
+      // time waiting for a worker thread counts as latency (admission control)
+      exchange.putAttachment(UndertowRequest.ARRIVAL, System.nanoTime());
+      exchange.startBlocking();
+      if (worker == null) {
+        exchange.dispatch(this);
+      } else {
+        exchange.dispatch(worker, this);
+      }
       return;
     }
 
-    handler.handle(new UndertowRequest(exchange, config), new UndertowResponse(exchange));
+    if (!exchange.isBlocking()) {
+      exchange.startBlocking();
+    }
+
+    handler.handle(new UndertowRequest(exchange, config, worker),
+        new UndertowResponse(exchange, wsCompression));
   }
 
 }
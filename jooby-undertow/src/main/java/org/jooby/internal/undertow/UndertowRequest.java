@@ -27,6 +27,7 @@ import io.undertow.server.handlers.form.MultiPartParserDefinition;
 import io.undertow.util.AttachmentKey;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.HttpString;
+import io.undertow.util.SameThreadExecutor;
 
 import java.io.File;
 import java.io.IOException;
@@ -38,10 +39,12 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import org.jooby.Cookie;
 import org.jooby.MediaType;
 import org.jooby.spi.NativeRequest;
+import org.jooby.spi.NativeSse;
 import org.jooby.spi.NativeUpload;
 import org.jooby.spi.NativeWebSocket;
 import org.jooby.util.Collectors;
@@ -55,19 +58,34 @@ public class UndertowRequest implements NativeRequest {
   public static final AttachmentKey<NativeWebSocket> SOCKET = AttachmentKey
       .create(NativeWebSocket.class);
 
+  public static final AttachmentKey<NativeSse> SSE = AttachmentKey
+      .create(NativeSse.class);
+
+  /** Time the I/O thread read the request, see {@link #arrival()}. */
+  public static final AttachmentKey<Long> ARRIVAL = AttachmentKey.create(Long.class);
+
   private HttpServerExchange exchange;
 
   private Config config;
 
-  private final FormData form;
+  private FormData form;
+
+  private List<Cookie> cookies;
 
   private String path;
 
+  /** Virtual threads executor or null (XNIO worker). */
+  private Executor worker;
+
+  public UndertowRequest(final HttpServerExchange exchange, final Config config,
+      final Executor worker) throws IOException {
+    this(exchange, config);
+    this.worker = worker;
+  }
+
   public UndertowRequest(final HttpServerExchange exchange, final Config config) throws IOException {
     this.exchange = requireNonNull(exchange, "An undertow exchange is required.");
     this.config = requireNonNull(config, "A config is required.");
-    this.form = parseForm(exchange, config.getString("application.tmpdir"),
-        config.getString("application.charset"));
     this.path = URLDecoder.decode(exchange.getRequestPath(), "UTF-8");
   }
 
@@ -82,15 +100,15 @@ public class UndertowRequest implements NativeRequest {
   }
 
   @Override
-  public List<String> paramNames() {
+  public List<String> paramNames() throws IOException {
     ImmutableList.Builder<String> builder = ImmutableList.<String> builder();
     builder.addAll(exchange.getQueryParameters().keySet());
-    form.forEach(builder::add);
+    form().forEach(builder::add);
     return builder.build();
   }
 
   @Override
-  public List<String> params(final String name) {
+  public List<String> params(final String name) throws IOException {
     Builder<String> builder = ImmutableList.builder();
     // query params
     Deque<String> query = exchange.getQueryParameters().get(name);
@@ -98,7 +116,7 @@ public class UndertowRequest implements NativeRequest {
       query.forEach(builder::add);
     }
     // form params
-    Optional.ofNullable(form.get(name)).ifPresent(values -> {
+    Optional.ofNullable(form().get(name)).ifPresent(values -> {
       values.forEach(value -> {
         if (!value.isFile()) {
           builder.add(value.getValue());
@@ -129,15 +147,18 @@ public class UndertowRequest implements NativeRequest {
 
   @Override
   public List<Cookie> cookies() {
-    return exchange.getRequestCookies().values().stream()
-        .map(UndertowRequest::cookie)
-        .collect(Collectors.toList());
+    if (cookies == null) {
+      cookies = exchange.getRequestCookies().values().stream()
+          .map(UndertowRequest::cookie)
+          .collect(Collectors.toList());
+    }
+    return cookies;
   }
 
   @Override
-  public List<NativeUpload> files(final String name) {
+  public List<NativeUpload> files(final String name) throws IOException {
     Builder<NativeUpload> builder = ImmutableList.builder();
-    Deque<FormValue> values = form.get(name);
+    Deque<FormValue> values = form().get(name);
     if (values != null) {
       values.forEach(value -> {
         if (value.isFile()) {
@@ -191,9 +212,37 @@ public class UndertowRequest implements NativeRequest {
       exchange.putAttachment(SOCKET, ws);
       return (T) ws;
     }
+    if (type == NativeSse.class) {
+      UndertowSse sse = new UndertowSse(exchange);
+      exchange.putAttachment(SSE, sse);
+      return (T) sse;
+    }
     throw new UnsupportedOperationException("Not Supported: " + type);
   }
 
+  @Override
+  public Executor startAsync() {
+    // don't end the exchange when the handler returns, it is up to the response
+    exchange.dispatch(SameThreadExecutor.INSTANCE, () -> {
+    });
+    return worker == null ? exchange.getConnection().getWorker() : worker;
+  }
+
+  @Override
+  public long arrival() {
+    Long arrival = exchange.getAttachment(ARRIVAL);
+    return arrival == null ? System.nanoTime() : arrival;
+  }
+
+  private FormData form() throws IOException {
+    // parse on first access, most of the requests never look at the body
+    if (form == null) {
+      form = parseForm(exchange, config.getString("application.tmpdir"),
+          config.getString("application.charset"));
+    }
+    return form;
+  }
+
   private FormData parseForm(final HttpServerExchange exchange, final String tmpdir,
       final String charset) throws IOException {
     String value = exchange.getRequestHeaders().getFirst("Content-Type");
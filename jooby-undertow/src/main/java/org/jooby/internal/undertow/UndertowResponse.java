@@ -25,9 +25,13 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.HttpString;
+import io.undertow.websockets.WebSocketProtocolHandshakeHandler;
+import io.undertow.websockets.extensions.ExtensionHandshake;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +45,43 @@ import com.google.common.collect.ImmutableList;
 
 public class UndertowResponse implements NativeResponse {
 
+  /**
+   * Body of a non-blocking response, kept in memory up to <code>bufferSize</code> bytes. It is
+   * sent at the end with the response sender.
+   */
+  private static class Buffer extends OutputStream {
+
+    private final ByteArrayOutputStream bytes;
+
+    private final int max;
+
+    public Buffer(final int max) {
+      this.bytes = new ByteArrayOutputStream(max);
+      this.max = max;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      check(1);
+      bytes.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      check(len);
+      bytes.write(b, off, len);
+    }
+
+    private void check(final int len) throws IOException {
+      // can't flush from the I/O thread
+      if (bytes.size() + len > max) {
+        throw new IOException("Response of a non-blocking route is over " + max
+            + " bytes (server.http.ResponseBufferSize), use nonblocking(false)");
+      }
+    }
+
+  }
+
   /** The logging system. */
   private final Logger log = LoggerFactory.getLogger(NativeResponse.class);
 
@@ -48,9 +89,28 @@ public class UndertowResponse implements NativeResponse {
 
   private OutputStream stream;
 
+  private ExtensionHandshake wsCompression;
+
+  /** Body of a non-blocking response or null. */
+  private Buffer buffer;
+
+  private boolean nonblocking;
+
+  public UndertowResponse(final HttpServerExchange exchange,
+      final ExtensionHandshake wsCompression, final boolean nonblocking) throws IOException {
+    this.exchange = requireNonNull(exchange, "An undertow exchange is required.");
+    this.wsCompression = wsCompression;
+    this.nonblocking = nonblocking;
+  }
+
+  public UndertowResponse(final HttpServerExchange exchange,
+      final ExtensionHandshake wsCompression) throws IOException {
+    this(exchange, wsCompression, false);
+  }
+
   public UndertowResponse(final HttpServerExchange exchange)
       throws IOException {
-    this.exchange = requireNonNull(exchange, "An undertow exchange is required.");
+    this(exchange, null);
   }
 
   @Override
@@ -79,6 +139,13 @@ public class UndertowResponse implements NativeResponse {
 
   @Override
   public OutputStream out(final int bufferSize) {
+    if (nonblocking) {
+      // can't block on the I/O thread, keep the body and send it at the end
+      if (buffer == null) {
+        buffer = new Buffer(bufferSize);
+      }
+      return buffer;
+    }
     if (stream == null) {
       stream = exchange.getOutputStream();
     }
@@ -97,11 +164,14 @@ public class UndertowResponse implements NativeResponse {
 
   @Override
   public boolean committed() {
-    return exchange.isResponseStarted();
+    return exchange.isResponseStarted() || exchange.getAttachment(UndertowRequest.SSE) != null;
   }
 
   @Override
   public void reset() {
+    if (buffer != null) {
+      buffer.bytes.reset();
+    }
     if (stream != null) {
       ((UndertowOutputStream) stream).resetBuffer();
     }
@@ -110,18 +180,34 @@ public class UndertowResponse implements NativeResponse {
 
   @Override
   public void end() {
+    if (exchange.removeAttachment(UndertowRequest.SSE) != null) {
+      // response head was sent already, it is up to sse to end the exchange
+      return;
+    }
     NativeWebSocket ws = exchange.getAttachment(UndertowRequest.SOCKET);
     if (ws != null) {
       try {
-        Handlers.websocket((wsExchange, channel) -> {
+        WebSocketProtocolHandshakeHandler upgrade = Handlers.websocket((wsExchange, channel) -> {
           ((UndertowWebSocket) ws).connect(channel);
-        }).handleRequest(exchange);
+        });
+        if (wsCompression != null) {
+          upgrade.addExtension(wsCompression);
+        }
+        upgrade.handleRequest(exchange);
       } catch (Exception ex) {
         log.error("Upgrade result in exception", ex);
       } finally {
         exchange.removeAttachment(UndertowRequest.SOCKET);
       }
     }
+    if (buffer != null && !exchange.isResponseStarted()) {
+      byte[] bytes = buffer.bytes.toByteArray();
+      buffer = null;
+      // async write with pooled buffers, the sender ends the exchange
+      exchange.setResponseContentLength(bytes.length);
+      exchange.getResponseSender().send(ByteBuffer.wrap(bytes));
+      return;
+    }
     // this is a noop when response has been set, still call it...
     exchange.endExchange();
   }
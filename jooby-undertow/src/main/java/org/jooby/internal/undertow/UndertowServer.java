@@ -22,15 +22,19 @@ import io.undertow.Undertow.Builder;
 import io.undertow.UndertowOptions;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.GracefulShutdownHandler;
+import io.undertow.server.protocol.http2.Http2UpgradeHandler;
 
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
 
+import org.jooby.util.SslContexts;
+import org.jooby.util.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xnio.Option;
@@ -53,15 +57,34 @@ public class UndertowServer implements org.jooby.spi.Server {
 
   private final GracefulShutdownHandler shutdown;
 
+  private ExecutorService worker;
+
   @Inject
   public UndertowServer(final org.jooby.spi.HttpHandler dispatcher, final Config config)
       throws Exception {
 
-    shutdown = new GracefulShutdownHandler(doHandler(dispatcher, config));
-    this.server = configure(config, io.undertow.Undertow.builder())
-        .addHttpListener(config.getInt("application.port"), config.getString("application.host"))
-        .setHandler(shutdown)
-        .build();
+    if (VirtualThreads.enabled(config)) {
+      // dispatch to virtual threads, not to the XNIO worker
+      worker = VirtualThreads.newExecutor("undertow");
+    }
+    shutdown = new GracefulShutdownHandler(doHandler(dispatcher, config, worker));
+    boolean http2 = config.getBoolean("server.http2");
+    Builder builder = configure(config, io.undertow.Undertow.builder())
+        .addHttpListener(config.getInt("application.port"), config.getString("application.host"));
+    if (SslContexts.enabled(config)) {
+      builder.addHttpsListener(config.getInt("application.securePort"),
+          config.getString("application.host"), SslContexts.sslContext(config));
+    }
+    if (http2) {
+      log.debug("undertow.http2(true)");
+      // h2 via ALPN on secure listeners plus prior knowledge h2c
+      builder.setServerOption(UndertowOptions.ENABLE_HTTP2, true);
+      // h2c via HTTP/1.1 upgrade
+      builder.setHandler(new Http2UpgradeHandler(shutdown));
+    } else {
+      builder.setHandler(shutdown);
+    }
+    this.server = builder.build();
   }
 
   @SuppressWarnings("unchecked")
@@ -164,8 +187,8 @@ public class UndertowServer implements org.jooby.spi.Server {
   }
 
   private static HttpHandler doHandler(final org.jooby.spi.HttpHandler dispatcher,
-      final Config config) {
-    return new UndertowHandler(dispatcher, config);
+      final Config config, final ExecutorService worker) {
+    return new UndertowHandler(dispatcher, config, worker);
   }
 
   @Override
@@ -184,6 +207,9 @@ public class UndertowServer implements org.jooby.spi.Server {
     // TODO add a shutdown timeout
     shutdown.awaitShutdown();
     server.stop();
+    if (worker != null) {
+      worker.shutdown();
+    }
   }
 
 }
@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.undertow;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.SameThreadExecutor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jooby.spi.NativeSse;
+import org.xnio.channels.StreamSinkChannel;
+
+public class UndertowSse implements NativeSse {
+
+  private static class Message {
+
+    private final ByteBuffer buffer;
+
+    private final CompletableFuture<Void> future;
+
+    public Message(final ByteBuffer buffer, final CompletableFuture<Void> future) {
+      this.buffer = buffer;
+      this.future = future;
+    }
+
+  }
+
+  private final HttpServerExchange exchange;
+
+  private StreamSinkChannel channel;
+
+  private final Deque<Message> queue = new ArrayDeque<>();
+
+  private boolean writing;
+
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private Runnable onClose = () -> {
+  };
+
+  public UndertowSse(final HttpServerExchange exchange) {
+    this.exchange = exchange;
+  }
+
+  @Override
+  public void handshake() throws Exception {
+    exchange.setResponseCode(200);
+    HeaderMap headers = exchange.getResponseHeaders();
+    headers.put(Headers.CONTENT_TYPE, "text/event-stream; charset=utf-8");
+    headers.put(Headers.CACHE_CONTROL, "no-cache");
+    headers.put(Headers.CONNECTION, "keep-alive");
+
+    exchange.getConnection().addCloseListener(connection -> fireClose());
+
+    channel = exchange.getResponseChannel();
+    channel.getWriteSetter().set(ch -> {
+      ch.suspendWrites();
+      write();
+    });
+
+    // keep the exchange open once the worker thread returns, it is closed by close()
+    exchange.dispatch(SameThreadExecutor.INSTANCE, () -> {
+    });
+
+    // send headers
+    send(new byte[0]);
+  }
+
+  @Override
+  public CompletableFuture<Void> send(final byte[] data) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    synchronized (this) {
+      queue.addLast(new Message(ByteBuffer.wrap(data), future));
+      if (writing) {
+        // completed by the write listener
+        return future;
+      }
+      writing = true;
+    }
+    write();
+    return future;
+  }
+
+  @Override
+  public void onClose(final Runnable callback) {
+    this.onClose = callback;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return !closed.get() && channel != null && channel.isOpen();
+  }
+
+  @Override
+  public void close() {
+    if (!closed.get()) {
+      exchange.endExchange();
+      fireClose();
+    }
+  }
+
+  private void write() {
+    List<Message> done = new LinkedList<>();
+    try {
+      while (true) {
+        Message message;
+        synchronized (this) {
+          message = queue.peekFirst();
+          if (message == null) {
+            writing = false;
+            break;
+          }
+        }
+        while (message.buffer.hasRemaining()) {
+          if (channel.write(message.buffer) == 0) {
+            // socket is full, wait for the write listener
+            channel.resumeWrites();
+            return;
+          }
+        }
+        if (!channel.flush()) {
+          channel.resumeWrites();
+          return;
+        }
+        synchronized (this) {
+          queue.removeFirst();
+        }
+        done.add(message);
+      }
+    } catch (IOException ex) {
+      List<Message> failed;
+      synchronized (this) {
+        failed = new LinkedList<>(queue);
+        queue.clear();
+        writing = false;
+      }
+      failed.forEach(message -> message.future.completeExceptionally(ex));
+      close();
+    } finally {
+      done.forEach(message -> message.future.complete(null));
+    }
+  }
+
+  private void fireClose() {
+    if (closed.compareAndSet(false, true)) {
+      List<Message> failed;
+      synchronized (this) {
+        failed = new LinkedList<>(queue);
+        queue.clear();
+      }
+      IOException cause = new IOException("Connection closed");
+      failed.forEach(message -> message.future.completeExceptionally(cause));
+      onClose.run();
+    }
+  }
+
+}
@@ -32,6 +32,7 @@
  */
 package org.jooby.internal.undertow;
 
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 import io.undertow.websockets.core.AbstractReceiveListener;
 import io.undertow.websockets.core.BufferedBinaryMessage;
@@ -71,6 +72,11 @@ public class UndertowWebSocket extends AbstractReceiveListener implements Native
 
   private Consumer<ByteBuffer> onBinaryCallback;
 
+  /** Data of the binary message in progress, while the binary callback runs. */
+  private Pooled<ByteBuffer[]> binary;
+
+  private boolean retained;
+
   private BiConsumer<Integer, Optional<String>> onCloseCallback;
 
   private Consumer<Throwable> onErrorCallback;
@@ -150,13 +156,30 @@ public class UndertowWebSocket extends AbstractReceiveListener implements Native
       final BufferedBinaryMessage message) throws IOException {
     ready();
     Pooled<ByteBuffer[]> data = message.getData();
+    binary = data;
+    retained = false;
     try {
-      this.onBinaryCallback.accept(WebSockets.mergeBuffers(data.getResource()));
+      ByteBuffer[] buffers = data.getResource();
+      // single frame messages are handed over as they are, without copying them
+      this.onBinaryCallback.accept(buffers.length == 1
+          ? buffers[0]
+          : WebSockets.mergeBuffers(buffers));
     } finally {
-      data.free();
+      binary = null;
+      if (!retained) {
+        data.free();
+      }
     }
   }
 
+  @Override
+  public Runnable retain() {
+    Pooled<ByteBuffer[]> data = binary;
+    checkState(data != null, "No binary message in progress");
+    retained = true;
+    return data::free;
+  }
+
   @Override
   protected void onCloseMessage(final CloseMessage cm, final WebSocketChannel channel) {
     ready();
@@ -0,0 +1,39 @@
+package org.jooby.internal.undertow;
+
+import static org.junit.Assert.assertEquals;
+import io.undertow.server.HttpServerExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+
+public class UndertowResponseTest {
+
+  @Test
+  public void nonblockingBodyFitsInBuffer() throws Exception {
+    UndertowResponse rsp = new UndertowResponse(new HttpServerExchange(null), null, true);
+    OutputStream out = rsp.out(4);
+    out.write(new byte[]{1, 2, 3});
+    out.write(4);
+  }
+
+  @Test
+  public void nonblockingBodyOverBuffer() throws Exception {
+    UndertowResponse rsp = new UndertowResponse(new HttpServerExchange(null), null, true);
+    OutputStream out = rsp.out(4);
+    out.write(new byte[]{1, 2, 3});
+    try {
+      out.write(new byte[]{4, 5});
+    } catch (IOException ex) {
+      assertEquals("Response of a non-blocking route is over 4 bytes "
+          + "(server.http.ResponseBufferSize), use nonblocking(false)", ex.getMessage());
+      // error page goes in the same buffer
+      rsp.reset();
+      out.write(new byte[]{1, 2, 3, 4});
+      return;
+    }
+    throw new AssertionError("buffer is full");
+  }
+
+}
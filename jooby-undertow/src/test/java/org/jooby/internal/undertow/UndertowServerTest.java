@@ -1,5 +1,7 @@
 package org.jooby.internal.undertow;
 
+import static org.easymock.EasyMock.expect;
+
 import org.jooby.MockUnit;
 import org.jooby.spi.HttpHandler;
 import org.junit.Test;
@@ -23,10 +25,48 @@ public class UndertowServerTest {
         .withValue("undertow.socket.TCP_NODELAY", ConfigValueFactory.fromAnyRef(true))
         .withValue("undertow.worker.REUSE_ADDRESSES", ConfigValueFactory.fromAnyRef(true))
         .withValue("undertow.server.IGNORE_INVALID", ConfigValueFactory.fromAnyRef("bad option"))
+        .withValue("server.ws.Compression.Enabled", ConfigValueFactory.fromAnyRef(true))
+        .withValue("server.ws.Compression.ContextTakeover", ConfigValueFactory.fromAnyRef(true))
+        .withValue("server.http2", ConfigValueFactory.fromAnyRef(false))
+        .withValue("server.threads.Mode", ConfigValueFactory.fromAnyRef("platform"))
+        .withValue("application.port", ConfigValueFactory.fromAnyRef(6789))
+        .withValue("application.host", ConfigValueFactory.fromAnyRef("0.0.0.0"));
+
+    new MockUnit(HttpHandler.class)
+        .expect(unit -> {
+          expect(unit.get(HttpHandler.class).nonblocking()).andReturn(false);
+        })
+        .run(unit -> {
+          UndertowServer server = new UndertowServer(unit.get(HttpHandler.class), config);
+          try {
+            server.start();
+          } finally {
+            server.stop();
+          }
+        });
+  }
+
+  @Test
+  public void http2() throws Exception {
+    Config config = ConfigFactory.empty()
+        .withValue("undertow.ioThreads", ConfigValueFactory.fromAnyRef("2"))
+        .withValue("undertow.workerThreads", ConfigValueFactory.fromAnyRef("1"))
+        .withValue("undertow.server.HTTP2_SETTINGS_INITIAL_WINDOW_SIZE",
+            ConfigValueFactory.fromAnyRef("64k"))
+        .withValue("undertow.server.HTTP2_SETTINGS_MAX_CONCURRENT_STREAMS",
+            ConfigValueFactory.fromAnyRef(100))
+        .withValue("undertow.worker.REUSE_ADDRESSES", ConfigValueFactory.fromAnyRef(true))
+        .withValue("undertow.socket.TCP_NODELAY", ConfigValueFactory.fromAnyRef(true))
+        .withValue("server.ws.Compression.Enabled", ConfigValueFactory.fromAnyRef(false))
+        .withValue("server.http2", ConfigValueFactory.fromAnyRef(true))
+        .withValue("server.threads.Mode", ConfigValueFactory.fromAnyRef("platform"))
         .withValue("application.port", ConfigValueFactory.fromAnyRef(6789))
         .withValue("application.host", ConfigValueFactory.fromAnyRef("0.0.0.0"));
 
     new MockUnit(HttpHandler.class)
+        .expect(unit -> {
+          expect(unit.get(HttpHandler.class).nonblocking()).andReturn(false);
+        })
         .run(unit -> {
           UndertowServer server = new UndertowServer(unit.get(HttpHandler.class), config);
           try {
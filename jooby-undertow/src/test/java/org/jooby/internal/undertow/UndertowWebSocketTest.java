@@ -187,9 +187,6 @@ public class UndertowWebSocketTest {
           ByteBuffer buff = ByteBuffer.wrap(new byte[0]);
           ByteBuffer[] resource = {buff };
 
-          unit.mockStatic(WebSockets.class);
-          expect(WebSockets.mergeBuffers(resource)).andReturn(buff);
-
           Pooled<ByteBuffer[]> pooled = unit.mock(Pooled.class);
           expect(pooled.getResource()).andReturn(resource);
           pooled.free();
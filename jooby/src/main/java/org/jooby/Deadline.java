@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.inject.Key;
+
+/**
+ * Max time a request can take, set from <code>server.http.Timeout</code> or
+ * {@link Route.Definition#timeout(Duration)}. The deadline of the current request is available
+ * from {@link Request#deadline()} or {@link #current()}, so blocking calls can be limited to the
+ * remaining time:
+ *
+ * <pre>
+ *   get("/search", req {@literal ->} {
+ *     long timeout = req.deadline()
+ *         .map(deadline {@literal ->} deadline.remaining(TimeUnit.MILLISECONDS))
+ *         .orElse(5000L);
+ *     ...
+ *   });
+ * </pre>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public final class Deadline {
+
+  private static final Key<Deadline> KEY = Key.get(Deadline.class);
+
+  /** Lookup into the request scope of the current thread, installed by {@link Jooby}. */
+  private static volatile Function<Key<Deadline>, Optional<Deadline>> scope =
+      key -> Optional.empty();
+
+  private final Duration timeout;
+
+  /** Expiration time in nanos, see {@link System#nanoTime()}. */
+  private final long expiresAt;
+
+  private Deadline(final Duration timeout, final long now) {
+    this.timeout = timeout;
+    this.expiresAt = now + timeout.toNanos();
+  }
+
+  /**
+   * Creates a deadline that expires after the given timeout (from now).
+   *
+   * @param timeout A timeout.
+   * @return A new deadline.
+   */
+  public static Deadline of(final Duration timeout) {
+    return new Deadline(requireNonNull(timeout, "A timeout is required."), System.nanoTime());
+  }
+
+  /**
+   * Find the deadline of the request bound to the current thread. Useful for code without access
+   * to the {@link Request}, like a {@link javax.inject.Provider}.
+   *
+   * @return Deadline of the current request or empty (no request or no deadline).
+   */
+  public static Optional<Deadline> current() {
+    return scope.apply(KEY);
+  }
+
+  /**
+   * Set the request scope lookup used by {@link #current()}.
+   *
+   * @param scope Request scope lookup.
+   */
+  static void scope(final Function<Key<Deadline>, Optional<Deadline>> scope) {
+    Deadline.scope = requireNonNull(scope, "A scope is required.");
+  }
+
+  /**
+   * @return Timeout of this deadline.
+   */
+  public Duration timeout() {
+    return timeout;
+  }
+
+  /**
+   * @return True, once the deadline is over.
+   */
+  public boolean expired() {
+    return expiresAt - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Time left before the deadline, rounded up. So it is <code>0</code> only when the deadline is
+   * over.
+   *
+   * @param unit Time unit.
+   * @return Time left or <code>0</code>.
+   */
+  public long remaining(final TimeUnit unit) {
+    long nanos = expiresAt - System.nanoTime();
+    if (nanos <= 0) {
+      return 0;
+    }
+    long remaining = unit.convert(nanos, TimeUnit.NANOSECONDS);
+    return unit.toNanos(remaining) < nanos ? remaining + 1 : remaining;
+  }
+
+  /**
+   * Fail with <code>504</code> once the deadline is over.
+   *
+   * @return This deadline.
+   * @throws Err With a <code>504</code> status code when the deadline is over.
+   */
+  public Deadline check() {
+    if (expired()) {
+      throw new Err(Status.GATEWAY_TIMEOUT, "deadline of " + timeout.toMillis() + "ms is over");
+    }
+    return this;
+  }
+
+  /**
+   * Compute a timeout for a blocking call: the given timeout or the time left before the deadline
+   * (whatever is shorter).
+   *
+   * @param timeout Timeout of the blocking call, <code>0</code> or less means no timeout.
+   * @param unit Time unit.
+   * @return The shorter timeout, never <code>0</code>.
+   * @throws Err With a <code>504</code> status code when the deadline is over.
+   */
+  public long min(final long timeout, final TimeUnit unit) {
+    long remaining = check().remaining(unit);
+    long min = timeout > 0 ? Math.min(timeout, remaining) : remaining;
+    // expired while we were here, 0 means no timeout for most APIs
+    return Math.max(1, min);
+  }
+
+  @Override
+  public String toString() {
+    return timeout.toMillis() + "ms (" + remaining(TimeUnit.MILLISECONDS) + "ms left)";
+  }
+
+}
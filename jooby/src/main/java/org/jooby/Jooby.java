@@ -56,8 +56,11 @@ import static com.typesafe.config.ConfigValueFactory.fromAnyRef;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
@@ -87,10 +90,13 @@ import org.jooby.internal.BuiltinBodyConverter;
 import org.jooby.internal.HttpHandlerImpl;
 import org.jooby.internal.LifecycleProcessor;
 import org.jooby.internal.LocaleUtils;
+import org.jooby.internal.NamedDependencies;
 import org.jooby.internal.RequestScope;
 import org.jooby.internal.RouteMetadata;
+import org.jooby.internal.RouteMetrics;
 import org.jooby.internal.ServerLookup;
 import org.jooby.internal.SessionManager;
+import org.jooby.internal.SseHandler;
 import org.jooby.internal.TypeConverters;
 import org.jooby.internal.mvc.MvcRoutes;
 import org.jooby.internal.reqparam.BeanParser;
@@ -112,6 +118,7 @@ import org.jooby.reflect.ParameterNameProvider;
 import org.jooby.scope.RequestScoped;
 import org.jooby.spi.HttpHandler;
 import org.jooby.spi.Server;
+import org.jooby.util.Jfr;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -127,8 +134,11 @@ import com.google.inject.matcher.Matchers;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
 import com.google.inject.util.Types;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigObject;
 import com.typesafe.config.ConfigValue;
@@ -452,6 +462,8 @@ public class Jooby {
       // set it, when missing
       System.setProperty("logback.configurationFile", "logback.xml");
     }
+    // Deadline.current() looks into the request scope of the current thread
+    Deadline.scope(RequestScope::current);
   }
 
   public Jooby() {
@@ -484,6 +496,12 @@ public class Jooby {
   /** Keep the global injector instance. */
   private Injector injector;
 
+  /** Start/stop callbacks. */
+  private LifecycleProcessor lifecycle;
+
+  /** Handler and filter classes, created on demand. */
+  private final Set<Class<?>> handlers = new LinkedHashSet<>();
+
   /** Error handler. */
   private Err.Handler err;
 
@@ -2438,6 +2456,7 @@ public class Jooby {
    */
   private Route.Handler handler(final Class<? extends Route.Handler> handler) {
     requireNonNull(handler, "Route handler is required.");
+    handlers.add(handler);
     return (req, rsp) -> req.require(handler).handle(req, rsp);
   }
 
@@ -2474,6 +2493,7 @@ public class Jooby {
    */
   private Route.Filter filter(final Class<? extends Route.Filter> filter) {
     requireNonNull(filter, "Filter is required.");
+    handlers.add(filter);
     return (req, rsp, chain) -> req.require(filter).handle(req, rsp, chain);
   }
 
@@ -2656,6 +2676,27 @@ public class Jooby {
     return ws;
   }
 
+  /**
+   * Append a new Server-Sent Events handler under the given path.
+   *
+   * <pre>
+   *   sse("/events", (req, sse) {@literal ->} {
+   *     // connected
+   *     sse.event("Hello").id(1).send();
+   *   });
+   * </pre>
+   *
+   * Events are sent without blocking, so you can keep the {@link Sse} around and push events
+   * later, from any thread.
+   *
+   * @param path A path pattern.
+   * @param handler A connect callback.
+   * @return A new route definition.
+   */
+  public Route.Definition sse(final String path, final Sse.Handler handler) {
+    return appendDefinition(new Route.Definition("GET", path, new SseHandler(handler)));
+  }
+
   /**
    * <h1>Bootstrap</h1>
    * <p>
@@ -2709,10 +2750,11 @@ public class Jooby {
    */
   public void start(final String[] args) throws Exception {
     long start = System.currentTimeMillis();
+    StartupReport startup = new StartupReport();
     // shutdown hook
     Runtime.getRuntime().addShutdownHook(new Thread(() -> stop()));
 
-    this.injector = bootstrap();
+    this.injector = bootstrap(startup);
 
     Config config = injector.getInstance(Config.class);
 
@@ -2722,14 +2764,29 @@ public class Jooby {
     Server server = injector.getInstance(Server.class);
     String serverName = server.getClass().getSimpleName().replace("Server", "").toLowerCase();
 
+    long serverStart = System.nanoTime();
     server.start();
+    startup.record(null, "server", serverStart);
+    startup.done();
     long end = System.currentTimeMillis();
 
+    AppPrinter printer = injector.getInstance(AppPrinter.class);
     log.info("[{}@{}]: Server started in {}ms\n\n{}\n",
         config.getString("application.env"),
         serverName,
         end - start,
-        injector.getInstance(AppPrinter.class));
+        startup.log() ? printer + "\n\n" + startup : printer);
+
+    String report = startup.file();
+    if (report != null) {
+      try {
+        File file = new File(report);
+        Optional.ofNullable(file.getAbsoluteFile().getParentFile()).ifPresent(File::mkdirs);
+        Files.write(file.toPath(), startup.toJson().getBytes(StandardCharsets.UTF_8));
+      } catch (IOException ex) {
+        log.error("writing startup report resulted in error: " + report, ex);
+      }
+    }
 
     boolean join = config.hasPath("server.join") ? config.getBoolean("server.join") : true;
     if (join) {
@@ -2754,16 +2811,26 @@ public class Jooby {
     return "";
   }
 
-  private Injector bootstrap() throws Exception {
+  private Injector bootstrap(final StartupReport startup) throws Exception {
+    long configStart = System.nanoTime();
     Config config = buildConfig(
         Optional.ofNullable(this.source)
             .orElseGet(
                 () -> ConfigFactory.parseResources("application.conf")
             )
         );
+    startup.record(null, "config", configStart);
+    startup.configure(config.getBoolean("startup.report"),
+        config.hasPath("startup.file") ? config.getString("startup.file") : null);
+
+    long envStart = System.nanoTime();
     Env env = this.env.build(config);
+    startup.record(null, "env", envStart);
     String envname = env.name();
 
+    // flight recorder events, before modules so they see it
+    Jfr.configure(config);
+
     final Charset charset = Charset.forName(config.getString("application.charset"));
 
     final Locale locale = LocaleUtils.toLocale(config.getString("application.lang"));
@@ -2782,19 +2849,37 @@ public class Jooby {
     // run env callbacks
     envcallbacks.getOrDefault(envname, Collections.emptyList()).forEach(Runnable::run);
 
+    // start/stop callbacks
+    LifecycleProcessor lifecycle = new LifecycleProcessor(startup,
+        config.getBoolean("managed.parallel"), config.getInt("managed.threads"));
+    this.lifecycle = lifecycle;
+
+    // bind all the config properties or just the ones we inject
+    boolean lazyConfig = "lazy".equals(config.getString("injector.namedConfig"));
+
     // dependency injection
+    long injectorStart = System.nanoTime();
     @SuppressWarnings("unchecked")
-    Injector injector = Guice.createInjector(stage, binder -> {
+    com.google.inject.Module module = binder -> {
 
       // type converters
         new TypeConverters().configure(binder);
 
         // bind config
-        bindConfig(binder, config);
+        if (lazyConfig) {
+          binder.bind(Config.class).toInstance(config);
+        } else {
+          long bindStart = System.nanoTime();
+          bindConfig(binder, config);
+          startup.record(StartupReport.INJECTOR, "bindConfig", bindStart);
+        }
 
         // bind env
         binder.bind(Env.class).toInstance(env);
 
+        // bind startup report
+        binder.bind(StartupReport.class).toInstance(startup);
+
         // bind charset
         binder.bind(Charset.class).toInstance(charset);
 
@@ -2813,7 +2898,9 @@ public class Jooby {
         binder.bind(DecimalFormat.class).toInstance(numberFormat);
 
         // bind managed
-        binder.bindListener(Matchers.any(), new LifecycleProcessor());
+        binder.bindListener(Matchers.any(), lifecycle);
+        binder.bindListener(LifecycleProcessor.managedProviders(),
+            lifecycle.provisionListener());
 
         // Routes
         Multibinder<Route.Definition> definitions = Multibinder
@@ -2838,7 +2925,7 @@ public class Jooby {
         parsers.add(new OptionalParser());
         parsers.add(new UploadParser());
         parsers.add(new EnumParser());
-        parsers.add(new DateParser(dateFormat));
+        parsers.add(new DateParser(dateFormat, locale, zoneId));
         parsers.add(new LocalDateParser(dateTimeFormatter));
         parsers.add(new LocaleParser());
         parsers.add(new BeanParser());
@@ -2856,8 +2943,11 @@ public class Jooby {
 
         // modules, routes and websockets
         bag.forEach(candidate -> {
+          long candidateStart = System.nanoTime();
           if (candidate instanceof Jooby.Module) {
             install((Jooby.Module) candidate, env, config, binder);
+            startup.record(StartupReport.INJECTOR, "module " + typeName(candidate.getClass()),
+                candidateStart);
           } else if (candidate instanceof Route.Definition) {
             definitions.addBinding().toInstance((Route.Definition) candidate);
           } else if (candidate instanceof WebSocket.Definition) {
@@ -2866,9 +2956,19 @@ public class Jooby {
             binder.bind((Class<?>) candidate);
             MvcRoutes.routes(env, classInfo, (Class<?>) candidate)
                 .forEach(route -> definitions.addBinding().toInstance(route));
+            startup.record(StartupReport.INJECTOR, "mvc " + typeName((Class<?>) candidate),
+                candidateStart);
           }
         });
 
+        // metrics, after application routes so filters apply to it
+        if (config.getBoolean("server.metrics.Enabled")) {
+          definitions.addBinding().toInstance(new Route.Definition("GET",
+              config.getString("server.metrics.Path"),
+              (req, rsp) -> rsp.send(req.require(RouteMetrics.class).scrape()))
+                  .produces(MediaType.plain));
+        }
+
         // formatter
         Multibinder<BodyFormatter> formatterBinder = Multibinder
             .newSetBinder(binder, BodyFormatter.class);
@@ -2880,6 +2980,8 @@ public class Jooby {
         formatterBinder.addBinding().toInstance(BuiltinBodyConverter.formatByteArray);
         formatterBinder.addBinding().toInstance(BuiltinBodyConverter.formatByteBuffer);
         formatterBinder.addBinding().toInstance(BuiltinBodyConverter.formatAny);
+        // text/plain, only when nothing else is acceptable
+        formatterBinder.addBinding().toInstance(BuiltinBodyConverter.formatText);
 
         binder.bind(HttpHandler.class).to(HttpHandlerImpl.class).in(Singleton.class);
 
@@ -2917,7 +3019,31 @@ public class Jooby {
         } else {
           binder.bind(Err.Handler.class).toInstance(err);
         }
-      });
+      };
+    final Injector injector;
+    if (lazyConfig) {
+      // record the bindings, find the @Named dependencies and bind those properties only
+      List<Element> elements = Elements.getElements(stage, module);
+      lifecycle.instances(elements);
+      long bindStart = System.nanoTime();
+      Set<Class<?>> roots = new LinkedHashSet<>(handlers);
+      roots.add(AppPrinter.class);
+      Set<String> names = NamedDependencies.find(elements, roots);
+      startup.record(StartupReport.INJECTOR, "bindConfig", bindStart);
+      injector = Guice.createInjector(stage, Elements.getModule(elements),
+          binder -> bindConfig(binder, config, names));
+    } else if (lifecycle.parallel()) {
+      // record the bindings, managed services bound with toInstance start as soon as injected
+      List<Element> elements = Elements.getElements(stage, module);
+      lifecycle.instances(elements);
+      injector = Guice.createInjector(stage, Elements.getModule(elements));
+    } else {
+      injector = Guice.createInjector(stage, module);
+    }
+    startup.record(null, StartupReport.INJECTOR, injectorStart);
+
+    // managed services created by the injector, in parallel mode
+    lifecycle.start(injector);
 
     return injector;
   }
@@ -2943,7 +3069,7 @@ public class Jooby {
 
   private void stopManaged() {
     // stop modules
-    LifecycleProcessor.onPreDestroy(injector, log);
+    lifecycle.stop(injector);
     modules.clear();
   }
 
@@ -3093,6 +3219,16 @@ public class Jooby {
     return defs;
   }
 
+  /**
+   * @param type A type.
+   * @return Type name, without the identity hash of lambdas, so it doesn't change between runs.
+   */
+  private static String typeName(final Class<?> type) {
+    String name = type.getName();
+    int slash = name.indexOf('/');
+    return slash > 0 ? name.substring(0, slash) : name;
+  }
+
   /**
    * Install a {@link JoobyModule}.
    *
@@ -3140,6 +3276,45 @@ public class Jooby {
     binder.bind(Config.class).toInstance(config);
   }
 
+  /**
+   * Bind the given config properties, see {@link #bindConfig(Binder, Config)}. Missing properties
+   * are ignored.
+   *
+   * @param binder Guice binder.
+   * @param config App config.
+   * @param paths Properties to bind.
+   */
+  @SuppressWarnings("unchecked")
+  private void bindConfig(final Binder binder, final Config config, final Set<String> paths) {
+    for (String path : paths) {
+      ConfigValue value;
+      try {
+        if (!config.hasPath(path)) {
+          continue;
+        }
+        value = config.getValue(path);
+      } catch (ConfigException.BadPath ex) {
+        continue;
+      }
+      Named named = Names.named(path);
+      if (value instanceof ConfigObject) {
+        Config child = ((ConfigObject) value).toConfig();
+        binder.bind(Config.class).annotatedWith(named).toInstance(child);
+      } else {
+        Object unwrapped = value.unwrapped();
+        if (unwrapped instanceof List) {
+          List<Object> values = (List<Object>) unwrapped;
+          if (values.size() > 0) {
+            Type listType = Types.listOf(values.iterator().next().getClass());
+            binder.bind((Key<Object>) Key.get(listType, named)).toInstance(values);
+          }
+        } else {
+          binder.bindConstant().annotatedWith(named).to(unwrapped.toString());
+        }
+      }
+    }
+  }
+
   private void traverse(final Binder binder, final String p, final ConfigObject root) {
     root.forEach((n, v) -> {
       if (v instanceof ConfigObject) {
@@ -196,6 +196,11 @@ public interface Request {
       return req.secure();
     }
 
+    @Override
+    public Optional<Deadline> deadline() {
+      return req.deadline();
+    }
+
     @Override
     public boolean xhr() {
       return req.xhr();
@@ -591,6 +596,17 @@ public interface Request {
    */
   boolean secure();
 
+  /**
+   * Max time this request can take, from <code>server.http.Timeout</code> or
+   * {@link Route.Definition#timeout(java.time.Duration)}. Blocking calls should wait no longer
+   * than {@link Deadline#remaining(java.util.concurrent.TimeUnit)}.
+   *
+   * @return Deadline of this request or empty when there is no timeout.
+   */
+  default Optional<Deadline> deadline() {
+    return Optional.empty();
+  }
+
   /**
    * Set local attribute.
    *
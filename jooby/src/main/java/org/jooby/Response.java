@@ -465,6 +465,17 @@ public interface Response {
    * Responsible of writing the given body into the HTTP response. The {@link BodyFormatter} that
    * best matches the <code>Accept</code> header will be selected for writing the response.
    *
+   * <p>
+   * A {@link java.util.concurrent.CompletionStage} (like a
+   * {@link java.util.concurrent.CompletableFuture}) defers the response: the server thread is
+   * released and the response is sent from a server thread once the stage completes, the request
+   * scope is restored before formatting the value, writing cookies and saving the session:
+   * </p>
+   *
+   * <pre>
+   *   get("/", req {@literal ->} CompletableFuture.supplyAsync(() {@literal ->} "Hello"));
+   * </pre>
+   *
    * @param result The HTTP body.
    * @throws Exception If the response write fails.
    */
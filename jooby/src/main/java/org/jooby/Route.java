@@ -21,6 +21,7 @@ package org.jooby;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -245,6 +246,48 @@ public interface Route {
       return this;
     }
 
+    /**
+     * Mark the whole collection as non-blocking.
+     *
+     * @param nonblocking True for non-blocking routes.
+     * @return This instance.
+     * @see Definition#nonblocking(boolean)
+     */
+    public Definitions nonblocking(final boolean nonblocking) {
+      for (Definition definition : definitions) {
+        definition.nonblocking(nonblocking);
+      }
+      return this;
+    }
+
+    /**
+     * Run the whole collection on a named executor.
+     *
+     * @param executor Executor's name.
+     * @return This instance.
+     * @see Definition#executor(String)
+     */
+    public Definitions executor(final String executor) {
+      for (Definition definition : definitions) {
+        definition.executor(executor);
+      }
+      return this;
+    }
+
+    /**
+     * Set a deadline for the whole collection.
+     *
+     * @param timeout Max time a request can take.
+     * @return This instance.
+     * @see Definition#timeout(Duration)
+     */
+    public Definitions timeout(final Duration timeout) {
+      for (Definition definition : definitions) {
+        definition.timeout(timeout);
+      }
+      return this;
+    }
+
     /**
      * Set what a route can consumes.
      *
@@ -395,6 +438,21 @@ public interface Route {
      */
     private String pattern;
 
+    /**
+     * True, when the route never blocks.
+     */
+    private boolean nonblocking;
+
+    /**
+     * Name of the executor where the route runs or <code>null</code> for the server threads.
+     */
+    private String executor;
+
+    /**
+     * Max time a request can take or <code>null</code> for <code>server.http.Timeout</code>.
+     */
+    private Duration timeout;
+
     /**
      * Creates a new route definition.
      *
@@ -550,6 +608,115 @@ public interface Route {
       return this;
     }
 
+    /**
+     * @return True, if the route never blocks. Default is: <code>false</code>.
+     */
+    public boolean nonblocking() {
+      return nonblocking;
+    }
+
+    /**
+     * Mark a route as non-blocking. A non-blocking route doesn't do I/O (JDBC, files, remote
+     * calls, etc.), doesn't read the HTTP body and does little CPU work, like rendering a small
+     * JSON response. Servers with a non-blocking I/O model (Undertow) run a request from the I/O
+     * thread when all the routes that match the request are non-blocking:
+     *
+     * <pre>
+     *   get("/ping", () {@literal ->} "pong")
+     *     .nonblocking(true);
+     * </pre>
+     *
+     * Routes that need to wait for something, might still be non-blocking if they return a
+     * {@link java.util.concurrent.CompletableFuture}.
+     *
+     * <p>
+     * The whole route chain runs from the I/O thread: filters that match the request must be
+     * non-blocking too, otherwise the request goes to a worker thread. The rest of the pipeline
+     * (access log, metrics, JFR events) never blocks. Because session stores might block,
+     * {@link Request#session()} throws {@link IllegalStateException} when all the routes of a
+     * request are non-blocking, on every server. The response is kept in memory and must fit in
+     * <code>server.http.ResponseBufferSize</code>.
+     * </p>
+     *
+     * @param nonblocking True for non-blocking route.
+     * @return This definition.
+     */
+    public Definition nonblocking(final boolean nonblocking) {
+      this.nonblocking = nonblocking;
+      return this;
+    }
+
+    /**
+     * @return Name of the executor where the route runs. Default is: empty (server threads).
+     */
+    public Optional<String> executor() {
+      return Optional.ofNullable(executor);
+    }
+
+    /**
+     * Run the route on a named executor, so slow routes can't take all the server threads.
+     * Executors are defined in the <code>executors</code> section of your
+     * <code>application.conf</code>:
+     *
+     * <pre>
+     *   executors {
+     *     reports {
+     *       threads = 8
+     *       queue = 100
+     *     }
+     *   }
+     * </pre>
+     *
+     * <pre>
+     *   get("/reports/:id", req {@literal ->} ...)
+     *     .executor("reports");
+     * </pre>
+     *
+     * The request hops to the executor once routing is done, and the whole route chain (filters
+     * included) runs there. Requests are rejected with <code>503</code> when the executor queue is
+     * full.
+     *
+     * @param executor Executor's name.
+     * @return This definition.
+     */
+    public Definition executor(final String executor) {
+      this.executor = requireNonNull(executor, "An executor's name is required.");
+      return this;
+    }
+
+    /**
+     * @return Max time a request can take. Default is: empty (<code>server.http.Timeout</code>).
+     */
+    public Optional<Duration> timeout() {
+      return Optional.ofNullable(timeout);
+    }
+
+    /**
+     * Set a deadline for requests matching this route. It overrides the global
+     * <code>server.http.Timeout</code> (longer or shorter) and when more than one route matches,
+     * the shorter timeout wins:
+     *
+     * <pre>
+     *   get("/search", req {@literal ->} ...)
+     *     .timeout(Duration.ofMillis(500));
+     * </pre>
+     *
+     * The deadline is checked between route handlers and it is available from
+     * {@link Request#deadline()}, so blocking calls (database, cache, etc.) can be limited to the
+     * remaining time. A request expired before the next handler runs gets a <code>504</code>
+     * response, a deferred request gets it at the deadline. A handler that is already running isn't
+     * stopped, unless <code>server.http.TimeoutInterrupt</code> is on.
+     *
+     * @param timeout Max time a request can take.
+     * @return This definition.
+     */
+    public Definition timeout(final Duration timeout) {
+      requireNonNull(timeout, "A timeout is required.");
+      checkArgument(!timeout.isNegative() && !timeout.isZero(), "Bad timeout: %s", timeout);
+      this.timeout = timeout;
+      return this;
+    }
+
     /**
      * Test if the route definition can consume a media type.
      *
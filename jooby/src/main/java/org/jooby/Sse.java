@@ -0,0 +1,305 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>Server-Sent Events</h1>
+ * <p>
+ * A one way, long lived connection from server to client, as defined by the
+ * <a href="https://html.spec.whatwg.org/multipage/comms.html#server-sent-events">EventSource</a>
+ * spec:
+ * </p>
+ *
+ * <pre>
+ *  {
+ *    sse("/events", (req, sse) {@literal ->} {
+ *      // resume from last event?
+ *      Optional&lt;String&gt; lastId = sse.lastEventId();
+ *
+ *      sse.event("Hello").id(1).name("greeting").send();
+ *    });
+ *  }
+ * </pre>
+ *
+ * <p>
+ * Events are sent without blocking: {@link Event#send()} returns immediately and the connection
+ * doesn't hold a thread while idle, so you can keep a reference to the {@link Sse} and push events
+ * from anywhere. Data is converted with the {@link BodyFormatter} that matches the event type
+ * (or the route produces type).
+ * </p>
+ * <p>
+ * Events wait in memory until the client reads them. A client that doesn't keep up (more than
+ * <code>server.sse.QueueSize</code> bytes waiting) is disconnected and the send fails.
+ * </p>
+ *
+ * <h2>keep alive</h2>
+ * <p>
+ * Idle connections are closed by the server (<code>server.http.IdleTimeout</code>) or proxies.
+ * A comment is sent every <code>server.sse.KeepAlive</code> to keep them open, see
+ * {@link #keepAlive(long, TimeUnit)}.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public interface Sse extends AutoCloseable {
+
+  /**
+   * Executed every time a new client connects. The request/response has been committed already,
+   * so use the {@link Sse} to talk to the client.
+   *
+   * @author edgar
+   * @since 0.5.4
+   */
+  interface Handler {
+
+    /**
+     * Handle a new client connection.
+     *
+     * @param req Current request.
+     * @param sse A server-sent events connection.
+     * @throws Exception If something goes wrong.
+     */
+    void handle(Request req, Sse sse) throws Exception;
+  }
+
+  /**
+   * An event, created from {@link Sse#event(Object)}.
+   *
+   * @author edgar
+   * @since 0.5.4
+   */
+  class Event {
+
+    private final Sse sse;
+
+    private final Object data;
+
+    private Object id;
+
+    private String name;
+
+    private Long retry;
+
+    private String comment;
+
+    private MediaType type;
+
+    /**
+     * Creates a new {@link Event}.
+     *
+     * @param sse Connection where the event is going to be sent.
+     * @param data Event data.
+     */
+    public Event(final Sse sse, final Object data) {
+      this.sse = requireNonNull(sse, "A sse is required.");
+      this.data = requireNonNull(data, "Event data is required.");
+    }
+
+    /**
+     * @param id Event id, clients send it back as <code>Last-Event-ID</code> on reconnect.
+     * @return This event.
+     */
+    public Event id(final Object id) {
+      this.id = requireNonNull(id, "An id is required.");
+      return this;
+    }
+
+    /**
+     * @param name Event name, clients listen for it with <code>addEventListener(name)</code>.
+     * @return This event.
+     */
+    public Event name(final String name) {
+      this.name = requireNonNull(name, "A name is required.");
+      return this;
+    }
+
+    /**
+     * @param retry Reconnection time.
+     * @param unit Time unit.
+     * @return This event.
+     */
+    public Event retry(final long retry, final TimeUnit unit) {
+      this.retry = unit.toMillis(retry);
+      return this;
+    }
+
+    /**
+     * @param comment A comment line, ignored by clients.
+     * @return This event.
+     */
+    public Event comment(final String comment) {
+      this.comment = requireNonNull(comment, "A comment is required.");
+      return this;
+    }
+
+    /**
+     * @param type Type used to select a {@link BodyFormatter} for the event data.
+     * @return This event.
+     */
+    public Event type(final MediaType type) {
+      this.type = requireNonNull(type, "A type is required.");
+      return this;
+    }
+
+    /**
+     * @param type Type used to select a {@link BodyFormatter} for the event data.
+     * @return This event.
+     */
+    public Event type(final String type) {
+      return type(MediaType.valueOf(type));
+    }
+
+    /**
+     * @return Event data.
+     */
+    public Object data() {
+      return data;
+    }
+
+    /**
+     * @return Event id.
+     */
+    public Optional<Object> id() {
+      return Optional.ofNullable(id);
+    }
+
+    /**
+     * @return Event name.
+     */
+    public Optional<String> name() {
+      return Optional.ofNullable(name);
+    }
+
+    /**
+     * @return Reconnection time in millis.
+     */
+    public Optional<Long> retry() {
+      return Optional.ofNullable(retry);
+    }
+
+    /**
+     * @return Event comment.
+     */
+    public Optional<String> comment() {
+      return Optional.ofNullable(comment);
+    }
+
+    /**
+     * @return Event type.
+     */
+    public Optional<MediaType> type() {
+      return Optional.ofNullable(type);
+    }
+
+    /**
+     * Send the event without blocking.
+     *
+     * @return A future with the event id (if any), completed once the event was written.
+     */
+    public CompletableFuture<Optional<Object>> send() {
+      return sse.send(this);
+    }
+  }
+
+  /**
+   * @return Connection ID.
+   */
+  String id();
+
+  /**
+   * @return Value of the <code>Last-Event-ID</code> header, sent by clients on reconnect.
+   */
+  Optional<String> lastEventId();
+
+  /**
+   * Creates a new event.
+   *
+   * @param data Event data.
+   * @return A new event.
+   */
+  default Event event(final Object data) {
+    return new Event(this, data);
+  }
+
+  /**
+   * Send an event.
+   *
+   * @param data Event data.
+   * @return A future with the event id (if any), completed once the event was written.
+   */
+  default CompletableFuture<Optional<Object>> send(final Object data) {
+    return event(data).send();
+  }
+
+  /**
+   * Send an event.
+   *
+   * @param data Event data.
+   * @param id Event id.
+   * @return A future with the event id, completed once the event was written.
+   */
+  default CompletableFuture<Optional<Object>> send(final Object data, final Object id) {
+    return event(data).id(id).send();
+  }
+
+  /**
+   * Send an event.
+   *
+   * @param event An event.
+   * @return A future with the event id (if any), completed once the event was written.
+   */
+  CompletableFuture<Optional<Object>> send(Event event);
+
+  /**
+   * Send a comment every <code>time</code> while the connection is idle. A value
+   * <code>&lt;= 0</code> turns keep alive off.
+   *
+   * @param time Keep alive time.
+   * @param unit Time unit.
+   * @return This sse.
+   */
+  Sse keepAlive(long time, TimeUnit unit);
+
+  /**
+   * Set a callback to execute once the connection is closed (by client or server).
+   *
+   * @param task A callback.
+   * @return This sse.
+   */
+  Sse onClose(Runnable task);
+
+  /**
+   * @return True while the connection is open.
+   */
+  boolean isOpen();
+
+  /**
+   * Close the connection.
+   */
+  @Override
+  void close();
+
+}
@@ -0,0 +1,265 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent per bootstrap phase: config resolution, config binding, each
+ * {@link Jooby.Module#configure(Env, com.typesafe.config.Config, com.google.inject.Binder)},
+ * MVC route scanning, each {@link Managed#start()} (or {@link javax.annotation.PostConstruct}),
+ * Guice injector creation and server start.
+ * <p>
+ * Phases executed while the injector is created are nested under the <code>injector</code> phase
+ * (or under the <code>start</code> phase for services started in parallel), so a nested phase is
+ * part of its parent time.
+ * </p>
+ * <p>
+ * The report is logged next to the application routes (see <code>startup.report</code>), written
+ * as JSON when <code>startup.file</code> is set (useful to track startup time on CI) and it is
+ * available for injection:
+ * </p>
+ *
+ * <pre>
+ *   StartupReport report = require(StartupReport.class);
+ *   report.phases().forEach(phase {@literal ->} ...);
+ * </pre>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class StartupReport {
+
+  /**
+   * A bootstrap phase.
+   *
+   * @author edgar
+   * @since 0.5.4
+   */
+  public static class Phase {
+
+    private final String name;
+
+    private final String parent;
+
+    private final long nanos;
+
+    Phase(final String name, final String parent, final long nanos) {
+      this.name = name;
+      this.parent = parent;
+      this.nanos = nanos;
+    }
+
+    /**
+     * @return Phase name, like: <code>config</code>, <code>injector</code> or
+     *         <code>module org.jooby.hbm.Hbm</code>.
+     */
+    public String name() {
+      return name;
+    }
+
+    /**
+     * @return Name of the enclosing phase, if any.
+     */
+    public Optional<String> parent() {
+      return Optional.ofNullable(parent);
+    }
+
+    /**
+     * @return Time spent, in nanoseconds.
+     */
+    public long nanos() {
+      return nanos;
+    }
+
+    /**
+     * @return Time spent, in milliseconds.
+     */
+    public double millis() {
+      return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+      return name + ": " + StartupReport.millis(nanos) + "ms";
+    }
+  }
+
+  /** Phase in which the injector is created. */
+  public static final String INJECTOR = "injector";
+
+  /** Phase in which {@link Managed} services start at the same time, once the injector is ready. */
+  public static final String START = "start";
+
+  private final long start = System.nanoTime();
+
+  private final List<Phase> phases = new ArrayList<>();
+
+  private volatile long end;
+
+  private boolean log = true;
+
+  private String file;
+
+  /**
+   * Record a phase. Ignored once the application started.
+   *
+   * @param parent Enclosing phase or <code>null</code>.
+   * @param name Phase name.
+   * @param start Start of the phase, from {@link System#nanoTime()}.
+   */
+  public void record(final String parent, final String name, final long start) {
+    long nanos = System.nanoTime() - start;
+    if (end == 0) {
+      synchronized (phases) {
+        phases.add(new Phase(name, parent, nanos));
+      }
+    }
+  }
+
+  /**
+   * @return Recorded phases, in the order they finished.
+   */
+  public List<Phase> phases() {
+    synchronized (phases) {
+      return Collections.unmodifiableList(new ArrayList<>(phases));
+    }
+  }
+
+  /**
+   * @return Time spent from the start of the bootstrap up to the server start or the time spent so
+   *         far, in nanoseconds.
+   */
+  public long total() {
+    long end = this.end;
+    return (end == 0 ? System.nanoTime() : end) - start;
+  }
+
+  /**
+   * @return The report as a JSON object: <code>{"total": millis, "phases": [{"name": name,
+   *         "parent": parent, "millis": millis}]}</code>.
+   */
+  public String toJson() {
+    StringBuilder buffer = new StringBuilder();
+    buffer.append("{\"total\":").append(millis(total())).append(",\"phases\":[");
+    String sep = "";
+    for (Phase phase : phases()) {
+      buffer.append(sep).append("{\"name\":");
+      string(buffer, phase.name);
+      if (phase.parent != null) {
+        buffer.append(",\"parent\":");
+        string(buffer, phase.parent);
+      }
+      buffer.append(",\"millis\":").append(millis(phase.nanos)).append('}');
+      sep = ",";
+    }
+    return buffer.append("]}").toString();
+  }
+
+  /**
+   * Top level phases sorted by time spent (slowest first), each followed by its nested phases.
+   */
+  @Override
+  public String toString() {
+    List<Phase> phases = phases();
+    Comparator<Phase> slowest = Comparator.comparingLong(Phase::nanos).reversed();
+    List<Phase> sorted = new ArrayList<>();
+    phases.stream()
+        .filter(phase -> phase.parent == null)
+        .sorted(slowest)
+        .forEach(phase -> {
+          sorted.add(phase);
+          phases.stream()
+              .filter(child -> phase.name.equals(child.parent))
+              .sorted(slowest)
+              .forEach(sorted::add);
+        });
+
+    int width = sorted.stream()
+        .mapToInt(phase -> phase.name.length() + (phase.parent == null ? 0 : 2))
+        .max()
+        .orElse(0);
+    long total = total();
+    String format = "  %-" + width + "s %10sms %5.1f%%\n";
+    StringBuilder buffer = new StringBuilder();
+    buffer.append("startup phases (").append(millis(total)).append("ms):\n");
+    for (Phase phase : sorted) {
+      String name = phase.parent == null ? phase.name : "  " + phase.name;
+      buffer.append(String.format(Locale.US, format, name, millis(phase.nanos),
+          phase.nanos * 100.0 / Math.max(1, total)));
+    }
+    return buffer.toString().trim();
+  }
+
+  /**
+   * Mark the end of the bootstrap, phases recorded after this call are ignored.
+   */
+  void done() {
+    if (end == 0) {
+      end = System.nanoTime();
+    }
+  }
+
+  /**
+   * @param log True, to log the report on startup.
+   * @param file File with the JSON report or <code>null</code>.
+   */
+  void configure(final boolean log, final String file) {
+    this.log = log;
+    this.file = file;
+  }
+
+  /**
+   * @return True, to log the report on startup.
+   */
+  boolean log() {
+    return log;
+  }
+
+  /**
+   * @return File with the JSON report or <code>null</code>.
+   */
+  String file() {
+    return file;
+  }
+
+  private static String millis(final long nanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    return micros / 1000 + "." + micros % 1000 / 100;
+  }
+
+  private static void string(final StringBuilder buffer, final String value) {
+    buffer.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        buffer.append('\\');
+      }
+      buffer.append(c);
+    }
+    buffer.append('"');
+  }
+
+}
@@ -21,6 +21,7 @@ package org.jooby;
 import static java.util.Objects.requireNonNull;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Optional;
 
@@ -231,6 +232,75 @@ public interface WebSocket extends Closeable {
     void invoke(Throwable err);
   }
 
+  /**
+   * A binary message: a read-only view of the server frame buffer, no copies. The buffer is valid
+   * while the message callback runs. Call {@link #retain()} to keep it longer, and
+   * {@link #release()} once you are done with it:
+   *
+   * <pre>
+   *   ws.onMessage(msg {@literal ->} {
+   *     WebSocket.Binary binary = ((WebSocket.Binary) msg).retain();
+   *     executor.execute(() {@literal ->} {
+   *       try {
+   *         process(binary.buffer());
+   *       } finally {
+   *         binary.release();
+   *       }
+   *     });
+   *   });
+   * </pre>
+   *
+   * @author edgar
+   * @since 0.5.4
+   */
+  interface Binary extends Mutant {
+
+    /**
+     * @return A read-only view of the message bytes.
+     */
+    ByteBuffer buffer();
+
+    /**
+     * Keep the buffer after the message callback returns. Must be called from the message
+     * callback, every call must be paired with a {@link #release()}.
+     *
+     * @return This message.
+     */
+    Binary retain();
+
+    /**
+     * Give the buffer back to the server, once released don't use the buffer anymore.
+     */
+    void release();
+  }
+
+  /**
+   * What to do when the outbound queue of a web socket goes over the
+   * <code>server.ws.HighWaterMark</code>. The policy applies until the queue goes back under the
+   * <code>server.ws.LowWaterMark</code>.
+   *
+   * @author edgar
+   * @since 0.5.4
+   */
+  enum OverflowPolicy {
+    /** Keep the newest messages and discard the oldest ones waiting in the queue. */
+    DROP_OLDEST,
+
+    /** Discard new messages while the queue is full. */
+    DROP_NEWEST,
+
+    /** Close the web socket with {@link WebSocket#POLICY_VIOLATION}. */
+    CLOSE,
+
+    /**
+     * {@link WebSocket#pause()} the client stream and keep new messages, they are written once the
+     * client catches up. Reads resume under the low water mark. Nothing is discarded: producers
+     * that don't depend on client messages should wait for the success callback of a send before
+     * they send more.
+     */
+    PAUSE
+  }
+
   /**
    * Configure a web socket.
    *
@@ -501,6 +571,10 @@ public interface WebSocket extends Closeable {
   /**
    * Register a callback to execute when a new message arrive.
    *
+   * Binary messages are a {@link Binary}: a read-only view of the server buffer, valid while the
+   * callback runs. {@link Binary#retain()} them (or convert them to <code>byte[]</code>) if you
+   * need to keep them around.
+   *
    * @param callback A callback
    * @throws Exception If something goes wrong.
    */
@@ -565,6 +639,16 @@ public interface WebSocket extends Closeable {
    */
   void pause();
 
+  /**
+   * @return Number of outbound messages waiting to be written to the client.
+   */
+  int queueSize();
+
+  /**
+   * @return Number of outbound bytes waiting to be written to the client.
+   */
+  long queueBytes();
+
   /**
    * Immediately shuts down the connection.
    *
@@ -608,6 +692,9 @@ public interface WebSocket extends Closeable {
   /**
    * Send data through the connection.
    *
+   * A {@link java.nio.ByteBuffer} or <code>byte[]</code> is sent as a binary message without
+   * copying it, so don't modify it until the success callback runs.
+   *
    * @param data Data to send.
    * @param success A success callback.
    * @param err An err callback.
@@ -0,0 +1,520 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+
+/**
+ * Access log, driven by <code>server.accessLog</code>. Request threads copy a few fields into a
+ * pre-allocated record of a ring buffer; a single background thread formats records and writes
+ * them in batches to a rolling file.
+ * <p>
+ * Request threads never wait for the disk or for each other: a slot is claimed with a CAS and,
+ * when the buffer is full, the entry is dropped and counted (see {@link #dropped()}).
+ * </p>
+ * <p>
+ * Formats: <code>combined</code> (NCSA combined log format plus the latency in milliseconds) or
+ * <code>json</code> (one object per line).
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@Singleton
+public class AccessLog {
+
+  /** A log entry, reused once written. */
+  private static class Record {
+
+    /** Sequence of the entry in this record, published last. */
+    volatile long sequence = -1;
+
+    long time;
+
+    long nanos;
+
+    String method;
+
+    String path;
+
+    String protocol;
+
+    String ip;
+
+    int status;
+
+    long bytes;
+
+    /** True, when reading the request failed: nothing to write. */
+    boolean skip;
+
+    final String[] headers;
+
+    public Record(final int headers) {
+      this.headers = new String[headers];
+    }
+
+    void clear() {
+      method = null;
+      path = null;
+      protocol = null;
+      ip = null;
+      for (int i = 0; i < headers.length; i++) {
+        headers[i] = null;
+      }
+    }
+  }
+
+  /** Size based rolling file: access.log, access.log.1, access.log.2, etc. */
+  private static class RollingFile {
+
+    private final File file;
+
+    private final long maxSize;
+
+    private final int maxFiles;
+
+    private Writer writer;
+
+    private long size;
+
+    public RollingFile(final File file, final long maxSize, final int maxFiles) {
+      this.file = file;
+      this.maxSize = maxSize;
+      this.maxFiles = maxFiles;
+    }
+
+    public void write(final CharSequence text) throws IOException {
+      if (writer == null) {
+        open();
+      }
+      // chars, not bytes: good enough for rolling
+      if (size > 0 && size + text.length() > maxSize) {
+        roll();
+      }
+      writer.append(text);
+      size += text.length();
+    }
+
+    public void flush() throws IOException {
+      if (writer != null) {
+        writer.flush();
+      }
+    }
+
+    public void close() throws IOException {
+      if (writer != null) {
+        writer.close();
+        writer = null;
+      }
+    }
+
+    private void open() throws IOException {
+      File dir = file.getAbsoluteFile().getParentFile();
+      if (dir != null) {
+        dir.mkdirs();
+      }
+      size = file.length();
+      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true),
+          StandardCharsets.UTF_8), BATCH * 2);
+    }
+
+    private void roll() throws IOException {
+      close();
+      if (maxFiles > 0) {
+        for (int i = maxFiles - 1; i > 0; i--) {
+          File source = backup(i);
+          if (source.exists()) {
+            File target = backup(i + 1);
+            target.delete();
+            source.renameTo(target);
+          }
+        }
+        File target = backup(1);
+        target.delete();
+        file.renameTo(target);
+      } else {
+        file.delete();
+      }
+      open();
+    }
+
+    private File backup(final int i) {
+      return new File(file.getPath() + "." + i);
+    }
+
+  }
+
+  /** Write to the file once the pending text is over this size. */
+  private static final int BATCH = 8192;
+
+  /** Max time the writer thread sleeps when there is nothing to write. */
+  private static final long MAX_IDLE = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private static final DateTimeFormatter COMBINED_TIME = DateTimeFormatter
+      .ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final boolean enabled;
+
+  private boolean json;
+
+  private String[] headers;
+
+  /** Referer and User-Agent positions in headers, -1 when missing (combined format). */
+  private int referer = -1;
+
+  private int userAgent = -1;
+
+  private ZoneId zoneId;
+
+  private Record[] records;
+
+  private int mask;
+
+  /** Next sequence to claim. */
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Next sequence to write, records before it can be reused. */
+  private volatile long head;
+
+  private final LongAdder dropped = new LongAdder();
+
+  private RollingFile file;
+
+  private volatile boolean running;
+
+  private Thread writer;
+
+  @Inject
+  public AccessLog(final Config config) {
+    requireNonNull(config, "A config is required.");
+    Config $log = config.getConfig("server.accessLog");
+    this.enabled = $log.getBoolean("Enabled");
+    if (enabled) {
+      String format = $log.getString("Format");
+      if (!format.equalsIgnoreCase("combined") && !format.equalsIgnoreCase("json")) {
+        throw new IllegalArgumentException("Unknown server.accessLog.Format: " + format);
+      }
+      this.json = format.equalsIgnoreCase("json");
+      List<String> headers = $log.getStringList("Headers");
+      this.headers = headers.toArray(new String[headers.size()]);
+      for (int i = 0; i < this.headers.length; i++) {
+        if (this.headers[i].equalsIgnoreCase("Referer")) {
+          referer = i;
+        } else if (this.headers[i].equalsIgnoreCase("User-Agent")) {
+          userAgent = i;
+        }
+      }
+      this.zoneId = config.hasPath("application.tz")
+          ? ZoneId.of(config.getString("application.tz"))
+          : ZoneId.systemDefault();
+      // next power of two
+      int size = Integer.highestOneBit(Math.max(2, $log.getInt("BufferSize") - 1)) << 1;
+      this.records = new Record[size];
+      for (int i = 0; i < size; i++) {
+        records[i] = new Record(this.headers.length);
+      }
+      this.mask = size - 1;
+      this.file = new RollingFile(new File($log.getString("File")),
+          $log.getBytes("MaxFileSize"), $log.getInt("MaxFiles"));
+
+      this.running = true;
+      this.writer = new Thread(this::drain, "access-log");
+      writer.setDaemon(true);
+      writer.start();
+      log.debug("access log: {}", file.file.getAbsolutePath());
+    }
+  }
+
+  /**
+   * @return True, if the access log is on.
+   */
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * @return Number of entries dropped because the buffer was full (or reading the request
+   *         failed).
+   */
+  public long dropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * Log a request. It never blocks: when the buffer is full the entry is dropped.
+   *
+   * @param req Request.
+   * @param status Response status code.
+   * @param bytes Response body bytes.
+   * @param nanos Latency, in nanoseconds.
+   */
+  public void log(final RequestImpl req, final int status, final long bytes, final long nanos) {
+    long seq;
+    do {
+      seq = tail.get();
+      if (seq - head >= records.length) {
+        dropped.increment();
+        return;
+      }
+    } while (!tail.compareAndSet(seq, seq + 1));
+
+    Record record = records[(int) seq & mask];
+    boolean done = false;
+    try {
+      record.time = System.currentTimeMillis();
+      record.nanos = nanos;
+      record.method = req.method();
+      record.path = req.path();
+      record.protocol = req.protocol();
+      record.ip = req.ip();
+      record.status = status;
+      record.bytes = bytes;
+      for (int i = 0; i < headers.length; i++) {
+        record.headers[i] = req.rawHeader(headers[i]);
+      }
+      done = true;
+    } finally {
+      // publish, even on failure: the writer waits for every claimed sequence
+      record.skip = !done;
+      if (!done) {
+        dropped.increment();
+      }
+      record.sequence = seq;
+    }
+  }
+
+  /**
+   * Write pending entries and stop the writer thread.
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (running) {
+      running = false;
+      LockSupport.unpark(writer);
+      try {
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void drain() {
+    StringBuilder buffer = new StringBuilder(BATCH * 2);
+    Formatter formatter = new Formatter();
+    long next = head;
+    long idle = 0;
+    try {
+      while (true) {
+        // read before the record: entries published before shutdown are visible once it is false
+        boolean stop = !running;
+        Record record = records[(int) next & mask];
+        if (record.sequence == next) {
+          if (!record.skip) {
+            formatter.format(record, buffer);
+          }
+          record.clear();
+          next += 1;
+          head = next;
+          idle = 0;
+          if (buffer.length() >= BATCH) {
+            write(buffer);
+          }
+        } else {
+          if (buffer.length() > 0) {
+            write(buffer);
+            flush();
+          }
+          if (stop) {
+            // entries claimed but not published yet are lost
+            break;
+          }
+          // back off, up to MAX_IDLE
+          idle = Math.min(MAX_IDLE, Math.max(idle * 2, TimeUnit.MICROSECONDS.toNanos(50)));
+          LockSupport.parkNanos(this, idle);
+        }
+      }
+    } finally {
+      try {
+        file.close();
+      } catch (IOException ex) {
+        log.error("closing access log resulted in error", ex);
+      }
+    }
+  }
+
+  private void write(final StringBuilder buffer) {
+    try {
+      file.write(buffer);
+    } catch (IOException ex) {
+      log.error("writing access log resulted in error", ex);
+    }
+    buffer.setLength(0);
+  }
+
+  private void flush() {
+    try {
+      file.flush();
+    } catch (IOException ex) {
+      log.error("writing access log resulted in error", ex);
+    }
+  }
+
+  /** Formats records, owned by the writer thread. */
+  private class Formatter {
+
+    private long second = -1;
+
+    private String date;
+
+    public void format(final Record record, final StringBuilder buffer) {
+      if (json) {
+        json(record, buffer);
+      } else {
+        combined(record, buffer);
+      }
+      buffer.append('\n');
+    }
+
+    private void combined(final Record record, final StringBuilder buffer) {
+      // start time of the request, formatted once per second
+      long start = record.time - TimeUnit.NANOSECONDS.toMillis(record.nanos);
+      if (start / 1000 != second) {
+        second = start / 1000;
+        date = COMBINED_TIME.format(Instant.ofEpochSecond(second).atZone(zoneId));
+      }
+      buffer.append(record.ip).append(" - - [").append(date).append("] \"")
+          .append(record.method).append(' ');
+      escape(buffer, record.path);
+      buffer.append(' ').append(record.protocol).append("\" ")
+          .append(record.status).append(' ');
+      if (record.bytes > 0) {
+        buffer.append(record.bytes);
+      } else {
+        buffer.append('-');
+      }
+      buffer.append(' ');
+      quoted(buffer, referer < 0 ? null : record.headers[referer]);
+      buffer.append(' ');
+      quoted(buffer, userAgent < 0 ? null : record.headers[userAgent]);
+      buffer.append(' ').append(TimeUnit.NANOSECONDS.toMillis(record.nanos));
+    }
+
+    private void json(final Record record, final StringBuilder buffer) {
+      buffer.append("{\"time\":\"")
+          .append(Instant.ofEpochMilli(record.time - TimeUnit.NANOSECONDS.toMillis(record.nanos)))
+          .append("\",\"ip\":");
+      string(buffer, record.ip);
+      buffer.append(",\"method\":");
+      string(buffer, record.method);
+      buffer.append(",\"path\":");
+      string(buffer, record.path);
+      buffer.append(",\"protocol\":");
+      string(buffer, record.protocol);
+      buffer.append(",\"status\":").append(record.status)
+          .append(",\"bytes\":").append(record.bytes)
+          .append(",\"duration\":")
+          .append(RequestTimings.millis(record.nanos));
+      boolean first = true;
+      for (int i = 0; i < headers.length; i++) {
+        String value = record.headers[i];
+        if (value != null) {
+          buffer.append(first ? ",\"headers\":{" : ",");
+          string(buffer, headers[i]);
+          buffer.append(':');
+          string(buffer, value);
+          first = false;
+        }
+      }
+      if (!first) {
+        buffer.append('}');
+      }
+      buffer.append('}');
+    }
+
+    private void quoted(final StringBuilder buffer, final String value) {
+      buffer.append('"');
+      if (value == null) {
+        buffer.append('-');
+      } else {
+        escape(buffer, value);
+      }
+      buffer.append('"');
+    }
+
+    private void string(final StringBuilder buffer, final String value) {
+      if (value == null) {
+        buffer.append("null");
+      } else {
+        buffer.append('"');
+        escape(buffer, value);
+        buffer.append('"');
+      }
+    }
+
+    /**
+     * Escape quotes, backslashes and control chars: JSON escapes, which are also fine for the
+     * combined format.
+     */
+    private void escape(final StringBuilder buffer, final String value) {
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        if (c == '"' || c == '\\') {
+          buffer.append('\\').append(c);
+        } else if (c < 0x20 || c == 0x7f) {
+          buffer.append("\\u00").append(Character.forDigit(c >> 4, 16))
+              .append(Character.forDigit(c & 0xf, 16));
+        } else {
+          buffer.append(c);
+        }
+      }
+    }
+  }
+
+}
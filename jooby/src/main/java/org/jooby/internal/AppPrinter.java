@@ -26,6 +26,8 @@ import javax.inject.Named;
 import org.jooby.Route;
 import org.jooby.WebSocket;
 
+import com.typesafe.config.Config;
+
 public class AppPrinter {
 
   private Set<Route.Definition> routes;
@@ -34,15 +36,21 @@ public class AppPrinter {
 
   private String url;
 
+  private String secureUrl;
+
   @Inject
   public AppPrinter(final Set<Route.Definition> routes,
       final Set<WebSocket.Definition> sockets,
       @Named("application.host") final String host,
       @Named("application.port") final int port,
-      @Named("application.path") final String path) {
+      @Named("application.path") final String path,
+      final Config config) {
     this.routes = routes;
     this.sockets = sockets;
     this.url = "http://" + host + ":" + port + path;
+    if (config.hasPath("application.securePort")) {
+      this.secureUrl = "https://" + host + ":" + config.getInt("application.securePort") + path;
+    }
   }
 
   @Override
@@ -52,6 +60,9 @@ public class AppPrinter {
     routes(buffer);
 
     buffer.append("\nlistening on:\n  ").append(url);
+    if (secureUrl != null) {
+      buffer.append("\n  ").append(secureUrl);
+    }
 
     return buffer.toString();
   }
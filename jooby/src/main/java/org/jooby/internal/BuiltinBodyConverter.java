@@ -143,6 +143,29 @@ public class BuiltinBodyConverter {
     }
   };
 
+  public static BodyFormatter formatText = new BodyFormatter() {
+
+    @Override
+    public List<MediaType> types() {
+      return ImmutableList.of(MediaType.plain);
+    }
+
+    @Override
+    public boolean canFormat(final Class<?> type) {
+      return CharSequence.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void format(final Object body, final BodyFormatter.Context writer) throws Exception {
+      writer.text(out -> out.append((CharSequence) body));
+    }
+
+    @Override
+    public String toString() {
+      return "Formatter for: " + MediaType.plain;
+    }
+  };
+
   public static BodyFormatter formatAny = new BodyFormatter() {
 
     @Override
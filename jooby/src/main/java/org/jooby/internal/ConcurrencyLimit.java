@@ -0,0 +1,247 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Max number of requests a route group can execute at the same time. Requests over the limit are
+ * rejected.
+ *
+ * The limit is either <code>static</code> or a <code>gradient</code> one: the limit grows while
+ * the observed latency stays close to the best (no load) latency and shrinks when the latency
+ * increases, because requests are queueing somewhere (threads, connection pools, etc.). Latency
+ * starts when the server read the request, so it includes the time spent in the server queues
+ * before a worker thread picked the request.
+ *
+ * Samples are recorded without locks: latencies and the estimation are updated with CAS, so
+ * releasing a permit never blocks on other requests of the group.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class ConcurrencyLimit {
+
+  public enum Mode {
+    STATIC,
+
+    GRADIENT;
+  }
+
+  /**
+   * An admitted request. Must be released once the response has been sent.
+   */
+  public class Permit {
+
+    private final long start;
+
+    Permit(final long start) {
+      this.start = start;
+    }
+
+    /**
+     * Release the permit.
+     *
+     * @param dropped True, if the request timed out or failed because of overload.
+     */
+    public void release(final boolean dropped) {
+      int n = inflight.getAndDecrement();
+      sample(System.nanoTime() - start, dropped, n);
+    }
+  }
+
+  /** Multiplicative decrease on a dropped request. */
+  private static final double BACKOFF = 0.9;
+
+  /**
+   * How far the no load latency moves towards a higher window latency, per window. Slow on
+   * purpose: the best latency of a window is measured under load, following it right away makes
+   * the gradient 1 and the limit grows while latency gets worse.
+   */
+  private static final double DRIFT = 0.05;
+
+  private final String name;
+
+  private final Mode mode;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final double smoothing;
+
+  private final int window;
+
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  private final LongAdder rejected = new LongAdder();
+
+  /** Current limit estimation, as double bits. The limit is the integer part of it. */
+  private final AtomicLong estimation = new AtomicLong();
+
+  /** No load latency: best latency seen so far, it goes up slowly (see DRIFT). */
+  private final AtomicLong minRtt = new AtomicLong(Long.MAX_VALUE);
+
+  /** Best latency of the current window, minRtt drifts towards it once the window is full. */
+  private final AtomicLong windowMinRtt = new AtomicLong(Long.MAX_VALUE);
+
+  private final AtomicInteger samples = new AtomicInteger();
+
+  public ConcurrencyLimit(final String name, final Mode mode, final int limit,
+      final int minLimit, final int maxLimit, final double smoothing, final int window) {
+    this.name = requireNonNull(name, "A name is required.");
+    this.mode = requireNonNull(mode, "A mode is required.");
+    this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+    this.maxLimit = Math.max(maxLimit, this.minLimit);
+    this.estimation.set(Double.doubleToRawLongBits(Math.max(1, limit)));
+    this.smoothing = smoothing;
+    this.window = Math.max(1, window);
+  }
+
+  /**
+   * @return Try to admit a request. Returns a permit or <code>null</code> when the limit has been
+   *         reached.
+   */
+  public Permit acquire() {
+    return acquire(System.nanoTime());
+  }
+
+  /**
+   * Try to admit a request that arrived at the given time. The latency of the request starts
+   * there, so the time it waited in the server queues counts as latency.
+   *
+   * @param arrival Time the server read the request, see {@link System#nanoTime()}.
+   * @return A permit or <code>null</code> when the limit has been reached.
+   */
+  public Permit acquire(final long arrival) {
+    while (true) {
+      int n = inflight.get();
+      if (n >= limit()) {
+        rejected.increment();
+        return null;
+      }
+      if (inflight.compareAndSet(n, n + 1)) {
+        return new Permit(arrival);
+      }
+    }
+  }
+
+  /**
+   * @return Route group's name.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return Limit mode.
+   */
+  public Mode mode() {
+    return mode;
+  }
+
+  /**
+   * @return Current limit.
+   */
+  public int limit() {
+    return (int) estimation();
+  }
+
+  /**
+   * @return Number of requests executing right now.
+   */
+  public int inflight() {
+    return inflight.get();
+  }
+
+  /**
+   * @return Number of rejected requests.
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  void sample(final long rtt, final boolean dropped, final int inflight) {
+    if (mode == Mode.STATIC) {
+      return;
+    }
+    if (dropped) {
+      update(value -> value * BACKOFF);
+      return;
+    }
+
+    long sample = Math.max(1, rtt);
+    min(windowMinRtt, sample);
+    min(minRtt, sample);
+    // one thread (the last one of the window) rolls the window
+    if (samples.getAndUpdate(n -> n + 1 >= window ? 0 : n + 1) + 1 >= window) {
+      // drift towards the window latency, so the limit recovers (slowly) if the baseline goes up
+      long windowMin = windowMinRtt.getAndSet(Long.MAX_VALUE);
+      minRtt.getAndUpdate(current -> windowMin <= current || windowMin == Long.MAX_VALUE
+          ? current
+          : current + Math.max(1, (long) ((windowMin - current) * DRIFT)));
+    }
+
+    // don't grow when the limit isn't in use
+    if (inflight < estimation() / 2) {
+      return;
+    }
+
+    double gradient = Math.max(0.5, Math.min(1.0, (double) minRtt.get() / sample));
+    update(value -> {
+      // allow a small queue, so the limit keeps probing
+      double newLimit = value * gradient + Math.sqrt(value);
+      return value * (1 - smoothing) + newLimit * smoothing;
+    });
+  }
+
+  private double estimation() {
+    return Double.longBitsToDouble(estimation.get());
+  }
+
+  private void update(final DoubleUnaryOperator fn) {
+    while (true) {
+      long current = estimation.get();
+      double newLimit = fn.applyAsDouble(Double.longBitsToDouble(current));
+      newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+      if (estimation.compareAndSet(current, Double.doubleToRawLongBits(newLimit))) {
+        return;
+      }
+    }
+  }
+
+  private static void min(final AtomicLong value, final long sample) {
+    long current = value.get();
+    while (sample < current && !value.compareAndSet(current, sample)) {
+      current = value.get();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return name + " {limit: " + limit() + ", inflight: " + inflight.get() + ", rejected: "
+        + rejected.sum() + "}";
+  }
+
+}
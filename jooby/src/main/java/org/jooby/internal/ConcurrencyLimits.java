@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValueType;
+
+/**
+ * Admission control, driven by <code>server.limit</code>. Each route group has its own
+ * {@link ConcurrencyLimit}, requests outside of a group go to the <code>default</code> one.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@Singleton
+public class ConcurrencyLimits {
+
+  private static final String DEFAULT = "default";
+
+  private final Map<RoutePattern, ConcurrencyLimit> groups = new LinkedHashMap<>();
+
+  private final ConcurrencyLimit fallback;
+
+  private final long retryAfter;
+
+  @Inject
+  public ConcurrencyLimits(final Config config) {
+    requireNonNull(config, "A config is required.");
+    Config limit = config.getConfig("server.limit");
+    String mode = limit.getString("Mode").toUpperCase();
+    this.retryAfter = Math.max(1, limit.getDuration("RetryAfter", TimeUnit.SECONDS));
+    if ("OFF".equals(mode)) {
+      this.fallback = null;
+    } else {
+      Config groups = limit.getConfig("groups");
+      Config defaults = limit.withoutPath("groups");
+      for (String name : groups.root().keySet()) {
+        Config group = groups.getConfig(name).withFallback(defaults);
+        ConcurrencyLimit groupLimit = limit(name, group);
+        for (String path : paths(group)) {
+          this.groups.put(new RoutePattern("*", path), groupLimit);
+        }
+      }
+      this.fallback = limit(DEFAULT, defaults);
+    }
+  }
+
+  /**
+   * Find the limit of a request.
+   *
+   * @param path A verb plus path, like: <code>GET/path</code>.
+   * @return The limit of the route group or <code>null</code> when admission control is off.
+   */
+  public ConcurrencyLimit get(final String path) {
+    if (fallback == null) {
+      return null;
+    }
+    for (Map.Entry<RoutePattern, ConcurrencyLimit> group : groups.entrySet()) {
+      if (group.getKey().matcher(path).matches()) {
+        return group.getValue();
+      }
+    }
+    return fallback;
+  }
+
+  /**
+   * @return All the limits, empty when admission control is off.
+   */
+  public List<ConcurrencyLimit> limits() {
+    if (fallback == null) {
+      return Collections.emptyList();
+    }
+    List<ConcurrencyLimit> limits = new ArrayList<>();
+    groups.values().stream().distinct().forEach(limits::add);
+    limits.add(fallback);
+    return limits;
+  }
+
+  /**
+   * @return Value of the <code>Retry-After</code> header (in seconds) of a rejected request.
+   */
+  public long retryAfter() {
+    return retryAfter;
+  }
+
+  private static List<String> paths(final Config group) {
+    if (group.getValue("path").valueType() == ConfigValueType.LIST) {
+      return group.getStringList("path");
+    }
+    return Collections.singletonList(group.getString("path"));
+  }
+
+  private static ConcurrencyLimit limit(final String name, final Config config) {
+    return new ConcurrencyLimit(name,
+        ConcurrencyLimit.Mode.valueOf(config.getString("Mode").toUpperCase()),
+        config.getInt("Limit"),
+        config.getInt("MinLimit"),
+        config.getInt("MaxLimit"),
+        config.getDouble("Smoothing"),
+        config.getInt("Window"));
+  }
+
+}
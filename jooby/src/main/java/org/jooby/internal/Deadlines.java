@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jooby.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+
+/**
+ * Request deadlines, from <code>server.http.Timeout</code> and route timeouts. It owns a single
+ * watchdog thread that fires once a deadline is over, so deferred requests get a response and
+ * blocked threads are interrupted (<code>server.http.TimeoutInterrupt</code>).
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@Singleton
+public class Deadlines {
+
+  /**
+   * Interrupt a thread once the deadline is over, unless it is done before.
+   */
+  private static class Interrupter implements Runnable {
+
+    private final Thread thread;
+
+    private boolean running = true;
+
+    private boolean interrupted;
+
+    private ScheduledFuture<?> future;
+
+    public Interrupter(final Thread thread) {
+      this.thread = thread;
+    }
+
+    @Override
+    public synchronized void run() {
+      if (running) {
+        interrupted = true;
+        thread.interrupt();
+      }
+    }
+
+    public synchronized void done() {
+      running = false;
+      future.cancel(false);
+      if (interrupted) {
+        // clear the flag, the thread goes back to the server
+        Thread.interrupted();
+      }
+    }
+
+  }
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final Duration timeout;
+
+  private final boolean interrupt;
+
+  private ScheduledExecutorService watchdog;
+
+  @Inject
+  public Deadlines(final Config config) {
+    requireNonNull(config, "A config is required.");
+    long timeout = config.getDuration("server.http.Timeout", TimeUnit.MILLISECONDS);
+    this.timeout = timeout > 0 ? Duration.ofMillis(timeout) : null;
+    this.interrupt = config.getBoolean("server.http.TimeoutInterrupt");
+  }
+
+  /**
+   * @return Global timeout or <code>null</code> when off.
+   */
+  public Duration timeout() {
+    return timeout;
+  }
+
+  /**
+   * Run a task from the watchdog thread once the deadline is over.
+   *
+   * @param deadline A deadline.
+   * @param task Task to run.
+   * @return A future, cancel it when the task is no longer required.
+   */
+  public ScheduledFuture<?> schedule(final Deadline deadline, final Runnable task) {
+    return watchdog().schedule(task, deadline.remaining(TimeUnit.NANOSECONDS),
+        TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Interrupt the current thread once the deadline is over (if
+   * <code>server.http.TimeoutInterrupt</code> is on).
+   *
+   * @param deadline A deadline or <code>null</code>.
+   * @return A callback to run once the current thread is done with the request.
+   */
+  public Runnable interrupt(final Deadline deadline) {
+    if (!interrupt || deadline == null) {
+      return () -> {
+      };
+    }
+    Interrupter interrupter = new Interrupter(Thread.currentThread());
+    synchronized (interrupter) {
+      interrupter.future = schedule(deadline, interrupter);
+    }
+    return interrupter::done;
+  }
+
+  private synchronized ScheduledExecutorService watchdog() {
+    if (watchdog == null) {
+      log.debug("starting deadline watchdog");
+      watchdog = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("deadline-watchdog")
+          .setDaemon(true)
+          .build());
+    }
+    return watchdog;
+  }
+
+  @PreDestroy
+  public synchronized void shutdown() {
+    if (watchdog != null) {
+      watchdog.shutdownNow();
+      watchdog = null;
+    }
+  }
+
+}
@@ -20,6 +20,7 @@ package org.jooby.internal;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -30,6 +31,14 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -38,10 +47,12 @@ import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
+import org.jooby.Deadline;
 import org.jooby.Err;
 import org.jooby.MediaType;
 import org.jooby.Request;
 import org.jooby.Response;
+import org.jooby.Result;
 import org.jooby.Results;
 import org.jooby.Route;
 import org.jooby.Session;
@@ -52,6 +63,7 @@ import org.jooby.spi.HttpHandler;
 import org.jooby.spi.NativeRequest;
 import org.jooby.spi.NativeResponse;
 import org.jooby.spi.NativeWebSocket;
+import org.jooby.util.Jfr;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +79,9 @@ public class HttpHandlerImpl implements HttpHandler {
 
   private static final List<MediaType> ALL = ImmutableList.of(MediaType.all);
 
+  /** The 406/415, 405 and 404 routes at the end of each route list. */
+  private static final int FALLBACKS = 3;
+
   /** The logging system. */
   private final Logger log = LoggerFactory.getLogger(HttpHandler.class);
 
@@ -86,30 +101,87 @@ public class HttpHandlerImpl implements HttpHandler {
 
   private Config config;
 
+  private ConcurrencyLimits limits;
+
+  private RouteExecutors executors;
+
+  /** True, if a route consumes something else than <code>*&#47;*</code>. */
+  private boolean consumes;
+
+  /** True, if there is at least one non-blocking route. */
+  private boolean hasNonblocking;
+
+  /** Route definitions with a named executor. */
+  private List<Route.Definition> dispatchDefs;
+
+  private Deadlines deadlines;
+
+  /** Route definitions with a timeout. */
+  private List<Route.Definition> timeoutDefs;
+
+  private RouteMetrics metrics;
+
+  private AccessLog accessLog;
+
+  /** Requests over it are logged with their phases, 0 means off. */
+  private long slowRequest;
+
+  /** Record request phases, see {@link RequestTimings}. */
+  private boolean timed;
+
   @Inject
   public HttpHandlerImpl(final Injector injector,
       final RequestScope requestScope,
       final Set<Route.Definition> routes,
       final Set<WebSocket.Definition> sockets,
       final @Named("application.path") String path,
-      final Err.Handler err) {
+      final Err.Handler err,
+      final ConcurrencyLimits limits,
+      final RouteExecutors executors,
+      final Deadlines deadlines,
+      final RouteMetrics metrics,
+      final AccessLog accessLog) {
     this.injector = requireNonNull(injector, "An injector is required.");
     this.requestScope = requireNonNull(requestScope, "A request scope is required.");
     this.routeDefs = requireNonNull(routes, "Routes are required.");
     this.socketDefs = requireNonNull(sockets, "Sockets are required.");
     this.applicationPath = normalizeURI(requireNonNull(path, "An application.path is required."));
     this.err = requireNonNull(err, "An err handler is required.");
+    this.limits = requireNonNull(limits, "Concurrency limits are required.");
+    this.executors = requireNonNull(executors, "Route executors are required.");
+    this.consumes = routes.stream()
+        .anyMatch(route -> !route.consumes().equals(MediaType.ALL));
+    this.hasNonblocking = routes.stream().anyMatch(Route.Definition::nonblocking);
+    this.dispatchDefs = routes.stream()
+        .filter(route -> route.executor().isPresent())
+        // fail at startup on missing executors
+        .peek(route -> executors.get(route.executor().get()))
+        .collect(Collectors.toList());
+    this.deadlines = requireNonNull(deadlines, "Deadlines are required.");
+    this.timeoutDefs = routes.stream()
+        .filter(route -> route.timeout().isPresent())
+        .collect(Collectors.toList());
+    this.metrics = requireNonNull(metrics, "Route metrics are required.");
+    this.accessLog = requireNonNull(accessLog, "An access log is required.");
     this.config = injector.getInstance(Config.class);
     this.maxBufferSize = config.getBytes("server.http.ResponseBufferSize").intValue();
+    this.slowRequest = config.getDuration("server.http.SlowRequestThreshold",
+        TimeUnit.NANOSECONDS);
+    this.timed = slowRequest > 0 || metrics.enabled() || Jfr.enabled() || accessLog.enabled();
   }
 
   @Override
   public void handle(final NativeRequest request, final NativeResponse response) throws Exception {
-    long start = System.currentTimeMillis();
+    long start = System.nanoTime();
 
     Map<String, Object> locals = new LinkedHashMap<>();
 
     Map<Object, Object> scope = new HashMap<>();
+    if (timed) {
+      RequestTimings timings = new RequestTimings(start);
+      timings.event(Jfr.request());
+      scope.put(RequestTimings.KEY, timings);
+    }
 
     requestScope.enter(scope);
 
@@ -137,14 +209,10 @@ public class HttpHandlerImpl implements HttpHandler {
     RequestImpl req = new RequestImpl(injector, request, notFound, scope, locals);
 
     ResponseImpl rsp = new ResponseImpl(injector, response, maxBufferSize, notFound, locals,
-        req.charset(), request.header("Referer"));
-
-    MediaType type = req.type();
+        req::charset, request.header("Referer"));
 
     log.debug("handling: {}", req.path());
 
-    log.debug("  content-type: {}", type);
-
     // seed req & rsp
     req.set(Request.class, req);
     req.set(Response.class, rsp);
@@ -153,10 +221,18 @@ public class HttpHandlerImpl implements HttpHandler {
     Provider<Session> session = () -> req.session();
     req.set(Session.class, session);
 
+    ConcurrencyLimit.Permit permit = null;
+
+    boolean dispatched = false;
+
+    Deadline deadline = null;
+
+    RouteStats stats = null;
+
     try {
       // not found?
       if (resolveAs404) {
-        chain(ImmutableList.of(notFound)).next(req, rsp);
+        chain(ImmutableList.of(notFound), null).next(req, rsp);
       }
       // websocket?
       if (socketDefs.size() > 0
@@ -169,46 +245,373 @@ public class HttpHandlerImpl implements HttpHandler {
         }
       }
 
+      // admission control
+      ConcurrencyLimit limit = limits.get(path);
+      if (limit != null) {
+        permit = limit.acquire(request.arrival());
+        if (permit == null) {
+          overloaded(rsp, limit);
+          return;
+        }
+      }
+
+      // Content-Type is parsed when a route cares about it. Accept is always parsed: matching
+      // routes produce the accepted types
+      MediaType type = consumes ? req.type() : MediaType.all;
+      log.debug("  content-type: {}", type);
+
       // usual req/rsp
       List<Route> routes = routes(routeDefs, verb, requestPath, type, req.accept());
 
-      chain(routes).next(req, rsp);
+      // route label of metrics, JFR and slow request log
+      Route matched = routes.size() > FALLBACKS ? routes.get(routes.size() - FALLBACKS - 1) : null;
+      stats = metrics.stats(matched);
+      if (stats != null) {
+        stats.start();
+      }
+
+      // same rule on every server: non-blocking routes don't get a session, stores might block
+      if (hasNonblocking && nonblocking(verb, requestPath, type, req.accept())) {
+        req.nonblocking(true);
+      }
+
+      deadline = deadline(verb, requestPath, type, req.accept());
+      if (deadline != null) {
+        log.debug("  deadline: {}", deadline);
+        req.set(Deadline.class, deadline);
+      }
+
+      RouteExecutor executor = executor(verb, requestPath, type, req.accept());
+      RequestTimings timings = req.timings();
+      if (timings != null) {
+        if (matched != null) {
+          timings.route(matched.pattern());
+        }
+        timings.routed();
+      }
+      if (executor != null) {
+        dispatched = true;
+        dispatch(executor, request.startAsync(), chain(routes, deadline), scope, req, rsp,
+            response, path, start, permit, stats, deadline);
+        return;
+      }
+
+      run(chain(routes, deadline), req, rsp, deadline);
 
     } catch (Exception ex) {
-      log.debug("execution of: " + path + " resulted in exception", ex);
+      handleErr(req, rsp, path, ex);
+    } finally {
+      requestScope.exit();
 
-      rsp.reset();
+      if (!dispatched) {
+        CompletionStage<Result> deferred = rsp.deferred();
+        if (deferred == null) {
+          done(req, rsp, response, start, permit, stats);
+        } else {
+          defer(deferred, request.startAsync(), scope, req, rsp, response, path, start, permit,
+              stats, deadline);
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean nonblocking() {
+    return hasNonblocking;
+  }
 
-      // execution failed, so find status code
-      Status status = statusCode(ex);
+  @Override
+  public boolean nonblocking(final NativeRequest request) {
+    if (!hasNonblocking) {
+      return false;
+    }
+    // reading the body blocks
+    boolean body = request.header("Content-Length").map(len -> !"0".equals(len)).orElse(false)
+        || request.header("Transfer-Encoding").isPresent();
+    if (body || request.header("Upgrade").isPresent()) {
+      return false;
+    }
+    String requestPath = normalizeURI(request.path());
+    if (applicationPath.equals(requestPath)) {
+      requestPath = "/";
+    } else if (!requestPath.startsWith(applicationPath)) {
+      return false;
+    } else if (!applicationPath.equals("/")) {
+      requestPath = requestPath.substring(applicationPath.length());
+    }
+    String verb = request.method().toUpperCase();
+    MediaType type;
+    List<MediaType> accept;
+    try {
+      type = request.header("Content-Type")
+          .map(MediaType::valueOf)
+          .orElse(MediaType.all);
+      accept = RequestImpl.findAccept(request);
+    } catch (IllegalArgumentException ex) {
+      // bad header, let the worker thread report it
+      return false;
+    }
+    return nonblocking(verb, requestPath, type, accept);
+  }
 
-      rsp.header("Cache-Control", NO_CACHE);
-      rsp.status(status);
+  private boolean nonblocking(final String verb, final String path, final MediaType type,
+      final List<MediaType> accept) {
+    boolean matches = false;
+    for (Route.Definition routeDef : routeDefs) {
+      if (routeDef.matches(verb, path, type, accept).isPresent()) {
+        if (!routeDef.nonblocking() || routeDef.executor().isPresent()) {
+          return false;
+        }
+        matches = true;
+      }
+    }
+    return matches;
+  }
 
+  private RouteExecutor executor(final String verb, final String path, final MediaType type,
+      final List<MediaType> accept) {
+    for (Route.Definition routeDef : dispatchDefs) {
+      if (routeDef.matches(verb, path, type, accept).isPresent()) {
+        return executors.get(routeDef.executor().get());
+      }
+    }
+    return null;
+  }
+
+  private Deadline deadline(final String verb, final String path, final MediaType type,
+      final List<MediaType> accept) {
+    Duration timeout = null;
+    for (Route.Definition routeDef : timeoutDefs) {
+      if (routeDef.matches(verb, path, type, accept).isPresent()) {
+        Duration candidate = routeDef.timeout().get();
+        // shorter route timeout wins
+        if (timeout == null || candidate.compareTo(timeout) < 0) {
+          timeout = candidate;
+        }
+      }
+    }
+    // route timeouts override the global one
+    if (timeout == null) {
+      timeout = deadlines.timeout();
+    }
+    return timeout == null ? null : Deadline.of(timeout);
+  }
+
+  private void run(final Route.Chain chain, final RequestImpl req, final ResponseImpl rsp,
+      final Deadline deadline) throws Exception {
+    Runnable done = deadlines.interrupt(deadline);
+    try {
+      chain.next(req, rsp);
+    } finally {
+      done.run();
+    }
+  }
+
+  private void dispatch(final RouteExecutor executor, final Executor resume,
+      final Route.Chain chain, final Map<Object, Object> scope, final RequestImpl req,
+      final ResponseImpl rsp, final NativeResponse response, final String path, final long start,
+      final ConcurrencyLimit.Permit permit, final RouteStats stats, final Deadline deadline) {
+    log.debug("  dispatching to: {}", executor.name());
+    try {
+      executor.execute(() -> {
+        requestScope.enter(scope);
+        try {
+          try {
+            if (deadline != null && deadline.expired()) {
+              // too long in the executor queue
+              throw new Err(Status.SERVICE_UNAVAILABLE, "executor " + executor.name()
+                  + " is busy, deadline of " + deadline.timeout().toMillis() + "ms is over");
+            }
+            run(chain, req, rsp, deadline);
+          } catch (Exception ex) {
+            handleErr(req, rsp, path, ex);
+          }
+        } catch (Exception ex) {
+          log.error("execution of: " + path + " resulted in error", ex);
+        } finally {
+          requestScope.exit();
+
+          // back to a server thread
+          CompletionStage<Result> deferred = rsp.deferred();
+          if (deferred == null) {
+            resume.execute(() -> done(req, rsp, response, start, permit, stats));
+          } else {
+            defer(deferred, resume, scope, req, rsp, response, path, start, permit, stats,
+                deadline);
+          }
+        }
+      });
+    } catch (RejectedExecutionException rejected) {
+      log.debug("  rejected by: {}", executor);
+      resume.execute(() -> {
+        requestScope.enter(scope);
+        try {
+          handleErr(req, rsp, path, new Err(Status.SERVICE_UNAVAILABLE,
+              "executor " + executor.name() + " is busy"));
+        } catch (Exception ex) {
+          log.error("execution of: " + path + " resulted in error", ex);
+        } finally {
+          requestScope.exit();
+
+          done(req, rsp, response, start, permit, stats);
+        }
+      });
+    }
+  }
+
+  private void defer(final CompletionStage<Result> deferred, final Executor executor,
+      final Map<Object, Object> scope, final RequestImpl req, final ResponseImpl rsp,
+      final NativeResponse response, final String path, final long start,
+      final ConcurrencyLimit.Permit permit, final RouteStats stats, final Deadline deadline) {
+    log.debug("  deferred: {}", path);
+    // first one wins: the deferred result or the deadline
+    AtomicBoolean pending = new AtomicBoolean(true);
+    ScheduledFuture<?> timeout = deadline == null ? null : deadlines.schedule(deadline, () -> {
+      if (pending.compareAndSet(true, false)) {
+        executor.execute(() -> {
+          requestScope.enter(scope);
+          try {
+            handleErr(req, rsp, path, new Err(Status.GATEWAY_TIMEOUT,
+                "deadline of " + deadline.timeout().toMillis() + "ms is over"));
+          } catch (Exception ex) {
+            log.error("execution of: " + path + " resulted in error", ex);
+          } finally {
+            requestScope.exit();
+
+            done(req, rsp, response, start, permit, stats);
+          }
+        });
+      }
+    });
+    // resume on a server thread, once the deferred result is ready
+    deferred.whenComplete((result, cause) -> {
+      if (!pending.compareAndSet(true, false)) {
+        log.debug("  ignoring deferred result of {}, deadline is over", path);
+        return;
+      }
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+      executor.execute(() -> resume(result, cause, scope, req, rsp, response, path, start,
+          permit, stats));
+    });
+  }
+
+  private void resume(final Result result, final Throwable cause,
+      final Map<Object, Object> scope, final RequestImpl req, final ResponseImpl rsp,
+      final NativeResponse response, final String path, final long start,
+      final ConcurrencyLimit.Permit permit, final RouteStats stats) {
+    requestScope.enter(scope);
+    try {
       try {
-        err.handle(req, rsp, ex);
-      } catch (Exception ignored) {
-        log.trace("execution of err handler resulted in exceptiion", ignored);
-        defaultErrorPage(req, rsp, err.err(req, rsp, ex));
+        if (cause == null) {
+          rsp.send(result);
+        } else {
+          Throwable failure = cause instanceof CompletionException && cause.getCause() != null
+              ? cause.getCause()
+              : cause;
+          handleErr(req, rsp, path, failure instanceof Exception
+              ? (Exception) failure
+              : new ExecutionException(failure));
+        }
+      } catch (Exception ex) {
+        handleErr(req, rsp, path, ex);
       }
+    } catch (Exception ex) {
+      log.error("execution of: " + path + " resulted in error", ex);
     } finally {
       requestScope.exit();
 
-      // mark request/response as done.
-      req.done();
-      rsp.end();
+      done(req, rsp, response, start, permit, stats);
+    }
+  }
+
+  private void overloaded(final ResponseImpl rsp, final ConcurrencyLimit limit) {
+    log.debug("  rejected by: {}", limit);
+    rsp.header("Retry-After", limits.retryAfter());
+    rsp.header("Cache-Control", NO_CACHE);
+    rsp.status(Status.SERVICE_UNAVAILABLE);
+  }
+
+  private void handleErr(final RequestImpl req, final ResponseImpl rsp, final String path,
+      final Exception ex) throws Exception {
+    log.debug("execution of: " + path + " resulted in exception", ex);
 
-      long end = System.currentTimeMillis();
-      log.debug("  status -> {} in {}ms", response.statusCode(), end - start);
+    rsp.reset();
+
+    // execution failed, so find status code
+    Status status = statusCode(ex);
+    if (status == Status.SERVER_ERROR && req.deadline().map(Deadline::expired).orElse(false)) {
+      // interrupted or timed out call
+      status = Status.GATEWAY_TIMEOUT;
+    }
+
+    rsp.header("Cache-Control", NO_CACHE);
+    rsp.status(status);
+
+    try {
+      err.handle(req, rsp, ex);
+    } catch (Exception ignored) {
+      log.trace("execution of err handler resulted in exceptiion", ignored);
+      defaultErrorPage(req, rsp, err.err(req, rsp, ex));
     }
   }
 
+  private void done(final RequestImpl req, final ResponseImpl rsp, final NativeResponse response,
+      final long start, final ConcurrencyLimit.Permit permit, final RouteStats stats) {
+    RequestTimings timings = req.timings();
+    // mark request/response as done.
+    req.done();
+    long begin = timings == null ? 0 : System.nanoTime();
+    rsp.end();
+    if (timings != null) {
+      timings.add(RequestTimings.Phase.WRITE, begin);
+    }
+
+    if (permit != null) {
+      // timeouts are a sign of overload
+      int status = response.statusCode();
+      permit.release(status == Status.SERVICE_UNAVAILABLE.value()
+          || status == Status.GATEWAY_TIMEOUT.value());
+    }
+
+    long end = System.nanoTime();
+    long latency = end - start;
+    if (stats != null) {
+      stats.end(response.statusCode(), latency);
+    }
+    if (timings != null) {
+      timings.done(end);
+      if (stats != null) {
+        stats.phases(timings);
+      }
+      if (slowRequest > 0 && latency >= slowRequest) {
+        log.warn("slow request: {} {} ({}) -> {} in {}ms: {}", req.method(), req.path(),
+            timings.route(), response.statusCode(), TimeUnit.NANOSECONDS.toMillis(latency),
+            timings);
+      }
+      if (accessLog.enabled()) {
+        accessLog.log(req, response.statusCode(), timings.bytes(), latency);
+      }
+      Jfr.RequestSpan event = timings.event();
+      if (event != Jfr.RequestSpan.NOOP) {
+        event.phases(timings.nanos(RequestTimings.Phase.ROUTE),
+            timings.nanos(RequestTimings.Phase.SESSION), timings.nanos(RequestTimings.Phase.PARSE),
+            timings.nanos(RequestTimings.Phase.HANDLER), timings.nanos(RequestTimings.Phase.RENDER),
+            timings.nanos(RequestTimings.Phase.WRITE));
+        event.commit(req.method(), timings.route(), req.path(), response.statusCode(),
+            timings.bytes());
+      }
+    }
+    log.debug("  status -> {} in {}ms", response.statusCode(),
+        TimeUnit.NANOSECONDS.toMillis(latency));
+  }
 
   private static String normalizeURI(final String uri) {
     return uri.endsWith("/") && uri.length() > 1 ? uri.substring(0, uri.length() - 1) : uri;
   }
 
-  private static Route.Chain chain(final List<Route> routes) {
+  private static Route.Chain chain(final List<Route> routes, final Deadline deadline) {
     return new Route.Chain() {
 
       private int it = 0;
@@ -216,10 +619,14 @@ public class HttpHandlerImpl implements HttpHandler {
       @Override
       public void next(final Request req, final Response rsp) throws Exception {
         RouteImpl route = get(routes.get(it++));
-        if (rsp.committed()) {
+        if (rsp.committed() || deferred(rsp)) {
           return;
         }
 
+        if (deadline != null) {
+          deadline.check();
+        }
+
         // set route
         set(req, route);
         set(rsp, route);
@@ -231,6 +638,11 @@ public class HttpHandlerImpl implements HttpHandler {
         return (RouteImpl) Route.Forwarding.unwrap(next);
       }
 
+      private boolean deferred(final Response rsp) {
+        ResponseImpl root = (ResponseImpl) Response.Forwarding.unwrap(rsp);
+        return root.deferred() != null;
+      }
+
       private void set(final Request req, final Route route) {
         RequestImpl root = (RequestImpl) Request.Forwarding.unwrap(req);
         root.route(route);
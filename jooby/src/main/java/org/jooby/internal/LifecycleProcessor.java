@@ -18,17 +18,27 @@
  */
 package org.jooby.internal;
 
+import static java.util.Objects.requireNonNull;
+
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Provider;
 
 import org.jooby.Managed;
+import org.jooby.StartupReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,27 +49,101 @@ import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.matcher.Matcher;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.Element;
 import com.google.inject.spi.InjectionListener;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.PrivateElements;
 import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.TypeEncounter;
 import com.google.inject.spi.TypeListener;
 
+/**
+ * Call start ({@link Managed#start()} or {@link PostConstruct}) and stop ({@link Managed#stop()}
+ * or {@link PreDestroy}) callbacks.
+ * <p>
+ * By default, a {@link Managed} service starts as soon as it is injected. In parallel mode,
+ * services created while the injector is created start once it is ready (see
+ * {@link #start(Injector)}): independent services start at the same time and a service waits for
+ * the services it depends on. A provider still waits for its service, when it is used before
+ * (like from the constructor of a singleton). Services bound with <code>toInstance</code> (see
+ * {@link #instances(Iterable)}) still start as soon as injected: Guice hands them over to eager
+ * singletons as they are. Stop callbacks run in reverse order: a service stops once the services
+ * depending on it stopped.
+ * </p>
+ */
 public class LifecycleProcessor implements TypeListener {
 
   /** The logging system. */
   private final Logger log = LoggerFactory.getLogger(getClass());
 
+  /** Time spent on start callbacks goes here, while the application starts. */
+  private final StartupReport startup;
+
+  private final boolean parallel;
+
+  private final int threads;
+
+  /** Services waiting for {@link #start(Injector)}, by instance. */
+  private final Map<Object, ServiceGraph.Node> pending = new IdentityHashMap<>();
+
+  /** Services waiting for {@link #start(Injector)}, by type. Types with two services are null. */
+  private final Map<Class<?>, ServiceGraph.Node> pendingTypes = new HashMap<>();
+
+  private final List<ServiceGraph.Node> order = new ArrayList<>();
+
+  /** Services bound with toInstance, they start as soon as injected. */
+  private final Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /** True, once {@link #start(Injector)} was called: services start as soon as injected. */
+  private volatile boolean starting;
+
+  /** True, once all the pending services started. */
+  private volatile boolean started;
+
+  /**
+   * Creates a lifecycle processor.
+   *
+   * @param startup Startup report.
+   * @param parallel True, to start services at the same time (and following dependencies) once
+   *        the injector is ready.
+   * @param threads Max number of services starting or stopping at the same time.
+   */
+  public LifecycleProcessor(final StartupReport startup, final boolean parallel,
+      final int threads) {
+    this.startup = requireNonNull(startup, "A startup report is required.");
+    this.parallel = parallel;
+    this.threads = threads;
+  }
+
+  /**
+   * Creates a lifecycle processor, services start as soon as they are injected.
+   *
+   * @param startup Startup report.
+   */
+  public LifecycleProcessor(final StartupReport startup) {
+    this(startup, false, 1);
+  }
+
   @Override
   public <I> void hear(final TypeLiteral<I> type, final TypeEncounter<I> encounter) {
     Class<?> rawType = type.getRawType();
     if (Managed.class.isAssignableFrom(rawType)) {
       encounter.register((InjectionListener<I>) injectee -> {
-        try {
-          log.debug("starting: {}", rawType.getName());
-          ((Managed) injectee).start();
-        } catch (Exception ex) {
-          Throwables.propagateIfPossible(ex);
-          throw new IllegalStateException(rawType.getName() + ".start() resulted in error: ", ex);
+        if (parallel && !starting && !instances.contains(injectee)) {
+          defer(rawType, (Managed) injectee);
+        } else {
+          try {
+            start(rawType, (Managed) injectee, StartupReport.INJECTOR);
+          } catch (Exception ex) {
+            Throwables.propagateIfPossible(ex);
+            throw new IllegalStateException(rawType.getName() + ".start() resulted in error: ",
+                ex);
+          }
         }
       });
     } else {
@@ -69,7 +153,9 @@ public class LifecycleProcessor implements TypeListener {
         encounter.register((InjectionListener<I>) injectee -> {
           try {
             log.debug("starting: {}", method);
+            long start = System.nanoTime();
             method.invoke(injectee);
+            startup.record(StartupReport.INJECTOR, "start " + rawType.getName(), start);
           } catch (Exception ex) {
             Throwable cause = ex;
             if (cause instanceof InvocationTargetException) {
@@ -85,41 +171,271 @@ public class LifecycleProcessor implements TypeListener {
     }
   }
 
+  /**
+   * Find {@link Managed} services bound with <code>toInstance</code>. In parallel mode, they start
+   * as soon as they are injected: a provider can wait for its service, but an instance is injected
+   * as it is.
+   *
+   * @param elements Recorded bindings, see {@link com.google.inject.spi.Elements}.
+   */
+  public void instances(final Iterable<Element> elements) {
+    for (Element element : elements) {
+      if (element instanceof InstanceBinding) {
+        Object instance = ((InstanceBinding<?>) element).getInstance();
+        if (instance instanceof Managed) {
+          instances.add(instance);
+        }
+      } else if (element instanceof PrivateElements) {
+        instances(((PrivateElements) element).getElements());
+      }
+    }
+  }
+
+  /**
+   * @return True, when services start in parallel once the injector is ready.
+   */
+  public boolean parallel() {
+    return parallel;
+  }
+
+  /**
+   * @return Matches bindings of a {@link Managed} provider, the only ones the
+   *         {@link #provisionListener()} cares about.
+   */
+  public static Matcher<Binding<?>> managedProviders() {
+    return new AbstractMatcher<Binding<?>>() {
+      @SuppressWarnings("rawtypes")
+      @Override
+      public boolean matches(final Binding<?> binding) {
+        if (binding instanceof ProviderInstanceBinding) {
+          return ((ProviderInstanceBinding) binding).getUserSuppliedProvider() instanceof Managed;
+        }
+        if (binding instanceof ProviderKeyBinding) {
+          return Managed.class.isAssignableFrom(((ProviderKeyBinding) binding).getProviderKey()
+              .getTypeLiteral().getRawType());
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * @return A provision listener, it makes providers of a pending service wait for it. Bind it
+   *         with {@link #managedProviders()}.
+   */
+  public ProvisionListener provisionListener() {
+    return new ProvisionListener() {
+      @Override
+      public <T> void onProvision(final ProvisionInvocation<T> provision) {
+        if (!started) {
+          ServiceGraph.Node node = pending(provision.getBinding());
+          if (node != null) {
+            node.await();
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Start the services created while the injector was created, when running in parallel mode.
+   * Independent services start at the same time, a service waits for the services it depends on.
+   *
+   * @param injector The injector.
+   */
+  public void start(final Injector injector) {
+    List<ServiceGraph.Node> nodes;
+    synchronized (pending) {
+      starting = true;
+      nodes = new ArrayList<>(order);
+    }
+    if (nodes.isEmpty()) {
+      started = true;
+      return;
+    }
+    long start = System.nanoTime();
+    Map<Key<?>, ServiceGraph.Node> byKey = new HashMap<>();
+    Map<Key<?>, Binding<?>> bindings = new HashMap<>();
+    for (Binding<?> binding : injector.getAllBindings().values()) {
+      ServiceGraph.Node node = service(binding);
+      if (node != null) {
+        byKey.put(binding.getKey(), node);
+        bindings.put(binding.getKey(), binding);
+      }
+    }
+    ServiceGraph.link(injector, byKey, bindings, false);
+    ServiceGraph.run(nodes, threads, "managed-start");
+    startup.record(null, StartupReport.START, start);
+
+    synchronized (pending) {
+      started = true;
+      pending.clear();
+      pendingTypes.clear();
+      order.clear();
+    }
+
+    List<ServiceGraph.Node> failures = ServiceGraph.failures(nodes);
+    if (failures.size() > 0) {
+      for (ServiceGraph.Node failure : failures.subList(1, failures.size())) {
+        log.error(failure.name() + ".start() resulted in error", failure.error());
+      }
+      ServiceGraph.Node failure = failures.get(0);
+      Throwables.propagateIfPossible(failure.error());
+      throw new IllegalStateException(failure.name() + ".start() resulted in error: ",
+          failure.error());
+    }
+  }
+
+  /**
+   * Call stop callbacks of singletons. In parallel mode, independent services stop at the same
+   * time.
+   *
+   * @param injector The injector.
+   */
+  public void stop(final Injector injector) {
+    onPreDestroy(injector, log, parallel ? threads : 1);
+  }
+
+  /**
+   * Call stop callbacks of singletons, one at a time. A service stops once the services depending
+   * on it stopped.
+   *
+   * @param injector The injector.
+   * @param log Logger.
+   */
   public static void onPreDestroy(final Injector injector, final Logger log) {
+    onPreDestroy(injector, log, 1);
+  }
+
+  /**
+   * Call stop callbacks of singletons. A service stops once the services depending on it stopped.
+   *
+   * @param injector The injector.
+   * @param log Logger.
+   * @param threads Max number of services stopping at the same time.
+   */
+  public static void onPreDestroy(final Injector injector, final Logger log, final int threads) {
+    Map<Key<?>, ServiceGraph.Node> nodes = new LinkedHashMap<>();
+    Map<Key<?>, Binding<?>> keys = new HashMap<>();
+    Map<Object, ServiceGraph.Node> targets = new IdentityHashMap<>();
     Map<Key<?>, Binding<?>> bindings = injector.getAllBindings();
     for (Binding<?> binding : bindings.values()) {
       if (Scopes.isSingleton(binding)) {
-        Class<?> rawType = binding.getKey().getTypeLiteral().getRawType();
+        Key<?> key = binding.getKey();
+        Class<?> rawType = key.getTypeLiteral().getRawType();
         if (includes(rawType)) {
           Object target = findManaged(binding);
-          if (target instanceof Managed) {
-            try {
-              log.debug("stopping: {}", rawType.getName());
-              ((Managed) target).stop();
-            } catch (Exception ex) {
-              log.error(rawType.getName() + ".stop() resulted in error", ex);
-            }
-          } else {
-            // hard way
-            Method method = findMethod(rawType, PreDestroy.class);
-            if (method != null) {
-              try {
-                log.debug("stopping: {}", rawType.getName());
-                method.invoke(target);
-              } catch (Exception ex) {
-                Throwable cause = ex;
-                if (cause instanceof InvocationTargetException) {
-                  // override cause
-                  cause = ((InvocationTargetException) cause).getTargetException();
-                }
-                log.error(rawType.getName() + "." + method.getName() + "() resulted in error",
-                    cause);
-              }
+          ServiceGraph.Callback callback = stopCallback(rawType, target, log);
+          if (callback != null) {
+            ServiceGraph.Node node = targets.get(target);
+            if (node == null) {
+              // stop once, even if bound more than once
+              node = new ServiceGraph.Node(rawType.getName(), false, callback);
+              targets.put(target, node);
             }
+            nodes.put(key, node);
+            keys.put(key, binding);
           }
         }
       }
     }
+    ServiceGraph.link(injector, nodes, keys, true);
+    ServiceGraph.run(new ArrayList<>(targets.values()), threads, "managed-stop");
+  }
+
+  private static ServiceGraph.Callback stopCallback(final Class<?> rawType, final Object target,
+      final Logger log) {
+    if (target instanceof Managed) {
+      return () -> {
+        try {
+          log.debug("stopping: {}", rawType.getName());
+          ((Managed) target).stop();
+        } catch (Exception ex) {
+          log.error(rawType.getName() + ".stop() resulted in error", ex);
+        }
+      };
+    }
+    // hard way
+    Method method = findMethod(rawType, PreDestroy.class);
+    if (method != null) {
+      return () -> {
+        try {
+          log.debug("stopping: {}", rawType.getName());
+          method.invoke(target);
+        } catch (Exception ex) {
+          Throwable cause = ex;
+          if (cause instanceof InvocationTargetException) {
+            // override cause
+            cause = ((InvocationTargetException) cause).getTargetException();
+          }
+          log.error(rawType.getName() + "." + method.getName() + "() resulted in error",
+              cause);
+        }
+      };
+    }
+    return null;
+  }
+
+  private void start(final Class<?> rawType, final Managed managed, final String phase)
+      throws Exception {
+    log.debug("starting: {}", rawType.getName());
+    long start = System.nanoTime();
+    managed.start();
+    startup.record(phase, "start " + rawType.getName(), start);
+  }
+
+  private void defer(final Class<?> rawType, final Managed managed) {
+    synchronized (pending) {
+      if (!pending.containsKey(managed)) {
+        ServiceGraph.Node node = new ServiceGraph.Node(rawType.getName(), true,
+            () -> start(rawType, managed, StartupReport.START));
+        pending.put(managed, node);
+        if (pendingTypes.containsKey(rawType)) {
+          pendingTypes.put(rawType, null);
+        } else {
+          pendingTypes.put(rawType, node);
+        }
+        order.add(node);
+      }
+    }
+  }
+
+  /**
+   * @param binding A binding.
+   * @return Pending service provided by the binding, if any.
+   */
+  @SuppressWarnings("rawtypes")
+  private ServiceGraph.Node pending(final Binding<?> binding) {
+    synchronized (pending) {
+      if (binding instanceof ProviderInstanceBinding) {
+        return pending.get(((ProviderInstanceBinding) binding).getUserSuppliedProvider());
+      }
+      if (binding instanceof ProviderKeyBinding) {
+        return pendingTypes.get(((ProviderKeyBinding) binding).getProviderKey().getTypeLiteral()
+            .getRawType());
+      }
+      return null;
+    }
+  }
+
+  /**
+   * @param binding A binding.
+   * @return Pending service created by the binding, if any.
+   */
+  @SuppressWarnings("rawtypes")
+  private ServiceGraph.Node service(final Binding<?> binding) {
+    synchronized (pending) {
+      if (binding instanceof ProviderInstanceBinding) {
+        return pending.get(((ProviderInstanceBinding) binding).getUserSuppliedProvider());
+      }
+      if (binding instanceof InstanceBinding) {
+        return pending.get(((InstanceBinding) binding).getInstance());
+      }
+      if (binding instanceof ConstructorBinding && Scopes.isSingleton(binding)) {
+        return pendingTypes.get(binding.getKey().getTypeLiteral().getRawType());
+      }
+      return null;
+    }
   }
 
   @SuppressWarnings("rawtypes")
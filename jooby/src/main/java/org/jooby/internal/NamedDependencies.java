@@ -0,0 +1,267 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
+import com.google.inject.ImplementedBy;
+import com.google.inject.Key;
+import com.google.inject.MembersInjector;
+import com.google.inject.ProvidedBy;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Named;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.DefaultBindingTargetVisitor;
+import com.google.inject.spi.DefaultElementVisitor;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectionRequest;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.MembersInjectorLookup;
+import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.ProviderLookup;
+import com.google.inject.spi.StaticInjectionRequest;
+import com.google.inject.spi.UntargettedBinding;
+
+/**
+ * Find the names of the <code>&#64;Named</code> dependencies of a module, before the injector is
+ * created. It goes through the module bindings, the classes they depend on (just-in-time bindings
+ * included) and the given root classes (classes created on demand, like route handlers).
+ * <p>
+ * Names required from code (like: <code>injector.getInstance(Key.get(String.class,
+ * Names.named("db.url")))</code>) can't be found.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class NamedDependencies {
+
+  /** Keys bound by the module. */
+  private final Set<Key<?>> bound = new HashSet<>();
+
+  private final Set<Object> visited = new HashSet<>();
+
+  private final Set<String> names = new LinkedHashSet<>();
+
+  private NamedDependencies() {
+  }
+
+  /**
+   * @param elements Module elements, see {@link com.google.inject.spi.Elements}.
+   * @param roots Classes created on demand.
+   * @return Names of the <code>&#64;Named</code> dependencies without a binding.
+   */
+  public static Set<String> find(final List<Element> elements, final Collection<Class<?>> roots) {
+    NamedDependencies named = new NamedDependencies();
+    named.bound(elements);
+    named.elements(elements);
+    roots.forEach(root -> named.type(TypeLiteral.get(root)));
+    return named.names;
+  }
+
+  private void bound(final List<Element> elements) {
+    for (Element element : elements) {
+      element.acceptVisitor(new DefaultElementVisitor<Void>() {
+        @Override
+        public <T> Void visit(final Binding<T> binding) {
+          bound.add(binding.getKey());
+          return null;
+        }
+
+        @Override
+        public Void visit(final PrivateElements elements) {
+          bound(elements.getElements());
+          return null;
+        }
+      });
+    }
+  }
+
+  private void elements(final List<Element> elements) {
+    for (Element element : elements) {
+      element.acceptVisitor(new DefaultElementVisitor<Void>() {
+        @Override
+        public <T> Void visit(final Binding<T> binding) {
+          binding(binding);
+          return null;
+        }
+
+        @Override
+        public <T> Void visit(final ProviderLookup<T> lookup) {
+          key(lookup.getKey());
+          return null;
+        }
+
+        @Override
+        public <T> Void visit(final MembersInjectorLookup<T> lookup) {
+          members(lookup.getType());
+          return null;
+        }
+
+        @Override
+        public Void visit(final InjectionRequest<?> request) {
+          injectionPoints(request::getInjectionPoints);
+          return null;
+        }
+
+        @Override
+        public Void visit(final StaticInjectionRequest request) {
+          injectionPoints(request::getInjectionPoints);
+          return null;
+        }
+
+        @Override
+        public Void visit(final PrivateElements elements) {
+          elements(elements.getElements());
+          return null;
+        }
+      });
+    }
+  }
+
+  private <T> void binding(final Binding<T> binding) {
+    binding.acceptTargetVisitor(new DefaultBindingTargetVisitor<T, Void>() {
+      @Override
+      public Void visit(final UntargettedBinding<? extends T> binding) {
+        type(binding.getKey().getTypeLiteral());
+        return null;
+      }
+
+      @Override
+      public Void visit(final LinkedKeyBinding<? extends T> binding) {
+        key(binding.getLinkedKey());
+        return null;
+      }
+
+      @Override
+      public Void visit(final ProviderKeyBinding<? extends T> binding) {
+        key(binding.getProviderKey());
+        return null;
+      }
+
+      @Override
+      public Void visit(final ProviderInstanceBinding<? extends T> binding) {
+        injectionPoints(binding::getInjectionPoints);
+        return null;
+      }
+
+      @Override
+      public Void visit(final InstanceBinding<? extends T> binding) {
+        injectionPoints(binding::getInjectionPoints);
+        return null;
+      }
+
+      @Override
+      public Void visit(final ConstructorBinding<? extends T> binding) {
+        dependencies(binding.getConstructor());
+        injectionPoints(binding::getInjectableMembers);
+        return null;
+      }
+    });
+  }
+
+  private void key(final Key<?> key) {
+    Key<?> target = unwrap(key);
+    Annotation annotation = target.getAnnotation();
+    if (annotation instanceof Named) {
+      if (!bound.contains(target)) {
+        names.add(((Named) annotation).value());
+      }
+    } else if (annotation instanceof javax.inject.Named) {
+      if (!bound.contains(target)) {
+        names.add(((javax.inject.Named) annotation).value());
+      }
+    } else if (target.getAnnotationType() == null && !bound.contains(target)) {
+      // just-in-time binding
+      type(target.getTypeLiteral());
+    }
+  }
+
+  private void type(final TypeLiteral<?> type) {
+    Class<?> rawType = type.getRawType();
+    if (rawType.isPrimitive() || rawType.isArray() || rawType.getName().startsWith("java.")
+        || !visited.add(type)) {
+      return;
+    }
+    ImplementedBy implementedBy = rawType.getAnnotation(ImplementedBy.class);
+    if (implementedBy != null) {
+      type(TypeLiteral.get(implementedBy.value()));
+      return;
+    }
+    ProvidedBy providedBy = rawType.getAnnotation(ProvidedBy.class);
+    if (providedBy != null) {
+      type(TypeLiteral.get(providedBy.value()));
+      return;
+    }
+    if (rawType.isInterface() || Modifier.isAbstract(rawType.getModifiers())) {
+      return;
+    }
+    try {
+      dependencies(InjectionPoint.forConstructorOf(type));
+    } catch (ConfigurationException ex) {
+      // no injectable constructor, Guice will report it
+    }
+    members(type);
+  }
+
+  private void members(final TypeLiteral<?> type) {
+    injectionPoints(() -> InjectionPoint.forInstanceMethodsAndFields(type));
+  }
+
+  private void injectionPoints(final java.util.function.Supplier<Set<InjectionPoint>> points) {
+    try {
+      points.get().forEach(this::dependencies);
+    } catch (ConfigurationException ex) {
+      // bad injection point, Guice will report it
+    }
+  }
+
+  private void dependencies(final InjectionPoint point) {
+    for (Dependency<?> dependency : point.getDependencies()) {
+      key(dependency.getKey());
+    }
+  }
+
+  /** Provider&lt;T&gt; and MembersInjector&lt;T&gt; depend on T. */
+  private static Key<?> unwrap(final Key<?> key) {
+    Class<?> rawType = key.getTypeLiteral().getRawType();
+    Type type = key.getTypeLiteral().getType();
+    if ((rawType == javax.inject.Provider.class || rawType == com.google.inject.Provider.class
+        || rawType == MembersInjector.class) && type instanceof ParameterizedType) {
+      return key.ofType(((ParameterizedType) type).getActualTypeArguments()[0]);
+    }
+    return key;
+  }
+
+}
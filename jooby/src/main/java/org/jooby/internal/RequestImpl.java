@@ -34,6 +34,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.jooby.Cookie;
+import org.jooby.Deadline;
 import org.jooby.MediaType;
 import org.jooby.Mutant;
 import org.jooby.Parser;
@@ -52,13 +53,15 @@ import com.google.inject.Key;
 
 public class RequestImpl implements Request {
 
+  private static final Key<Deadline> DEADLINE = Key.get(Deadline.class);
+
   private final Map<String, Mutant> params = new HashMap<>();
 
-  private final List<MediaType> accept;
+  private List<MediaType> accept;
 
-  private final Locale locale;
+  private Locale locale;
 
-  private final MediaType type;
+  private MediaType type;
 
   private final Injector injector;
 
@@ -72,6 +75,9 @@ public class RequestImpl implements Request {
 
   private Session reqSession;
 
+  /** True, when all the routes are non-blocking: no session. */
+  private boolean nonblocking;
+
   private Charset charset;
 
   private List<File> files;
@@ -87,18 +93,8 @@ public class RequestImpl implements Request {
     this.scope = requireNonNull(scope, "Scope is required.");
     this.locals = requireNonNull(locals, "Request locals are required.");
 
-    this.accept = findAccept(req);
-
-    this.locale = findLocale(req, injector.getInstance(Locale.class));
-
-    this.type = req.header("Content-Type")
-        .map(MediaType::valueOf)
-        .orElse(MediaType.all);
-
-    this.charset = Optional.ofNullable(type.params().get("charset"))
-        .map(Charset::forName)
-        .orElse(injector.getInstance(Charset.class));
-
+    // accept, locale, type and charset are parsed on first access. Routing asks for accept and,
+    // if a route has consumes types, for type too
     this.files = new ArrayList<>();
   }
 
@@ -123,11 +119,19 @@ public class RequestImpl implements Request {
 
   @Override
   public MediaType type() {
+    if (type == null) {
+      type = req.header("Content-Type")
+          .map(MediaType::valueOf)
+          .orElse(MediaType.all);
+    }
     return type;
   }
 
   @Override
   public List<MediaType> accept() {
+    if (accept == null) {
+      accept = findAccept(req);
+    }
     return accept;
   }
 
@@ -184,6 +188,14 @@ public class RequestImpl implements Request {
     return new MutantImpl(require(ParserExecutor.class), type(), req.headers(name));
   }
 
+  /**
+   * @param name Header name.
+   * @return First value of the header (no parsing) or <code>null</code>.
+   */
+  public String rawHeader(final String name) {
+    return req.header(name).orElse(null);
+  }
+
   @Override
   public Map<String, Mutant> headers() {
     Map<String, Mutant> headers = new LinkedHashMap<>();
@@ -229,6 +241,11 @@ public class RequestImpl implements Request {
 
   @Override
   public Charset charset() {
+    if (charset == null) {
+      charset = Optional.ofNullable(type().params().get("charset"))
+          .map(Charset::forName)
+          .orElseGet(() -> injector.getInstance(Charset.class));
+    }
     return charset;
   }
 
@@ -241,6 +258,11 @@ public class RequestImpl implements Request {
 
   @Override
   public Locale locale() {
+    if (locale == null) {
+      locale = req.header("Accept-Language")
+          .map(l -> LocaleUtils.toLocale(l))
+          .orElseGet(() -> injector.getInstance(Locale.class));
+    }
     return locale;
   }
 
@@ -261,13 +283,22 @@ public class RequestImpl implements Request {
 
   @Override
   public Session session() {
+    if (nonblocking) {
+      throw new IllegalStateException("Session isn't available from non-blocking routes: "
+          + route.method() + " " + route.path());
+    }
     return ifSession().orElseGet(() -> {
       SessionManager sm = require(SessionManager.class);
       Response rsp = require(Response.class);
+      RequestTimings timings = timings();
+      long begin = timings == null ? 0 : System.nanoTime();
       Session gsession = sm.get(this, rsp);
       if (gsession == null) {
         gsession = sm.create(this, rsp);
       }
+      if (timings != null) {
+        timings.add(RequestTimings.Phase.SESSION, begin);
+      }
       this.reqSession = new RequestScopedSession(sm, rsp, gsession, () -> this.reqSession = null);
       return this.reqSession;
     });
@@ -288,6 +319,11 @@ public class RequestImpl implements Request {
     return req.secure();
   }
 
+  @Override
+  public Optional<Deadline> deadline() {
+    return Optional.ofNullable((Deadline) scope.get(DEADLINE));
+  }
+
   @Override
   public Request set(final String name, final Object value) {
     requireNonNull(name, "A local's name is required.");
@@ -309,7 +345,7 @@ public class RequestImpl implements Request {
     return route().toString();
   }
 
-  private static List<MediaType> findAccept(final NativeRequest req) {
+  static List<MediaType> findAccept(final NativeRequest req) {
     List<MediaType> accept = req.header("Accept")
         .map(MediaType::parse)
         .orElse(MediaType.ALL);
@@ -320,19 +356,42 @@ public class RequestImpl implements Request {
     return accept;
   }
 
-  private static Locale findLocale(final NativeRequest req, final Locale def) {
-    return req.header("Accept-Language")
-        .map(l -> LocaleUtils.toLocale(l))
-        .orElse(def);
-  }
-
   void route(final Route route) {
     this.route = route;
   }
 
+  void nonblocking(final boolean nonblocking) {
+    this.nonblocking = nonblocking;
+  }
+
+  /**
+   * Upgrade the request, see {@link NativeRequest#upgrade(Class)}.
+   *
+   * @param type Upgrade type.
+   * @param <T> Upgrade type.
+   * @return An upgrade.
+   * @throws Exception If the upgrade fails or it is un-supported.
+   */
+  public <T> T upgrade(final Class<T> type) throws Exception {
+    return req.upgrade(type);
+  }
+
+  /**
+   * @return Timings of this request or <code>null</code> when timings are off.
+   */
+  public RequestTimings timings() {
+    return (RequestTimings) scope.get(RequestTimings.KEY);
+  }
+
   public void done() {
-    ifSession()
-        .ifPresent(session -> require(SessionManager.class).requestDone(session));
+    ifSession().ifPresent(session -> {
+      RequestTimings timings = timings();
+      long begin = timings == null ? 0 : System.nanoTime();
+      require(SessionManager.class).requestDone(session);
+      if (timings != null) {
+        timings.add(RequestTimings.Phase.SESSION, begin);
+      }
+    });
     for (File file : files) {
       file.delete();
     }
@@ -21,6 +21,7 @@ package org.jooby.internal;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Map;
+import java.util.Optional;
 
 import com.google.inject.Key;
 import com.google.inject.OutOfScopeException;
@@ -30,16 +31,50 @@ import com.google.inject.Scopes;
 
 public class RequestScope implements Scope {
 
+  /** Scope of the request in progress on the current thread, across applications. */
+  private static final ThreadLocal<RequestScope> active = new ThreadLocal<>();
+
   private final ThreadLocal<Map<Object, Object>> scope = new ThreadLocal<>();
 
+  /** Scope that was active before this one, on the current thread. */
+  private final ThreadLocal<RequestScope> outer = new ThreadLocal<>();
+
+  /**
+   * Look for an object of the request bound to the current thread, without creating it.
+   *
+   * @param key Object key.
+   * @param <T> Object type.
+   * @return An object or empty when there is no request or object.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Optional<T> current(final Key<T> key) {
+    RequestScope current = active.get();
+    Map<Object, Object> scopedObjects = current == null ? null : current.scope.get();
+    return scopedObjects == null
+        ? Optional.empty()
+        : Optional.ofNullable((T) scopedObjects.get(key));
+  }
+
   public void enter(final Map<Object, Object> locals) {
     checkState(scope.get() == null, "A scoping block is already in progress");
     scope.set(locals);
+    RequestScope previous = active.get();
+    if (previous != null) {
+      outer.set(previous);
+    }
+    active.set(this);
   }
 
   public void exit() {
     checkState(scope.get() != null, "No scoping block in progress");
     scope.remove();
+    RequestScope previous = outer.get();
+    if (previous == null) {
+      active.remove();
+    } else {
+      outer.remove();
+      active.set(previous);
+    }
   }
 
   @Override
@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.util.Jfr;
+
+import com.google.inject.Key;
+
+/**
+ * Phases of a request: time spent routing, in the {@link org.jooby.Session.Store}, parsing,
+ * running the route handlers, rendering and writing the response. Each phase is the sum of
+ * <code>System.nanoTime()</code> deltas recorded where the work happens; the handler phase is
+ * what is left after routing and everything else.
+ * <p>
+ * Timings live in the request scope and are created only when something needs them (slow request
+ * log, metrics or JFR events). A request runs on one thread at a time, so there is no synchronization.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class RequestTimings {
+
+  /** A request phase. */
+  public enum Phase {
+    ROUTE,
+
+    SESSION,
+
+    PARSE,
+
+    HANDLER,
+
+    RENDER,
+
+    WRITE;
+
+    /** Lower case name, as it shows up in the logs and metrics. */
+    private final String label = name().toLowerCase(Locale.ENGLISH);
+
+    /**
+     * @return Lower case name of the phase.
+     */
+    public String label() {
+      return label;
+    }
+  }
+
+  /** Request scope key. */
+  public static final Key<RequestTimings> KEY = Key.get(RequestTimings.class);
+
+  private static final Phase[] PHASES = Phase.values();
+
+  private final long start;
+
+  private final long[] nanos = new long[PHASES.length];
+
+  private long routed;
+
+  private long total = -1;
+
+  private long bytes;
+
+  private Jfr.RequestSpan event = Jfr.RequestSpan.NOOP;
+
+  private String route = "none";
+
+  /**
+   * @param start Start of the request, from <code>System.nanoTime()</code>.
+   */
+  public RequestTimings(final long start) {
+    this.start = start;
+    this.routed = start;
+  }
+
+  /**
+   * @return Timings of the current request or <code>null</code> when outside of a request or when
+   *         timings are off.
+   */
+  public static RequestTimings current() {
+    return RequestScope.current(KEY).orElse(null);
+  }
+
+  /**
+   * Mark the end of routing, handlers start now.
+   */
+  public void routed() {
+    routed = System.nanoTime();
+    nanos[Phase.ROUTE.ordinal()] = routed - start;
+  }
+
+  /**
+   * Add the time elapsed since <code>begin</code> to a phase.
+   *
+   * @param phase A phase (but {@link Phase#HANDLER}, which is computed by {@link #done(long)}).
+   * @param begin Start of the work, from <code>System.nanoTime()</code>.
+   */
+  public void add(final Phase phase, final long begin) {
+    nanos[phase.ordinal()] += System.nanoTime() - begin;
+  }
+
+  /**
+   * Mark the end of the request and compute the handler phase.
+   *
+   * @param end End of the request, from <code>System.nanoTime()</code>.
+   */
+  public void done(final long end) {
+    long others = nanos[Phase.SESSION.ordinal()] + nanos[Phase.PARSE.ordinal()]
+        + nanos[Phase.RENDER.ordinal()] + nanos[Phase.WRITE.ordinal()];
+    nanos[Phase.HANDLER.ordinal()] = Math.max(0, end - routed - others);
+    total = end - start;
+  }
+
+  /**
+   * Count the bytes written to the response.
+   *
+   * @param out Response body.
+   * @return A counting output stream.
+   */
+  public OutputStream count(final OutputStream out) {
+    return new FilterOutputStream(out) {
+      @Override
+      public void write(final int b) throws IOException {
+        out.write(b);
+        bytes += 1;
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+        bytes += len;
+      }
+    };
+  }
+
+  /**
+   * @return Response body bytes.
+   */
+  public long bytes() {
+    return bytes;
+  }
+
+  /**
+   * Set the route label of the request, it is the same for metrics, JFR events and the slow request
+   * log.
+   *
+   * @param route Pattern of the last route the request matched (before the 404, 405 and 406
+   *        fallbacks) or <code>none</code>.
+   */
+  public void route(final String route) {
+    this.route = route;
+  }
+
+  /**
+   * @return Route label of the request, <code>none</code> until routing is done or when there is no
+   *         route.
+   */
+  public String route() {
+    return route;
+  }
+
+  /**
+   * @param event JFR event of the request.
+   */
+  public void event(final Jfr.RequestSpan event) {
+    this.event = event;
+  }
+
+  /**
+   * @return JFR event of the request or {@link Jfr.RequestSpan#NOOP}.
+   */
+  public Jfr.RequestSpan event() {
+    return event;
+  }
+
+  /**
+   * @param phase A phase.
+   * @return Time spent in the phase, in nanoseconds.
+   */
+  public long nanos(final Phase phase) {
+    return nanos[phase.ordinal()];
+  }
+
+  /**
+   * @return Request time in nanoseconds or <code>-1</code> before {@link #done(long)}.
+   */
+  public long total() {
+    return total;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buffer = new StringBuilder();
+    for (Phase phase : PHASES) {
+      if (buffer.length() > 0) {
+        buffer.append(' ');
+      }
+      buffer.append(phase.label()).append('=').append(millis(nanos[phase.ordinal()]))
+          .append("ms");
+    }
+    return buffer.toString();
+  }
+
+  /**
+   * @param nanos Time in nanoseconds.
+   * @return Milliseconds, with one decimal under 10ms.
+   */
+  static String millis(final long nanos) {
+    if (nanos >= TimeUnit.MILLISECONDS.toNanos(10)) {
+      return Long.toString(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+    long tenths = nanos / 100_000;
+    return tenths / 10 + "." + tenths % 10;
+  }
+
+}
@@ -31,6 +31,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.stream.StreamSupport;
 
 import org.jooby.BodyFormatter;
@@ -63,6 +65,9 @@ public class ResponseImpl implements Response {
 
   private Charset charset;
 
+  /** Default charset (the request charset), resolved on first access. */
+  private final Supplier<Charset> defaultCharset;
+
   private final Optional<String> referer;
 
   private BodyConverterSelector selector;
@@ -73,9 +78,12 @@ public class ResponseImpl implements Response {
 
   private int maxBufferSize;
 
+  private CompletionStage<Result> deferred;
+
   public ResponseImpl(final Injector injector,
       final NativeResponse rsp, final int maxBufferSize, final Route route,
-      final Map<String, Object> locals, final Charset charset, final Optional<String> referer) {
+      final Map<String, Object> locals, final Supplier<Charset> charset,
+      final Optional<String> referer) {
     this.injector = requireNonNull(injector, "An injector is required.");
     this.rsp = requireNonNull(rsp, "A raw response is required.");
     this.maxBufferSize = maxBufferSize;
@@ -83,7 +91,7 @@ public class ResponseImpl implements Response {
     this.locals = requireNonNull(locals, "Request locals are required.");
 
     this.selector = injector.getInstance(BodyConverterSelector.class);
-    this.charset = requireNonNull(charset, "A charset is required.");
+    this.defaultCharset = requireNonNull(charset, "A charset is required.");
     this.referer = requireNonNull(referer, "A referer header is required.");
   }
 
@@ -144,6 +152,9 @@ public class ResponseImpl implements Response {
 
   @Override
   public Charset charset() {
+    if (charset == null) {
+      charset = defaultCharset.get();
+    }
     return charset;
   }
 
@@ -168,7 +179,7 @@ public class ResponseImpl implements Response {
   @Override
   public Response type(final MediaType type) {
     if (type.isText()) {
-      header("Content-Type", type.name() + ";charset=" + charset.name());
+      header("Content-Type", type.name() + ";charset=" + charset().name());
     } else {
       header("Content-Type", type.name());
     }
@@ -246,6 +257,18 @@ public class ResponseImpl implements Response {
     requireNonNull(result, "A result is required.");
     List<MediaType> produces = route.produces();
     Optional<Object> entity = result.get(produces);
+    if (entity.isPresent() && entity.get() instanceof CompletionStage) {
+      // deferred result, it is up to the http handler to send it once it completes
+      @SuppressWarnings("unchecked")
+      CompletionStage<Object> stage = (CompletionStage<Object>) entity.get();
+      deferred = stage.thenApply(value -> {
+        if (value == null) {
+          return Results.noContent();
+        }
+        return value instanceof Result ? (Result) value : result.set(value);
+      });
+      return;
+    }
     BodyFormatter converter = entity.isPresent()
         ? selector.formatter(entity.get(), produces)
             .orElseThrow(() -> new Err(Status.NOT_ACCEPTABLE, Joiner.on(", ").join(produces)))
@@ -287,9 +310,12 @@ public class ResponseImpl implements Response {
     long len = rsp.header("Content-Length").map(Long::parseLong).orElse((long) Integer.MAX_VALUE);
     int bufferSize = Math.min(maxBufferSize, (int) len);
 
+    RequestTimings timings = RequestTimings.current();
+
     // byte version of http body
     ExSupplier<OutputStream> stream = () -> {
-      return rsp.out(bufferSize);
+      OutputStream out = rsp.out(bufferSize);
+      return timings == null ? out : timings.count(out);
     };
 
     // text version of http body
@@ -298,6 +324,7 @@ public class ResponseImpl implements Response {
       return new OutputStreamWriter(stream.get(), charset());
     };
 
+    long begin = timings == null ? 0 : System.nanoTime();
     if (entity.isPresent()) {
       Object message = entity.get();
       if (message instanceof Status) {
@@ -307,9 +334,17 @@ public class ResponseImpl implements Response {
 
       fmt.format(message, new BodyFormatterContext(charset(), Collections.unmodifiableMap(locals),
           stream, writer));
+      if (timings != null) {
+        // bytes over the response buffer are written while rendering
+        timings.add(RequestTimings.Phase.RENDER, begin);
+        begin = System.nanoTime();
+      }
     }
     // end response
     end();
+    if (timings != null) {
+      timings.add(RequestTimings.Phase.WRITE, begin);
+    }
   }
 
   private void writeCookies() {
@@ -322,10 +357,19 @@ public class ResponseImpl implements Response {
 
   public void reset() {
     status = null;
+    deferred = null;
     this.cookies.clear();
     rsp.reset();
   }
 
+  /**
+   * @return A deferred result, set when a route sent a {@link CompletionStage} or
+   *         <code>null</code>.
+   */
+  CompletionStage<Result> deferred() {
+    return deferred;
+  }
+
   void route(final Route route) {
     this.route = route;
   }
@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jooby.util.VirtualThreads;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A named executor (a.k.a bulkhead) for routes. It is either a fixed thread pool with a bounded
+ * queue or a virtual thread per task executor with a max number of concurrent tasks.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class RouteExecutor {
+
+  public enum Type {
+    FIXED,
+
+    VIRTUAL;
+  }
+
+  private final String name;
+
+  private final Type type;
+
+  private final int threads;
+
+  private final ExecutorService executor;
+
+  /** Fixed pool queue or null. */
+  private final BlockingQueue<Runnable> queue;
+
+  /** Tasks admitted by a virtual executor: running or about to. */
+  private final AtomicInteger admitted = new AtomicInteger();
+
+  /** Running tasks of a virtual executor, fixed pools count their own. */
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final LongAdder rejected = new LongAdder();
+
+  public RouteExecutor(final String name, final Type type, final int threads, final int queue) {
+    this.name = requireNonNull(name, "A name is required.");
+    this.threads = threads;
+    if (type == Type.VIRTUAL && VirtualThreads.supported()) {
+      this.type = Type.VIRTUAL;
+      this.queue = null;
+      this.executor = VirtualThreads.newExecutor(name);
+    } else {
+      // virtual threads fall back to a fixed pool on JVMs without them
+      int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 2;
+      this.type = Type.FIXED;
+      this.queue = queue > 0 ? new ArrayBlockingQueue<>(queue) : new SynchronousQueue<>();
+      this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+          this.queue, new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
+    }
+  }
+
+  /**
+   * Execute a task or reject it when the executor is busy.
+   *
+   * @param task Task to run.
+   * @throws RejectedExecutionException When the executor is busy.
+   */
+  public void execute(final Runnable task) throws RejectedExecutionException {
+    if (type == Type.FIXED) {
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException ex) {
+        rejected.increment();
+        throw ex;
+      }
+      return;
+    }
+    boolean limit = threads > 0;
+    if (limit && admitted.incrementAndGet() > threads) {
+      admitted.decrementAndGet();
+      rejected.increment();
+      throw new RejectedExecutionException(name + " is busy: " + threads);
+    }
+    try {
+      executor.execute(() -> {
+        running.incrementAndGet();
+        try {
+          task.run();
+        } finally {
+          running.decrementAndGet();
+          if (limit) {
+            admitted.decrementAndGet();
+          }
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      if (limit) {
+        admitted.decrementAndGet();
+      }
+      rejected.increment();
+      throw ex;
+    }
+  }
+
+  /**
+   * @return Executor's name.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return Executor's type.
+   */
+  public Type type() {
+    return type;
+  }
+
+  /**
+   * @return Number of tasks waiting in the queue.
+   */
+  public int queued() {
+    return queue == null ? 0 : queue.size();
+  }
+
+  /**
+   * @return Number of running tasks.
+   */
+  public int active() {
+    if (type == Type.FIXED) {
+      return ((ThreadPoolExecutor) executor).getActiveCount();
+    }
+    return running.get();
+  }
+
+  /**
+   * @return Number of rejected tasks.
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Stop accepting new tasks, running tasks are allowed to finish.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  @Override
+  public String toString() {
+    return name + " {type: " + type + ", active: " + active() + ", queued: " + queued()
+        + ", rejected: " + rejected() + "}";
+  }
+
+}
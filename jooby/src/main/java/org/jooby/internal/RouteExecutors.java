@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.typesafe.config.Config;
+
+/**
+ * Named executors for routes, defined in the <code>executors</code> section:
+ *
+ * <pre>
+ *   executors {
+ *     reports {
+ *       # fixed or virtual
+ *       type = fixed
+ *       threads = 8
+ *       queue = 100
+ *     }
+ *   }
+ * </pre>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@Singleton
+public class RouteExecutors {
+
+  private final Map<String, RouteExecutor> executors = new LinkedHashMap<>();
+
+  @Inject
+  public RouteExecutors(final Config config) {
+    requireNonNull(config, "A config is required.");
+    Config executors = config.getConfig("executors");
+    for (String name : executors.root().keySet()) {
+      Config executor = executors.getConfig(name);
+      RouteExecutor.Type type = executor.hasPath("type")
+          ? RouteExecutor.Type.valueOf(executor.getString("type").toUpperCase())
+          : RouteExecutor.Type.FIXED;
+      int threads = executor.hasPath("threads") ? executor.getInt("threads") : 0;
+      if (type == RouteExecutor.Type.FIXED && threads <= 0) {
+        throw new IllegalArgumentException("Missing or bad executors." + name + ".threads");
+      }
+      int queue = executor.hasPath("queue") ? executor.getInt("queue") : 0;
+      this.executors.put(name, new RouteExecutor(name, type, threads, queue));
+    }
+  }
+
+  /**
+   * @param name Executor's name.
+   * @return An executor.
+   * @throws IllegalArgumentException If there is no such executor.
+   */
+  public RouteExecutor get(final String name) {
+    RouteExecutor executor = executors.get(name);
+    if (executor == null) {
+      throw new IllegalArgumentException("No executor: " + name
+          + ", it must be defined at: executors." + name);
+    }
+    return executor;
+  }
+
+  /**
+   * @return All the executors.
+   */
+  public List<RouteExecutor> executors() {
+    return new ArrayList<>(executors.values());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executors.values().forEach(RouteExecutor::shutdown);
+  }
+
+}
@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jooby.Route;
+
+import com.typesafe.config.Config;
+
+/**
+ * Per route metrics, driven by <code>server.metrics</code>. A request is counted under the last
+ * route it matched, which is usually the route handler (filters go first). Requests without a
+ * route are counted under <code>none</code>.
+ * <p>
+ * Metrics, concurrency limits, route executors and the access log are exported in the Prometheus
+ * text format.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@Singleton
+public class RouteMetrics {
+
+  private static final String[] STATUS = {"1xx", "2xx", "3xx", "4xx", "5xx" };
+
+  private static final String[] LE = new String[RouteStats.BUCKETS];
+
+  static {
+    for (int i = 0; i < LE.length - 1; i++) {
+      LE[i] = seconds(RouteStats.upperBound(i));
+    }
+    LE[LE.length - 1] = "+Inf";
+  }
+
+  private final boolean enabled;
+
+  private final ConcurrencyLimits limits;
+
+  private final RouteExecutors executors;
+
+  private final AccessLog accessLog;
+
+  /** Route stats by HTTP method and route pattern. */
+  private final ConcurrentMap<String, ConcurrentMap<String, RouteStats>> routes =
+      new ConcurrentHashMap<>();
+
+  private final RouteStats none = new RouteStats("*", "none");
+
+  @Inject
+  public RouteMetrics(final Config config, final ConcurrencyLimits limits,
+      final RouteExecutors executors, final AccessLog accessLog) {
+    requireNonNull(config, "A config is required.");
+    this.enabled = config.getBoolean("server.metrics.Enabled");
+    this.limits = requireNonNull(limits, "Concurrency limits are required.");
+    this.executors = requireNonNull(executors, "Route executors are required.");
+    this.accessLog = requireNonNull(accessLog, "An access log is required.");
+  }
+
+  /**
+   * @return True, if metrics are on.
+   */
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * Find the stats of a route.
+   *
+   * @param route Matched route or <code>null</code> when there isn't any.
+   * @return Route stats or <code>null</code> when metrics are off.
+   */
+  public RouteStats stats(final Route route) {
+    if (!enabled) {
+      return null;
+    }
+    if (route == null) {
+      return none;
+    }
+    String method = route.method();
+    ConcurrentMap<String, RouteStats> patterns = routes.get(method);
+    if (patterns == null) {
+      patterns = routes.computeIfAbsent(method, k -> new ConcurrentHashMap<>());
+    }
+    String pattern = route.pattern();
+    RouteStats stats = patterns.get(pattern);
+    if (stats == null) {
+      stats = patterns.computeIfAbsent(pattern, k -> new RouteStats(method, k));
+    }
+    return stats;
+  }
+
+  /**
+   * @return All the metrics in the Prometheus text format.
+   */
+  public String scrape() {
+    StringBuilder buffer = new StringBuilder();
+
+    Map<String, long[]> snapshots = new TreeMap<>();
+    Map<String, RouteStats> all = new TreeMap<>();
+    routes.values().forEach(patterns -> patterns.values()
+        .forEach(stats -> all.put(stats.toString(), stats)));
+    all.put(none.toString(), none);
+    all.forEach((key, stats) -> snapshots.put(key, stats.snapshot()));
+
+    help(buffer, "jooby_requests_total", "counter", "Requests by route and status class.");
+    snapshots.forEach((key, snapshot) -> {
+      RouteStats stats = all.get(key);
+      for (int i = 0; i < STATUS.length; i++) {
+        long count = snapshot[RouteStats.STATUS + i];
+        if (count > 0) {
+          sample(buffer, "jooby_requests_total", labels(stats) + ",status=\"" + STATUS[i] + "\"",
+              count);
+        }
+      }
+    });
+
+    help(buffer, "jooby_requests_inflight", "gauge", "Requests in progress by route.");
+    snapshots.forEach((key, snapshot) ->
+        sample(buffer, "jooby_requests_inflight", labels(all.get(key)),
+            snapshot[RouteStats.INFLIGHT]));
+
+    help(buffer, "jooby_request_duration_seconds", "histogram", "Request latency by route.");
+    snapshots.forEach((key, snapshot) -> {
+      String labels = labels(all.get(key));
+      long count = 0;
+      for (int i = 0; i < RouteStats.BUCKETS; i++) {
+        count += snapshot[RouteStats.BUCKET + i];
+        sample(buffer, "jooby_request_duration_seconds_bucket",
+            labels + ",le=\"" + LE[i] + "\"", count);
+      }
+      sample(buffer, "jooby_request_duration_seconds_sum", labels,
+          seconds(snapshot[RouteStats.SUM]));
+      sample(buffer, "jooby_request_duration_seconds_count", labels, count);
+    });
+
+    help(buffer, "jooby_request_phase_seconds_total", "counter",
+        "Time spent per request phase by route.");
+    snapshots.forEach((key, snapshot) -> {
+      String labels = labels(all.get(key));
+      for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+        sample(buffer, "jooby_request_phase_seconds_total",
+            labels + ",phase=\"" + phase.label() + "\"",
+            seconds(snapshot[RouteStats.PHASE + phase.ordinal()]));
+      }
+    });
+
+    if (limits.limits().size() > 0) {
+      help(buffer, "jooby_limit", "gauge", "Concurrency limit by route group.");
+      limits.limits().forEach(limit -> sample(buffer, "jooby_limit",
+          "group=\"" + escape(limit.name()) + "\"", limit.limit()));
+
+      help(buffer, "jooby_limit_inflight", "gauge", "Admitted requests by route group.");
+      limits.limits().forEach(limit -> sample(buffer, "jooby_limit_inflight",
+          "group=\"" + escape(limit.name()) + "\"", limit.inflight()));
+
+      help(buffer, "jooby_limit_rejected_total", "counter",
+          "Requests rejected by the concurrency limit of a route group.");
+      limits.limits().forEach(limit -> sample(buffer, "jooby_limit_rejected_total",
+          "group=\"" + escape(limit.name()) + "\"", limit.rejected()));
+    }
+
+    if (executors.executors().size() > 0) {
+      help(buffer, "jooby_executor_active", "gauge", "Running requests by route executor.");
+      executors.executors().forEach(executor -> sample(buffer, "jooby_executor_active",
+          "executor=\"" + escape(executor.name()) + "\"", executor.active()));
+
+      help(buffer, "jooby_executor_queued", "gauge", "Waiting requests by route executor.");
+      executors.executors().forEach(executor -> sample(buffer, "jooby_executor_queued",
+          "executor=\"" + escape(executor.name()) + "\"", executor.queued()));
+
+      help(buffer, "jooby_executor_rejected_total", "counter",
+          "Requests rejected by a route executor.");
+      executors.executors().forEach(executor -> sample(buffer, "jooby_executor_rejected_total",
+          "executor=\"" + escape(executor.name()) + "\"", executor.rejected()));
+    }
+
+    if (accessLog.enabled()) {
+      help(buffer, "jooby_access_log_dropped_total", "counter",
+          "Access log entries dropped because the buffer was full.");
+      buffer.append("jooby_access_log_dropped_total ").append(accessLog.dropped()).append('\n');
+    }
+
+    return buffer.toString();
+  }
+
+  private static void help(final StringBuilder buffer, final String name, final String type,
+      final String help) {
+    buffer.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    buffer.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(final StringBuilder buffer, final String name, final String labels,
+      final Object value) {
+    buffer.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+  }
+
+  private static String labels(final RouteStats stats) {
+    return "method=\"" + escape(stats.method()) + "\",route=\"" + escape(stats.pattern()) + "\"";
+  }
+
+  private static String escape(final String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String seconds(final long nanos) {
+    return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+  }
+
+}
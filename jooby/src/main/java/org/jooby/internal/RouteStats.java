@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Request stats of a route: in-flight requests, requests per status class, a latency histogram
+ * and the time spent per request phase. Recording is lock-free: each thread writes to one of a
+ * few stripes, and stripes are merged on {@link #snapshot()}.
+ * <p>
+ * The histogram is log-linear (like HdrHistogram with three significant bits): a first bucket up
+ * to 2^{@link #MIN_BUCKET} nanoseconds (~1us), then each power of two up to 2^{@link #MAX_BUCKET}
+ * nanoseconds (~68s) is split in {@link #SUB_BUCKETS} buckets of the same width (a bucket is at
+ * most 25% of its lower bound), plus an overflow bucket. Finding a bucket is a leading zeros
+ * count and a shift, no search.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class RouteStats {
+
+  /** Upper bound of the first bucket: 2^10ns. */
+  public static final int MIN_BUCKET = 10;
+
+  /** Upper bound of the last bucket before the overflow bucket: 2^36ns. */
+  public static final int MAX_BUCKET = 36;
+
+  /** Bits of a sub-bucket index. */
+  private static final int SUB_BITS = 2;
+
+  /** Buckets per power of two. */
+  public static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+  /** Number of buckets, the last one has no upper bound. */
+  public static final int BUCKETS = 2 + (MAX_BUCKET - MIN_BUCKET) * SUB_BUCKETS;
+
+  /** Snapshot slot of the in-flight requests. */
+  public static final int INFLIGHT = 0;
+
+  /** Snapshot slot of the total latency, in nanoseconds. */
+  public static final int SUM = 1;
+
+  /** First snapshot slot of the request count per status class: 1xx, 2xx, 3xx, 4xx and 5xx. */
+  public static final int STATUS = 2;
+
+  /** First snapshot slot of the histogram buckets. */
+  public static final int BUCKET = STATUS + 5;
+
+  /** First snapshot slot of the time spent per {@link RequestTimings.Phase}, in nanoseconds. */
+  public static final int PHASE = BUCKET + BUCKETS;
+
+  /** Number of snapshot slots. */
+  public static final int SLOTS = PHASE + RequestTimings.Phase.values().length;
+
+  private static final RequestTimings.Phase[] PHASES = RequestTimings.Phase.values();
+
+  /** Keep stripes on their own cache lines. */
+  private static final int PAD = 8;
+
+  private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+  private final String method;
+
+  private final String pattern;
+
+  private final AtomicReferenceArray<AtomicLongArray> stripes =
+      new AtomicReferenceArray<>(STRIPES);
+
+  public RouteStats(final String method, final String pattern) {
+    this.method = requireNonNull(method, "A method is required.");
+    this.pattern = requireNonNull(pattern, "A pattern is required.");
+  }
+
+  /**
+   * @return HTTP method of the route or <code>*</code>.
+   */
+  public String method() {
+    return method;
+  }
+
+  /**
+   * @return Route pattern.
+   */
+  public String pattern() {
+    return pattern;
+  }
+
+  /**
+   * Record the start of a request.
+   */
+  public void start() {
+    stripe().getAndIncrement(PAD + INFLIGHT);
+  }
+
+  /**
+   * Record the end of a request.
+   *
+   * @param status Response status code.
+   * @param nanos Latency, in nanoseconds.
+   */
+  public void end(final int status, final long nanos) {
+    AtomicLongArray stripe = stripe();
+    stripe.getAndDecrement(PAD + INFLIGHT);
+    stripe.getAndAdd(PAD + SUM, nanos);
+    stripe.getAndIncrement(PAD + STATUS + Math.max(0, Math.min(status / 100 - 1, 4)));
+    stripe.getAndIncrement(PAD + BUCKET + bucket(nanos));
+  }
+
+  /**
+   * Record the phases of a finished request.
+   *
+   * @param timings Request timings.
+   */
+  public void phases(final RequestTimings timings) {
+    AtomicLongArray stripe = stripe();
+    for (RequestTimings.Phase phase : PHASES) {
+      stripe.getAndAdd(PAD + PHASE + phase.ordinal(), timings.nanos(phase));
+    }
+  }
+
+  /**
+   * @return All the stripes merged, see the slot constants.
+   */
+  public long[] snapshot() {
+    long[] snapshot = new long[SLOTS];
+    for (int i = 0; i < STRIPES; i++) {
+      AtomicLongArray stripe = stripes.get(i);
+      if (stripe != null) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+          snapshot[slot] += stripe.get(PAD + slot);
+        }
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * @param nanos Latency, in nanoseconds.
+   * @return Bucket of the latency, upper bounds are inclusive (see {@link #upperBound(int)}).
+   */
+  public static int bucket(final long nanos) {
+    long value = Math.max(nanos, 1) - 1;
+    if (value < 1L << MIN_BUCKET) {
+      return 0;
+    }
+    // value in [2^exp, 2^(exp+1)), the next bits after the leading one pick the sub-bucket
+    int exp = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+    int bucket = 1 + (exp - MIN_BUCKET) * SUB_BUCKETS + sub;
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+  /**
+   * @param bucket A bucket.
+   * @return Upper bound of the bucket in nanoseconds, or <code>-1</code> for the last one.
+   */
+  public static long upperBound(final int bucket) {
+    if (bucket == 0) {
+      return 1L << MIN_BUCKET;
+    }
+    if (bucket >= BUCKETS - 1) {
+      return -1;
+    }
+    int exp = MIN_BUCKET + (bucket - 1) / SUB_BUCKETS;
+    int sub = (bucket - 1) % SUB_BUCKETS;
+    return (1L << exp) + ((sub + 1L) << (exp - SUB_BITS));
+  }
+
+  private AtomicLongArray stripe() {
+    int i = (int) Thread.currentThread().getId() & (STRIPES - 1);
+    AtomicLongArray stripe = stripes.get(i);
+    if (stripe == null) {
+      stripes.compareAndSet(i, null, new AtomicLongArray(PAD + SLOTS + PAD));
+      stripe = stripes.get(i);
+    }
+    return stripe;
+  }
+
+  private static int stripes(final int processors) {
+    // next power of two of 2 x processors, so a mask finds the stripe
+    int stripes = Integer.highestOneBit(Math.max(1, processors * 2 - 1)) << 1;
+    return Math.min(stripes, 64);
+  }
+
+  @Override
+  public String toString() {
+    return method + pattern;
+  }
+
+}
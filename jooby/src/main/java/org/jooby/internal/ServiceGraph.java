@@ -0,0 +1,319 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.HasDependencies;
+import com.google.inject.spi.ProviderKeyBinding;
+
+/**
+ * Run start or stop callbacks of services following their dependencies: a callback runs once the
+ * callbacks of the services it depends on are done. Independent callbacks run at the same time,
+ * up to a number of threads.
+ * <p>
+ * Dependencies are found from the injector bindings, including the ones going through bindings
+ * without a callback. Cycles (possible with provider injection) are ignored.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+class ServiceGraph {
+
+  /** A start or stop callback. */
+  interface Callback {
+    void run() throws Exception;
+  }
+
+  /** A service callback and the services it waits for. */
+  static class Node {
+
+    private final String name;
+
+    private final Callback callback;
+
+    /** When true, the callback doesn't run if a dependency failed. */
+    private final boolean strict;
+
+    private final Set<Node> deps = new LinkedHashSet<>();
+
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private volatile Thread owner;
+
+    /** Error of the callback, not of a dependency. */
+    private volatile Throwable error;
+
+    public Node(final String name, final boolean strict, final Callback callback) {
+      this.name = requireNonNull(name, "A name is required.");
+      this.strict = strict;
+      this.callback = requireNonNull(callback, "A callback is required.");
+    }
+
+    /**
+     * @return Service name.
+     */
+    public String name() {
+      return name;
+    }
+
+    /**
+     * @return Error of the callback or <code>null</code>.
+     */
+    public Throwable error() {
+      return error;
+    }
+
+    /**
+     * Run the callback, unless it is running or done. Dependencies run first.
+     */
+    public void run() {
+      if (!claimed.compareAndSet(false, true)) {
+        return;
+      }
+      owner = Thread.currentThread();
+      for (Node dep : deps) {
+        try {
+          dep.await();
+        } catch (RuntimeException ex) {
+          if (strict) {
+            done.completeExceptionally(new IllegalStateException(
+                name + " depends on " + dep.name + ", which failed", ex));
+            return;
+          }
+        }
+      }
+      try {
+        callback.run();
+        done.complete(null);
+      } catch (Throwable ex) {
+        error = ex;
+        done.completeExceptionally(ex);
+      }
+    }
+
+    /**
+     * Run the callback (on the caller thread) or wait until it is done.
+     *
+     * @throws RuntimeException If the callback or a dependency failed.
+     */
+    public void await() {
+      run();
+      if (owner == Thread.currentThread() && !done.isDone()) {
+        // asked from its own callback
+        return;
+      }
+      try {
+        done.join();
+      } catch (CompletionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new IllegalStateException(name + " failed", cause);
+      }
+    }
+
+    /**
+     * @return True, once the callback is done (successfully or not).
+     */
+    public boolean done() {
+      return done.isDone();
+    }
+
+    private void awaitQuietly() {
+      try {
+        await();
+      } catch (RuntimeException ex) {
+        // reported by error()
+      }
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  private ServiceGraph() {
+  }
+
+  /**
+   * Find the dependencies between nodes.
+   *
+   * @param injector An injector.
+   * @param nodes Nodes by binding key.
+   * @param bindings Bindings of the nodes, by key.
+   * @param reverse False, a node waits for the nodes it depends on (start). True, a node waits for
+   *        the nodes depending on it (stop).
+   */
+  public static void link(final Injector injector, final Map<Key<?>, Node> nodes,
+      final Map<Key<?>, Binding<?>> bindings, final boolean reverse) {
+    for (Map.Entry<Key<?>, Node> entry : nodes.entrySet()) {
+      Node node = entry.getValue();
+      Binding<?> binding = bindings.get(entry.getKey());
+      if (binding != null) {
+        Set<Node> deps = new LinkedHashSet<>();
+        collect(injector, binding, nodes, node, deps, new HashSet<>());
+        for (Node dep : deps) {
+          if (reverse) {
+            dep.deps.add(node);
+          } else {
+            node.deps.add(dep);
+          }
+        }
+      }
+    }
+    acyclic(nodes.values());
+  }
+
+  /**
+   * Run the callbacks and wait for them.
+   *
+   * @param nodes Nodes to run, in the preferred order.
+   * @param threads Max number of callbacks running at the same time.
+   * @param threadName Name of the threads.
+   */
+  public static void run(final Collection<Node> nodes, final int threads,
+      final String threadName) {
+    if (threads <= 1 || nodes.size() <= 1) {
+      nodes.forEach(Node::awaitQuietly);
+      return;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, nodes.size()),
+        new ThreadFactoryBuilder().setNameFormat(threadName + "-%d").setDaemon(true).build());
+    try {
+      nodes.forEach(node -> executor.execute(node::run));
+      // help while waiting
+      nodes.forEach(Node::awaitQuietly);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * @param nodes Nodes.
+   * @return Nodes whose callback failed (not because of a dependency).
+   */
+  public static List<Node> failures(final Collection<Node> nodes) {
+    List<Node> failures = new ArrayList<>();
+    for (Node node : nodes) {
+      if (node.error() != null) {
+        failures.add(node);
+      }
+    }
+    return failures;
+  }
+
+
+  private static void collect(final Injector injector, final Binding<?> binding,
+      final Map<Key<?>, Node> nodes, final Node node, final Set<Node> deps,
+      final Set<Key<?>> visited) {
+    for (Key<?> key : dependencies(binding)) {
+      if (visited.add(key)) {
+        Node target = nodes.get(key);
+        if (target == null) {
+          Binding<?> dep = injector.getExistingBinding(key);
+          if (dep != null) {
+            collect(injector, dep, nodes, node, deps, visited);
+          }
+        } else if (target != node) {
+          deps.add(target);
+        }
+      }
+    }
+  }
+
+  private static Collection<Key<?>> dependencies(final Binding<?> binding) {
+    if (binding instanceof ProviderKeyBinding) {
+      return Collections.singleton(((ProviderKeyBinding<?>) binding).getProviderKey());
+    }
+    if (binding instanceof HasDependencies) {
+      return ((HasDependencies) binding).getDependencies().stream()
+          .map(Dependency::getKey)
+          .map(ServiceGraph::unwrapProvider)
+          .collect(Collectors.toList());
+    }
+    return Collections.emptyList();
+  }
+
+  /** Provider&lt;T&gt; depends on T. */
+  private static Key<?> unwrapProvider(final Key<?> key) {
+    Class<?> rawType = key.getTypeLiteral().getRawType();
+    Type type = key.getTypeLiteral().getType();
+    if ((rawType == javax.inject.Provider.class || rawType == com.google.inject.Provider.class)
+        && type instanceof ParameterizedType) {
+      return key.ofType(((ParameterizedType) type).getActualTypeArguments()[0]);
+    }
+    return key;
+  }
+
+  /** Remove the edges closing a cycle. */
+  private static void acyclic(final Collection<Node> nodes) {
+    Map<Node, Boolean> visiting = new HashMap<>();
+    for (Node node : nodes) {
+      acyclic(node, visiting);
+    }
+  }
+
+  private static void acyclic(final Node node, final Map<Node, Boolean> visiting) {
+    if (visiting.containsKey(node)) {
+      return;
+    }
+    visiting.put(node, Boolean.TRUE);
+    Iterator<Node> deps = node.deps.iterator();
+    while (deps.hasNext()) {
+      Node dep = deps.next();
+      if (visiting.get(dep) == Boolean.TRUE) {
+        deps.remove();
+      } else {
+        acyclic(dep, visiting);
+      }
+    }
+    visiting.put(node, Boolean.FALSE);
+  }
+
+}
@@ -43,6 +43,7 @@ import org.jooby.Response;
 import org.jooby.Session;
 import org.jooby.Session.Definition;
 import org.jooby.internal.reqparam.ParserExecutor;
+import org.jooby.util.Jfr;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,10 +67,14 @@ public class SessionManager {
 
   private final long timeout;
 
+  /** Store name of JFR events. */
+  private final String storeName;
+
   @Inject
   public SessionManager(final Config config, final Definition def, final Session.Store store,
       final ParserExecutor resolver) {
     this.store = store;
+    this.storeName = store.getClass().getName();
     this.resolver = resolver;
     this.secret = config.hasPath("application.secret")
         ? config.getString("application.secret")
@@ -127,9 +132,13 @@ public class SessionManager {
         .map(cookie -> {
           String sessionId = unsign(cookie.value().get());
           log.debug("loading session: {}", sessionId);
-          Session session = store.get(
-              new SessionImpl.Builder(resolver, false, sessionId, timeout)
-              );
+          Session session;
+          Jfr.Span span = Jfr.session("load", storeName);
+          try {
+            session = store.get(new SessionImpl.Builder(resolver, false, sessionId, timeout));
+          } finally {
+            span.commit();
+          }
           if (timeout >= 0 && session != null) {
             Cookie.Definition setCookie = cookie(session);
             log.debug("  touch cookie: {}", setCookie);
@@ -141,7 +150,12 @@ public class SessionManager {
 
   public void destroy(final Session session) {
     log.debug("  deleting: {}", session.id());
-    store.delete(session.id());
+    Jfr.Span span = Jfr.session("delete", storeName);
+    try {
+      store.delete(session.id());
+    } finally {
+      span.commit();
+    }
   }
 
   public void requestDone(final Session session) {
@@ -160,21 +174,35 @@ public class SessionManager {
     session.touch();
     if (session.isNew()) {
       session.aboutToSave();
-      store.create(session);
+      save(session);
     } else if (session.isDirty()) {
       session.aboutToSave();
-      store.save(session);
+      save(session);
     } else {
       long now = System.currentTimeMillis();
       long interval = now - session.savedAt();
       if (interval >= saveInterval) {
         session.aboutToSave();
-        store.save(session);
+        save(session);
       }
     }
     session.markAsSaved();
   }
 
+  private void save(final SessionImpl session) {
+    boolean isNew = session.isNew();
+    Jfr.Span span = Jfr.session(isNew ? "create" : "save", storeName);
+    try {
+      if (isNew) {
+        store.create(session);
+      } else {
+        store.save(session);
+      }
+    } finally {
+      span.commit();
+    }
+  }
+
   private String sign(final String sessionId) {
     return secret == null ? sessionId : Cookie.Signature.sign(sessionId, secret);
   }
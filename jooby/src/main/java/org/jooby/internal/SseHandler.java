@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.MediaType;
+import org.jooby.Request;
+import org.jooby.Response;
+import org.jooby.Route;
+import org.jooby.Sse;
+import org.jooby.spi.NativeSse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Injector;
+import com.typesafe.config.Config;
+
+/**
+ * Upgrade a request to a {@link Sse} connection and call the {@link Sse.Handler}.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class SseHandler implements Route.Filter {
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(Sse.class);
+
+  private final Sse.Handler handler;
+
+  public SseHandler(final Sse.Handler handler) {
+    this.handler = requireNonNull(handler, "A handler is required.");
+  }
+
+  @Override
+  public void handle(final Request req, final Response rsp, final Route.Chain chain)
+      throws Exception {
+    RequestImpl root = (RequestImpl) Request.Forwarding.unwrap(req);
+    Injector injector = req.require(Injector.class);
+    Config config = req.require(Config.class);
+    SseKeepAlive keepAlive = req.require(SseKeepAlive.class);
+
+    NativeSse upgrade = root.upgrade(NativeSse.class);
+    MediaType type = req.route().produces().get(0);
+    SseImpl sse = new SseImpl(injector, upgrade, type,
+        req.header("Last-Event-ID").toOptional(String.class), keepAlive.scheduler(),
+        config.getBytes("server.sse.QueueSize"));
+
+    upgrade.handshake();
+
+    sse.keepAlive(keepAlive.interval(), TimeUnit.MILLISECONDS);
+
+    try {
+      handler.handle(req, sse);
+    } catch (Throwable ex) {
+      // response was committed, nothing to render
+      log.error("execution of: " + req.path() + " resulted in exception", ex);
+      sse.close();
+    }
+  }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jooby.BodyFormatter;
+import org.jooby.MediaType;
+import org.jooby.Sse;
+import org.jooby.spi.NativeSse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Injector;
+
+public class SseImpl implements Sse {
+
+  private static final byte[] KEEP_ALIVE = ":\n\n".getBytes(Charsets.UTF_8);
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(Sse.class);
+
+  private final String id = UUID.randomUUID().toString();
+
+  private final Injector injector;
+
+  private final NativeSse sse;
+
+  private final MediaType type;
+
+  private final Optional<String> lastEventId;
+
+  private final ScheduledExecutorService scheduler;
+
+  private final long queueSize;
+
+  /** Bytes handed to the native connection but not written yet. */
+  private long pending;
+
+  private final List<Runnable> onClose = new CopyOnWriteArrayList<>();
+
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private volatile long lastWrite = System.nanoTime();
+
+  private ScheduledFuture<?> keepAlive;
+
+  public SseImpl(final Injector injector, final NativeSse sse, final MediaType type,
+      final Optional<String> lastEventId, final ScheduledExecutorService scheduler,
+      final long queueSize) {
+    this.injector = requireNonNull(injector, "An injector is required.");
+    this.sse = requireNonNull(sse, "A native sse is required.");
+    this.type = requireNonNull(type, "A type is required.");
+    this.lastEventId = requireNonNull(lastEventId, "Last event ID is required.");
+    this.scheduler = requireNonNull(scheduler, "A scheduler is required.");
+    this.queueSize = queueSize;
+
+    sse.onClose(this::fireClose);
+  }
+
+  @Override
+  public String id() {
+    return id;
+  }
+
+  @Override
+  public Optional<String> lastEventId() {
+    return lastEventId;
+  }
+
+  @Override
+  public CompletableFuture<Optional<Object>> send(final Event event) {
+    requireNonNull(event, "An event is required.");
+    if (!isOpen()) {
+      CompletableFuture<Optional<Object>> future = new CompletableFuture<>();
+      future.completeExceptionally(new IOException("Server-sent events connection is closed: " + id));
+      return future;
+    }
+    try {
+      byte[] data = encode(event);
+      return write(data).thenApply(v -> event.id());
+    } catch (Throwable ex) {
+      CompletableFuture<Optional<Object>> future = new CompletableFuture<>();
+      future.completeExceptionally(ex);
+      return future;
+    }
+  }
+
+  @Override
+  public synchronized Sse keepAlive(final long time, final TimeUnit unit) {
+    if (keepAlive != null) {
+      keepAlive.cancel(false);
+      keepAlive = null;
+    }
+    long nanos = unit.toNanos(time);
+    if (nanos > 0 && isOpen()) {
+      keepAlive = scheduler.scheduleWithFixedDelay(() -> {
+        // only if nothing was sent lately
+        if (isOpen() && System.nanoTime() - lastWrite >= nanos) {
+          write(KEEP_ALIVE).whenComplete((v, x) -> {
+            if (x != null) {
+              log.debug("keep alive of {} resulted in exception", id, x);
+              close();
+            }
+          });
+        }
+      }, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+    return this;
+  }
+
+  @Override
+  public Sse onClose(final Runnable task) {
+    onClose.add(requireNonNull(task, "A task is required."));
+    return this;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return !closed.get() && sse.isOpen();
+  }
+
+  @Override
+  public void close() {
+    if (!closed.get()) {
+      sse.close();
+      fireClose();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "sse " + id;
+  }
+
+  /**
+   * Hand data to the native connection. A client that doesn't keep up with the events (more than
+   * <code>server.sse.QueueSize</code> bytes pending) is disconnected, so it can't grow the queue
+   * of the native connection. The first chunk always goes, regardless of its size.
+   *
+   * @param data Encoded events.
+   * @return A future.
+   */
+  private CompletableFuture<Void> write(final byte[] data) {
+    boolean full;
+    long bytes;
+    synchronized (this) {
+      bytes = pending;
+      full = pending > 0 && pending + data.length > queueSize;
+      if (!full) {
+        pending += data.length;
+      }
+    }
+    if (full) {
+      log.debug("closing {}, {} bytes pending", id, bytes);
+      close();
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(new IOException("Server-sent events queue is full: " + id
+          + ", " + bytes + " bytes pending"));
+      return future;
+    }
+    lastWrite = System.nanoTime();
+    return sse.send(data).whenComplete((v, x) -> {
+      synchronized (this) {
+        pending -= data.length;
+      }
+    });
+  }
+
+  private void fireClose() {
+    if (closed.compareAndSet(false, true)) {
+      log.debug("closing {}", id);
+      synchronized (this) {
+        if (keepAlive != null) {
+          keepAlive.cancel(false);
+          keepAlive = null;
+        }
+      }
+      for (Runnable task : onClose) {
+        try {
+          task.run();
+        } catch (Throwable ex) {
+          log.error("close callback of " + id + " resulted in exception", ex);
+        }
+      }
+    }
+  }
+
+  private byte[] encode(final Event event) throws Exception {
+    StringBuilder buffer = new StringBuilder();
+    event.comment().ifPresent(comment -> lines(buffer, ":", comment));
+    event.id().ifPresent(id -> lines(buffer, "id:", id.toString()));
+    event.name().ifPresent(name -> lines(buffer, "event:", name));
+    event.retry().ifPresent(retry -> buffer.append("retry:").append(retry).append('\n'));
+    lines(buffer, "data:", format(event.data(), event.type().orElse(type)));
+    buffer.append('\n');
+    return buffer.toString().getBytes(Charsets.UTF_8);
+  }
+
+  private String format(final Object data, final MediaType type) throws Exception {
+    if (data instanceof CharSequence) {
+      return data.toString();
+    }
+    Optional<BodyFormatter> formatter = injector.getInstance(BodyConverterSelector.class)
+        .formatter(data, ImmutableList.of(type));
+    if (!formatter.isPresent()) {
+      return data.toString();
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    formatter.get().format(data, new BodyFormatterContext(Charsets.UTF_8, () -> out,
+        () -> new OutputStreamWriter(out, Charsets.UTF_8)));
+    return new String(out.toByteArray(), Charsets.UTF_8);
+  }
+
+  private static void lines(final StringBuilder buffer, final String field, final String value) {
+    int start = 0;
+    int len = value.length();
+    for (int i = 0; i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch == '\n' || ch == '\r') {
+        buffer.append(field).append(value, start, i).append('\n');
+        if (ch == '\r' && i + 1 < len && value.charAt(i + 1) == '\n') {
+          i += 1;
+        }
+        start = i + 1;
+      }
+    }
+    buffer.append(field).append(value, start, len).append('\n');
+  }
+
+}
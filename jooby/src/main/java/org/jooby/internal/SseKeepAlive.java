@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jooby.Sse;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+
+/**
+ * Keep alive of {@link Sse} connections, from <code>server.sse.KeepAlive</code>. It owns a single
+ * thread, started by the first connection and stopped with the application, so idle connections
+ * don't use any other thread.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+@Singleton
+public class SseKeepAlive {
+
+  private final long interval;
+
+  private ScheduledExecutorService scheduler;
+
+  @Inject
+  public SseKeepAlive(final Config config) {
+    requireNonNull(config, "A config is required.");
+    this.interval = config.getDuration("server.sse.KeepAlive", TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return Keep alive interval in millis, <code>0</code> when off.
+   */
+  public long interval() {
+    return interval;
+  }
+
+  /**
+   * @return The keep alive thread.
+   */
+  public synchronized ScheduledExecutorService scheduler() {
+    if (scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("sse-keep-alive")
+          .setDaemon(true)
+          .build());
+    }
+    return scheduler;
+  }
+
+  @PreDestroy
+  public synchronized void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+}
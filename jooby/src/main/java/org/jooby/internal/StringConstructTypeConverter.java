@@ -30,6 +30,8 @@ import com.google.inject.spi.TypeConverter;
 class StringConstructTypeConverter<T> extends AbstractMatcher<TypeLiteral<T>>
     implements TypeConverter {
 
+  private final StringConstructorParser converter = new StringConstructorParser();
+
   @Override
   public Object convert(final String value, final TypeLiteral<?> type) {
     Class<?> rawType = type.getRawType();
@@ -37,7 +39,7 @@ class StringConstructTypeConverter<T> extends AbstractMatcher<TypeLiteral<T>>
       if (rawType == Locale.class) {
         return LocaleUtils.toLocale(value);
       }
-      return StringConstructorParser.parse(type, value);
+      return converter.parse(type, value);
     } catch (Exception ex) {
       throw new IllegalStateException("Can't convert: " + value + " to " + type, ex);
     }
@@ -49,7 +51,7 @@ class StringConstructTypeConverter<T> extends AbstractMatcher<TypeLiteral<T>>
     if (Primitives.isWrapperType(rawType)) {
       return false;
     }
-    return new StringConstructorParser().matches(type);
+    return converter.matches(type);
   }
 
   @Override
@@ -45,6 +45,7 @@ import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.typesafe.config.Config;
 
 public class WebSocketImpl implements WebSocket {
 
@@ -79,7 +80,7 @@ public class WebSocketImpl implements WebSocket {
 
   private Injector injector;
 
-  private boolean suspended;
+  private WsOutboundQueue outbound;
 
   public WebSocketImpl(final Handler handler, final String path,
       final String pattern, final Map<Object, String> vars,
@@ -99,18 +100,12 @@ public class WebSocketImpl implements WebSocket {
 
   @Override
   public void resume() {
-    if (suspended) {
-      ws.resume();
-      suspended = false;
-    }
+    outbound.resume();
   }
 
   @Override
   public void pause() {
-    if (!suspended) {
-      ws.pause();
-      suspended = true;
-    }
+    outbound.pause();
   }
 
   @Override
@@ -125,19 +120,39 @@ public class WebSocketImpl implements WebSocket {
     requireNonNull(success, "A success callback is required.");
     requireNonNull(err, "An error callback is required.");
 
+    // binary data goes as it is, no formatter and no intermediate buffer
+    if (data instanceof ByteBuffer) {
+      outbound.send(((ByteBuffer) data).duplicate(), success, err);
+      return;
+    }
+    if (data instanceof byte[]) {
+      outbound.send(ByteBuffer.wrap((byte[]) data), success, err);
+      return;
+    }
+
     Optional<BodyFormatter> formatter = injector.getInstance(BodyConverterSelector.class)
         .formatter(data, ImmutableList.of(produces));
     if (formatter.isPresent()) {
-      ExSupplier<OutputStream> stream = () -> stream(ws, success, err, false);
-      ExSupplier<Writer> writer = () -> new OutputStreamWriter(stream(ws, success, err, true),
+      ExSupplier<OutputStream> stream = () -> stream(outbound, success, err, false);
+      ExSupplier<Writer> writer = () -> new OutputStreamWriter(stream(outbound, success, err, true),
           Charsets.UTF_8);
       formatter.get().format(data, new BodyFormatterContext(Charsets.UTF_8, stream, writer));
     } else {
       // TODO: complete me!
-      ws.send(data.toString(), success, err);
+      outbound.send(data.toString(), success, err);
     }
   }
 
+  @Override
+  public int queueSize() {
+    return outbound == null ? 0 : outbound.size();
+  }
+
+  @Override
+  public long queueBytes() {
+    return outbound == null ? 0 : outbound.bytes();
+  }
+
   @Override
   public void onMessage(final Callback<Mutant> callback) throws Exception {
     this.messageCallback = requireNonNull(callback, "Message callback is required.");
@@ -147,12 +162,18 @@ public class WebSocketImpl implements WebSocket {
     this.injector = requireNonNull(injector, "An injector is required.");
     this.ws = requireNonNull(ws, "Web socket is required.");
 
+    Config config = injector.getInstance(Config.class);
+    this.outbound = new WsOutboundQueue(this, ws,
+        config.getBytes("server.ws.HighWaterMark"),
+        config.getBytes("server.ws.LowWaterMark"),
+        OverflowPolicy.valueOf(config.getString("server.ws.OverflowPolicy").toUpperCase()));
+
     /**
      * Bind callbacks
      */
     ws.onBinaryMessage(buffer -> {
       try {
-        messageCallback.invoke(new WsBinaryMessage(buffer));
+        messageCallback.invoke(new WsBinaryMessage(buffer, ws::retain));
       } catch (Throwable ex) {
         handleErr(ex);
       }
@@ -273,7 +294,7 @@ public class WebSocketImpl implements WebSocket {
     }
   }
 
-  private static OutputStream stream(final NativeWebSocket ws, final SuccessCallback success,
+  private static OutputStream stream(final WsOutboundQueue ws, final SuccessCallback success,
       final ErrCallback err, final boolean text) {
     return new ByteArrayOutputStream(1024) {
       @Override
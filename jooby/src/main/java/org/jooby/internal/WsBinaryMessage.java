@@ -18,6 +18,8 @@
  */
 package org.jooby.internal;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -27,20 +29,66 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.function.Supplier;
 
 import org.jooby.Err;
-import org.jooby.Mutant;
 import org.jooby.Status;
+import org.jooby.WebSocket;
 
 import com.google.common.base.Charsets;
 import com.google.inject.TypeLiteral;
 
-public class WsBinaryMessage implements Mutant {
+/**
+ * A binary web socket message. The buffer is a view of the server frame buffer (no copies) and
+ * it is valid while the message callback runs, the server releases/reuses it once the callback
+ * returns unless the message was retained. Conversion to <code>byte[]</code> always copies the
+ * bytes.
+ *
+ * @author edgar
+ */
+public class WsBinaryMessage implements WebSocket.Binary {
 
   private ByteBuffer buffer;
 
-  public WsBinaryMessage(final ByteBuffer buffer) {
+  /** Keep the server buffer, it returns the function that releases it. */
+  private Supplier<Runnable> retainer;
+
+  private Runnable release;
+
+  private int retained;
+
+  public WsBinaryMessage(final ByteBuffer buffer, final Supplier<Runnable> retainer) {
     this.buffer = buffer;
+    this.retainer = retainer;
+  }
+
+  public WsBinaryMessage(final ByteBuffer buffer) {
+    this(buffer, () -> () -> {
+    });
+  }
+
+  @Override
+  public ByteBuffer buffer() {
+    return buffer.asReadOnlyBuffer();
+  }
+
+  @Override
+  public synchronized WebSocket.Binary retain() {
+    if (retained == 0) {
+      release = retainer.get();
+    }
+    retained += 1;
+    return this;
+  }
+
+  @Override
+  public synchronized void release() {
+    checkState(retained > 0, "Message wasn't retained");
+    retained -= 1;
+    if (retained == 0) {
+      release.run();
+      release = null;
+    }
   }
 
   @Override
@@ -113,25 +161,38 @@ public class WsBinaryMessage implements Mutant {
   public <T> T to(final TypeLiteral<T> type) {
     Class<? super T> rawType = type.getRawType();
     if (rawType == byte[].class) {
-      if (buffer.hasArray()) {
-        return (T) buffer.array();
-      }
+      // always a copy: the buffer belongs to the server
       byte[] bytes = new byte[buffer.remaining()];
-      buffer.get(bytes);
+      buffer.duplicate().get(bytes);
       return (T) bytes;
     }
     if (rawType == ByteBuffer.class) {
-      return (T) buffer;
+      return (T) buffer();
     }
     if (rawType == InputStream.class) {
-      return (T) new ByteArrayInputStream(buffer.array());
+      return (T) stream();
     }
     if (rawType == Reader.class) {
-      return (T) new InputStreamReader(new ByteArrayInputStream(buffer.array()), Charsets.UTF_8);
+      return (T) new InputStreamReader(stream(), Charsets.UTF_8);
     }
     throw typeError(rawType);
   }
 
+  private InputStream stream() {
+    if (wholeArray()) {
+      return new ByteArrayInputStream(buffer.array());
+    }
+    return new ByteByfferInputStream(buffer.slice());
+  }
+
+  /**
+   * @return True, if the buffer is backed by an array and covers all of it.
+   */
+  private boolean wholeArray() {
+    return buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+        && buffer.remaining() == buffer.array().length;
+  }
+
   private Err typeError(final Class<?> type) {
     return new Err(Status.BAD_REQUEST, "Can't convert to "
         + ByteBuffer.class.getName() + " to " + type);
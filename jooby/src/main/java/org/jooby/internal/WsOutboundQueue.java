@@ -0,0 +1,384 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooby.WebSocket;
+import org.jooby.WebSocket.ErrCallback;
+import org.jooby.WebSocket.OverflowPolicy;
+import org.jooby.WebSocket.SuccessCallback;
+import org.jooby.spi.NativeWebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep track of the outbound messages of a web socket. A message is pending from the time it is
+ * handed to the {@link NativeWebSocket} until the server reports it was written (or failed).
+ * Once the pending bytes go over the high water mark, the {@link OverflowPolicy} applies until
+ * they go back under the low water mark. Messages are written in the order they were sent: while
+ * older messages wait in the backlog, new ones wait behind them.
+ * <p>
+ * Reads are paused by the application ({@link WebSocket#pause()}) or by the queue (PAUSE policy),
+ * and resume once both are done with it. So the queue never resumes a socket paused by the
+ * application. The native socket is paused and resumed outside of the queue lock, by one thread
+ * at a time, which applies the latest state.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class WsOutboundQueue {
+
+  private static class Message {
+
+    private final Object data;
+
+    private final long size;
+
+    private final SuccessCallback success;
+
+    private final ErrCallback err;
+
+    public Message(final Object data, final long size, final SuccessCallback success,
+        final ErrCallback err) {
+      this.data = data;
+      this.size = size;
+      this.success = success;
+      this.err = err;
+    }
+
+  }
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(WebSocket.class);
+
+  private final WebSocket socket;
+
+  private final NativeWebSocket ws;
+
+  private final long highWaterMark;
+
+  private final long lowWaterMark;
+
+  private final OverflowPolicy policy;
+
+  /** Messages waiting for the pending bytes to go under the low water mark. */
+  private final Deque<Message> backlog = new ArrayDeque<>();
+
+  /** Bytes handed to the native socket but not written yet. */
+  private long pending;
+
+  private int pendingCount;
+
+  private long backlogBytes;
+
+  /** Reads paused by the queue (PAUSE policy). */
+  private boolean paused;
+
+  /**
+   * True, while a thread writes the backlog. New messages go to the backlog meanwhile, so they
+   * don't pass older ones.
+   */
+  private boolean draining;
+
+  /** Reads paused by the application. */
+  private boolean suspended;
+
+  /** Reads paused on the native socket, owned by the thread that runs {@link #flow()}. */
+  private boolean nativePaused;
+
+  /** Number of pause/resume requests, the first one runs {@link #flow()}. */
+  private final AtomicInteger flowRequests = new AtomicInteger();
+
+  private long dropped;
+
+  public WsOutboundQueue(final WebSocket socket, final NativeWebSocket ws,
+      final long highWaterMark, final long lowWaterMark, final OverflowPolicy policy) {
+    this.socket = requireNonNull(socket, "A web socket is required.");
+    this.ws = requireNonNull(ws, "A native web socket is required.");
+    this.highWaterMark = highWaterMark;
+    this.lowWaterMark = Math.min(lowWaterMark, highWaterMark);
+    this.policy = requireNonNull(policy, "An overflow policy is required.");
+  }
+
+  /**
+   * Queue a text or binary message.
+   *
+   * @param data A {@link String} or {@link ByteBuffer}.
+   * @param success Success callback.
+   * @param err Err callback.
+   */
+  public void send(final Object data, final SuccessCallback success, final ErrCallback err) {
+    Message message = new Message(data, size(data), success, err);
+
+    Message write = null;
+    Message drop = null;
+    // DROP_OLDEST only
+    List<Message> drops = null;
+    boolean close = false;
+    boolean flow = false;
+
+    synchronized (this) {
+      // the first message always goes, regardless of its size
+      boolean fits = (pendingCount == 0 && backlog.isEmpty())
+          || pending + backlogBytes + message.size <= highWaterMark;
+      if (fits) {
+        if (backlog.isEmpty() && !draining) {
+          write = pending(message);
+        } else {
+          // behind older messages, written by the drain
+          backlog.addLast(message);
+          backlogBytes += message.size;
+        }
+      } else {
+        switch (policy) {
+          case DROP_NEWEST:
+            drop = message;
+            break;
+          case DROP_OLDEST:
+            backlog.addLast(message);
+            backlogBytes += message.size;
+            while (backlogBytes > highWaterMark && backlog.size() > 1) {
+              Message oldest = backlog.removeFirst();
+              backlogBytes -= oldest.size;
+              if (drops == null) {
+                drops = new ArrayList<>(2);
+              }
+              drops.add(oldest);
+            }
+            break;
+          case CLOSE:
+            drop = message;
+            close = true;
+            break;
+          default:
+            // PAUSE: keep the message, stop reading until the client catches up
+            backlog.addLast(message);
+            backlogBytes += message.size;
+            if (!paused) {
+              paused = true;
+              flow = true;
+            }
+            break;
+        }
+      }
+      if (drop != null) {
+        dropped += 1;
+      }
+      if (drops != null) {
+        dropped += drops.size();
+      }
+    }
+
+    if (drop != null) {
+      drop(drop);
+    }
+    if (drops != null) {
+      drops.forEach(this::drop);
+    }
+    if (flow) {
+      flow();
+    }
+    if (close) {
+      log.debug("  closing {}, {} bytes pending", socket.path(), pending);
+      socket.close(WebSocket.POLICY_VIOLATION);
+    }
+    if (write != null) {
+      write(write);
+    }
+  }
+
+  /**
+   * Pause reads, on behalf of the application.
+   */
+  public void pause() {
+    synchronized (this) {
+      if (suspended) {
+        return;
+      }
+      suspended = true;
+    }
+    flow();
+  }
+
+  /**
+   * Resume reads paused by the application. Reads stay paused while the queue is over the high
+   * water mark (PAUSE policy).
+   */
+  public void resume() {
+    synchronized (this) {
+      if (!suspended) {
+        return;
+      }
+      suspended = false;
+    }
+    flow();
+  }
+
+  /**
+   * @return Number of messages waiting to be written to the client.
+   */
+  public synchronized int size() {
+    return pendingCount + backlog.size();
+  }
+
+  /**
+   * @return Number of bytes waiting to be written to the client.
+   */
+  public synchronized long bytes() {
+    return pending + backlogBytes;
+  }
+
+  /**
+   * @return Number of messages discarded by the overflow policy.
+   */
+  public synchronized long dropped() {
+    return dropped;
+  }
+
+  private Message pending(final Message message) {
+    pending += message.size;
+    pendingCount += 1;
+    return message;
+  }
+
+  private void write(final Message message) {
+    SuccessCallback success = () -> {
+      done(message);
+      message.success.invoke();
+    };
+    ErrCallback err = cause -> {
+      done(message);
+      message.err.invoke(cause);
+    };
+    if (message.data instanceof ByteBuffer) {
+      ws.send((ByteBuffer) message.data, success, err);
+    } else {
+      ws.send((String) message.data, success, err);
+    }
+  }
+
+  private void done(final Message message) {
+    boolean drain;
+    boolean flow = false;
+    synchronized (this) {
+      pending -= message.size;
+      pendingCount -= 1;
+      boolean low = pending <= lowWaterMark;
+      // kept messages count too (PAUSE), the drain doesn't change the total
+      if (paused && pending + backlogBytes <= lowWaterMark) {
+        paused = false;
+        flow = true;
+      }
+      // one thread at a time, a write might call us back from the same thread
+      drain = low && !draining && !backlog.isEmpty();
+      draining |= drain;
+    }
+    if (flow) {
+      flow();
+    }
+    // drain in place, one message at a time
+    while (drain) {
+      Message next = null;
+      synchronized (this) {
+        if (!backlog.isEmpty()
+            && (pendingCount == 0 || pending + backlog.peekFirst().size <= highWaterMark)) {
+          next = backlog.removeFirst();
+          backlogBytes -= next.size;
+          pending(next);
+        } else {
+          draining = false;
+        }
+      }
+      if (next == null) {
+        drain = false;
+      } else {
+        write(next);
+      }
+    }
+  }
+
+  /**
+   * Pause or resume the native socket, so it matches the latest state of the queue and the
+   * application. Never called with the queue lock held: the thread that comes first applies the
+   * requests of the others.
+   */
+  private void flow() {
+    if (flowRequests.getAndIncrement() > 0) {
+      return;
+    }
+    do {
+      boolean pause;
+      long bytes;
+      synchronized (this) {
+        pause = paused || suspended;
+        bytes = pending + backlogBytes;
+      }
+      if (pause != nativePaused) {
+        nativePaused = pause;
+        if (pause) {
+          log.debug("  pausing {}, {} bytes pending", socket.path(), bytes);
+          ws.pause();
+        } else {
+          log.debug("  resuming {}, {} bytes pending", socket.path(), bytes);
+          ws.resume();
+        }
+      }
+    } while (flowRequests.decrementAndGet() > 0);
+  }
+
+  private void drop(final Message message) {
+    message.err.invoke(new IOException("Outbound queue of " + socket.path()
+        + " is over " + highWaterMark + " bytes, message dropped by: " + policy));
+  }
+
+  private static long size(final Object data) {
+    if (data instanceof ByteBuffer) {
+      return ((ByteBuffer) data).remaining();
+    }
+    // UTF-8 length, without encoding it
+    String text = (String) data;
+    int len = text.length();
+    long size = len;
+    for (int i = 0; i < len; i++) {
+      char c = text.charAt(i);
+      if (c >= 0x800) {
+        size += 2;
+        if (Character.isHighSurrogate(c) && i + 1 < len
+            && Character.isLowSurrogate(text.charAt(i + 1))) {
+          // 4 bytes per surrogate pair
+          i += 1;
+        }
+      } else if (c >= 0x80) {
+        size += 1;
+      }
+    }
+    return size;
+  }
+
+}
@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.jfr;
+
+import org.jooby.util.Jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR events. This is the only class that depends on <code>jdk.jfr</code> and it is loaded by
+ * {@link Jfr} when events are on.
+ * <p>
+ * Disabled event types (no recording or turned off in the recording settings) don't allocate,
+ * they get a {@link Jfr.Span#NOOP}.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public class JfrRecorder implements Jfr.Recorder {
+
+  @Name("org.jooby.Request")
+  @Label("HTTP Request")
+  @Category({"Jooby", "HTTP" })
+  @Description("An HTTP request, from the time it was received until the response was sent")
+  @StackTrace(false)
+  static class RequestEvent extends Event implements Jfr.RequestSpan {
+
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    String route;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Response Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Routing")
+    @Timespan
+    long routeTime;
+
+    @Label("Session")
+    @Timespan
+    long sessionTime;
+
+    @Label("Parsing")
+    @Timespan
+    long parseTime;
+
+    @Label("Handler")
+    @Timespan
+    long handlerTime;
+
+    @Label("Rendering")
+    @Timespan
+    long renderTime;
+
+    @Label("Writing")
+    @Timespan
+    long writeTime;
+
+    @Override
+    public void phases(final long route, final long session, final long parse,
+        final long handler, final long render, final long write) {
+      this.routeTime = route;
+      this.sessionTime = session;
+      this.parseTime = parse;
+      this.handlerTime = handler;
+      this.renderTime = render;
+      this.writeTime = write;
+    }
+
+    @Override
+    public void commit(final String method, final String route, final String path,
+        final int status, final long bytes) {
+      this.method = method;
+      this.route = route;
+      this.path = path;
+      this.status = status;
+      this.bytes = bytes;
+      commit();
+    }
+  }
+
+  @Name("org.jooby.Session")
+  @Label("Session")
+  @Category({"Jooby", "Session" })
+  @Description("Session load, create, save or delete")
+  @StackTrace(false)
+  static class SessionEvent extends Event implements Jfr.Span {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Store")
+    String store;
+  }
+
+  @Name("org.jooby.Template")
+  @Label("Template")
+  @Category({"Jooby", "Template" })
+  @Description("Template rendering")
+  @StackTrace(false)
+  static class TemplateEvent extends Event implements Jfr.Span {
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Template")
+    String template;
+  }
+
+  @Name("org.jooby.Call")
+  @Label("Backend Call")
+  @Category({"Jooby", "Backend" })
+  @Description("A call to a data backend: JDBC, Redis, MongoDB, etc.")
+  static class CallEvent extends Event implements Jfr.Span {
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Resource")
+    String resource;
+
+    @Label("Query")
+    String query;
+  }
+
+  private final EventType requests = EventType.getEventType(RequestEvent.class);
+
+  private final EventType sessions = EventType.getEventType(SessionEvent.class);
+
+  private final EventType templates = EventType.getEventType(TemplateEvent.class);
+
+  private final EventType calls = EventType.getEventType(CallEvent.class);
+
+  @Override
+  public Jfr.RequestSpan request() {
+    if (!requests.isEnabled()) {
+      return Jfr.RequestSpan.NOOP;
+    }
+    RequestEvent event = new RequestEvent();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public Jfr.Span session(final String operation, final String store) {
+    if (!sessions.isEnabled()) {
+      return Jfr.Span.NOOP;
+    }
+    SessionEvent event = new SessionEvent();
+    event.operation = operation;
+    event.store = store;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public Jfr.Span template(final String engine, final String template) {
+    if (!templates.isEnabled()) {
+      return Jfr.Span.NOOP;
+    }
+    TemplateEvent event = new TemplateEvent();
+    event.engine = engine;
+    event.template = template;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public Jfr.Span call(final String backend, final String operation, final String resource,
+      final String query) {
+    if (!calls.isEnabled()) {
+      return Jfr.Span.NOOP;
+    }
+    CallEvent event = new CallEvent();
+    event.backend = backend;
+    event.operation = operation;
+    event.resource = resource;
+    event.query = query;
+    event.begin();
+    return event;
+  }
+
+}
@@ -41,6 +41,7 @@ import org.jooby.internal.reqparam.RequestParamProvider;
 import org.jooby.internal.reqparam.RequestParamProviderImpl;
 import org.jooby.mvc.CONNECT;
 import org.jooby.mvc.Consumes;
+import org.jooby.mvc.Dispatch;
 import org.jooby.mvc.DELETE;
 import org.jooby.mvc.GET;
 import org.jooby.mvc.HEAD;
@@ -112,6 +113,7 @@ public class MvcRoutes {
           List<Class<?>> verbs = methods.get(method);
           List<MediaType> produces = produces(method);
           List<MediaType> consumes = consumes(method);
+          Optional<String> executor = executor(method);
 
           for (String path : expandPaths(rootPaths, method)) {
             for (Class<?> verb : verbs) {
@@ -122,6 +124,7 @@ public class MvcRoutes {
                   .produces(produces)
                   .consumes(consumes)
                   .name(name);
+              executor.ifPresent(definition::executor);
 
               definitions.add(definition);
             }
@@ -165,6 +168,16 @@ public class MvcRoutes {
             .orElse(MediaType.ALL));
   }
 
+  private static Optional<String> executor(final Method method) {
+    Function<AnnotatedElement, Optional<String>> fn = (element) ->
+        Optional.ofNullable(element.getAnnotation(Dispatch.class)).map(Dispatch::value);
+
+    // method level
+    Optional<String> executor = fn.apply(method);
+    // class level
+    return executor.isPresent() ? executor : fn.apply(method.getDeclaringClass());
+  }
+
   private static String[] path(final AnnotatedElement owner) {
     Path annotation = owner.getAnnotation(Path.class);
     if (annotation == null) {
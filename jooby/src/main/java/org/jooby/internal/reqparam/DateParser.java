@@ -21,7 +21,10 @@ package org.jooby.internal.reqparam;
 import static java.util.Objects.requireNonNull;
 
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
 
 import org.jooby.Parser;
 
@@ -29,28 +32,41 @@ import com.google.inject.TypeLiteral;
 
 public class DateParser implements Parser {
 
-  private String dateFormat;
+  /**
+   * SimpleDateFormat isn't thread-safe: each thread gets a copy, cloned from the one created at
+   * startup. Parsing rules are the ones of SimpleDateFormat (lenient fields, two digit years in a
+   * sliding window, trailing text ignored).
+   */
+  private final ThreadLocal<SimpleDateFormat> formats;
+
+  public DateParser(final String dateFormat, final Locale locale, final ZoneId zone) {
+    SimpleDateFormat format = new SimpleDateFormat(
+        requireNonNull(dateFormat, "A dateFormat is required."),
+        requireNonNull(locale, "A locale is required."));
+    format.setTimeZone(TimeZone.getTimeZone(requireNonNull(zone, "A zone is required.")));
+    this.formats = ThreadLocal.withInitial(() -> (SimpleDateFormat) format.clone());
+  }
 
   public DateParser(final String dateFormat) {
-    this.dateFormat = requireNonNull(dateFormat, "A dateFormat is required.");
+    this(dateFormat, Locale.getDefault(), ZoneId.systemDefault());
   }
 
   @Override
   public Object parse(final TypeLiteral<?> type, final Parser.Context ctx) throws Exception {
     if (type.getRawType() == Date.class) {
       return ctx
-          .param(values -> parse(dateFormat, values.get(0)))
-          .body(body -> parse(dateFormat, body.text()));
+          .param(values -> parse(formats.get(), values.get(0)))
+          .body(body -> parse(formats.get(), body.text()));
     } else {
       return ctx.next();
     }
   }
 
-  private static Date parse(final String dateFormat, final String value) throws Exception {
+  private static Date parse(final SimpleDateFormat format, final String value) throws Exception {
     try {
       return new Date(Long.parseLong(value));
     } catch (NumberFormatException ex) {
-      return new SimpleDateFormat(dateFormat).parse(value);
+      return format.parse(value);
     }
   }
 }
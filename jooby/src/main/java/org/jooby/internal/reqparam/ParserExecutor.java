@@ -34,6 +34,7 @@ import org.jooby.Parser.Builder;
 import org.jooby.Parser.Callback;
 import org.jooby.Status;
 import org.jooby.Upload;
+import org.jooby.internal.RequestTimings;
 
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Injector;
@@ -61,6 +62,8 @@ public class ParserExecutor {
   @SuppressWarnings("unchecked")
   public <T> T convert(final TypeLiteral<?> type, final MediaType contentType, final Object data,
       final Status status) {
+    RequestTimings timings = RequestTimings.current();
+    long begin = timings == null ? 0 : System.nanoTime();
     try {
       requireNonNull(type, "A type is required.");
       Object result = ctx(injector, contentType, type, converters, data).next(type, data);
@@ -72,6 +75,10 @@ public class ParserExecutor {
       throw err;
     } catch (Exception ex) {
       throw new Err(status, ex);
+    } finally {
+      if (timings != null) {
+        timings.add(RequestTimings.Phase.PARSE, begin);
+      }
     }
   }
 
@@ -20,8 +20,7 @@ package org.jooby.internal.reqparam;
 
 import static java.util.Objects.requireNonNull;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.lang.invoke.MethodHandle;
 
 import org.jooby.Parser;
 
@@ -31,8 +30,11 @@ public class StaticMethodParser implements Parser {
 
   private final String methodName;
 
+  private final StringFactories factories;
+
   public StaticMethodParser(final String methodName) {
     this.methodName = requireNonNull(methodName, "A method's name is required.");
+    this.factories = new StringFactories(methodName);
   }
 
   public boolean matches(final TypeLiteral<?> toType) {
@@ -42,26 +44,20 @@ public class StaticMethodParser implements Parser {
   @Override
   public Object parse(final TypeLiteral<?> type, final Parser.Context ctx) throws Exception {
     return ctx.param(params -> {
-      Method method = method(type.getRawType());
+      MethodHandle method = method(type.getRawType());
       if (method == null) {
         return ctx.next();
       }
-      return method.invoke(null, params.get(0));
+      return StringFactories.invoke(method, params.get(0));
     });
   }
 
   public Object parse(final TypeLiteral<?> type, final Object value) throws Exception {
-    return method(type.getRawType()).invoke(null, value);
+    return StringFactories.invoke(method(type.getRawType()), value);
   }
 
-  private Method method(final Class<?> rawType) {
-    try {
-      Method method = rawType.getDeclaredMethod(methodName, String.class);
-      int mods = method.getModifiers();
-      return Modifier.isPublic(mods) && Modifier.isStatic(mods) ? method : null;
-    } catch (NoSuchMethodException | SecurityException ex) {
-      return null;
-    }
+  private MethodHandle method(final Class<?> rawType) {
+    return factories.factory(rawType).orElse(null);
   }
 
   @Override
@@ -18,8 +18,7 @@
  */
 package org.jooby.internal.reqparam;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Modifier;
+import java.lang.invoke.MethodHandle;
 
 import org.jooby.Parser;
 
@@ -27,6 +26,8 @@ import com.google.inject.TypeLiteral;
 
 public class StringConstructorParser implements Parser {
 
+  private final StringFactories factories = new StringFactories(StringFactories.NEW);
+
   public boolean matches(final TypeLiteral<?> toType) {
     return constructor(toType.getRawType()) != null;
   }
@@ -34,25 +35,20 @@ public class StringConstructorParser implements Parser {
   @Override
   public Object parse(final TypeLiteral<?> type, final Parser.Context ctx) throws Exception {
     return ctx.param(params -> {
-      Constructor<?> constructor = constructor(type.getRawType());
+      MethodHandle constructor = constructor(type.getRawType());
       if (constructor == null) {
         return ctx.next();
       }
-      return constructor.newInstance(params.get(0));
+      return StringFactories.invoke(constructor, params.get(0));
     });
   }
 
-  public static Object parse(final TypeLiteral<?> type, final Object data) throws Exception {
-    return constructor(type.getRawType()).newInstance(data);
+  public Object parse(final TypeLiteral<?> type, final Object data) throws Exception {
+    return StringFactories.invoke(constructor(type.getRawType()), data);
   }
 
-  private static Constructor<?> constructor(final Class<?> rawType) {
-    try {
-      Constructor<?> constructor = rawType.getDeclaredConstructor(String.class);
-      return Modifier.isPublic(constructor.getModifiers()) ? constructor : null;
-    } catch (NoSuchMethodException | SecurityException ex) {
-      return null;
-    }
+  private MethodHandle constructor(final Class<?> rawType) {
+    return factories.factory(rawType).orElse(null);
   }
 
 }
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.reqparam;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Find and keep the factories that create a type from a {@link String}: a public static method
+ * (like <code>valueOf</code>, <code>fromString</code> or <code>forName</code>) or a public
+ * constructor of a public type. Lookup happens once per type, missing factories are saved too, so
+ * a type without factories isn't inspected on every request.
+ * <p>
+ * The cache belongs to a parser (one per injector), not to the class loader: factories of
+ * application classes go away with the application, on reload.
+ * </p>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public final class StringFactories {
+
+  /** Factory name for a <code>String</code> constructor. */
+  static final String NEW = "<init>";
+
+  private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class);
+
+  private final String name;
+
+  private final ConcurrentMap<Class<?>, Optional<MethodHandle>> factories =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @param name Name of a public static method or {@link #NEW} for a public constructor.
+   */
+  public StringFactories(final String name) {
+    this.name = requireNonNull(name, "A factory's name is required.");
+  }
+
+  /**
+   * @param type Target type.
+   * @return A factory with a generic <code>(Object)Object</code> signature, or empty.
+   */
+  public Optional<MethodHandle> factory(final Class<?> type) {
+    return factories.computeIfAbsent(type, t -> Optional.ofNullable(lookup(t, name)));
+  }
+
+  /**
+   * Creates a new value using the given factory. Errors are reported like reflection does:
+   * {@link InvocationTargetException} when the factory fails and {@link IllegalArgumentException}
+   * when the value isn't a {@link String}.
+   *
+   * @param factory A factory from {@link #factory(Class)}.
+   * @param value Argument.
+   * @return New value.
+   * @throws Exception If the factory fails.
+   */
+  public static Object invoke(final MethodHandle factory, final Object value) throws Exception {
+    if (value != null && !(value instanceof String)) {
+      throw new IllegalArgumentException("argument type mismatch");
+    }
+    try {
+      return (Object) factory.invokeExact(value);
+    } catch (Throwable ex) {
+      throw new InvocationTargetException(ex);
+    }
+  }
+
+  private static MethodHandle lookup(final Class<?> type, final String name) {
+    try {
+      if (NEW.equals(name)) {
+        Constructor<?> constructor = type.getDeclaredConstructor(String.class);
+        if (!Modifier.isPublic(constructor.getModifiers())) {
+          return null;
+        }
+        return unreflect(type, lookup -> lookup.unreflectConstructor(constructor));
+      }
+      Method method = type.getDeclaredMethod(name, String.class);
+      int mods = method.getModifiers();
+      if (!Modifier.isPublic(mods) || !Modifier.isStatic(mods)) {
+        return null;
+      }
+      return unreflect(type, lookup -> lookup.unreflect(method));
+    } catch (NoSuchMethodException | SecurityException ex) {
+      return null;
+    }
+  }
+
+  private interface Unreflect {
+    MethodHandle apply(MethodHandles.Lookup lookup) throws IllegalAccessException;
+  }
+
+  private static MethodHandle unreflect(final Class<?> type, final Unreflect fn) {
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return null;
+    }
+    try {
+      // a full lookup, caller sensitive methods (like Package.getPackage) aren't available from
+      // the public one. Only public members of public types get here, like it was with reflection
+      return fn.apply(MethodHandles.lookup()).asType(GENERIC);
+    } catch (IllegalAccessException ex) {
+      // public type nested in a non public one
+      return null;
+    }
+  }
+
+}
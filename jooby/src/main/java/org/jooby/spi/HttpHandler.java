@@ -37,4 +37,29 @@ public interface HttpHandler {
    */
   void handle(final NativeRequest request, final NativeResponse response) throws Exception;
 
+  /**
+   * Test if the application has non-blocking routes. Servers might skip
+   * {@link #nonblocking(NativeRequest)} (and the creation of a {@link NativeRequest} in the I/O
+   * thread) when there is none.
+   *
+   * @return True, if there is at least one non-blocking route.
+   * @see org.jooby.Route.Definition#nonblocking(boolean)
+   */
+  default boolean nonblocking() {
+    return false;
+  }
+
+  /**
+   * Test if a request can be handled from an I/O thread, without dispatching it to a worker
+   * thread. Servers with a non-blocking I/O model might use it to skip the thread hop for small
+   * responses.
+   *
+   * @param request HTTP request.
+   * @return True, if the request has no body and all the routes that match it are non-blocking.
+   * @see org.jooby.Route.Definition#nonblocking(boolean)
+   */
+  default boolean nonblocking(final NativeRequest request) {
+    return false;
+  }
+
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import org.jooby.Cookie;
 
@@ -29,6 +30,12 @@ import org.jooby.Cookie;
  * Minimal/basic implementation of HTTP request. A server implementor must provide an implementation
  * of {@link NativeRequest}.
  *
+ * <p>
+ * Most of the routes only need the method and path, so an implementation should do as less work as
+ * possible up front: query string, form body, cookies and files should be decoded on first access,
+ * independently of each other (asking for a query param must not parse the body) and at most once.
+ * </p>
+ *
  * @author edgar
  * @since 0.5.0
  */
@@ -141,4 +148,25 @@ public interface NativeRequest {
    */
   <T> T upgrade(Class<T> type) throws Exception;
 
+  /**
+   * Put the request in async mode. The response must stay open once the current call to
+   * {@link HttpHandler#handle(NativeRequest, NativeResponse)} returns, until
+   * {@link NativeResponse#end()} is called.
+   *
+   * @return An executor that runs a task on a server thread. Once the task completes, the response
+   *         must be written to the client.
+   * @throws Exception If async mode is un-supported.
+   */
+  Executor startAsync() throws Exception;
+
+  /**
+   * Time the server read the request, before it waited in the server queues for a worker thread.
+   * Servers that can't tell return the current time.
+   *
+   * @return Arrival time, see {@link System#nanoTime()}.
+   */
+  default long arrival() {
+    return System.nanoTime();
+  }
+
 }
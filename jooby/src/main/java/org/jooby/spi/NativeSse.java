@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.spi;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A Server-Sent Events connection created from {@link NativeRequest#upgrade(Class)}.
+ *
+ * Implementations must never block the calling thread: writes are queued and completed from
+ * the server IO threads, so idle subscribers don't hold a thread. Queued bytes are bounded by
+ * the caller (<code>server.sse.QueueSize</code>), which closes connections that go over.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public interface NativeSse {
+
+  /**
+   * Send the response head: status <code>200</code>, <code>text/event-stream</code> and no
+   * caching. The response stays open until {@link #close()} or client disconnects.
+   *
+   * @throws Exception If the handshake fails.
+   */
+  void handshake() throws Exception;
+
+  /**
+   * Write and flush an already encoded chunk of events.
+   *
+   * @param data Encoded events.
+   * @return A future, completed once data was written or exceptionally on failures.
+   */
+  CompletableFuture<Void> send(byte[] data);
+
+  /**
+   * Set the onclose callback. It will be executed once, when the connection is closed (either by
+   * client or server).
+   *
+   * @param callback A callback.
+   */
+  void onClose(Runnable callback);
+
+  /**
+   * @return True if the connection is open.
+   */
+  boolean isOpen();
+
+  /**
+   * Finish the response and close the connection.
+   */
+  void close();
+
+}
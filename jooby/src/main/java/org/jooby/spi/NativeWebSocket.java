@@ -68,6 +68,18 @@ public interface NativeWebSocket {
    */
   void onBinaryMessage(Consumer<ByteBuffer> callback);
 
+  /**
+   * Keep the buffer of the binary message in progress (the one handed to the onbinary callback)
+   * after the callback returns. Servers that hand over a buffer they don't reuse don't need to
+   * override it.
+   *
+   * @return A function that gives the buffer back to the server, call it once.
+   */
+  default Runnable retain() {
+    return () -> {
+    };
+  }
+
   /**
    * Set the onclose message callback. It will be executed when clients close a connection and/or
    * connection idle timeout.
@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+
+/**
+ * JDK Flight Recorder events, driven by <code>jfr.enabled</code>: HTTP requests, session
+ * load/save, template rendering and calls to data backends (JDBC, Redis and MongoDB). A recording
+ * (<code>-XX:StartFlightRecording</code> or <code>jcmd &lt;pid&gt; JFR.start</code>) can then
+ * attribute CPU and allocations to routes and backends.
+ * <p>
+ * Events are off by default. When off, {@link #enabled()} is false, spans are
+ * {@link Span#NOOP} and no JFR class is loaded. JFR classes are looked up via reflection, so this
+ * class works on any JVM and {@link #supported()} is <code>false</code> on JVMs without JFR
+ * (before 8u262).
+ * </p>
+ *
+ * <pre>
+ *   Jfr.Span span = Jfr.call("redis", "hgetAll", uri, key);
+ *   try {
+ *     ...
+ *   } finally {
+ *     span.commit();
+ *   }
+ * </pre>
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public final class Jfr {
+
+  /**
+   * A started event.
+   */
+  public interface Span {
+
+    /** Span of disabled events. */
+    Span NOOP = () -> {
+    };
+
+    /**
+     * End the event and write it to the recording (if any).
+     */
+    void commit();
+  }
+
+  /**
+   * A started HTTP request event.
+   */
+  public interface RequestSpan {
+
+    /** Span of disabled events. */
+    RequestSpan NOOP = new RequestSpan() {
+      @Override
+      public void phases(final long route, final long session, final long parse,
+          final long handler, final long render, final long write) {
+      }
+
+      @Override
+      public void commit(final String method, final String route, final String path,
+          final int status, final long bytes) {
+      }
+    };
+
+    /**
+     * Set the time spent per request phase, in nanoseconds.
+     *
+     * @param route Routing.
+     * @param session Session load and save.
+     * @param parse Parameters and body parsing.
+     * @param handler Route handlers.
+     * @param render Response rendering.
+     * @param write Response writing.
+     */
+    void phases(long route, long session, long parse, long handler, long render, long write);
+
+    /**
+     * End the event and write it to the recording (if any).
+     *
+     * @param method HTTP method.
+     * @param route Route pattern.
+     * @param path Request path.
+     * @param status Response status code.
+     * @param bytes Response body bytes.
+     */
+    void commit(String method, String route, String path, int status, long bytes);
+  }
+
+  /**
+   * Creates spans, see <code>org.jooby.internal.jfr.JfrRecorder</code>.
+   */
+  public interface Recorder {
+
+    /**
+     * @return A started request event.
+     */
+    RequestSpan request();
+
+    /**
+     * @param operation One of: <code>load</code>, <code>create</code>, <code>save</code> or
+     *        <code>delete</code>.
+     * @param store Session store.
+     * @return A started session event.
+     */
+    Span session(String operation, String store);
+
+    /**
+     * @param engine Template engine.
+     * @param template Template name.
+     * @return A started template event.
+     */
+    Span template(String engine, String template);
+
+    /**
+     * @param backend Backend: <code>jdbc</code>, <code>redis</code>, <code>mongodb</code>, etc.
+     * @param operation Operation, like <code>executeQuery</code> or <code>hgetAll</code>.
+     * @param resource Database, pool or URI.
+     * @param query SQL, key, etc. or <code>null</code>.
+     * @return A started call event.
+     */
+    Span call(String backend, String operation, String resource, String query);
+  }
+
+  /** The logging system. */
+  private static final Logger log = LoggerFactory.getLogger(Jfr.class);
+
+  private static final String RECORDER = "org.jooby.internal.jfr.JfrRecorder";
+
+  private static final boolean SUPPORTED = type("jdk.jfr.Event") != null;
+
+  private static volatile Recorder recorder;
+
+  private Jfr() {
+  }
+
+  /**
+   * @return True, if the JVM has JFR events.
+   */
+  public static boolean supported() {
+    return SUPPORTED;
+  }
+
+  /**
+   * Turn events on or off, from <code>jfr.enabled</code>.
+   *
+   * @param config Application config.
+   * @return True, if events are on.
+   */
+  public static boolean configure(final Config config) {
+    Recorder recorder = null;
+    if (config.getBoolean("jfr.enabled")) {
+      if (SUPPORTED) {
+        try {
+          recorder = (Recorder) type(RECORDER).newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+          log.warn("JFR events are off, can't create: " + RECORDER, ex);
+        }
+      } else {
+        log.warn("JFR events aren't supported on Java {}, jfr.enabled is: false",
+            System.getProperty("java.version"));
+      }
+    }
+    Jfr.recorder = recorder;
+    return recorder != null;
+  }
+
+  /**
+   * @return True, if events are on.
+   */
+  public static boolean enabled() {
+    return recorder != null;
+  }
+
+  /**
+   * @return A started request event or {@link RequestSpan#NOOP}.
+   */
+  public static RequestSpan request() {
+    Recorder recorder = Jfr.recorder;
+    return recorder == null ? RequestSpan.NOOP : recorder.request();
+  }
+
+  /**
+   * @param operation One of: <code>load</code>, <code>create</code>, <code>save</code> or
+   *        <code>delete</code>.
+   * @param store Session store.
+   * @return A started session event or {@link Span#NOOP}.
+   */
+  public static Span session(final String operation, final String store) {
+    Recorder recorder = Jfr.recorder;
+    return recorder == null ? Span.NOOP : recorder.session(operation, store);
+  }
+
+  /**
+   * @param engine Template engine.
+   * @param template Template name.
+   * @return A started template event or {@link Span#NOOP}.
+   */
+  public static Span template(final String engine, final String template) {
+    Recorder recorder = Jfr.recorder;
+    return recorder == null ? Span.NOOP : recorder.template(engine, template);
+  }
+
+  /**
+   * @param backend Backend: <code>jdbc</code>, <code>redis</code>, <code>mongodb</code>, etc.
+   * @param operation Operation, like <code>executeQuery</code> or <code>hgetAll</code>.
+   * @param resource Database, pool or URI.
+   * @param query SQL, key, etc. or <code>null</code>.
+   * @return A started call event or {@link Span#NOOP}.
+   */
+  public static Span call(final String backend, final String operation, final String resource,
+      final String query) {
+    Recorder recorder = Jfr.recorder;
+    return recorder == null ? Span.NOOP : recorder.call(backend, operation, resource, query);
+  }
+
+  private static Class<?> type(final String name) {
+    try {
+      return Class.forName(name);
+    } catch (ClassNotFoundException ex) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+
+/**
+ * Support for <code>server.threads.Mode = virtual</code>: each request runs on its own virtual
+ * thread. Virtual threads are looked up via reflection, so this class works on any JVM and
+ * {@link #enabled(Config)} is <code>false</code> on JVMs without them.
+ *
+ * @author edgar
+ * @since 0.5.4
+ */
+public final class VirtualThreads {
+
+  /** The logging system. */
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+  private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * @return True, if the JVM has virtual threads.
+   */
+  public static boolean supported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * @param config Application config.
+   * @return True, if <code>server.threads.Mode</code> is <code>virtual</code> and the JVM has
+   *         virtual threads.
+   */
+  public static boolean enabled(final Config config) {
+    String mode = config.getString("server.threads.Mode");
+    if (!"virtual".equalsIgnoreCase(mode)) {
+      return false;
+    }
+    if (!supported()) {
+      log.warn("virtual threads aren't supported on Java {}, server.threads.Mode is: platform",
+          System.getProperty("java.version"));
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @param name Thread name prefix.
+   * @return A new executor.
+   * @throws UnsupportedOperationException If the JVM doesn't have virtual threads.
+   */
+  public static ExecutorService newExecutor(final String name) {
+    if (!supported()) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21+");
+    }
+    try {
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder = builderType.getMethod("name", String.class, long.class)
+          .invoke(builder, name + "-", 0L);
+      ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+      return (ExecutorService) Executors.class
+          .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+          .invoke(null, factory);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Can't create virtual threads", ex);
+    }
+  }
+
+  private static Method method(final Class<?> owner, final String name) {
+    try {
+      return owner.getMethod(name);
+    } catch (NoSuchMethodException ex) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,76 @@
+package org.jooby;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.internal.RequestScope;
+import org.junit.Test;
+
+import com.google.inject.Key;
+
+public class DeadlineTest {
+
+  @Test
+  public void remaining() throws Exception {
+    Deadline deadline = Deadline.of(Duration.ofSeconds(30));
+    assertEquals(Duration.ofSeconds(30), deadline.timeout());
+    assertFalse(deadline.expired());
+    // rounded up
+    assertEquals(30, deadline.remaining(TimeUnit.SECONDS));
+    assertTrue(deadline.remaining(TimeUnit.MILLISECONDS) > 29000);
+  }
+
+  @Test
+  public void expired() throws Exception {
+    Deadline deadline = Deadline.of(Duration.ZERO);
+    assertTrue(deadline.expired());
+    assertEquals(0, deadline.remaining(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void min() throws Exception {
+    Deadline deadline = Deadline.of(Duration.ofSeconds(30));
+    assertEquals(5, deadline.min(5, TimeUnit.SECONDS));
+    assertEquals(30, deadline.min(60, TimeUnit.SECONDS));
+    // no timeout
+    assertEquals(30, deadline.min(0, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void check() throws Exception {
+    Deadline deadline = Deadline.of(Duration.ofSeconds(30));
+    assertEquals(deadline, deadline.check());
+  }
+
+  @Test(expected = Err.class)
+  public void checkExpired() throws Exception {
+    Deadline.of(Duration.ZERO).check();
+  }
+
+  @Test
+  public void current() throws Exception {
+    Deadline.scope(RequestScope::current);
+    assertEquals(Optional.empty(), Deadline.current());
+
+    Deadline deadline = Deadline.of(Duration.ofSeconds(30));
+    Map<Object, Object> locals = new HashMap<>();
+    locals.put(Key.get(Deadline.class), deadline);
+
+    RequestScope scope = new RequestScope();
+    scope.enter(locals);
+    try {
+      assertEquals(Optional.of(deadline), Deadline.current());
+    } finally {
+      scope.exit();
+    }
+    assertEquals(Optional.empty(), Deadline.current());
+  }
+
+}
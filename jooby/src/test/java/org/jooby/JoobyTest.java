@@ -73,11 +73,13 @@ import com.google.inject.binder.AnnotatedConstantBindingBuilder;
 import com.google.inject.binder.ConstantBindingBuilder;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.binder.ScopedBindingBuilder;
+import com.google.inject.matcher.Matcher;
 import com.google.inject.matcher.Matchers;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.multibindings.OptionalBinder;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
+import com.google.inject.spi.ProvisionListener;
 import com.google.inject.util.Types;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -153,6 +155,9 @@ public class JoobyTest {
     expect(binder.bind(Config.class)).andReturn(configAnnotatedBinding).anyTimes();
     expect(binder.bind(Key.get(Types.listOf(String.class), Names.named("hotswap.reload.ext"))))
         .andReturn((LinkedBindingBuilder) listOfString).anyTimes();
+    expect(binder.bind(Key.get(Types.listOf(String.class),
+        Names.named("server.accessLog.Headers"))))
+        .andReturn((LinkedBindingBuilder) listOfString).anyTimes();
   };
 
   private MockUnit.Block env = unit -> {
@@ -162,6 +167,11 @@ public class JoobyTest {
     binding.toInstance(isA(Env.class));
 
     expect(binder.bind(Env.class)).andReturn(binding);
+
+    AnnotatedBindingBuilder<StartupReport> startup = unit.mock(AnnotatedBindingBuilder.class);
+    startup.toInstance(isA(StartupReport.class));
+
+    expect(binder.bind(StartupReport.class)).andReturn(startup);
   };
 
   private MockUnit.Block classInfo = unit -> {
@@ -266,6 +276,11 @@ public class JoobyTest {
 
     expect(multibinder.addBinding()).andReturn(formatAny);
 
+    LinkedBindingBuilder<BodyFormatter> formatText = unit.mock(LinkedBindingBuilder.class);
+    formatText.toInstance(BuiltinBodyConverter.formatText);
+
+    expect(multibinder.addBinding()).andReturn(formatText);
+
   };
 
   private MockUnit.Block routes = unit -> {
@@ -481,6 +496,7 @@ public class JoobyTest {
     expect(injector.getAllBindings()).andReturn(bindings);
 
     binder.bindListener(eq(Matchers.any()), isA(LifecycleProcessor.class));
+    binder.bindListener(isA(Matcher.class), isA(ProvisionListener.class));
   };
 
   @Test
@@ -534,6 +550,7 @@ public class JoobyTest {
           expect(injector.getAllBindings()).andReturn(bindings);
 
           binder.bindListener(eq(Matchers.any()), isA(LifecycleProcessor.class));
+          binder.bindListener(isA(Matcher.class), isA(ProvisionListener.class));
         })
         .expect(shutdown)
         .expect(config)
@@ -623,6 +640,11 @@ public class JoobyTest {
           binding.toInstance(env);
 
           expect(binder.bind(Env.class)).andReturn(binding);
+
+          AnnotatedBindingBuilder<StartupReport> startup = unit.mock(AnnotatedBindingBuilder.class);
+          startup.toInstance(isA(StartupReport.class));
+
+          expect(binder.bind(StartupReport.class)).andReturn(startup);
         })
         .expect(classInfo)
         .expect(charset)
@@ -678,6 +700,7 @@ public class JoobyTest {
           tc.configure(unit.get(Binder.class));
 
           unit.get(Binder.class).bindListener(eq(Matchers.any()), isA(LifecycleProcessor.class));
+          unit.get(Binder.class).bindListener(isA(Matcher.class), isA(ProvisionListener.class));
         })
         .expect(shutdown)
         .expect(config)
@@ -818,6 +841,7 @@ public class JoobyTest {
               expect(injector.getAllBindings()).andReturn(bindings);
 
               binder.bindListener(eq(Matchers.any()), isA(LifecycleProcessor.class));
+              binder.bindListener(isA(Matcher.class), isA(ProvisionListener.class));
             })
         .expect(shutdown)
         .expect(config)
@@ -1805,6 +1829,10 @@ public class JoobyTest {
           expect(multibinder.addBinding()).andReturn(formatByteArray);
           expect(multibinder.addBinding()).andReturn(formatByteBuffer);
           expect(multibinder.addBinding()).andReturn(formatString);
+
+          LinkedBindingBuilder<BodyFormatter> formatText = unit.mock(LinkedBindingBuilder.class);
+          formatText.toInstance(BuiltinBodyConverter.formatText);
+          expect(multibinder.addBinding()).andReturn(formatText);
         })
         .expect(session)
         .expect(unit -> {
@@ -2160,6 +2188,10 @@ public class JoobyTest {
           expect(multibinder.addBinding()).andReturn(formatByteArray);
           expect(multibinder.addBinding()).andReturn(formatByteBuffer);
           expect(multibinder.addBinding()).andReturn(formatString);
+
+          LinkedBindingBuilder<BodyFormatter> formatText = unit.mock(LinkedBindingBuilder.class);
+          formatText.toInstance(BuiltinBodyConverter.formatText);
+          expect(multibinder.addBinding()).andReturn(formatText);
         })
         .expect(routes)
         .expect(routeHandler)
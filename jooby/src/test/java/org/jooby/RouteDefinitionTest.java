@@ -2,6 +2,7 @@ package org.jooby;
 
 import static org.junit.Assert.assertEquals;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -263,4 +264,30 @@ public class RouteDefinitionTest {
     assertEquals(MediaType.json, def.consumes().get(0));
     assertEquals(MediaType.json, def.produces().get(0));
   }
+
+  @Test
+  public void executor() throws Exception {
+    Route.Definition def = new Route.Definition("get", "/reports", (req, rsp, chain) -> {
+    });
+    assertEquals(Optional.empty(), def.executor());
+
+    def.executor("reports");
+    assertEquals(Optional.of("reports"), def.executor());
+  }
+
+  @Test
+  public void timeout() throws Exception {
+    Route.Definition def = new Route.Definition("get", "/search", (req, rsp, chain) -> {
+    });
+    assertEquals(Optional.empty(), def.timeout());
+
+    def.timeout(Duration.ofMillis(500));
+    assertEquals(Optional.of(Duration.ofMillis(500)), def.timeout());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroTimeout() throws Exception {
+    new Route.Definition("get", "/search", (req, rsp, chain) -> {
+    }).timeout(Duration.ZERO);
+  }
 }
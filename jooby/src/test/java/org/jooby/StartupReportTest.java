@@ -0,0 +1,83 @@
+package org.jooby;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class StartupReportTest {
+
+  @Test
+  public void phases() throws Exception {
+    StartupReport report = new StartupReport();
+    report.record(StartupReport.INJECTOR, "module org.jooby.Foo", ago(5));
+    report.record(null, StartupReport.INJECTOR, ago(20));
+
+    List<StartupReport.Phase> phases = report.phases();
+    assertEquals(2, phases.size());
+    assertEquals("module org.jooby.Foo", phases.get(0).name());
+    assertEquals(Optional.of("injector"), phases.get(0).parent());
+    assertTrue(phases.get(0).millis() >= 5);
+    assertEquals("injector", phases.get(1).name());
+    assertEquals(Optional.empty(), phases.get(1).parent());
+  }
+
+  @Test
+  public void ignoredOnceDone() throws Exception {
+    StartupReport report = new StartupReport();
+    report.record(null, "config", ago(1));
+    report.done();
+    long total = report.total();
+    report.record(StartupReport.INJECTOR, "start org.jooby.Lazy", ago(1));
+
+    assertEquals(1, report.phases().size());
+    assertEquals(total, report.total());
+  }
+
+  @Test
+  public void sortedReport() throws Exception {
+    StartupReport report = new StartupReport();
+    report.record(null, "config", ago(2));
+    report.record(StartupReport.INJECTOR, "module org.jooby.Fast", ago(1));
+    report.record(StartupReport.INJECTOR, "start org.jooby.Slow", ago(10));
+    report.record(null, StartupReport.INJECTOR, ago(30));
+    report.record(null, "server", ago(3));
+    report.done();
+
+    String[] lines = report.toString().split("\n");
+    assertTrue(lines[0], lines[0].startsWith("startup phases ("));
+    assertEquals(6, lines.length);
+    assertTrue(lines[1], lines[1].startsWith("  injector "));
+    assertTrue(lines[2], lines[2].startsWith("    start org.jooby.Slow "));
+    assertTrue(lines[3], lines[3].startsWith("    module org.jooby.Fast "));
+    assertTrue(lines[4], lines[4].startsWith("  server "));
+    assertTrue(lines[5], lines[5].startsWith("  config "));
+    assertTrue(lines[1], lines[1].endsWith("%"));
+  }
+
+  @Test
+  public void json() throws Exception {
+    StartupReport report = new StartupReport();
+    report.record(null, "config", System.nanoTime());
+    report.record(StartupReport.INJECTOR, "module org.jooby.\"Quoted\"", System.nanoTime());
+    report.done();
+
+    String json = report.toJson();
+    assertTrue(json, json.startsWith("{\"total\":"));
+    assertTrue(json, json.contains(",\"phases\":[{\"name\":\"config\",\"millis\":"));
+    assertTrue(json, json.contains(
+        "{\"name\":\"module org.jooby.\\\"Quoted\\\"\",\"parent\":\"injector\",\"millis\":"));
+    assertTrue(json, json.endsWith("}]}"));
+    assertFalse(json, json.contains("\n"));
+  }
+
+  private static long ago(final long millis) {
+    return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+}
@@ -44,6 +44,16 @@ public class WebSocketTest {
       throw new UnsupportedOperationException();
     }
 
+    @Override
+    public int queueSize() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long queueBytes() {
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public void send(final Object data, final SuccessCallback success, final ErrCallback err)
         throws Exception {
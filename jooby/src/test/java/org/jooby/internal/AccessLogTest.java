@@ -0,0 +1,258 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Cookie;
+import org.jooby.MediaType;
+import org.jooby.spi.NativeRequest;
+import org.jooby.spi.NativeUpload;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+public class AccessLogTest {
+
+  private static class FakeRequest implements NativeRequest {
+
+    private final Map<String, String> headers;
+
+    public FakeRequest(final Map<String, String> headers) {
+      this.headers = headers;
+    }
+
+    @Override
+    public String method() {
+      return "GET";
+    }
+
+    @Override
+    public String path() {
+      return "/";
+    }
+
+    @Override
+    public List<String> paramNames() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<String> params(final String name) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<String> headers(final String name) {
+      return header(name).map(Collections::singletonList).orElse(Collections.emptyList());
+    }
+
+    @Override
+    public Optional<String> header(final String name) {
+      return Optional.ofNullable(headers.get(name));
+    }
+
+    @Override
+    public List<String> headerNames() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<Cookie> cookies() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<NativeUpload> files(final String name) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public InputStream in() {
+      return null;
+    }
+
+    @Override
+    public String ip() {
+      return "127.0.0.1";
+    }
+
+    @Override
+    public String hostname() {
+      return "localhost";
+    }
+
+    @Override
+    public String protocol() {
+      return "HTTP/1.1";
+    }
+
+    @Override
+    public boolean secure() {
+      return false;
+    }
+
+    @Override
+    public <T> T upgrade(final Class<T> type) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Executor startAsync() {
+      throw new UnsupportedOperationException();
+    }
+
+  }
+
+  private static final Injector injector = Guice.createInjector();
+
+  @Test
+  public void disabled() throws Exception {
+    AccessLog log = new AccessLog(config("Enabled = false"));
+    assertFalse(log.enabled());
+    assertEquals(0, log.dropped());
+    log.shutdown();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownFormat() throws Exception {
+    new AccessLog(config("Enabled = true, Format = clf"));
+  }
+
+  @Test
+  public void combined() throws Exception {
+    File file = tmpfile();
+    AccessLog log = new AccessLog(config("Enabled = true, File = \"" + file + "\""));
+    assertTrue(log.enabled());
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Referer", "http://example.com/");
+    headers.put("User-Agent", "curl \"7\"");
+    log.log(request("/users/1", headers), 200, 1234, TimeUnit.MILLISECONDS.toNanos(7));
+    log.log(request("/missing", new HashMap<>()), 404, 0, TimeUnit.MILLISECONDS.toNanos(1));
+    log.shutdown();
+
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0), lines.get(0).matches("127\\.0\\.0\\.1 - - \\[[^\\]]+\\] "
+        + "\"GET /users/1 HTTP/1\\.1\" 200 1234 \"http://example\\.com/\" "
+        + "\"curl \\\\\"7\\\\\"\" 7"));
+    assertTrue(lines.get(1),
+        lines.get(1).endsWith("\"GET /missing HTTP/1.1\" 404 - \"-\" \"-\" 1"));
+  }
+
+  @Test
+  public void json() throws Exception {
+    File file = tmpfile();
+    AccessLog log = new AccessLog(config("Enabled = true, Format = json, File = \"" + file
+        + "\", Headers = [User-Agent, X-Request-Id]"));
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put("User-Agent", "a\tb");
+    log.log(request("/users/1", headers), 201, 12, TimeUnit.MICROSECONDS.toNanos(1500));
+    log.shutdown();
+
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    assertEquals(1, lines.size());
+    String line = lines.get(0);
+    assertTrue(line, line.startsWith("{\"time\":\""));
+    assertTrue(line, line.endsWith(",\"ip\":\"127.0.0.1\",\"method\":\"GET\","
+        + "\"path\":\"/users/1\",\"protocol\":\"HTTP/1.1\",\"status\":201,\"bytes\":12,"
+        + "\"duration\":1.5,\"headers\":{\"User-Agent\":\"a\\u0009b\"}}"));
+  }
+
+  @Test
+  public void roll() throws Exception {
+    File file = tmpfile();
+    AccessLog log = new AccessLog(config("Enabled = true, File = \"" + file
+        + "\", MaxFileSize = 1k, MaxFiles = 2"));
+    RequestImpl req = request("/rolling", new HashMap<>());
+    for (int i = 0; i < 200; i++) {
+      log.log(req, 200, i, 0);
+      // let the writer catch up, so batches stay small
+      Thread.sleep(1);
+    }
+    log.shutdown();
+
+    assertTrue(file.exists());
+    assertTrue(new File(file + ".1").exists());
+    assertTrue(new File(file + ".2").exists());
+    assertFalse(new File(file + ".3").exists());
+  }
+
+  @Test
+  public void dropWhenFull() throws Exception {
+    File file = tmpfile();
+    AccessLog log = new AccessLog(config("Enabled = true, File = \"" + file
+        + "\", BufferSize = 4"));
+    RequestImpl req = request("/flood", new HashMap<>());
+    int total = 10000;
+    for (int i = 0; i < total; i++) {
+      log.log(req, 200, i, 0);
+    }
+    log.shutdown();
+
+    long written = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size();
+    assertTrue(log.dropped() > 0);
+    assertEquals(total, written + log.dropped());
+  }
+
+  @Test
+  public void failingRequestDoesntStopTheWriter() throws Exception {
+    File file = tmpfile();
+    AccessLog log = new AccessLog(config("Enabled = true, File = \"" + file + "\""));
+    RequestImpl broken = new RequestImpl(injector, new FakeRequest(new HashMap<>()) {
+      @Override
+      public String ip() {
+        throw new IllegalStateException("connection closed");
+      }
+    }, RouteImpl.notFound("GET", "/broken", MediaType.ALL), new HashMap<>(), new HashMap<>());
+
+    log.log(request("/before", new HashMap<>()), 200, 0, 0);
+    try {
+      log.log(broken, 200, 0, 0);
+    } catch (IllegalStateException expected) {
+    }
+    log.log(request("/after", new HashMap<>()), 200, 0, 0);
+    log.shutdown();
+
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0), lines.get(0).contains("\"GET /before HTTP/1.1\""));
+    assertTrue(lines.get(1), lines.get(1).contains("\"GET /after HTTP/1.1\""));
+    assertEquals(1, log.dropped());
+  }
+
+  private static RequestImpl request(final String path, final Map<String, String> headers) {
+    return new RequestImpl(injector, new FakeRequest(headers),
+        RouteImpl.notFound("GET", path, MediaType.ALL), new HashMap<>(), new HashMap<>());
+  }
+
+  private static File tmpfile() throws IOException {
+    File dir = Files.createTempDirectory("access-log").toFile();
+    dir.deleteOnExit();
+    return new File(dir, "access.log");
+  }
+
+  private static Config config(final String log) {
+    return ConfigFactory.parseString("server.accessLog {" + log + "}")
+        .withFallback(ConfigFactory.parseResources(AccessLog.class, "../jooby.conf"));
+  }
+
+}
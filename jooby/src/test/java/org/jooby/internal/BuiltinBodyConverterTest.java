@@ -175,6 +175,28 @@ public class BuiltinBodyConverterTest {
     assertEquals("Formatter for: Object.toString()", formatter.toString());
   }
 
+  @Test
+  public void formatText() throws Exception {
+    BodyFormatter formatter = BuiltinBodyConverter.formatText;
+
+    assertEquals(ImmutableList.of(MediaType.plain), formatter.types());
+
+    assertTrue(formatter.canFormat(String.class));
+    assertTrue(formatter.canFormat(StringBuilder.class));
+    assertFalse(formatter.canFormat(Object.class));
+
+    StringWriter writer = new StringWriter();
+    formatter.format(new StringBuilder("text"),
+        new BodyFormatterContext(Charsets.UTF_8,
+            () -> {
+              throw new IOException();
+            },
+            () -> writer));
+    assertEquals("text", writer.toString());
+
+    assertEquals("Formatter for: text/plain", formatter.toString());
+  }
+
   @Test
   public void parseBytes() throws Exception {
     Parser parser = BuiltinBodyConverter.parseBytes;
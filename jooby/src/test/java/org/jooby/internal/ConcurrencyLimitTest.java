@@ -0,0 +1,153 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.internal.ConcurrencyLimit.Mode;
+import org.junit.Test;
+
+public class ConcurrencyLimitTest {
+
+  @Test
+  public void staticLimit() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.STATIC, 2, 1, 10, 0.2, 10);
+
+    ConcurrencyLimit.Permit p1 = limit.acquire();
+    ConcurrencyLimit.Permit p2 = limit.acquire();
+    assertNotNull(p1);
+    assertNotNull(p2);
+    assertEquals(2, limit.inflight());
+
+    assertNull(limit.acquire());
+    assertEquals(1, limit.rejected());
+
+    p1.release(false);
+    assertEquals(1, limit.inflight());
+    assertNotNull(limit.acquire());
+
+    p2.release(true);
+    // never changes
+    assertEquals(2, limit.limit());
+  }
+
+  @Test
+  public void gradientGrowsWhenLatencyIsStable() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 10, 1, 100, 0.5, 100);
+
+    for (int i = 0; i < 20; i++) {
+      limit.sample(1000, false, 10);
+    }
+    assertTrue(limit.limit() > 10);
+    assertTrue(limit.limit() <= 100);
+  }
+
+  @Test
+  public void gradientShrinksWhenLatencyGoesUp() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 50, 5, 100, 0.5, 100);
+
+    limit.sample(1000, false, 50);
+    int before = limit.limit();
+    for (int i = 0; i < 20; i++) {
+      limit.sample(10000, false, 50);
+    }
+    assertTrue(limit.limit() < before);
+  }
+
+  @Test
+  public void gradientShrinksWhenLatencyKeepsGoingUp() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 100, 10, 1000, 0.2,
+        100);
+
+    // no load
+    for (int i = 0; i < 1000; i++) {
+      limit.sample(1000, false, limit.limit());
+    }
+    int before = limit.limit();
+    // latency goes up 1% per window, the best latency of a window is a load latency
+    long rtt = 1000;
+    for (int i = 0; i < 10000; i++) {
+      if (i % 100 == 0) {
+        rtt = rtt * 101 / 100;
+      }
+      limit.sample(rtt, false, limit.limit());
+    }
+    assertTrue(limit.limit() + " >= " + before, limit.limit() < before / 2);
+  }
+
+  @Test
+  public void queueTimeIsLatency() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 20, 1, 100, 1, 100);
+
+    // no load
+    limit.acquire().release(false);
+    int before = limit.limit();
+
+    // all of them waited 1s in the server queues
+    long arrival = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+    List<ConcurrencyLimit.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      permits.add(limit.acquire(arrival));
+    }
+    permits.forEach(permit -> permit.release(false));
+    assertTrue(limit.limit() + " >= " + before, limit.limit() < before);
+  }
+
+  @Test
+  public void gradientIgnoresSamplesWhenLimitIsNotInUse() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 50, 5, 100, 0.5, 100);
+
+    for (int i = 0; i < 20; i++) {
+      limit.sample(1000, false, 1);
+    }
+    assertEquals(50, limit.limit());
+  }
+
+  @Test
+  public void gradientBacksOffOnDrop() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 50, 5, 100, 0.5, 100);
+
+    limit.sample(1000, true, 50);
+    assertEquals(45, limit.limit());
+  }
+
+  @Test
+  public void gradientBounds() {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 6, 5, 100, 1, 100);
+
+    for (int i = 0; i < 20; i++) {
+      limit.sample(1000, true, 6);
+    }
+    assertEquals(5, limit.limit());
+  }
+
+  @Test
+  public void concurrentSamples() throws Exception {
+    ConcurrencyLimit limit = new ConcurrencyLimit("default", Mode.GRADIENT, 4, 2, 64, 0.2, 10);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 10000; i++) {
+          ConcurrencyLimit.Permit permit = limit.acquire();
+          if (permit != null) {
+            permit.release(i % 100 == 0);
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(0, limit.inflight());
+    assertTrue(limit.limit() >= 2);
+    assertTrue(limit.limit() <= 64);
+  }
+
+}
@@ -0,0 +1,58 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+public class ConcurrencyLimitsTest {
+
+  @Test
+  public void off() {
+    ConcurrencyLimits limits = new ConcurrencyLimits(config("off", ""));
+    assertNull(limits.get("GET/"));
+    assertEquals(0, limits.limits().size());
+    assertEquals(1, limits.retryAfter());
+  }
+
+  @Test
+  public void defaultGroup() {
+    ConcurrencyLimits limits = new ConcurrencyLimits(config("static", ""));
+    ConcurrencyLimit limit = limits.get("GET/");
+    assertEquals("default", limit.name());
+    assertEquals(ConcurrencyLimit.Mode.STATIC, limit.mode());
+    assertEquals(200, limit.limit());
+    assertSame(limit, limits.get("POST/api/users"));
+    assertEquals(1, limits.limits().size());
+  }
+
+  @Test
+  public void groups() {
+    ConcurrencyLimits limits = new ConcurrencyLimits(config("gradient",
+        "api {path = [\"/api/**\", \"/v1/**\"], Limit = 50}, static {path = \"/assets/**\", "
+            + "Mode = static}"));
+
+    ConcurrencyLimit api = limits.get("GET/api/users");
+    assertEquals("api", api.name());
+    assertEquals(50, api.limit());
+    assertEquals(ConcurrencyLimit.Mode.GRADIENT, api.mode());
+    assertSame(api, limits.get("DELETE/v1/users/1"));
+
+    ConcurrencyLimit assets = limits.get("GET/assets/js/app.js");
+    assertEquals("static", assets.name());
+    assertEquals(ConcurrencyLimit.Mode.STATIC, assets.mode());
+
+    assertEquals("default", limits.get("GET/").name());
+    assertEquals(3, limits.limits().size());
+  }
+
+  private static Config config(final String mode, final String groups) {
+    return ConfigFactory.parseString("server.limit {Mode = " + mode
+        + ", Limit = 200, MinLimit = 10, MaxLimit = 1000, Smoothing = 0.2, Window = 1000"
+        + ", RetryAfter = 1s, groups {" + groups + "}}");
+  }
+}
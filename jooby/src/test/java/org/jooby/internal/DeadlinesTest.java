@@ -0,0 +1,75 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Deadline;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+public class DeadlinesTest {
+
+  @Test
+  public void noTimeout() {
+    Deadlines deadlines = new Deadlines(ConfigFactory.parseString(
+        "server.http { Timeout = 0, TimeoutInterrupt = false }"));
+    assertNull(deadlines.timeout());
+  }
+
+  @Test
+  public void timeout() {
+    Deadlines deadlines = new Deadlines(ConfigFactory.parseString(
+        "server.http { Timeout = 2s, TimeoutInterrupt = false }"));
+    assertEquals(Duration.ofSeconds(2), deadlines.timeout());
+  }
+
+  @Test
+  public void schedule() throws Exception {
+    Deadlines deadlines = new Deadlines(ConfigFactory.parseString(
+        "server.http { Timeout = 0, TimeoutInterrupt = false }"));
+    try {
+      CountDownLatch latch = new CountDownLatch(1);
+      deadlines.schedule(Deadline.of(Duration.ofMillis(10)), latch::countDown);
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } finally {
+      deadlines.shutdown();
+    }
+  }
+
+  @Test
+  public void interrupt() throws Exception {
+    Deadlines deadlines = new Deadlines(ConfigFactory.parseString(
+        "server.http { Timeout = 0, TimeoutInterrupt = true }"));
+    try {
+      Runnable done = deadlines.interrupt(Deadline.of(Duration.ofMillis(10)));
+      try {
+        Thread.sleep(5000);
+        throw new AssertionError("expected interruption");
+      } catch (InterruptedException expected) {
+      } finally {
+        done.run();
+      }
+      assertFalse(Thread.currentThread().isInterrupted());
+    } finally {
+      deadlines.shutdown();
+    }
+  }
+
+  @Test
+  public void noInterrupt() throws Exception {
+    Deadlines deadlines = new Deadlines(ConfigFactory.parseString(
+        "server.http { Timeout = 0, TimeoutInterrupt = false }"));
+    Runnable done = deadlines.interrupt(Deadline.of(Duration.ofMillis(10)));
+    Thread.sleep(50);
+    done.run();
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+
+}
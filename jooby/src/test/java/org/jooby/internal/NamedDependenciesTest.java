@@ -0,0 +1,109 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+import org.junit.Test;
+
+import com.google.inject.ImplementedBy;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Provides;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Elements;
+
+public class NamedDependenciesTest {
+
+  public static class Db {
+    @Inject
+    public Db(@Named("db.url") final String url, @Named("db") final Provider<Object> db) {
+    }
+  }
+
+  public static class Repository {
+    @Inject
+    @Named("repository.size")
+    int size;
+
+    @Inject
+    public Repository(final Db db) {
+    }
+
+    @Inject
+    public void pool(@com.google.inject.name.Named("pool") final String pool) {
+    }
+  }
+
+  @ImplementedBy(ServiceImpl.class)
+  public interface Service {
+  }
+
+  public static class ServiceImpl implements Service {
+    @Inject
+    public ServiceImpl(@Named("service.timeout") final String timeout) {
+    }
+  }
+
+  public static class Handler {
+    @Inject
+    public Handler(final Service service, @Named("handler.path") final String path) {
+    }
+  }
+
+  @Test
+  public void linkedAndJustInTime() throws Exception {
+    assertEquals(Arrays.asList("db.url", "db", "repository.size", "pool"), find(binder -> {
+      binder.bind(Repository.class);
+    }));
+  }
+
+  @Test
+  public void implementedBy() throws Exception {
+    assertEquals(Arrays.asList("service.timeout"), find(binder -> {
+      binder.bind(Object.class).to(Service.class);
+    }));
+  }
+
+  @Test
+  public void providerMethod() throws Exception {
+    assertEquals(Arrays.asList("provider.value"), find(new Module() {
+      @Override
+      public void configure(final com.google.inject.Binder binder) {
+      }
+
+      @Provides
+      public Object object(@Named("provider.value") final String value) {
+        return value;
+      }
+    }));
+  }
+
+  @Test
+  public void boundNamesAreSkipped() throws Exception {
+    assertEquals(Arrays.asList("db.url"), find(binder -> {
+      binder.bind(Db.class);
+      binder.bind(Key.get(Object.class, Names.named("db"))).toInstance("db");
+    }));
+  }
+
+  @Test
+  public void roots() throws Exception {
+    Set<String> names = NamedDependencies.find(Elements.getElements(binder -> {
+    }), Collections.singleton(Handler.class));
+    assertEquals("[service.timeout, handler.path]", names.toString());
+  }
+
+  private static List<String> find(final Module module) {
+    return Arrays.asList(NamedDependencies.find(Elements.getElements(module),
+        Collections.emptySet()).toArray(new String[0]));
+  }
+
+}
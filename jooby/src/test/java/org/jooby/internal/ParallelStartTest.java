@@ -0,0 +1,271 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import org.jooby.Managed;
+import org.jooby.StartupReport;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.matcher.Matcher;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+
+public class ParallelStartTest {
+
+  static List<String> events = new CopyOnWriteArrayList<>();
+
+  static CountDownLatch latch;
+
+  public static abstract class Service implements Managed {
+
+    @Override
+    public void start() throws Exception {
+      events.add("start " + getClass().getSimpleName());
+    }
+
+    @Override
+    public void stop() throws Exception {
+      events.add("stop " + getClass().getSimpleName());
+    }
+  }
+
+  /** A and B only start if they start at the same time. */
+  @Singleton
+  public static class A extends Service {
+    @Override
+    public void start() throws Exception {
+      latch.countDown();
+      assertTrue("B didn't start at the same time", latch.await(5, TimeUnit.SECONDS));
+      super.start();
+    }
+  }
+
+  @Singleton
+  public static class B extends A {
+  }
+
+  @Singleton
+  public static class Db extends Service {
+    @Override
+    public void start() throws Exception {
+      Thread.sleep(50);
+      super.start();
+    }
+  }
+
+  @Singleton
+  public static class Repository extends Service {
+    @Inject
+    public Repository(final Db db) {
+    }
+  }
+
+  /** Like a data source provider: it doesn't work before start. */
+  public static class Pool extends Service implements Provider<String> {
+
+    private volatile String pool;
+
+    @Override
+    public void start() throws Exception {
+      Thread.sleep(50);
+      pool = "pool";
+      super.start();
+    }
+
+    @Override
+    public String get() {
+      if (pool == null) {
+        throw new IllegalStateException("not started");
+      }
+      return pool;
+    }
+  }
+
+  @Singleton
+  public static class Dao {
+    String pool;
+
+    @Inject
+    public Dao(final String pool) {
+      this.pool = pool;
+    }
+  }
+
+  @Singleton
+  public static class Broken extends Service {
+    @Override
+    public void start() throws Exception {
+      throw new IllegalArgumentException("intentional err");
+    }
+  }
+
+  @Singleton
+  public static class NeedsBroken extends Service {
+    @Inject
+    public NeedsBroken(final Broken broken) {
+    }
+  }
+
+  /** Like a client bound with toInstance, it doesn't work before start. */
+  public static class Client extends Service {
+
+    private volatile boolean started;
+
+    @Override
+    public void start() throws Exception {
+      started = true;
+      super.start();
+    }
+
+    public String get() {
+      if (!started) {
+        throw new IllegalStateException("not started");
+      }
+      return "client";
+    }
+  }
+
+  @Singleton
+  public static class UsesClient {
+    String value;
+
+    @Inject
+    public UsesClient(final Client client) {
+      this.value = client.get();
+    }
+  }
+
+  @Test
+  public void independentServicesStartAtTheSameTime() throws Exception {
+    events.clear();
+    latch = new CountDownLatch(2);
+    Injector injector = start(binder -> {
+      binder.bind(A.class).asEagerSingleton();
+      binder.bind(B.class).asEagerSingleton();
+    });
+    assertEquals(2, events.size());
+    stop(injector);
+  }
+
+  @Test
+  public void dependenciesStartFirstAndStopLast() throws Exception {
+    events.clear();
+    Injector injector = start(binder -> {
+      binder.bind(Repository.class).asEagerSingleton();
+      binder.bind(Db.class).asEagerSingleton();
+    });
+    assertEquals("[start Db, start Repository]", events.toString());
+
+    events.clear();
+    stop(injector);
+    assertEquals("[stop Repository, stop Db]", events.toString());
+  }
+
+  @Test
+  public void providerWaitsForService() throws Exception {
+    events.clear();
+    Pool pool = new Pool();
+    Injector injector = start(binder -> {
+      binder.bind(String.class).toProvider(pool);
+      binder.bind(Dao.class).asEagerSingleton();
+    });
+    assertEquals("pool", injector.getInstance(Dao.class).pool);
+    assertEquals("[start Pool]", events.toString());
+  }
+
+  @Test
+  public void instanceStartsWhenInjected() throws Exception {
+    events.clear();
+    Injector injector = start(binder -> {
+      binder.bind(Client.class).toInstance(new Client());
+      binder.bind(UsesClient.class).asEagerSingleton();
+      binder.bind(Db.class).asEagerSingleton();
+    });
+    assertEquals("client", injector.getInstance(UsesClient.class).value);
+    assertEquals("[start Client, start Db]", events.toString());
+  }
+
+  @Test
+  public void provisionListenerOnManagedProvidersOnly() throws Exception {
+    Injector injector = Guice.createInjector(binder -> {
+      binder.bind(String.class).toProvider(new Pool());
+      binder.bind(Integer.class).toProvider(() -> 1);
+      binder.bind(Db.class);
+    });
+    Matcher<Binding<?>> matcher = LifecycleProcessor.managedProviders();
+    assertTrue(matcher.matches(injector.getBinding(String.class)));
+    assertFalse(matcher.matches(injector.getBinding(Integer.class)));
+    assertFalse(matcher.matches(injector.getBinding(Db.class)));
+  }
+
+  @Test
+  public void failure() throws Exception {
+    events.clear();
+    try {
+      start(binder -> {
+        binder.bind(NeedsBroken.class).asEagerSingleton();
+        binder.bind(Db.class).asEagerSingleton();
+      });
+      throw new AssertionError("expected failure");
+    } catch (IllegalArgumentException ex) {
+      assertEquals("intentional err", ex.getMessage());
+    }
+    // dependents don't start, independent services do
+    assertEquals("[start Db]", events.toString());
+  }
+
+  @Test
+  public void startupReport() throws Exception {
+    StartupReport report = new StartupReport();
+    LifecycleProcessor lifecycle = new LifecycleProcessor(report, true, 4);
+    Injector injector = Guice.createInjector(Stage.PRODUCTION, binder -> {
+      binder.bindListener(Matchers.any(), lifecycle);
+      binder.bindListener(LifecycleProcessor.managedProviders(), lifecycle.provisionListener());
+      binder.bind(Db.class).asEagerSingleton();
+    });
+    lifecycle.start(injector);
+
+    assertEquals("[start " + Db.class.getName() + ", start]", report.phases().stream()
+        .map(StartupReport.Phase::name)
+        .collect(Collectors.toList()).toString());
+    assertEquals("start", report.phases().get(0).parent().get());
+  }
+
+  private static Injector start(final Module module) {
+    LifecycleProcessor lifecycle = new LifecycleProcessor(new StartupReport(), true, 4);
+    List<Element> elements = Elements.getElements(Stage.PRODUCTION, binder -> {
+      binder.bindListener(Matchers.any(), lifecycle);
+      binder.bindListener(LifecycleProcessor.managedProviders(), lifecycle.provisionListener());
+      module.configure(binder);
+    });
+    lifecycle.instances(elements);
+    Injector injector = Guice.createInjector(Stage.PRODUCTION, Elements.getModule(elements));
+    lifecycle.start(injector);
+    return injector;
+  }
+
+  private static void stop(final Injector injector) {
+    LifecycleProcessor.onPreDestroy(injector, LoggerFactory.getLogger(ParallelStartTest.class),
+        4);
+  }
+
+}
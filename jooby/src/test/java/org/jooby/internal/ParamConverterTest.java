@@ -10,6 +10,7 @@ import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Date;
@@ -126,6 +127,36 @@ public class ParamConverterTest {
     assertTrue(1393038000000L == date.getTime() || 1393027200000L == date.getTime());
   }
 
+  @Test
+  public void shouldConvertToDateWithSingleDigitDayAndMonth() throws Exception {
+    ParserExecutor resolver = newParser();
+    Date date = resolver.convert(TypeLiteral.get(Date.class), data("1/2/2014"));
+    assertEquals("01/02/2014", new SimpleDateFormat("dd/MM/yyyy").format(date));
+  }
+
+  @Test
+  public void shouldConvertToDateIgnoringTrailingText() throws Exception {
+    ParserExecutor resolver = newParser();
+    Date date = resolver.convert(TypeLiteral.get(Date.class), data("22/02/2014 10:30"));
+    assertEquals("22/02/2014", new SimpleDateFormat("dd/MM/yyyy").format(date));
+  }
+
+  @Test
+  public void shouldConvertToDateRollingOverFields() throws Exception {
+    ParserExecutor resolver = newParser();
+    Date date = resolver.convert(TypeLiteral.get(Date.class), data("31/02/2014"));
+    assertEquals("03/03/2014", new SimpleDateFormat("dd/MM/yyyy").format(date));
+  }
+
+  @Test
+  public void shouldConvertToDateWithTwoDigitYear() throws Exception {
+    // month names ignore case, two digit years are in a sliding window (-80/+20 years)
+    ParserExecutor resolver = new ParserExecutor(createMock(Injector.class),
+        Sets.newHashSet(new DateParser("dd-MMM-yy", Locale.ENGLISH, ZoneId.systemDefault())));
+    Date date = resolver.convert(TypeLiteral.get(Date.class), data("01-jan-99"));
+    assertEquals("01/01/1999", new SimpleDateFormat("dd/MM/yyyy").format(date));
+  }
+
   private Object data(final String... value) {
     return ImmutableList.copyOf(value);
   }
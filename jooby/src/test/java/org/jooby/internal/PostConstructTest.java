@@ -9,6 +9,7 @@ import javax.annotation.PostConstruct;
 
 import org.jooby.Managed;
 import org.jooby.MockUnit;
+import org.jooby.StartupReport;
 import org.junit.Test;
 
 import com.google.inject.TypeLiteral;
@@ -88,7 +89,8 @@ public class PostConstructTest {
           encounter.register(unit.capture(InjectionListener.class));
         })
         .run(unit -> {
-          new LifecycleProcessor().<Managed> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<Managed> hear(type, unit.get(TypeEncounter.class));
         }, unit -> {
           InjectionListener listener = unit.captured(InjectionListener.class).iterator().next();
           listener.afterInjection(unit.get(Managed.class));
@@ -106,7 +108,8 @@ public class PostConstructTest {
           encounter.register(unit.capture(InjectionListener.class));
         })
         .run(unit -> {
-          new LifecycleProcessor().<ValidPostConstruct> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<ValidPostConstruct> hear(type, unit.get(TypeEncounter.class));
         }, unit -> {
           InjectionListener listener = unit.captured(InjectionListener.class).iterator().next();
           ValidPostConstruct postConstruct = new ValidPostConstruct();
@@ -126,7 +129,8 @@ public class PostConstructTest {
           encounter.register(unit.capture(InjectionListener.class));
         })
         .run(unit -> {
-          new LifecycleProcessor().<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
         }, unit -> {
           InjectionListener listener = unit.captured(InjectionListener.class).iterator().next();
           listener.afterInjection(null);
@@ -149,7 +153,8 @@ public class PostConstructTest {
           encounter.register(unit.capture(InjectionListener.class));
         })
         .run(unit -> {
-          new LifecycleProcessor().<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
         }, unit -> {
           InjectionListener listener = unit.captured(InjectionListener.class).iterator().next();
           listener.afterInjection(unit.get(ThrowablePostConstruct.class));
@@ -167,7 +172,8 @@ public class PostConstructTest {
           encounter.register(unit.capture(InjectionListener.class));
         })
         .run(unit -> {
-          new LifecycleProcessor().<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
         }, unit -> {
           InjectionListener listener = unit.captured(InjectionListener.class).iterator().next();
           listener.afterInjection(new ThrowablePostConstruct(new IOException()));
@@ -185,7 +191,8 @@ public class PostConstructTest {
           encounter.register(unit.capture(InjectionListener.class));
         })
         .run(unit -> {
-          new LifecycleProcessor().<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<ThrowablePostConstruct> hear(type, unit.get(TypeEncounter.class));
         }, unit -> {
           InjectionListener listener = unit.captured(InjectionListener.class).iterator().next();
           listener.afterInjection(new ThrowablePostConstruct(new IOException()));
@@ -199,7 +206,8 @@ public class PostConstructTest {
     };
     new MockUnit(TypeEncounter.class)
         .run(unit -> {
-          new LifecycleProcessor().<StaticPostConstruct> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<StaticPostConstruct> hear(type, unit.get(TypeEncounter.class));
         });
   }
 
@@ -210,7 +218,8 @@ public class PostConstructTest {
     };
     new MockUnit(TypeEncounter.class)
         .run(unit -> {
-          new LifecycleProcessor().<PrivatePostConstruct> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<PrivatePostConstruct> hear(type, unit.get(TypeEncounter.class));
         });
   }
 
@@ -221,7 +230,8 @@ public class PostConstructTest {
     };
     new MockUnit(TypeEncounter.class)
         .run(unit -> {
-          new LifecycleProcessor().<PostConstructWithArgs> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<PostConstructWithArgs> hear(type, unit.get(TypeEncounter.class));
         });
   }
 
@@ -232,7 +242,8 @@ public class PostConstructTest {
     };
     new MockUnit(TypeEncounter.class)
         .run(unit -> {
-          new LifecycleProcessor().<PostConstructWithReturnType> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<PostConstructWithReturnType> hear(type, unit.get(TypeEncounter.class));
         });
   }
 
@@ -243,7 +254,8 @@ public class PostConstructTest {
     };
     new MockUnit(TypeEncounter.class, Runnable.class)
         .run(unit -> {
-          new LifecycleProcessor().<Runnable> hear(type, unit.get(TypeEncounter.class));
+          new LifecycleProcessor(new StartupReport())
+              .<Runnable> hear(type, unit.get(TypeEncounter.class));
         });
   }
 }
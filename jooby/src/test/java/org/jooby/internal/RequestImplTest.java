@@ -0,0 +1,106 @@
+package org.jooby.internal;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.jooby.MediaType;
+import org.jooby.MockUnit;
+import org.jooby.Route;
+import org.jooby.spi.NativeRequest;
+import org.junit.Test;
+
+import com.google.inject.Injector;
+
+public class RequestImplTest {
+
+  @Test
+  public void noParsingOnCreation() throws Exception {
+    new MockUnit(Injector.class, NativeRequest.class, Route.class)
+        .run(unit -> {
+          new RequestImpl(unit.get(Injector.class), unit.get(NativeRequest.class),
+              unit.get(Route.class), new HashMap<>(), new HashMap<>());
+        });
+  }
+
+  @Test
+  public void typeAndCharsetAreParsedOnce() throws Exception {
+    new MockUnit(Injector.class, NativeRequest.class, Route.class)
+        .expect(unit -> {
+          NativeRequest req = unit.get(NativeRequest.class);
+          expect(req.header("Content-Type"))
+              .andReturn(Optional.of("text/plain;charset=ISO-8859-1"));
+        })
+        .run(unit -> {
+          RequestImpl req = new RequestImpl(unit.get(Injector.class),
+              unit.get(NativeRequest.class), unit.get(Route.class), new HashMap<>(),
+              new HashMap<>());
+          assertEquals("text/plain", req.type().name());
+          assertEquals(StandardCharsets.ISO_8859_1, req.charset());
+          assertEquals("text/plain", req.type().name());
+          assertEquals(StandardCharsets.ISO_8859_1, req.charset());
+        });
+  }
+
+  @Test
+  public void defaultCharsetAndLocale() throws Exception {
+    new MockUnit(Injector.class, NativeRequest.class, Route.class)
+        .expect(unit -> {
+          NativeRequest req = unit.get(NativeRequest.class);
+          expect(req.header("Content-Type")).andReturn(Optional.empty());
+          expect(req.header("Accept-Language")).andReturn(Optional.empty());
+
+          Injector injector = unit.get(Injector.class);
+          expect(injector.getInstance(Charset.class)).andReturn(StandardCharsets.UTF_8);
+          expect(injector.getInstance(Locale.class)).andReturn(Locale.ENGLISH);
+        })
+        .run(unit -> {
+          RequestImpl req = new RequestImpl(unit.get(Injector.class),
+              unit.get(NativeRequest.class), unit.get(Route.class), new HashMap<>(),
+              new HashMap<>());
+          assertEquals(StandardCharsets.UTF_8, req.charset());
+          assertEquals(Locale.ENGLISH, req.locale());
+          assertEquals(StandardCharsets.UTF_8, req.charset());
+          assertEquals(Locale.ENGLISH, req.locale());
+        });
+  }
+
+  @Test
+  public void acceptIsParsedOnce() throws Exception {
+    new MockUnit(Injector.class, NativeRequest.class, Route.class)
+        .expect(unit -> {
+          NativeRequest req = unit.get(NativeRequest.class);
+          expect(req.header("Accept")).andReturn(Optional.of("application/json"));
+        })
+        .run(unit -> {
+          RequestImpl req = new RequestImpl(unit.get(Injector.class),
+              unit.get(NativeRequest.class), unit.get(Route.class), new HashMap<>(),
+              new HashMap<>());
+          assertEquals(MediaType.json, req.accept().get(0));
+          assertEquals(1, req.accept().size());
+        });
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void noSessionForNonblockingRoutes() throws Exception {
+    new MockUnit(Injector.class, NativeRequest.class, Route.class)
+        .expect(unit -> {
+          Route route = unit.get(Route.class);
+          expect(route.method()).andReturn("GET");
+          expect(route.path()).andReturn("/ping");
+        })
+        .run(unit -> {
+          RequestImpl req = new RequestImpl(unit.get(Injector.class),
+              unit.get(NativeRequest.class), unit.get(Route.class), new HashMap<>(),
+              new HashMap<>());
+          req.nonblocking(true);
+          req.session();
+        });
+  }
+
+}
@@ -4,7 +4,9 @@ import static org.easymock.EasyMock.expect;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import org.jooby.MockUnit;
 import org.junit.Test;
@@ -42,6 +44,29 @@ public class RequestScopeTest {
     requestScope.exit();
   }
 
+  @Test
+  public void scopePerInstance() {
+    Key<String> key = Key.get(String.class);
+    RequestScope app1 = new RequestScope();
+    RequestScope app2 = new RequestScope();
+    Map<Object, Object> locals1 = new HashMap<>();
+    locals1.put(key, "app1");
+    Map<Object, Object> locals2 = new HashMap<>();
+    locals2.put(key, "app2");
+
+    assertEquals(Optional.empty(), RequestScope.current(key));
+    app1.enter(locals1);
+    assertEquals(Optional.of("app1"), RequestScope.current(key));
+    app2.enter(locals2);
+    assertEquals(Optional.of("app2"), RequestScope.current(key));
+    assertEquals("app2", app2.scope(key, () -> "none").get());
+    app2.exit();
+    assertEquals(Optional.of("app1"), RequestScope.current(key));
+    assertEquals("app1", app1.scope(key, () -> "none").get());
+    app1.exit();
+    assertEquals(Optional.empty(), RequestScope.current(key));
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes" })
   @Test
   public void scopedValue() throws Exception {
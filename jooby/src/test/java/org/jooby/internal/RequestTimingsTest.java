@@ -0,0 +1,109 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.internal.RequestTimings.Phase;
+import org.junit.Test;
+
+public class RequestTimingsTest {
+
+  @Test
+  public void phases() throws Exception {
+    long start = System.nanoTime();
+    RequestTimings timings = new RequestTimings(start);
+    assertEquals(-1, timings.total());
+
+    timings.routed();
+    long routed = timings.nanos(Phase.ROUTE);
+    assertTrue(routed >= 0);
+
+    long begin = System.nanoTime();
+    Thread.sleep(5);
+    timings.add(Phase.SESSION, begin);
+    long session = timings.nanos(Phase.SESSION);
+    assertTrue(session >= TimeUnit.MILLISECONDS.toNanos(5));
+
+    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+    timings.done(end);
+
+    assertEquals(end - start, timings.total());
+    assertEquals(end - start - routed - session, timings.nanos(Phase.HANDLER));
+    assertEquals(0, timings.nanos(Phase.PARSE));
+    assertEquals(0, timings.nanos(Phase.RENDER));
+    assertEquals(0, timings.nanos(Phase.WRITE));
+  }
+
+  @Test
+  public void route() {
+    RequestTimings timings = new RequestTimings(0);
+    assertEquals("none", timings.route());
+    timings.route("/users/:id");
+    assertEquals("/users/:id", timings.route());
+  }
+
+  @Test
+  public void handlerIsNeverNegative() {
+    RequestTimings timings = new RequestTimings(0);
+    timings.add(Phase.WRITE, System.nanoTime() - 1000);
+    timings.done(10);
+    assertEquals(0, timings.nanos(Phase.HANDLER));
+  }
+
+  @Test
+  public void millis() {
+    assertEquals("0.0", RequestTimings.millis(0));
+    assertEquals("0.1", RequestTimings.millis(100000));
+    assertEquals("0.3", RequestTimings.millis(349999));
+    assertEquals("9.9", RequestTimings.millis(9999999));
+    assertEquals("12", RequestTimings.millis(12500000));
+    assertEquals("1500", RequestTimings.millis(1500000000));
+  }
+
+  @Test
+  public void breakdown() {
+    RequestTimings timings = new RequestTimings(0);
+    timings.done(40000000);
+    assertEquals("route=0.0ms session=0.0ms parse=0.0ms handler=40ms render=0.0ms write=0.0ms",
+        timings.toString());
+  }
+
+  @Test
+  public void bytes() throws Exception {
+    RequestTimings timings = new RequestTimings(0);
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (OutputStream out = timings.count(buffer)) {
+      out.write('a');
+      out.write("bcdef".getBytes(), 1, 3);
+    }
+    assertEquals("acde", buffer.toString());
+    assertEquals(4, timings.bytes());
+  }
+
+  @Test
+  public void current() {
+    assertNull(RequestTimings.current());
+
+    RequestScope scope = new RequestScope();
+    Map<Object, Object> locals = new HashMap<>();
+    scope.enter(locals);
+    try {
+      assertNull(RequestTimings.current());
+
+      RequestTimings timings = new RequestTimings(0);
+      locals.put(RequestTimings.KEY, timings);
+      assertSame(timings, RequestTimings.current());
+    } finally {
+      scope.exit();
+    }
+  }
+
+}
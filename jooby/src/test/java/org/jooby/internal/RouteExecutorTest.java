@@ -0,0 +1,69 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RouteExecutorTest {
+
+  @Test
+  public void fixed() throws Exception {
+    RouteExecutor executor = new RouteExecutor("reports", RouteExecutor.Type.FIXED, 1, 1);
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(2);
+    try {
+      executor.execute(() -> {
+        running.countDown();
+        await(release);
+        done.countDown();
+      });
+      running.await(1, TimeUnit.SECONDS);
+      executor.execute(done::countDown);
+
+      assertEquals("reports", executor.name());
+      assertEquals(RouteExecutor.Type.FIXED, executor.type());
+      assertEquals(1, executor.active());
+      assertEquals(1, executor.queued());
+
+      try {
+        executor.execute(done::countDown);
+      } catch (RejectedExecutionException ex) {
+        // queue is full
+      }
+
+      release.countDown();
+      done.await(1, TimeUnit.SECONDS);
+      assertEquals(1, executor.rejected());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void noQueue() throws Exception {
+    RouteExecutor executor = new RouteExecutor("reports", RouteExecutor.Type.FIXED, 1, 0);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      executor.execute(() -> await(release));
+      executor.execute(() -> {
+      });
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(1, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
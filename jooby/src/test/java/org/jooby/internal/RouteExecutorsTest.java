@@ -0,0 +1,43 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+public class RouteExecutorsTest {
+
+  @Test
+  public void executors() {
+    RouteExecutors executors = new RouteExecutors(ConfigFactory.parseString(
+        "executors { reports { threads = 2, queue = 10 }, checkout { type = virtual } }"));
+    try {
+      RouteExecutor reports = executors.get("reports");
+      assertEquals("reports", reports.name());
+      assertEquals(RouteExecutor.Type.FIXED, reports.type());
+
+      assertEquals("checkout", executors.get("checkout").name());
+      assertEquals(2, executors.executors().size());
+    } finally {
+      executors.shutdown();
+    }
+  }
+
+  @Test
+  public void none() {
+    RouteExecutors executors = new RouteExecutors(ConfigFactory.parseString("executors {}"));
+    assertEquals(0, executors.executors().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void missingExecutor() {
+    new RouteExecutors(ConfigFactory.parseString("executors {}")).get("reports");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void missingThreads() {
+    new RouteExecutors(ConfigFactory.parseString("executors { reports { queue = 10 } }"));
+  }
+
+}
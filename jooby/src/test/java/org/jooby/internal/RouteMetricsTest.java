@@ -0,0 +1,112 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.jooby.MediaType;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+public class RouteMetricsTest {
+
+  @Test
+  public void off() {
+    RouteMetrics metrics = metrics(false, "off", "");
+    assertEquals(false, metrics.enabled());
+    assertNull(metrics.stats(route("GET", "/users/:id", "/users/1")));
+  }
+
+  @Test
+  public void stats() {
+    RouteMetrics metrics = metrics(true, "off", "");
+    assertEquals(true, metrics.enabled());
+
+    RouteStats stats = metrics.stats(route("GET", "/users/:id", "/users/1"));
+    assertEquals("GET", stats.method());
+    assertEquals("/users/:id", stats.pattern());
+    assertSame(stats, metrics.stats(route("GET", "/users/:id", "/users/2")));
+    assertNotSame(stats, metrics.stats(route("POST", "/users/:id", "/users/2")));
+    assertNotSame(stats, metrics.stats(route("GET", "/users", "/users")));
+
+    RouteStats none = metrics.stats(null);
+    assertEquals("*", none.method());
+    assertEquals("none", none.pattern());
+  }
+
+  @Test
+  public void scrape() {
+    RouteMetrics metrics = metrics(true, "static", "reports { threads = 2 }");
+    RouteStats stats = metrics.stats(route("GET", "/users/:id", "/users/1"));
+    stats.start();
+    stats.end(200, 1000000);
+    stats.start();
+    stats.end(500, 3000000);
+    RequestTimings timings = new RequestTimings(0);
+    timings.done(2000000);
+    stats.phases(timings);
+    stats.start();
+
+    String text = metrics.scrape();
+    assertTrue(text, text.contains("# TYPE jooby_requests_total counter\n"));
+    assertTrue(text, text.contains(
+        "jooby_requests_total{method=\"GET\",route=\"/users/:id\",status=\"2xx\"} 1\n"));
+    assertTrue(text, text.contains(
+        "jooby_requests_total{method=\"GET\",route=\"/users/:id\",status=\"5xx\"} 1\n"));
+    assertTrue(text, text.contains(
+        "jooby_requests_inflight{method=\"GET\",route=\"/users/:id\"} 1\n"));
+    assertTrue(text, text.contains("# TYPE jooby_request_duration_seconds histogram\n"));
+    assertTrue(text, text.contains("jooby_request_duration_seconds_bucket{method=\"GET\","
+        + "route=\"/users/:id\",le=\"0.000524288\"} 0\n"));
+    assertTrue(text, text.contains("jooby_request_duration_seconds_bucket{method=\"GET\","
+        + "route=\"/users/:id\",le=\"0.000917504\"} 0\n"));
+    assertTrue(text, text.contains("jooby_request_duration_seconds_bucket{method=\"GET\","
+        + "route=\"/users/:id\",le=\"0.001048576\"} 1\n"));
+    assertTrue(text, text.contains("jooby_request_duration_seconds_bucket{method=\"GET\","
+        + "route=\"/users/:id\",le=\"0.004194304\"} 2\n"));
+    assertTrue(text, text.contains("jooby_request_duration_seconds_bucket{method=\"GET\","
+        + "route=\"/users/:id\",le=\"+Inf\"} 2\n"));
+    assertTrue(text, text.contains(
+        "jooby_request_duration_seconds_sum{method=\"GET\",route=\"/users/:id\"} 0.004\n"));
+    assertTrue(text, text.contains(
+        "jooby_request_duration_seconds_count{method=\"GET\",route=\"/users/:id\"} 2\n"));
+    assertTrue(text, text.contains("# TYPE jooby_request_phase_seconds_total counter\n"));
+    assertTrue(text, text.contains("jooby_request_phase_seconds_total{method=\"GET\","
+        + "route=\"/users/:id\",phase=\"handler\"} 0.002\n"));
+    assertTrue(text, text.contains("jooby_request_phase_seconds_total{method=\"GET\","
+        + "route=\"/users/:id\",phase=\"session\"} 0\n"));
+    assertTrue(text, text.contains("jooby_limit{group=\"default\"} 200\n"));
+    assertTrue(text, text.contains("jooby_limit_rejected_total{group=\"default\"} 0\n"));
+    assertTrue(text, text.contains("jooby_executor_queued{executor=\"reports\"} 0\n"));
+  }
+
+  @Test
+  public void escape() {
+    RouteMetrics metrics = metrics(true, "off", "");
+    metrics.stats(route("GET", "/a\"b", "/a\"b"));
+
+    assertTrue(metrics.scrape().contains("route=\"/a\\\"b\""));
+  }
+
+  private static RouteImpl route(final String method, final String pattern, final String path) {
+    return new RouteImpl((req, rsp, chain) -> {
+    }, method, path, pattern, "anonymous", Collections.emptyMap(), MediaType.ALL, MediaType.ALL);
+  }
+
+  private static RouteMetrics metrics(final boolean enabled, final String limit,
+      final String executors) {
+    Config config = ConfigFactory.parseString("server.metrics.Enabled = " + enabled
+        + ", server.limit {Mode = " + limit
+        + ", Limit = 200, MinLimit = 10, MaxLimit = 1000, Smoothing = 0.2, Window = 1000"
+        + ", RetryAfter = 1s, groups {}}, executors {" + executors + "}"
+        + ", server.accessLog.Enabled = false");
+    return new RouteMetrics(config, new ConcurrencyLimits(config), new RouteExecutors(config),
+        new AccessLog(config));
+  }
+}
@@ -0,0 +1,114 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RouteStatsTest {
+
+  @Test
+  public void buckets() {
+    assertEquals(0, RouteStats.bucket(0));
+    assertEquals(0, RouteStats.bucket(1));
+    assertEquals(0, RouteStats.bucket(1024));
+    // (1024, 1280], (1280, 1536], (1536, 1792], (1792, 2048]
+    assertEquals(1, RouteStats.bucket(1025));
+    assertEquals(1, RouteStats.bucket(1280));
+    assertEquals(2, RouteStats.bucket(1281));
+    assertEquals(4, RouteStats.bucket(2048));
+    assertEquals(5, RouteStats.bucket(2049));
+    assertEquals(RouteStats.BUCKETS - 2, RouteStats.bucket(1L << 36));
+    assertEquals(RouteStats.BUCKETS - 1, RouteStats.bucket((1L << 36) + 1));
+    assertEquals(RouteStats.BUCKETS - 1, RouteStats.bucket(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void upperBound() {
+    assertEquals(1024, RouteStats.upperBound(0));
+    assertEquals(1280, RouteStats.upperBound(1));
+    assertEquals(2048, RouteStats.upperBound(4));
+    assertEquals(2560, RouteStats.upperBound(5));
+    assertEquals(1L << 36, RouteStats.upperBound(RouteStats.BUCKETS - 2));
+    assertEquals(-1, RouteStats.upperBound(RouteStats.BUCKETS - 1));
+  }
+
+  @Test
+  public void bucketOfUpperBound() {
+    for (int i = 0; i < RouteStats.BUCKETS - 1; i++) {
+      long upperBound = RouteStats.upperBound(i);
+      assertEquals(i, RouteStats.bucket(upperBound));
+      assertEquals(i + 1, RouteStats.bucket(upperBound + 1));
+    }
+  }
+
+  @Test
+  public void record() {
+    RouteStats stats = new RouteStats("GET", "/users/:id");
+    assertEquals("GET", stats.method());
+    assertEquals("/users/:id", stats.pattern());
+
+    stats.start();
+    stats.end(200, 1000);
+    stats.start();
+    stats.end(404, 300000);
+    stats.start();
+
+    long[] snapshot = stats.snapshot();
+    assertEquals(1, snapshot[RouteStats.INFLIGHT]);
+    assertEquals(301000, snapshot[RouteStats.SUM]);
+    assertEquals(0, snapshot[RouteStats.STATUS]);
+    assertEquals(1, snapshot[RouteStats.STATUS + 1]);
+    assertEquals(1, snapshot[RouteStats.STATUS + 3]);
+    assertEquals(1, snapshot[RouteStats.BUCKET]);
+    assertEquals(1, snapshot[RouteStats.BUCKET + RouteStats.bucket(300000)]);
+  }
+
+  @Test
+  public void phases() {
+    RouteStats stats = new RouteStats("GET", "/");
+    RequestTimings timings = new RequestTimings(0);
+    timings.done(5000);
+    stats.phases(timings);
+    stats.phases(timings);
+
+    long[] snapshot = stats.snapshot();
+    assertEquals(RouteStats.PHASE + RequestTimings.Phase.values().length, RouteStats.SLOTS);
+    assertEquals(10000, snapshot[RouteStats.PHASE + RequestTimings.Phase.HANDLER.ordinal()]);
+    assertEquals(0, snapshot[RouteStats.PHASE + RequestTimings.Phase.ROUTE.ordinal()]);
+  }
+
+  @Test
+  public void concurrent() throws Exception {
+    RouteStats stats = new RouteStats("GET", "/");
+    int threads = 8;
+    int requests = 10000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch latch = new CountDownLatch(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.execute(() -> {
+        for (int j = 0; j < requests; j++) {
+          stats.start();
+          stats.end(200, j);
+        }
+        latch.countDown();
+      });
+    }
+    latch.await(30, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    long[] snapshot = stats.snapshot();
+    assertEquals(0, snapshot[RouteStats.INFLIGHT]);
+    assertEquals(threads * requests, snapshot[RouteStats.STATUS + 1]);
+    long count = 0;
+    for (int i = 0; i < RouteStats.BUCKETS; i++) {
+      count += snapshot[RouteStats.BUCKET + i];
+    }
+    assertEquals(threads * requests, count);
+  }
+
+}
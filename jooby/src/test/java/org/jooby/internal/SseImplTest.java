@@ -0,0 +1,148 @@
+package org.jooby.internal;
+
+import static org.easymock.EasyMock.aryEq;
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.MediaType;
+import org.jooby.MockUnit;
+import org.jooby.MockUnit.Block;
+import org.jooby.spi.NativeSse;
+import org.junit.Test;
+
+import com.google.inject.Injector;
+
+public class SseImplTest {
+
+  private Block onClose = unit -> {
+    NativeSse sse = unit.get(NativeSse.class);
+    sse.onClose(unit.capture(Runnable.class));
+  };
+
+  private Block open = unit -> {
+    NativeSse sse = unit.get(NativeSse.class);
+    expect(sse.isOpen()).andReturn(true);
+  };
+
+  @Test
+  public void sendText() throws Exception {
+    new MockUnit(Injector.class, NativeSse.class, ScheduledExecutorService.class)
+        .expect(onClose)
+        .expect(open)
+        .expect(unit -> {
+          NativeSse sse = unit.get(NativeSse.class);
+          expect(sse.send(aryEq("id:1\nevent:tick\nretry:1000\ndata:a\ndata:b\n\n".getBytes())))
+              .andReturn(CompletableFuture.completedFuture(null));
+        })
+        .run(unit -> {
+          SseImpl sse = new SseImpl(unit.get(Injector.class), unit.get(NativeSse.class),
+              MediaType.all, Optional.empty(), unit.get(ScheduledExecutorService.class), 1024);
+          Optional<Object> id = sse.event("a\nb")
+              .id(1)
+              .name("tick")
+              .retry(1, TimeUnit.SECONDS)
+              .send()
+              .get();
+          assertEquals(Optional.of(1), id);
+        });
+  }
+
+  @Test
+  public void sendComment() throws Exception {
+    new MockUnit(Injector.class, NativeSse.class, ScheduledExecutorService.class)
+        .expect(onClose)
+        .expect(open)
+        .expect(unit -> {
+          NativeSse sse = unit.get(NativeSse.class);
+          expect(sse.send(aryEq(":hey\ndata:a\n\n".getBytes())))
+              .andReturn(CompletableFuture.completedFuture(null));
+        })
+        .run(unit -> {
+          SseImpl sse = new SseImpl(unit.get(Injector.class), unit.get(NativeSse.class),
+              MediaType.all, Optional.empty(), unit.get(ScheduledExecutorService.class), 1024);
+          assertEquals(Optional.empty(), sse.event("a").comment("hey").send().get());
+        });
+  }
+
+  @Test
+  public void lastEventId() throws Exception {
+    new MockUnit(Injector.class, NativeSse.class, ScheduledExecutorService.class)
+        .expect(onClose)
+        .run(unit -> {
+          SseImpl sse = new SseImpl(unit.get(Injector.class), unit.get(NativeSse.class),
+              MediaType.all, Optional.of("7"), unit.get(ScheduledExecutorService.class), 1024);
+          assertEquals(Optional.of("7"), sse.lastEventId());
+        });
+  }
+
+  @Test
+  public void clientClose() throws Exception {
+    new MockUnit(Injector.class, NativeSse.class, ScheduledExecutorService.class, Runnable.class)
+        .expect(onClose)
+        .expect(unit -> {
+          unit.get(Runnable.class).run();
+        })
+        .run(unit -> {
+          SseImpl sse = new SseImpl(unit.get(Injector.class), unit.get(NativeSse.class),
+              MediaType.all, Optional.empty(), unit.get(ScheduledExecutorService.class), 1024);
+          sse.onClose(unit.get(Runnable.class));
+        }, unit -> {
+          unit.captured(Runnable.class).iterator().next().run();
+        });
+  }
+
+  @Test
+  public void closeSlowClient() throws Exception {
+    new MockUnit(Injector.class, NativeSse.class, ScheduledExecutorService.class)
+        .expect(onClose)
+        .expect(unit -> {
+          NativeSse sse = unit.get(NativeSse.class);
+          expect(sse.isOpen()).andReturn(true).times(3);
+          // first event is never written, the second one still fits
+          expect(sse.send(aryEq("data:aaaa\n\n".getBytes())))
+              .andReturn(new CompletableFuture<>()).times(2);
+          sse.close();
+        })
+        .run(unit -> {
+          SseImpl sse = new SseImpl(unit.get(Injector.class), unit.get(NativeSse.class),
+              MediaType.all, Optional.empty(), unit.get(ScheduledExecutorService.class), 24);
+          sse.send("aaaa");
+          sse.send("aaaa");
+          try {
+            sse.send("aaaa").get();
+            fail("queue is full");
+          } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+          }
+          assertFalse(sse.isOpen());
+        });
+  }
+
+  @Test(expected = java.util.concurrent.ExecutionException.class)
+  public void sendOnClosed() throws Exception {
+    new MockUnit(Injector.class, NativeSse.class, ScheduledExecutorService.class)
+        .expect(onClose)
+        .expect(unit -> {
+          NativeSse sse = unit.get(NativeSse.class);
+          expect(sse.isOpen()).andReturn(false).times(2);
+        })
+        .run(unit -> {
+          SseImpl sse = new SseImpl(unit.get(Injector.class), unit.get(NativeSse.class),
+              MediaType.all, Optional.empty(), unit.get(ScheduledExecutorService.class), 1024);
+          assertFalse(sse.isOpen());
+          sse.send("data").get();
+        });
+  }
+
+}
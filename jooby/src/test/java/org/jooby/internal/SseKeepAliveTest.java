@@ -0,0 +1,35 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+public class SseKeepAliveTest {
+
+  @Test
+  public void interval() {
+    SseKeepAlive keepAlive = new SseKeepAlive(ConfigFactory.parseString(
+        "server.sse.KeepAlive = 15s"));
+    assertEquals(15000L, keepAlive.interval());
+  }
+
+  @Test
+  public void shutdown() {
+    SseKeepAlive keepAlive = new SseKeepAlive(ConfigFactory.parseString(
+        "server.sse.KeepAlive = 0"));
+    // nothing to stop
+    keepAlive.shutdown();
+
+    ScheduledExecutorService scheduler = keepAlive.scheduler();
+    assertSame(scheduler, keepAlive.scheduler());
+    keepAlive.shutdown();
+    assertTrue(scheduler.isShutdown());
+  }
+
+}
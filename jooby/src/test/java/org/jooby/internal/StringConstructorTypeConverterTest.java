@@ -1,13 +1,12 @@
 package org.jooby.internal;
 
-import static org.easymock.EasyMock.expect;
 import static org.junit.Assert.assertEquals;
 
+import java.math.BigDecimal;
 import java.util.Locale;
 
 import org.jooby.MockUnit;
 import org.jooby.internal.reqparam.LocaleParser;
-import org.jooby.internal.reqparam.StringConstructorParser;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -16,8 +15,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import com.google.inject.TypeLiteral;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({StringConstructTypeConverter.class, LocaleParser.class,
-    StringConstructorParser.class })
+@PrepareForTest({StringConstructTypeConverter.class, LocaleParser.class })
 public class StringConstructorTypeConverterTest {
 
   @Test
@@ -32,13 +30,8 @@ public class StringConstructorTypeConverterTest {
 
   @Test(expected = IllegalStateException.class)
   public void runtimeError() throws Exception {
-    TypeLiteral<Object> type = TypeLiteral.get(Object.class);
+    TypeLiteral<BigDecimal> type = TypeLiteral.get(BigDecimal.class);
     new MockUnit()
-        .expect(unit -> {
-          unit.mockStatic(StringConstructorParser.class);
-          expect(StringConstructorParser.parse(type, "y")).andThrow(
-              new IllegalArgumentException("intentional err"));
-        })
         .run(unit -> {
           new StringConstructTypeConverter<Object>().convert("y", type);
         });
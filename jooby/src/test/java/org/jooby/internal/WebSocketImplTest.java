@@ -5,6 +5,7 @@ import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.isA;
 import static org.junit.Assert.assertEquals;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,12 +29,21 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.typesafe.config.Config;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({WebSocketImpl.class })
 public class WebSocketImplTest {
 
   private Block connect = unit -> {
+    Config config = unit.mock(Config.class);
+    expect(config.getBytes("server.ws.HighWaterMark")).andReturn(1024L);
+    expect(config.getBytes("server.ws.LowWaterMark")).andReturn(512L);
+    expect(config.getString("server.ws.OverflowPolicy")).andReturn("pause");
+
+    Injector injector = unit.get(Injector.class);
+    expect(injector.getInstance(Config.class)).andReturn(config);
+
     WebSocket.Handler handler = unit.get(WebSocket.Handler.class);
     handler.connect(isA(WebSocketImpl.class));
   };
@@ -63,10 +73,9 @@ public class WebSocketImplTest {
         .expect(callbacks)
         .expect(unit -> {
           NativeWebSocket ws = unit.get(NativeWebSocket.class);
-          WebSocket.SuccessCallback success = unit.get(WebSocket.SuccessCallback.class);
-          WebSocket.ErrCallback err = unit.get(WebSocket.ErrCallback.class);
 
-          ws.send(eq(data.toString()), eq(success), eq(err));
+          ws.send(eq(data.toString()), isA(WebSocket.SuccessCallback.class),
+              isA(WebSocket.ErrCallback.class));
         })
         .expect(unit -> {
           BodyConverterSelector selector = unit.mock(BodyConverterSelector.class);
@@ -86,6 +95,68 @@ public class WebSocketImplTest {
         });
   }
 
+  @SuppressWarnings({"resource" })
+  @Test
+  public void sendBytes() throws Exception {
+    byte[] data = "bytes".getBytes();
+    String path = "/";
+    String pattern = "/pattern";
+    Map<Object, String> vars = new HashMap<>();
+    MediaType consumes = MediaType.all;
+    MediaType produces = MediaType.all;
+
+    new MockUnit(WebSocket.Handler.class, WebSocket.SuccessCallback.class,
+        WebSocket.ErrCallback.class, Injector.class, NativeWebSocket.class)
+        .expect(connect)
+        .expect(callbacks)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+
+          ws.send(eq(ByteBuffer.wrap(data)), isA(WebSocket.SuccessCallback.class),
+              isA(WebSocket.ErrCallback.class));
+        })
+        .run(unit -> {
+          WebSocketImpl ws = new WebSocketImpl(
+              unit.get(WebSocket.Handler.class), path, pattern, vars, consumes, produces
+              );
+          ws.connect(unit.get(Injector.class), unit.get(NativeWebSocket.class));
+
+          ws.send(data, unit.get(WebSocket.SuccessCallback.class),
+              unit.get(WebSocket.ErrCallback.class));
+        });
+  }
+
+  @SuppressWarnings({"resource" })
+  @Test
+  public void sendByteBuffer() throws Exception {
+    ByteBuffer data = ByteBuffer.wrap("bytes".getBytes());
+    String path = "/";
+    String pattern = "/pattern";
+    Map<Object, String> vars = new HashMap<>();
+    MediaType consumes = MediaType.all;
+    MediaType produces = MediaType.all;
+
+    new MockUnit(WebSocket.Handler.class, WebSocket.SuccessCallback.class,
+        WebSocket.ErrCallback.class, Injector.class, NativeWebSocket.class)
+        .expect(connect)
+        .expect(callbacks)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+
+          ws.send(eq(data), isA(WebSocket.SuccessCallback.class),
+              isA(WebSocket.ErrCallback.class));
+        })
+        .run(unit -> {
+          WebSocketImpl ws = new WebSocketImpl(
+              unit.get(WebSocket.Handler.class), path, pattern, vars, consumes, produces
+              );
+          ws.connect(unit.get(Injector.class), unit.get(NativeWebSocket.class));
+
+          ws.send(data, unit.get(WebSocket.SuccessCallback.class),
+              unit.get(WebSocket.ErrCallback.class));
+        });
+  }
+
   @SuppressWarnings("resource")
   @Test
   public void toStr() throws Exception {
@@ -10,6 +10,7 @@ import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jooby.Err;
 import org.jooby.MockUnit;
@@ -31,6 +32,39 @@ public class WsBinaryMessageTest {
     assertArrayEquals(bytes, new WsBinaryMessage(buffer).to(byte[].class));
   }
 
+  @Test
+  public void toByteArrayIsACopy() {
+    byte[] bytes = "bytes".getBytes();
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    byte[] message = new WsBinaryMessage(buffer).to(byte[].class);
+    // server reuses the buffer
+    buffer.put(0, (byte) 'B');
+    assertArrayEquals("bytes".getBytes(), message);
+  }
+
+  @Test
+  public void retainAndRelease() {
+    AtomicInteger retains = new AtomicInteger();
+    AtomicInteger releases = new AtomicInteger();
+    WsBinaryMessage message = new WsBinaryMessage(ByteBuffer.wrap("bytes".getBytes()), () -> {
+      retains.incrementAndGet();
+      return releases::incrementAndGet;
+    });
+    assertEquals(message, message.retain());
+    message.retain();
+    assertEquals(1, retains.get());
+
+    message.release();
+    assertEquals(0, releases.get());
+    message.release();
+    assertEquals(1, releases.get());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void releaseWithoutRetain() {
+    new WsBinaryMessage(ByteBuffer.wrap("bytes".getBytes())).release();
+  }
+
   @Test
   public void toByteBuffer() {
     byte[] bytes = "bytes".getBytes();
@@ -38,6 +72,29 @@ public class WsBinaryMessageTest {
     assertEquals(buffer, new WsBinaryMessage(buffer).to(ByteBuffer.class));
   }
 
+  @Test
+  public void toByteArrayFromDirectBuffer() {
+    byte[] bytes = "bytes".getBytes();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    assertArrayEquals(bytes, new WsBinaryMessage(buffer).to(byte[].class));
+    // buffer is untouched
+    assertEquals(bytes.length, buffer.remaining());
+  }
+
+  @Test
+  public void toByteArrayFromSlice() {
+    ByteBuffer buffer = ByteBuffer.wrap("..bytes..".getBytes(), 2, 5);
+    assertArrayEquals("bytes".getBytes(), new WsBinaryMessage(buffer).to(byte[].class));
+  }
+
+  @Test
+  public void toReadOnlyByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap("bytes".getBytes());
+    assertEquals(true, new WsBinaryMessage(buffer).to(ByteBuffer.class).isReadOnly());
+  }
+
   @Test
   public void toInputStream() throws Exception {
     byte[] bytes = "bytes".getBytes();
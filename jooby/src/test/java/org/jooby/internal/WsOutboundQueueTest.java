@@ -0,0 +1,263 @@
+package org.jooby.internal;
+
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.isA;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jooby.MockUnit;
+import org.jooby.WebSocket;
+import org.jooby.WebSocket.ErrCallback;
+import org.jooby.WebSocket.OverflowPolicy;
+import org.jooby.WebSocket.SuccessCallback;
+import org.jooby.spi.NativeWebSocket;
+import org.junit.Test;
+
+public class WsOutboundQueueTest {
+
+  private MockUnit.Block path = unit -> {
+    WebSocket socket = unit.get(WebSocket.class);
+    expect(socket.path()).andReturn("/ws").anyTimes();
+  };
+
+  @Test
+  public void sendUnderHighWaterMark() throws Exception {
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("ab"), isA(SuccessCallback.class), isA(ErrCallback.class));
+          ws.send(eq("cd"), isA(SuccessCallback.class), isA(ErrCallback.class));
+        })
+        .run(unit -> {
+          WsOutboundQueue queue = new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 4, 2, OverflowPolicy.DROP_NEWEST);
+          queue.send("ab", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          queue.send("cd", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+
+          assertEquals(2, queue.size());
+          assertEquals(4, queue.bytes());
+          assertEquals(0, queue.dropped());
+        });
+  }
+
+  @Test
+  public void dropNewest() throws Exception {
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(path)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("abcd"), isA(SuccessCallback.class), isA(ErrCallback.class));
+
+          ErrCallback err = unit.get(ErrCallback.class);
+          err.invoke(isA(IOException.class));
+        })
+        .run(unit -> {
+          WsOutboundQueue queue = new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 4, 2, OverflowPolicy.DROP_NEWEST);
+          queue.send("abcd", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          queue.send("e", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+
+          assertEquals(1, queue.size());
+          assertEquals(4, queue.bytes());
+          assertEquals(1, queue.dropped());
+        });
+  }
+
+  @Test
+  public void closeOnOverflow() throws Exception {
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(path)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("abcd"), isA(SuccessCallback.class), isA(ErrCallback.class));
+
+          ErrCallback err = unit.get(ErrCallback.class);
+          err.invoke(isA(IOException.class));
+
+          WebSocket socket = unit.get(WebSocket.class);
+          socket.close(WebSocket.POLICY_VIOLATION);
+        })
+        .run(unit -> {
+          WsOutboundQueue queue = new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 4, 2, OverflowPolicy.CLOSE);
+          queue.send("abcd", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          queue.send("e", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+        });
+  }
+
+  @Test
+  public void dropOldestAndDrain() throws Exception {
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(path)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("abcd"), unit.capture(SuccessCallback.class), isA(ErrCallback.class));
+          ws.send(eq("ghi"), isA(SuccessCallback.class), isA(ErrCallback.class));
+
+          ErrCallback err = unit.get(ErrCallback.class);
+          err.invoke(isA(IOException.class));
+
+          SuccessCallback success = unit.get(SuccessCallback.class);
+          success.invoke();
+        })
+        .run(unit -> {
+          WsOutboundQueue queue = new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 4, 2, OverflowPolicy.DROP_OLDEST);
+          queue.send("abcd", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          // waiting
+          queue.send("ef", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          // "ef" is discarded
+          queue.send("ghi", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+
+          assertEquals(2, queue.size());
+          assertEquals(7, queue.bytes());
+          assertEquals(1, queue.dropped());
+
+          // "ghi" goes once "abcd" was written
+          unit.captured(SuccessCallback.class).iterator().next().invoke();
+
+          assertEquals(1, queue.size());
+          assertEquals(3, queue.bytes());
+        });
+  }
+
+  @Test
+  public void pauseAndResume() throws Exception {
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(path)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("abcd"), unit.capture(SuccessCallback.class), isA(ErrCallback.class));
+
+          ws.pause();
+          ws.resume();
+
+          // "ef" doesn't fit, it is kept and written once "abcd" is done
+          ws.send(eq("ef"), isA(SuccessCallback.class), isA(ErrCallback.class));
+
+          SuccessCallback success = unit.get(SuccessCallback.class);
+          success.invoke();
+        })
+        .run(unit -> {
+          WsOutboundQueue queue = new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 4, 2, OverflowPolicy.PAUSE);
+          queue.send("abcd", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          queue.send("ef", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+
+          assertEquals(2, queue.size());
+          assertEquals(6, queue.bytes());
+          assertEquals(0, queue.dropped());
+
+          unit.captured(SuccessCallback.class).iterator().next().invoke();
+
+          assertEquals(1, queue.size());
+          assertEquals(2, queue.bytes());
+        });
+  }
+
+  @Test
+  public void dontResumeWhatTheApplicationPaused() throws Exception {
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(path)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("abcd"), unit.capture(SuccessCallback.class), isA(ErrCallback.class));
+
+          // once by the application, the queue doesn't resume it
+          ws.pause();
+
+          ws.send(eq("ef"), isA(SuccessCallback.class), isA(ErrCallback.class));
+
+          SuccessCallback success = unit.get(SuccessCallback.class);
+          success.invoke();
+        })
+        .run(unit -> {
+          WsOutboundQueue queue = new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 4, 2, OverflowPolicy.PAUSE);
+          queue.pause();
+          queue.send("abcd", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          queue.send("ef", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+
+          unit.captured(SuccessCallback.class).iterator().next().invoke();
+
+          assertEquals(1, queue.size());
+        });
+  }
+
+  @Test
+  public void sendWhileDrainingKeepsOrder() throws Exception {
+    AtomicReference<WsOutboundQueue> queue = new AtomicReference<>();
+    List<String> written = new ArrayList<>();
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(path)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("abcd"), unit.capture(SuccessCallback.class), isA(ErrCallback.class));
+
+          ws.send(eq("ef"), isA(SuccessCallback.class), isA(ErrCallback.class));
+          expectLastCall().andAnswer(() -> {
+            // sent while "ef" is being written
+            queue.get().send("g", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+            written.add("ef");
+            return null;
+          });
+
+          ws.send(eq("g"), isA(SuccessCallback.class), isA(ErrCallback.class));
+          expectLastCall().andAnswer(() -> {
+            written.add("g");
+            return null;
+          });
+
+          SuccessCallback success = unit.get(SuccessCallback.class);
+          success.invoke();
+        })
+        .run(unit -> {
+          queue.set(new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 4, 2, OverflowPolicy.DROP_OLDEST));
+          queue.get().send("abcd", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+          // waiting
+          queue.get().send("ef", unit.get(SuccessCallback.class), unit.get(ErrCallback.class));
+
+          // "ef" goes once "abcd" was written, "g" goes after it
+          unit.captured(SuccessCallback.class).iterator().next().invoke();
+
+          assertEquals(Arrays.asList("ef", "g"), written);
+          assertEquals(2, queue.get().size());
+        });
+  }
+
+  @Test
+  public void textSizeInUtf8Bytes() throws Exception {
+    new MockUnit(WebSocket.class, NativeWebSocket.class, SuccessCallback.class,
+        ErrCallback.class)
+        .expect(unit -> {
+          NativeWebSocket ws = unit.get(NativeWebSocket.class);
+          ws.send(eq("a\u00e9\u20ac\ud83d\ude00"), isA(SuccessCallback.class),
+              isA(ErrCallback.class));
+        })
+        .run(unit -> {
+          WsOutboundQueue queue = new WsOutboundQueue(unit.get(WebSocket.class),
+              unit.get(NativeWebSocket.class), 100, 50, OverflowPolicy.DROP_NEWEST);
+          // 1 + 2 + 3 + 4
+          queue.send("a\u00e9\u20ac\ud83d\ude00", unit.get(SuccessCallback.class),
+              unit.get(ErrCallback.class));
+
+          assertEquals(10, queue.bytes());
+        });
+  }
+
+}
@@ -0,0 +1,93 @@
+package org.jooby.internal.reqparam;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class StringFactoriesTest {
+
+  static class NoPublic {
+
+    private final String value;
+
+    public NoPublic(final String value) {
+      this.value = value;
+    }
+
+    public static NoPublic valueOf(final String value) {
+      return new NoPublic(value);
+    }
+
+  }
+
+  @Test
+  public void staticMethod() throws Exception {
+    MethodHandle valueOf = new StringFactories("valueOf").factory(Integer.class).get();
+    assertEquals(42, StringFactories.invoke(valueOf, "42"));
+
+    MethodHandle fromString = new StringFactories("fromString").factory(UUID.class).get();
+    assertEquals(new UUID(0, 1),
+        StringFactories.invoke(fromString, "00000000-0000-0000-0000-000000000001"));
+  }
+
+  @Test
+  public void constructor() throws Exception {
+    MethodHandle constructor = new StringFactories(StringFactories.NEW)
+        .factory(BigDecimal.class).get();
+    assertEquals(new BigDecimal("1.5"), StringFactories.invoke(constructor, "1.5"));
+  }
+
+  @Test
+  public void nonPublicClass() throws Exception {
+    assertEquals(Optional.empty(), new StringFactories("valueOf").factory(NoPublic.class));
+    assertEquals(Optional.empty(),
+        new StringFactories(StringFactories.NEW).factory(NoPublic.class));
+  }
+
+  @Test
+  public void cached() throws Exception {
+    StringFactories factories = new StringFactories("valueOf");
+    assertSame(factories.factory(Integer.class).get(), factories.factory(Integer.class).get());
+  }
+
+  @Test
+  public void missing() throws Exception {
+    assertEquals(Optional.empty(), new StringFactories("valueOf").factory(Object.class));
+    assertEquals(Optional.empty(),
+        new StringFactories(StringFactories.NEW).factory(Object.class));
+    // not static
+    assertEquals(Optional.empty(), new StringFactories("concat").factory(String.class));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullName() throws Exception {
+    new StringFactories(null);
+  }
+
+  @Test
+  public void factoryErr() throws Exception {
+    MethodHandle valueOf = new StringFactories("valueOf").factory(Integer.class).get();
+    try {
+      StringFactories.invoke(valueOf, "x");
+      fail("bad number");
+    } catch (InvocationTargetException ex) {
+      assertTrue(ex.getCause() instanceof NumberFormatException);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void notAString() throws Exception {
+    MethodHandle valueOf = new StringFactories("valueOf").factory(Integer.class).get();
+    StringFactories.invoke(valueOf, 1);
+  }
+
+}
@@ -0,0 +1,114 @@
+package org.jooby.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JfrTest {
+
+  @After
+  public void off() {
+    Jfr.configure(config(false));
+  }
+
+  @Test
+  public void offByDefault() {
+    assertFalse(Jfr.configure(ConfigFactory.parseResources("org/jooby/jooby.conf")));
+    assertFalse(Jfr.enabled());
+    assertSame(Jfr.Span.NOOP, Jfr.session("load", "store"));
+    assertSame(Jfr.Span.NOOP, Jfr.template("hbs", "index"));
+    assertSame(Jfr.Span.NOOP, Jfr.call("jdbc", "executeQuery", "db", "select 1"));
+    assertSame(Jfr.RequestSpan.NOOP, Jfr.request());
+  }
+
+  @Test
+  public void noopWithoutRecording() {
+    assumeTrue(Jfr.supported());
+    assertTrue(Jfr.configure(config(true)));
+    assertTrue(Jfr.enabled());
+    assertSame(Jfr.Span.NOOP, Jfr.template("hbs", "index"));
+  }
+
+  @Test
+  public void record() throws Exception {
+    assumeTrue(Jfr.supported());
+    assertTrue(Jfr.configure(config(true)));
+
+    Path file = Files.createTempFile("jooby", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("org.jooby.Request");
+      recording.enable("org.jooby.Template");
+      recording.enable("org.jooby.Call");
+      recording.disable("org.jooby.Session");
+      recording.start();
+
+      Jfr.Span template = Jfr.template("hbs", "index");
+      assertNotSame(Jfr.Span.NOOP, template);
+      template.commit();
+
+      Jfr.call("jdbc", "executeQuery", "db", "select 1").commit();
+
+      Jfr.RequestSpan request = Jfr.request();
+      request.phases(1, 2, 3, 4, 5, 6);
+      request.commit("GET", "/users/:id", "/users/1", 200, 42);
+
+      // disabled in the recording
+      assertSame(Jfr.Span.NOOP, Jfr.session("load", "store"));
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().startsWith("org.jooby."))
+        .collect(Collectors.toList());
+    Files.delete(file);
+    assertEquals(3, events.size());
+
+    RecordedEvent template = event(events, "org.jooby.Template");
+    assertEquals("hbs", template.getString("engine"));
+    assertEquals("index", template.getString("template"));
+
+    RecordedEvent call = event(events, "org.jooby.Call");
+    assertEquals("jdbc", call.getString("backend"));
+    assertEquals("executeQuery", call.getString("operation"));
+    assertEquals("db", call.getString("resource"));
+    assertEquals("select 1", call.getString("query"));
+
+    RecordedEvent request = event(events, "org.jooby.Request");
+    assertEquals("GET", request.getString("method"));
+    assertEquals("/users/:id", request.getString("route"));
+    assertEquals("/users/1", request.getString("path"));
+    assertEquals(200, request.getInt("status"));
+    assertEquals(42, request.getLong("bytes"));
+    assertEquals(4, request.getDuration("handlerTime").toNanos());
+  }
+
+  private static RecordedEvent event(final List<RecordedEvent> events, final String name) {
+    return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst()
+        .get();
+  }
+
+  private static Config config(final boolean enabled) {
+    return ConfigFactory.parseString("jfr.enabled = " + enabled);
+  }
+
+}
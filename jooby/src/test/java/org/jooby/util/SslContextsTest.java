@@ -0,0 +1,97 @@
+package org.jooby.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class SslContextsTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void enabled() {
+    assertFalse(SslContexts.enabled(ConfigFactory.empty()));
+    assertTrue(SslContexts.enabled(ConfigFactory.empty()
+        .withValue("application.securePort", ConfigValueFactory.fromAnyRef(8443))));
+  }
+
+  @Test
+  public void pem() {
+    assertFalse(SslContexts.pem(ConfigFactory.empty()));
+    assertTrue(SslContexts.pem(ConfigFactory.empty()
+        .withValue("ssl.cert", ConfigValueFactory.fromAnyRef("cert.pem"))
+        .withValue("ssl.key", ConfigValueFactory.fromAnyRef("key.pem"))));
+  }
+
+  @Test
+  public void rsaKey() throws Exception {
+    KeyPair pair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+    PrivateKey key = SslContexts.privateKey(pem("PRIVATE KEY", pair.getPrivate().getEncoded()),
+        null);
+    assertEquals("RSA", key.getAlgorithm());
+    assertArrayEquals(pair.getPrivate().getEncoded(), key.getEncoded());
+  }
+
+  @Test
+  public void ecKey() throws Exception {
+    KeyPair pair = KeyPairGenerator.getInstance("EC").generateKeyPair();
+    PrivateKey key = SslContexts.privateKey(pem("PRIVATE KEY", pair.getPrivate().getEncoded()),
+        null);
+    assertEquals("EC", key.getAlgorithm());
+  }
+
+  @Test(expected = InvalidKeySpecException.class)
+  public void pkcs1KeyIsNotSupported() throws Exception {
+    SslContexts.privateKey(pem("RSA PRIVATE KEY", new byte[]{1, 2, 3 }), null);
+  }
+
+  @Test(expected = InvalidKeySpecException.class)
+  public void encryptedKeyRequiresPassword() throws Exception {
+    SslContexts.privateKey(pem("ENCRYPTED PRIVATE KEY", new byte[]{1, 2, 3 }), new char[0]);
+  }
+
+  @Test
+  public void sessionSettings() {
+    Config config = ConfigFactory.empty()
+        .withValue("ssl.session.cacheSize", ConfigValueFactory.fromAnyRef(100))
+        .withValue("ssl.session.timeout", ConfigValueFactory.fromAnyRef("1h"));
+    assertEquals(100, SslContexts.sessionCacheSize(config));
+    assertEquals(3600, SslContexts.sessionTimeout(config));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void noKeys() throws Exception {
+    SslContexts.sslContext(ConfigFactory.empty()
+        .withValue("ssl.session.cacheSize", ConfigValueFactory.fromAnyRef(100))
+        .withValue("ssl.session.timeout", ConfigValueFactory.fromAnyRef("1h")));
+  }
+
+  private File pem(final String type, final byte[] der) throws Exception {
+    String pem = "-----BEGIN " + type + "-----\n"
+        + Base64.getMimeEncoder().encodeToString(der)
+        + "\n-----END " + type + "-----\n";
+    File file = tmp.newFile();
+    Files.write(file.toPath(), pem.getBytes(StandardCharsets.US_ASCII));
+    return file;
+  }
+
+}
@@ -0,0 +1,57 @@
+package org.jooby.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class VirtualThreadsTest {
+
+  @Test
+  public void platform() {
+    assertFalse(VirtualThreads.enabled(mode("platform")));
+  }
+
+  @Test
+  public void virtual() {
+    assertEquals(VirtualThreads.supported(), VirtualThreads.enabled(mode("virtual")));
+    assertEquals(VirtualThreads.supported(), VirtualThreads.enabled(mode("Virtual")));
+  }
+
+  @Test
+  public void newExecutor() throws Exception {
+    if (VirtualThreads.supported()) {
+      ExecutorService executor = VirtualThreads.newExecutor("test");
+      try {
+        CompletableFuture<String> name = new CompletableFuture<>();
+        executor.execute(() -> name.complete(Thread.currentThread().getName()));
+        assertTrue(name.get(1, TimeUnit.SECONDS).startsWith("test-"));
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void newExecutorWithoutVirtualThreads() throws Exception {
+    if (VirtualThreads.supported()) {
+      throw new UnsupportedOperationException();
+    }
+    VirtualThreads.newExecutor("test");
+  }
+
+  private static Config mode(final String mode) {
+    return ConfigFactory.empty()
+        .withValue("server.threads.Mode", ConfigValueFactory.fromAnyRef(mode));
+  }
+
+}